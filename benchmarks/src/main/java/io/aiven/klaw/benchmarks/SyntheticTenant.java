@@ -0,0 +1,297 @@
+package io.aiven.klaw.benchmarks;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.dao.Acl;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.dao.KwClusters;
+import io.aiven.klaw.dao.Team;
+import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.dao.UserInfo;
+import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
+import io.aiven.klaw.model.enums.AclType;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaFlavors;
+import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.model.enums.PermissionType;
+import io.aiven.klaw.model.response.TopicConfig;
+import io.aiven.klaw.service.CommonUtilsService;
+import io.aiven.klaw.service.MailUtils;
+import io.aiven.klaw.service.utils.CacheService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * A synthetic tenant with a catalog of topics and ACLs, loaded into the caches of a {@link
+ * ManageDatabase} the way the unit tests set them up.
+ *
+ * <p>Only the database and the cluster api are stubbed, with stub only mocks which do not record
+ * their invocations. The services, the caches of {@link ManageDatabase} (topic catalog, users,
+ * teams, roles, environments) and the permission checks are the real ones, so their cost is part of
+ * the measurement. The logged in user is a superadmin of the tenant.
+ *
+ * <p>Every topic name exists on the first two environments, so a catalog of n topics holds n/2
+ * topic names. Topics are spread over {@link #TEAM_COUNT} teams.
+ */
+public class SyntheticTenant {
+
+  public static final int TENANT_ID = 101;
+
+  public static final String USER_NAME = "benchmarkuser";
+
+  public static final int TEAM_COUNT = 10;
+
+  public static final int CLUSTER_ID = 1;
+
+  public static final List<String> ENV_IDS = List.of("1", "2", "3");
+
+  private static final String ROLE = "SUPERADMIN";
+
+  private static final int FIRST_TEAM_ID = 1001;
+
+  private final List<Topic> topics;
+
+  private final List<Team> teams;
+
+  private final ManageDatabase manageDatabase;
+
+  private final HandleDbRequestsJdbc handleDbRequests;
+
+  private final MailUtils mailService;
+
+  private SyntheticTenant(int topicCount) {
+    this.teams = createTeams();
+    this.topics = createTopics(topicCount);
+    this.handleDbRequests = mock(HandleDbRequestsJdbc.class, withSettings().stubOnly());
+    doReturn(teams).when(handleDbRequests).getAllTeams(TENANT_ID);
+    this.mailService = new MailUtils();
+
+    CacheService<Env> kafkaEnvs = new CacheService<>("environment", null);
+    kafkaEnvs.addAll(TENANT_ID, createEnvs());
+    this.manageDatabase = new ManageDatabase();
+    ReflectionTestUtils.setField(manageDatabase, "handleDbRequests", handleDbRequests);
+    ReflectionTestUtils.setField(manageDatabase, "kafkaEnvListPerTenant", kafkaEnvs);
+    initManageDatabaseCaches();
+    manageDatabase.getTopicCatalog(TENANT_ID).replaceAll(topics);
+
+    SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken(USER_NAME, null, List.of()));
+  }
+
+  public static SyntheticTenant withTopics(int topicCount) {
+    return new SyntheticTenant(topicCount);
+  }
+
+  public CommonUtilsService createCommonUtilsService() {
+    CommonUtilsService commonUtilsService = new CommonUtilsService();
+    ReflectionTestUtils.setField(commonUtilsService, "manageDatabase", manageDatabase);
+    return commonUtilsService;
+  }
+
+  /** The topics of the environment as the cluster reports them. */
+  public List<TopicConfig> getClusterTopics(String envId) {
+    List<TopicConfig> clusterTopics = new ArrayList<>();
+    for (Topic topic : getTopicsOfEnv(envId)) {
+      TopicConfig topicConfig = new TopicConfig();
+      topicConfig.setTopicName(topic.getTopicname());
+      topicConfig.setPartitions(String.valueOf(topic.getNoOfPartitions()));
+      topicConfig.setReplicationFactor(topic.getNoOfReplicas());
+      clusterTopics.add(topicConfig);
+    }
+    return clusterTopics;
+  }
+
+  /** One producer ACL for every topic of the environment, owned by the team of the topic. */
+  public List<Acl> getAclsOfEnv(String envId) {
+    List<Acl> acls = new ArrayList<>();
+    for (Topic topic : getTopicsOfEnv(envId)) {
+      Acl acl = new Acl();
+      acl.setReq_no(topic.getTopicid());
+      acl.setTenantId(TENANT_ID);
+      acl.setTopicname(topic.getTopicname());
+      acl.setEnvironment(envId);
+      acl.setTeamId(topic.getTeamId());
+      acl.setAclType(AclType.PRODUCER.value);
+      acl.setAclip("*");
+      acl.setAclssl(getPrincipal(topic.getTeamId()));
+      acl.setAclPatternType("LITERAL");
+      acls.add(acl);
+    }
+    return acls;
+  }
+
+  /** The ACLs of the environment as the cluster api reports them. */
+  public List<Map<String, String>> getClusterAcls(String envId) {
+    List<Map<String, String>> clusterAcls = new ArrayList<>();
+    for (Acl acl : getAclsOfEnv(envId)) {
+      Map<String, String> clusterAcl = new HashMap<>();
+      clusterAcl.put("resourceType", "TOPIC");
+      clusterAcl.put("resourceName", acl.getTopicname());
+      clusterAcl.put("operation", "WRITE");
+      clusterAcl.put("permissionType", "ALLOW");
+      clusterAcl.put("host", acl.getAclip());
+      clusterAcl.put("principle", acl.getAclssl());
+      clusterAcl.put("patternType", acl.getAclPatternType());
+      clusterAcls.add(clusterAcl);
+    }
+    return clusterAcls;
+  }
+
+  /**
+   * The producer topics of a team on the environment as the database reads them from its ACLs: one
+   * literal ACL for every topic of the team, and one prefixed ACL for every ten topic names.
+   */
+  public List<Topic> getProducerTopicsOfTeam(int teamId, String envId) {
+    List<Topic> producerTopics = new ArrayList<>();
+    Set<String> prefixes = new HashSet<>();
+    for (Topic topic : getTopicsOfEnv(envId)) {
+      if (topic.getTeamId() != teamId) {
+        continue;
+      }
+      producerTopics.add(createProducerTopic(topic.getTopicname(), envId));
+      String prefix = topic.getTopicname().substring(0, topic.getTopicname().length() - 1);
+      if (prefixes.add(prefix)) {
+        producerTopics.add(createProducerTopic(prefix + "--PREFIXED--", envId));
+      }
+    }
+    return producerTopics;
+  }
+
+  public List<Topic> getTopicsOfEnv(String envId) {
+    return topics.stream().filter(topic -> envId.equals(topic.getEnvironment())).toList();
+  }
+
+  public List<Topic> getTopics() {
+    return topics;
+  }
+
+  public static int getTeamId(int teamIndex) {
+    return FIRST_TEAM_ID + teamIndex;
+  }
+
+  public ManageDatabase getManageDatabase() {
+    return manageDatabase;
+  }
+
+  public HandleDbRequestsJdbc getHandleDbRequests() {
+    return handleDbRequests;
+  }
+
+  public MailUtils getMailService() {
+    return mailService;
+  }
+
+  private void initManageDatabaseCaches() {
+    Map<Integer, String> teamNames = new HashMap<>();
+    teams.forEach(team -> teamNames.put(team.getTeamId(), team.getTeamname()));
+    ReflectionTestUtils.setField(
+        ManageDatabase.class, "teamIdAndNamePerTenant", Map.of(TENANT_ID, teamNames));
+
+    UserInfo userInfo = new UserInfo();
+    userInfo.setUsername(USER_NAME);
+    userInfo.setTenantId(TENANT_ID);
+    userInfo.setTeamId(getTeamId(0));
+    userInfo.setRole(ROLE);
+    Map<String, UserInfo> usersByUsername = new HashMap<>();
+    usersByUsername.put(USER_NAME, userInfo);
+    ReflectionTestUtils.setField(ManageDatabase.class, "usersByUsername", usersByUsername);
+    doReturn(userInfo).when(handleDbRequests).getUsersInfo(USER_NAME);
+
+    Set<String> permissions =
+        Arrays.stream(PermissionType.values()).map(Enum::name).collect(Collectors.toSet());
+    ReflectionTestUtils.setField(
+        ManageDatabase.class,
+        "rolesPermsMapPerTenant",
+        Map.of(TENANT_ID, Map.of(ROLE, permissions)));
+    ReflectionTestUtils.setField(
+        ManageDatabase.class,
+        "rolePermissionTypesPerTenant",
+        Map.of(TENANT_ID, Map.of(ROLE, EnumSet.allOf(PermissionType.class))));
+    ReflectionTestUtils.setField(
+        ManageDatabase.class,
+        "kwKafkaClustersPertenant",
+        Map.of(TENANT_ID, Map.of(CLUSTER_ID, createCluster())));
+  }
+
+  private static List<Topic> createTopics(int topicCount) {
+    List<Topic> topics = new ArrayList<>(topicCount);
+    for (int i = 0; i < topicCount; i++) {
+      int nameIndex = i / 2;
+      Topic topic = new Topic();
+      topic.setTopicid(i + 1);
+      topic.setTenantId(TENANT_ID);
+      topic.setTopicname(String.format("topic-%07d", nameIndex));
+      topic.setEnvironment(ENV_IDS.get(i % 2));
+      topic.setTeamId(getTeamId(nameIndex % TEAM_COUNT));
+      topic.setNoOfPartitions(1 + nameIndex % 6);
+      topic.setNoOfReplicas("3");
+      topic.setDescription("Topic " + nameIndex);
+      topic.setDocumentation(nameIndex % 10 == 0 ? "Documented topic " + nameIndex : null);
+      topics.add(topic);
+    }
+    return topics;
+  }
+
+  private static Topic createProducerTopic(String topicName, String envId) {
+    Topic topic = new Topic();
+    topic.setTopicname(topicName);
+    topic.setEnvironment(envId);
+    topic.setEnvironmentsSet(Set.of(envId));
+    return topic;
+  }
+
+  private static List<Team> createTeams() {
+    List<Team> teams = new ArrayList<>();
+    for (int i = 0; i < TEAM_COUNT; i++) {
+      Team team = new Team();
+      team.setTeamId(getTeamId(i));
+      team.setTeamname("team-" + i);
+      team.setTenantId(TENANT_ID);
+      teams.add(team);
+    }
+    return teams;
+  }
+
+  private static Map<Integer, Env> createEnvs() {
+    Map<Integer, Env> envs = new HashMap<>();
+    for (String envId : ENV_IDS) {
+      Env env = new Env();
+      env.setId(envId);
+      env.setName("ENV" + envId);
+      env.setTenantId(TENANT_ID);
+      env.setClusterId(CLUSTER_ID);
+      env.setType(KafkaClustersType.KAFKA.value);
+      envs.put(Integer.valueOf(envId), env);
+    }
+    return envs;
+  }
+
+  private static KwClusters createCluster() {
+    KwClusters kwClusters = new KwClusters();
+    kwClusters.setClusterId(CLUSTER_ID);
+    kwClusters.setTenantId(TENANT_ID);
+    kwClusters.setClusterName("benchmark");
+    kwClusters.setBootstrapServers("localhost:9092");
+    kwClusters.setProtocol(KafkaSupportedProtocol.PLAINTEXT);
+    kwClusters.setKafkaFlavor(KafkaFlavors.APACHE_KAFKA.value);
+    return kwClusters;
+  }
+
+  private static String getPrincipal(int teamId) {
+    return "User:CN=app-" + teamId;
+  }
+}
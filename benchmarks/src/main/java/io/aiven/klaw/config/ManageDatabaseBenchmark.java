@@ -0,0 +1,104 @@
+package io.aiven.klaw.config;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import io.aiven.klaw.dao.Team;
+import io.aiven.klaw.dao.UserInfo;
+import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * The user lookup done several times per request to resolve the tenant, team and role of the logged
+ * in user: the username index of the cached users, and the scan of all the cached users it
+ * replaced. The users are loaded by {@link ManageDatabase#loadUsersForAllTenants()} and spread over
+ * 200 tenants, each lookup asks for the next user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ManageDatabaseBenchmark {
+
+  private static final int TENANTS = 200;
+
+  @Param({"1000", "10000"})
+  private int users;
+
+  private ManageDatabase manageDatabase;
+
+  private String[] userNames;
+
+  private int next;
+
+  @Setup
+  public void setUp() {
+    HandleDbRequestsJdbc handleDbRequests =
+        mock(HandleDbRequestsJdbc.class, withSettings().stubOnly());
+    Map<Integer, String> tenantMap = new HashMap<>();
+    userNames = new String[users];
+    for (int tenantId = 1; tenantId <= TENANTS; tenantId++) {
+      tenantMap.put(tenantId, "tenant" + tenantId);
+      Team team = new Team();
+      team.setTeamId(tenantId * 10);
+      team.setTenantId(tenantId);
+      doReturn(List.of(team)).when(handleDbRequests).getAllTeams(tenantId);
+
+      List<UserInfo> usersOfTenant = new ArrayList<>();
+      for (int user = tenantId - 1; user < users; user += TENANTS) {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setUsername("user" + user);
+        userInfo.setTenantId(tenantId);
+        userInfo.setTeamId(team.getTeamId());
+        userInfo.setRole("USER");
+        usersOfTenant.add(userInfo);
+        userNames[user] = userInfo.getUsername();
+      }
+      doReturn(usersOfTenant).when(handleDbRequests).getAllUsersInfo(tenantId);
+    }
+
+    manageDatabase = new ManageDatabase();
+    ReflectionTestUtils.setField(manageDatabase, "handleDbRequests", handleDbRequests);
+    ReflectionTestUtils.setField(ManageDatabase.class, "tenantMap", tenantMap);
+    ReflectionTestUtils.setField(ManageDatabase.class, "usersPerTenant", new HashMap<>());
+    manageDatabase.loadUsersForAllTenants();
+  }
+
+  @Benchmark
+  public Optional<UserInfo> userByIndex() {
+    return manageDatabase.getCachedUserInfo(nextUserName());
+  }
+
+  @Benchmark
+  public Optional<UserInfo> userByScan() {
+    String userName = nextUserName();
+    return manageDatabase.selectAllCachedUserInfo().stream()
+        .filter(userInfo -> userInfo.getUsername().equals(userName))
+        .findFirst();
+  }
+
+  private String nextUserName() {
+    next = next + 1 == users ? 0 : next + 1;
+    return userNames[next];
+  }
+}
@@ -0,0 +1,61 @@
+package io.aiven.klaw.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Paging of the first and the last page of a list, and of a page loaded on demand. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagerBenchmark {
+
+  @Param({"1000", "10000", "100000", "500000"})
+  private int items;
+
+  private List<String> itemList;
+
+  @Setup
+  public void setUp() {
+    itemList = new ArrayList<>(items);
+    for (int i = 0; i < items; i++) {
+      itemList.add("topic-" + i);
+    }
+  }
+
+  @Benchmark
+  public List<String> firstPage() {
+    return Pager.getItemsList("1", "", itemList, (pageContext, item) -> item);
+  }
+
+  @Benchmark
+  public List<String> lastPage() {
+    return Pager.getItemsList(">>", "1", itemList, (pageContext, item) -> item);
+  }
+
+  @Benchmark
+  public List<String> lastPageLoaded() {
+    return Pager.getItemsList(
+        ">>",
+        "1",
+        Pager.DEFAULT_REC_PER_PAGE,
+        itemList.size(),
+        (offset, pageSize) ->
+            itemList.subList(offset, Math.min(offset + pageSize, itemList.size())),
+        (pageContext, item) -> item);
+  }
+}
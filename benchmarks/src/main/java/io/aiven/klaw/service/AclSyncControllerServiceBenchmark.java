@@ -0,0 +1,91 @@
+package io.aiven.klaw.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import io.aiven.klaw.benchmarks.SyntheticTenant;
+import io.aiven.klaw.dao.Acl;
+import io.aiven.klaw.model.AclInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * The ACL synchronization page, which matches the ACLs of a cluster against the ACLs in the
+ * metadata ({@code applyFiltersAcls}). One in twenty ACLs of the cluster is unknown to Klaw and one
+ * in twenty ACLs of Klaw has been deleted on the cluster.
+ *
+ * <p>The matching compares every ACL of the cluster with every ACL of the metadata, so only small
+ * catalogs are run by default. Run larger ones with {@code -p topics=100000,500000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AclSyncControllerServiceBenchmark {
+
+  @Param({"1000", "10000"})
+  private int topics;
+
+  private AclSyncControllerService aclSyncControllerService;
+
+  @Setup
+  public void setUp() throws Exception {
+    SyntheticTenant tenant = SyntheticTenant.withTopics(topics);
+
+    List<Map<String, String>> allClusterAcls = tenant.getClusterAcls("1");
+    List<Map<String, String>> clusterAcls = new ArrayList<>();
+    for (int i = 0; i < allClusterAcls.size(); i++) {
+      if (i % 20 != 10) {
+        clusterAcls.add(allClusterAcls.get(i));
+      }
+    }
+    List<Acl> allAcls = tenant.getAclsOfEnv("1");
+    List<Acl> acls = new ArrayList<>();
+    for (int i = 0; i < allAcls.size(); i++) {
+      if (i % 20 != 0) {
+        acls.add(allAcls.get(i));
+      }
+    }
+    doReturn(acls).when(tenant.getHandleDbRequests()).getSyncAcls("1", SyntheticTenant.TENANT_ID);
+
+    ClusterApiService clusterApiService = mock(ClusterApiService.class, withSettings().stubOnly());
+    doReturn(clusterAcls).when(clusterApiService).getAcls(anyString(), any(), any(), anyInt());
+
+    aclSyncControllerService =
+        new AclSyncControllerService(clusterApiService, tenant.getMailService());
+    ReflectionTestUtils.setField(
+        aclSyncControllerService, "manageDatabase", tenant.getManageDatabase());
+    ReflectionTestUtils.setField(
+        aclSyncControllerService, "commonUtilsService", tenant.createCommonUtilsService());
+  }
+
+  @Benchmark
+  public List<AclInfo> reconciliation() throws Exception {
+    return aclSyncControllerService.getSyncAcls("1", "1", "", null, "false");
+  }
+
+  @Benchmark
+  public List<AclInfo> allAcls() throws Exception {
+    return aclSyncControllerService.getSyncAcls("1", "1", "", null, "true");
+  }
+}
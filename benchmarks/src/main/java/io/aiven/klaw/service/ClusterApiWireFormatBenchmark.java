@@ -0,0 +1,132 @@
+package io.aiven.klaw.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.aiven.klaw.benchmarks.SyntheticTenant;
+import io.aiven.klaw.model.cluster.LoadTopicsResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The topics and the ACLs of a cluster as sent by cluster api to {@code ClusterApiService}: written
+ * by cluster api and read by core, as json or smile, plain or gzipped. The bytes on the wire of
+ * each format are reported as the {@code wireBytes} secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ClusterApiWireFormatBenchmark {
+
+  public enum Payload {
+    TOPICS,
+    ACLS
+  }
+
+  public enum WireFormat {
+    JSON,
+    JSON_GZIP,
+    SMILE,
+    SMILE_GZIP
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class WireSize {
+
+    public long wireBytes;
+  }
+
+  @Param({"10000", "100000"})
+  private int topics;
+
+  @Param({"TOPICS", "ACLS"})
+  private Payload payload;
+
+  @Param({"JSON", "JSON_GZIP", "SMILE", "SMILE_GZIP"})
+  private WireFormat format;
+
+  private Object body;
+
+  private ObjectMapper mapper;
+
+  private ObjectReader reader;
+
+  private boolean gzip;
+
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    SyntheticTenant tenant = SyntheticTenant.withTopics(topics);
+    if (payload == Payload.TOPICS) {
+      body =
+          LoadTopicsResponse.builder()
+              .topicConfigSet(new HashSet<>(tenant.getClusterTopics("1")))
+              .build();
+    } else {
+      body = new HashSet<>(tenant.getClusterAcls("1"));
+    }
+
+    boolean smile = format == WireFormat.SMILE || format == WireFormat.SMILE_GZIP;
+    mapper = smile ? new ObjectMapper(new SmileFactory()) : new ObjectMapper();
+    reader =
+        payload == Payload.TOPICS
+            ? mapper.readerFor(LoadTopicsResponse.class)
+            : mapper.readerFor(new TypeReference<Set<Map<String, String>>>() {});
+    gzip = format == WireFormat.JSON_GZIP || format == WireFormat.SMILE_GZIP;
+
+    encoded = encode();
+  }
+
+  @Benchmark
+  public byte[] write(WireSize size) throws IOException {
+    byte[] bytes = encode();
+    size.wireBytes = bytes.length;
+    return bytes;
+  }
+
+  @Benchmark
+  public Object read(WireSize size) throws IOException {
+    size.wireBytes = encoded.length;
+    InputStream bytes = new ByteArrayInputStream(encoded);
+    try (InputStream in = gzip ? new GZIPInputStream(bytes) : bytes) {
+      return reader.readValue(in);
+    }
+  }
+
+  private byte[] encode() throws IOException {
+    if (!gzip) {
+      return mapper.writeValueAsBytes(body);
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+      mapper.writeValue(gzipOut, body);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,66 @@
+package io.aiven.klaw.service;
+
+import io.aiven.klaw.benchmarks.SyntheticTenant;
+import io.aiven.klaw.dao.Topic;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Topic lookups on the topic catalog of a tenant and the tenant lookup of the logged in user. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CommonUtilsServiceBenchmark {
+
+  @Param({"1000", "10000", "100000", "500000"})
+  private int topics;
+
+  private CommonUtilsService commonUtilsService;
+
+  private Integer teamId;
+
+  @Setup
+  public void setUp() {
+    SyntheticTenant tenant = SyntheticTenant.withTopics(topics);
+    commonUtilsService = tenant.createCommonUtilsService();
+    teamId = SyntheticTenant.getTeamId(3);
+  }
+
+  @Benchmark
+  public int getTenantId() {
+    return commonUtilsService.getTenantId(SyntheticTenant.USER_NAME);
+  }
+
+  @Benchmark
+  public List<Topic> getTopicsOfEnv() {
+    return commonUtilsService.getTopics("1", null, SyntheticTenant.TENANT_ID);
+  }
+
+  @Benchmark
+  public List<Topic> getTopicsOfTeam() {
+    return commonUtilsService.getTopics("ALL", teamId, SyntheticTenant.TENANT_ID);
+  }
+
+  @Benchmark
+  public List<Topic> getTopicsOfEnvAndTeam() {
+    return commonUtilsService.getTopics("1", teamId, SyntheticTenant.TENANT_ID);
+  }
+
+  @Benchmark
+  public List<String> getTopicNamesSearch() {
+    return commonUtilsService.getTopicNames("1", null, SyntheticTenant.TENANT_ID, "documented");
+  }
+}
@@ -0,0 +1,84 @@
+package io.aiven.klaw.service;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import io.aiven.klaw.benchmarks.SyntheticTenant;
+import io.aiven.klaw.model.TopicInfo;
+import io.aiven.klaw.model.enums.AclType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** The filtering, sorting and paging of the browse topics page. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TopicControllerServiceBenchmark {
+
+  @Param({"1000", "10000", "100000", "500000"})
+  private int topics;
+
+  private TopicControllerService topicControllerService;
+
+  private Integer teamId;
+
+  @Setup
+  public void setUp() {
+    SyntheticTenant tenant = SyntheticTenant.withTopics(topics);
+    topicControllerService =
+        new TopicControllerService(
+            mock(ClusterApiService.class, withSettings().stubOnly()), tenant.getMailService());
+    ReflectionTestUtils.setField(
+        topicControllerService, "manageDatabase", tenant.getManageDatabase());
+    ReflectionTestUtils.setField(
+        topicControllerService, "commonUtilsService", tenant.createCommonUtilsService());
+    teamId = SyntheticTenant.getTeamId(3);
+
+    int userTeamId = SyntheticTenant.getTeamId(0);
+    doReturn(tenant.getProducerTopicsOfTeam(userTeamId, "1"))
+        .when(tenant.getHandleDbRequests())
+        .getAllTopicsByTopictypeAndTeamnameAndEnv(
+            AclType.PRODUCER.value, userTeamId, SyntheticTenant.TENANT_ID, "1");
+  }
+
+  @Benchmark
+  public List<List<TopicInfo>> firstPageOfEnv() throws Exception {
+    return topicControllerService.getTopics("1", "1", "", null, null, null);
+  }
+
+  @Benchmark
+  public List<List<TopicInfo>> lastPageOfAllEnvs() throws Exception {
+    return topicControllerService.getTopics("ALL", ">>", "1", null, null, null);
+  }
+
+  @Benchmark
+  public List<List<TopicInfo>> firstPageOfTeam() throws Exception {
+    return topicControllerService.getTopics("ALL", "1", "", null, teamId, null);
+  }
+
+  @Benchmark
+  public List<List<TopicInfo>> producerTopicsOfMyTeam() throws Exception {
+    return topicControllerService.getTopics("1", "1", "", null, null, AclType.PRODUCER.value);
+  }
+
+  @Benchmark
+  public List<List<TopicInfo>> searchTopicName() throws Exception {
+    return topicControllerService.getTopics("1", "1", "", "topic-00001", null, null);
+  }
+}
@@ -0,0 +1,104 @@
+package io.aiven.klaw.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import io.aiven.klaw.benchmarks.SyntheticTenant;
+import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.model.cluster.LoadTopicsResponse;
+import io.aiven.klaw.model.response.SyncTopicsList;
+import io.aiven.klaw.model.response.TopicConfig;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * The topic reconciliation of an environment, which diffs the topics of a cluster against the
+ * topics in the metadata. One in twenty topics of the cluster is unknown to Klaw and one in twenty
+ * topics of Klaw has been deleted on the cluster.
+ *
+ * <p>The diff compares every topic of the cluster with every topic of the metadata, so only small
+ * catalogs are run by default. Run larger ones with {@code -p topics=100000,500000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TopicSyncControllerServiceBenchmark {
+
+  @Param({"1000", "10000"})
+  private int topics;
+
+  private TopicSyncControllerService topicSyncControllerService;
+
+  @Setup
+  public void setUp() throws Exception {
+    SyntheticTenant tenant = SyntheticTenant.withTopics(topics);
+
+    List<TopicConfig> allClusterTopics = tenant.getClusterTopics("1");
+    Set<TopicConfig> clusterTopics = new HashSet<>();
+    for (int i = 0; i < allClusterTopics.size(); i++) {
+      if (i % 20 != 10) {
+        clusterTopics.add(allClusterTopics.get(i));
+      }
+    }
+    List<Topic> allTopics = tenant.getTopicsOfEnv("1");
+    List<Topic> topicsOfEnv = new ArrayList<>();
+    for (int i = 0; i < allTopics.size(); i++) {
+      if (i % 20 != 0) {
+        topicsOfEnv.add(allTopics.get(i));
+      }
+    }
+    doReturn(topicsOfEnv)
+        .when(tenant.getHandleDbRequests())
+        .getSyncTopics("1", null, SyntheticTenant.TENANT_ID);
+
+    ClusterApiService clusterApiService = mock(ClusterApiService.class, withSettings().stubOnly());
+    doReturn(LoadTopicsResponse.builder().topicConfigSet(clusterTopics).build())
+        .when(clusterApiService)
+        .getAllTopics(anyString(), any(), anyString(), anyString(), anyInt(), anyBoolean());
+
+    topicSyncControllerService = new TopicSyncControllerService();
+    ReflectionTestUtils.setField(
+        topicSyncControllerService, "clusterApiService", clusterApiService);
+    ReflectionTestUtils.setField(
+        topicSyncControllerService, "manageDatabase", tenant.getManageDatabase());
+    ReflectionTestUtils.setField(
+        topicSyncControllerService, "mailService", tenant.getMailService());
+    ReflectionTestUtils.setField(
+        topicSyncControllerService, "commonUtilsService", tenant.createCommonUtilsService());
+  }
+
+  @Benchmark
+  public SyncTopicsList reconciliation() throws Exception {
+    return topicSyncControllerService.getReconTopics(
+        "1", "-1", "", null, "false", false, false, SyntheticTenant.TENANT_ID, true);
+  }
+
+  @Benchmark
+  public SyncTopicsList allTopicsFirstPage() throws Exception {
+    return topicSyncControllerService.getSyncTopics(
+        "1", "1", "", null, "true", false, false, SyntheticTenant.TENANT_ID, false);
+  }
+}
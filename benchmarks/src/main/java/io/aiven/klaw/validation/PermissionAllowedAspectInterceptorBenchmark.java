@@ -0,0 +1,80 @@
+package io.aiven.klaw.validation;
+
+import io.aiven.klaw.benchmarks.SyntheticTenant;
+import io.aiven.klaw.model.enums.PermissionType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Permission checks of the authorization aspect, within a request and outside of one. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PermissionAllowedAspectInterceptorBenchmark {
+
+  @Param({"1", "4"})
+  private int checksPerRequest;
+
+  private PermissionAllowedAspectInterceptor interceptor;
+
+  private PermissionAllowed permissionAllowed;
+
+  private MockHttpServletRequest request;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    SyntheticTenant tenant = SyntheticTenant.withTopics(1000);
+    interceptor = new PermissionAllowedAspectInterceptor();
+    ReflectionTestUtils.setField(
+        interceptor, "commonUtilsService", tenant.createCommonUtilsService());
+    permissionAllowed =
+        PermissionAllowedAspectInterceptorBenchmark.class
+            .getDeclaredMethod("approveTopics")
+            .getAnnotation(PermissionAllowed.class);
+    request = new MockHttpServletRequest();
+  }
+
+  @Benchmark
+  public void checkPermissions() {
+    for (int i = 0; i < checksPerRequest; i++) {
+      interceptor.checkPermissions(permissionAllowed);
+    }
+  }
+
+  @Benchmark
+  public void checkPermissionsInRequest() {
+    // a new request each time, the permissions resolved by the previous one are cleared
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    try {
+      for (int i = 0; i < checksPerRequest; i++) {
+        interceptor.checkPermissions(permissionAllowed);
+      }
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+      request.clearAttributes();
+    }
+  }
+
+  @PermissionAllowed(
+      permissionAllowed = {
+        PermissionType.APPROVE_TOPICS,
+        PermissionType.APPROVE_ALL_REQUESTS_TEAMS
+      })
+  private void approveTopics() {}
+}
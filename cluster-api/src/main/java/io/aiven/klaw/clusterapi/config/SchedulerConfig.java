@@ -1,6 +1,7 @@
 package io.aiven.klaw.clusterapi.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,6 +15,15 @@ public class SchedulerConfig {
   @Value("${klaw.schemainfo.scheduler.threadcount:4}")
   private int poolSize;
 
+  @Value("${klaw.schemainfo.crawl.threadcount:16}")
+  private int poolSizeSchemaCrawl;
+
+  @Value("${klaw.topiccontents.stream.threadcount:4}")
+  private int poolSizeTopicContents;
+
+  @Value("${klaw.topiccontents.stream.queue.capacity:50}")
+  private int queueCapacityTopicContents;
+
   @Value("${klaw.topics.scheduler.threadcount:4}")
   private int poolSizeTopics;
 
@@ -24,10 +34,27 @@ public class SchedulerConfig {
     return threadPoolTaskExecutor;
   }
 
+  @Bean(name = "schemaCrawlTaskExecutor")
+  public Executor schemaCrawlThreadPoolTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(poolSizeSchemaCrawl);
+    return threadPoolTaskExecutor;
+  }
+
   @Bean(name = "resetTopicsCacheTaskExecutor")
   public Executor topicsThreadPoolTaskExecutor() {
     ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
     threadPoolTaskExecutor.setCorePoolSize(poolSizeTopics);
     return threadPoolTaskExecutor;
   }
+
+  @Bean(name = "topicContentsTaskExecutor")
+  public Executor topicContentsThreadPoolTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(poolSizeTopicContents);
+    // streams waiting for a thread are bounded, further ones are rejected rather than queued
+    threadPoolTaskExecutor.setQueueCapacity(queueCapacityTopicContents);
+    threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    return threadPoolTaskExecutor;
+  }
 }
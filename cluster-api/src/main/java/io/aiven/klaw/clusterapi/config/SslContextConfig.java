@@ -35,6 +35,14 @@ public class SslContextConfig implements InitializingBean {
 
   private HttpComponentsClientHttpRequestFactory requestFactory;
 
+  private HttpComponentsClientHttpRequestFactory plainRequestFactory;
+
+  @Value("${klaw.clusterapi.http.max.connections.per.route:20}")
+  private int maxConnectionsPerRoute;
+
+  @Value("${klaw.clusterapi.http.max.connections:200}")
+  private int maxConnections;
+
   @Value("${server.ssl.trust-store:null}")
   private String trustStore;
 
@@ -54,6 +62,33 @@ public class SslContextConfig implements InitializingBean {
     return requestFactory;
   }
 
+  /**
+   * The request factory of the plaintext registries and connect clusters. Connections are pooled
+   * and kept alive, so a crawl of a registry reuses them instead of opening one per request.
+   */
+  public HttpComponentsClientHttpRequestFactory getPlainClientHttpRequestFactory() {
+    return plainRequestFactory;
+  }
+
+  private PoolingHttpClientConnectionManager createConnectionManager(
+      Registry<ConnectionSocketFactory> registry) {
+    PoolingHttpClientConnectionManager poolingConnManager =
+        new PoolingHttpClientConnectionManager(registry);
+    poolingConnManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+    poolingConnManager.setMaxTotal(maxConnections);
+    return poolingConnManager;
+  }
+
+  private void setPlainRequestFactory() {
+    Registry<ConnectionSocketFactory> registry =
+        RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", new PlainConnectionSocketFactory())
+            .build();
+    CloseableHttpClient httpClient =
+        HttpClients.custom().setConnectionManager(createConnectionManager(registry)).build();
+    plainRequestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+  }
+
   private void setKwSSLContext() throws Exception {
     if (keyStore != null && !keyStore.equals("null")) {
       TrustStrategy acceptingTrustStrategy = (X509Certificate[] chain, String authType) -> true;
@@ -68,8 +103,7 @@ public class SslContextConfig implements InitializingBean {
                 .register("http", new PlainConnectionSocketFactory())
                 .register("https", sslsf)
                 .build();
-        HttpClientConnectionManager poolingConnManager =
-            new PoolingHttpClientConnectionManager(registry);
+        HttpClientConnectionManager poolingConnManager = createConnectionManager(registry);
         CloseableHttpClient httpClient =
             HttpClients.custom().setConnectionManager(poolingConnManager).build();
         requestFactory = new HttpComponentsClientHttpRequestFactory();
@@ -100,6 +134,7 @@ public class SslContextConfig implements InitializingBean {
 
   @Override
   public void afterPropertiesSet() throws Exception {
+    setPlainRequestFactory();
     setKwSSLContext();
   }
 }
@@ -2,6 +2,7 @@ package io.aiven.klaw.clusterapi.controller;
 
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
+import io.aiven.klaw.clusterapi.models.ClusterKeyIdentifier;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.LoadTopicsResponse;
 import io.aiven.klaw.clusterapi.models.ServiceAccountDetails;
@@ -15,18 +16,21 @@ import io.aiven.klaw.clusterapi.services.ApacheKafkaAclService;
 import io.aiven.klaw.clusterapi.services.ApacheKafkaTopicService;
 import io.aiven.klaw.clusterapi.services.ConfluentCloudApiService;
 import io.aiven.klaw.clusterapi.services.UtilComponentsService;
+import io.aiven.klaw.clusterapi.utils.SnapshotVersions;
 import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
@@ -37,6 +41,10 @@ import org.springframework.web.bind.annotation.RestController;
 @AllArgsConstructor
 public class ClusterApiController {
 
+  // compact binary json, offered by the endpoints returning the topics, acls, schemas or
+  // connectors of a cluster
+  public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
   UtilComponentsService utilComponentsService;
 
   ApacheKafkaAclService apacheKafkaAclService;
@@ -47,6 +55,11 @@ public class ClusterApiController {
 
   ConfluentCloudApiService confluentCloudApiService;
 
+  // versions of the topics and acls last returned per cluster, unchanged ones are not sent again
+  private final SnapshotVersions topicSnapshots = new SnapshotVersions();
+
+  private final SnapshotVersions aclSnapshots = new SnapshotVersions();
+
   @RequestMapping(
       value = "/getApiStatus",
       method = RequestMethod.GET,
@@ -76,13 +89,14 @@ public class ClusterApiController {
       value =
           "/getTopics/{bootstrapServers}/{protocol}/{clusterName}/topicsNativeType/{aclsNativeType}/resetCache/{resetCache}",
       method = RequestMethod.GET,
-      produces = {MediaType.APPLICATION_JSON_VALUE})
+      produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public ResponseEntity<LoadTopicsResponse> getTopics(
       @PathVariable String bootstrapServers,
       @Valid @PathVariable KafkaSupportedProtocol protocol,
       @PathVariable String clusterName,
       @PathVariable String aclsNativeType,
-      @PathVariable boolean resetCache)
+      @PathVariable boolean resetCache,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
       throws Exception {
     LoadTopicsResponse loadTopicsResponse;
     if (AclsNativeType.CONFLUENT_CLOUD.name().equals(aclsNativeType)) {
@@ -92,21 +106,28 @@ public class ClusterApiController {
       loadTopicsResponse =
           apacheKafkaTopicService.loadTopics(bootstrapServers, protocol, clusterName, resetCache);
     }
-    return new ResponseEntity<>(loadTopicsResponse, HttpStatus.OK);
+    String eTag =
+        topicSnapshots.update(
+            new ClusterKeyIdentifier(bootstrapServers, protocol, clusterName), loadTopicsResponse);
+    if (SnapshotVersions.matches(ifNoneMatch, eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+    return ResponseEntity.ok().eTag(eTag).body(loadTopicsResponse);
   }
 
   @RequestMapping(
       value =
           "/getAcls/{bootstrapServers}/{aclsNativeType}/{protocol}/{clusterName}/{projectName}/{serviceName}",
       method = RequestMethod.GET,
-      produces = {MediaType.APPLICATION_JSON_VALUE})
+      produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public ResponseEntity<Set<Map<String, String>>> getAcls(
       @PathVariable String bootstrapServers,
       @Valid @PathVariable KafkaSupportedProtocol protocol,
       @PathVariable String clusterName,
       @PathVariable String aclsNativeType,
       @PathVariable String projectName,
-      @PathVariable String serviceName)
+      @PathVariable String serviceName,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
       throws Exception {
     Set<Map<String, String>> acls;
     if (AclsNativeType.NATIVE.name().equals(aclsNativeType)) {
@@ -116,7 +137,13 @@ public class ClusterApiController {
     } else {
       acls = aivenApiService.listAcls(projectName, serviceName);
     }
-    return new ResponseEntity<>(acls, HttpStatus.OK);
+    String eTag =
+        aclSnapshots.update(
+            new ClusterKeyIdentifier(bootstrapServers, protocol, clusterName), acls);
+    if (SnapshotVersions.matches(ifNoneMatch, eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+    return ResponseEntity.ok().eTag(eTag).body(acls);
   }
 
   /*
@@ -30,7 +30,7 @@ public class KafkaConnectController {
   @RequestMapping(
       value = "/getAllConnectors/{kafkaConnectHost}/{protocol}/{clusterIdentification}",
       method = RequestMethod.GET,
-      produces = {MediaType.APPLICATION_JSON_VALUE})
+      produces = {MediaType.APPLICATION_JSON_VALUE, ClusterApiController.APPLICATION_SMILE_VALUE})
   public ResponseEntity<ConnectorsStatus> getAllConnectors(
       @PathVariable String kafkaConnectHost,
       @Valid @PathVariable KafkaSupportedProtocol protocol,
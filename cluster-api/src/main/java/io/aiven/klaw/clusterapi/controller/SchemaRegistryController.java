@@ -3,6 +3,7 @@ package io.aiven.klaw.clusterapi.controller;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterSchemaCacheResetRequest;
 import io.aiven.klaw.clusterapi.models.ClusterSchemaRequest;
+import io.aiven.klaw.clusterapi.models.ClusterSchemasRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.SchemasInfoOfClusterResponse;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
@@ -44,6 +45,20 @@ public class SchemaRegistryController {
     return new ResponseEntity<>(schema, HttpStatus.OK);
   }
 
+  /**
+   * Return the schemas of several topics of a schema registry, keyed by topic name, in one call.
+   *
+   * @param clusterSchemasRequest schema registry and topic names
+   * @return schemas of each topic, by version
+   */
+  @PostMapping(
+      value = "/getSchemas",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<Map<String, Map<Integer, Map<String, Object>>>> getSchemas(
+      @RequestBody @Valid ClusterSchemasRequest clusterSchemasRequest) throws InterruptedException {
+    return new ResponseEntity<>(schemaService.getSchemas(clusterSchemasRequest), HttpStatus.OK);
+  }
+
   /**
    * Return list of all available subjects (-value only), and schema versions on each subject, from
    * the schema registry cluster
@@ -57,7 +72,7 @@ public class SchemaRegistryController {
       value =
           "/schemas/bootstrapServers/{bootstrapServers}/protocol/{protocol}/clusterIdentification/{clusterIdentification}",
       method = RequestMethod.GET,
-      produces = {MediaType.APPLICATION_JSON_VALUE})
+      produces = {MediaType.APPLICATION_JSON_VALUE, ClusterApiController.APPLICATION_SMILE_VALUE})
   public ResponseEntity<SchemasInfoOfClusterResponse> getSchemaInfoOfCluster(
       @PathVariable String bootstrapServers,
       @Valid @PathVariable KafkaSupportedProtocol protocol,
@@ -1,16 +1,26 @@
 package io.aiven.klaw.clusterapi.controller;
 
+import io.aiven.klaw.clusterapi.models.TopicContentsRequest;
+import io.aiven.klaw.clusterapi.models.TopicContentsResponse;
 import io.aiven.klaw.clusterapi.services.TopicContentsService;
+import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/topics")
@@ -19,6 +29,10 @@ public class TopicContentsController {
 
   @Autowired TopicContentsService topicContentsService;
 
+  @Autowired
+  @Qualifier("topicContentsTaskExecutor")
+  Executor topicContentsTaskExecutor;
+
   @RequestMapping(
       value =
           "/getTopicContents/{bootstrapServers}/"
@@ -53,4 +67,54 @@ public class TopicContentsController {
 
     return new ResponseEntity<>(events, HttpStatus.OK);
   }
+
+  /** A page of records, with the offsets of the next and previous pages. */
+  @PostMapping(
+      value = "/topicContents",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<TopicContentsResponse> getTopicContentsPage(
+      @RequestBody @Valid TopicContentsRequest topicContentsRequest) throws IOException {
+    return new ResponseEntity<>(
+        topicContentsService.readRecords(topicContentsRequest, null), HttpStatus.OK);
+  }
+
+  /**
+   * The same page as server sent events: a "record" event per record, in the order of the page,
+   * then a "page" event with the offsets of the next and previous pages and no records. Answered
+   * with 503 when all the stream threads are busy and the queue of waiting streams is full.
+   */
+  @PostMapping(
+      value = "/topicContents/stream",
+      produces = {MediaType.TEXT_EVENT_STREAM_VALUE})
+  public ResponseEntity<SseEmitter> streamTopicContents(
+      @RequestBody @Valid TopicContentsRequest topicContentsRequest) {
+    SseEmitter emitter = new SseEmitter();
+    try {
+      topicContentsTaskExecutor.execute(
+          () -> {
+            try {
+              TopicContentsResponse page =
+                  topicContentsService.readRecords(
+                      topicContentsRequest,
+                      record -> emitter.send(SseEmitter.event().name("record").data(record)));
+              emitter.send(
+                  SseEmitter.event()
+                      .name("page")
+                      .data(
+                          TopicContentsResponse.builder()
+                              .nextOffsets(page.getNextOffsets())
+                              .previousOffsets(page.getPreviousOffsets())
+                              .build()));
+              emitter.complete();
+            } catch (Exception e) {
+              log.error("Error in streaming records of {}", topicContentsRequest.getTopicName(), e);
+              emitter.completeWithError(e);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      log.warn("Too many streams, rejected the one of {}", topicContentsRequest.getTopicName());
+      return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    return new ResponseEntity<>(emitter, HttpStatus.OK);
+  }
 }
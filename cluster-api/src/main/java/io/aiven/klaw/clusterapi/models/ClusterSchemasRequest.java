@@ -0,0 +1,25 @@
+package io.aiven.klaw.clusterapi.models;
+
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClusterSchemasRequest implements Serializable {
+
+  private String env;
+
+  private KafkaSupportedProtocol protocol;
+
+  private String clusterIdentification;
+
+  @NotNull private List<String> topicNames;
+}
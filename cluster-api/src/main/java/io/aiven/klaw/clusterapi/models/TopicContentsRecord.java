@@ -0,0 +1,22 @@
+package io.aiven.klaw.clusterapi.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicContentsRecord {
+  private int partition;
+
+  private long offset;
+
+  private long timestamp;
+
+  private String key;
+
+  private String value;
+}
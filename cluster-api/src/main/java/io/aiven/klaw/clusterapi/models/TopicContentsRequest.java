@@ -0,0 +1,44 @@
+package io.aiven.klaw.clusterapi.models;
+
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.enums.TopicContentsDirection;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A page of records of a topic. The page starts at the offset of each partition in {@code
+ * partitionOffsets}, or else at {@code timestamp}, or else at the beginning (forward) or end
+ * (backward) of the partitions. The offsets of the next and previous pages are returned with each
+ * page.
+ */
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TopicContentsRequest implements Serializable {
+
+  @NotNull private String bootstrapServers;
+
+  @NotNull private KafkaSupportedProtocol protocol;
+
+  private String clusterIdentification;
+
+  @NotNull private String topicName;
+
+  // all partitions if not set
+  private Integer partitionId;
+
+  private Map<Integer, Long> partitionOffsets;
+
+  // epoch millis
+  private Long timestamp;
+
+  @Builder.Default private TopicContentsDirection direction = TopicContentsDirection.FORWARD;
+
+  private int maxRecords;
+}
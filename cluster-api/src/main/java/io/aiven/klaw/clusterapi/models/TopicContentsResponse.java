@@ -0,0 +1,23 @@
+package io.aiven.klaw.clusterapi.models;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicContentsResponse {
+  // sorted by timestamp
+  private List<TopicContentsRecord> records;
+
+  // partitionOffsets of the next page forward
+  private Map<Integer, Long> nextOffsets;
+
+  // partitionOffsets of the previous page backward
+  private Map<Integer, Long> previousOffsets;
+}
@@ -0,0 +1,8 @@
+package io.aiven.klaw.clusterapi.models.enums;
+
+public enum TopicContentsDirection {
+  // the records from the position onwards
+  FORWARD,
+  // the records before the position
+  BACKWARD
+}
@@ -1,12 +1,14 @@
 package io.aiven.klaw.clusterapi.services;
 
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
+import io.aiven.klaw.clusterapi.models.ClusterKeyIdentifier;
 import io.aiven.klaw.clusterapi.models.enums.AclIPPrincipleType;
 import io.aiven.klaw.clusterapi.models.enums.AclPatternType;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.models.enums.RequestOperationType;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.ClusterOperationLocks;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -16,6 +18,7 @@ import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.DescribeAclsResult;
@@ -39,13 +42,30 @@ public class ApacheKafkaAclService {
 
   private final ClusterApiUtils clusterApiUtils;
 
+  private final ClusterOperationLocks clusterOperationLocks = new ClusterOperationLocks();
+
   public ApacheKafkaAclService(ClusterApiUtils clusterApiUtils) {
     this.clusterApiUtils = clusterApiUtils;
   }
 
-  public synchronized Set<Map<String, String>> loadAcls(
+  private static ClusterKeyIdentifier getClusterKeyIdentifier(ClusterAclRequest clusterAclRequest) {
+    return new ClusterKeyIdentifier(
+        clusterAclRequest.getEnv(),
+        clusterAclRequest.getProtocol(),
+        clusterAclRequest.getClusterName());
+  }
+
+  public Set<Map<String, String>> loadAcls(
       String environment, KafkaSupportedProtocol protocol, String clusterName) throws Exception {
     log.info("loadAcls {} {}", environment, protocol);
+    // concurrent loads of the same cluster share one describeAcls call
+    return clusterOperationLocks.loadOnce(
+        new ClusterKeyIdentifier(environment, protocol, clusterName),
+        () -> loadAclsFromCluster(environment, protocol, clusterName));
+  }
+
+  private Set<Map<String, String>> loadAclsFromCluster(
+      String environment, KafkaSupportedProtocol protocol, String clusterName) throws Exception {
     Set<Map<String, String>> acls = new HashSet<>();
 
     AdminClient client = clusterApiUtils.getAdminClient(environment, protocol, clusterName);
@@ -63,6 +83,8 @@ public class ApacheKafkaAclService {
           .forEach(aclBinding -> filterAndUpdateAclBindings(acls, aclBinding));
     } catch (Exception e) {
       log.error("Exception: ", e);
+    } finally {
+      clusterApiUtils.releaseAdminClient(client);
     }
 
     return acls;
@@ -89,9 +111,20 @@ public class ApacheKafkaAclService {
     }
   }
 
-  public synchronized String updateProducerAcl(ClusterAclRequest clusterAclRequest) {
+  public String updateProducerAcl(ClusterAclRequest clusterAclRequest) {
+    Lock clusterLock = clusterOperationLocks.getLock(getClusterKeyIdentifier(clusterAclRequest));
+    clusterLock.lock();
+    try {
+      return updateProducerAclOnCluster(clusterAclRequest);
+    } finally {
+      clusterOperationLocks.invalidateLoad(getClusterKeyIdentifier(clusterAclRequest));
+      clusterLock.unlock();
+    }
+  }
+
+  private String updateProducerAclOnCluster(ClusterAclRequest clusterAclRequest) {
     log.info("updateProducerAclRequest {}", clusterAclRequest);
-    AdminClient client;
+    AdminClient client = null;
     try {
       PatternType patternType;
       if (clusterAclRequest.isPrefixAcl()) {
@@ -164,6 +197,8 @@ public class ApacheKafkaAclService {
     } catch (Exception e) {
       log.error("Exception: ", e);
       return ApiResultStatus.FAILURE.value;
+    } finally {
+      clusterApiUtils.releaseAdminClient(client);
     }
 
     return ApiResultStatus.SUCCESS.value;
@@ -275,9 +310,20 @@ public class ApacheKafkaAclService {
     }
   }
 
-  public synchronized String updateConsumerAcl(ClusterAclRequest clusterAclRequest) {
+  public String updateConsumerAcl(ClusterAclRequest clusterAclRequest) {
+    Lock clusterLock = clusterOperationLocks.getLock(getClusterKeyIdentifier(clusterAclRequest));
+    clusterLock.lock();
+    try {
+      return updateConsumerAclOnCluster(clusterAclRequest);
+    } finally {
+      clusterOperationLocks.invalidateLoad(getClusterKeyIdentifier(clusterAclRequest));
+      clusterLock.unlock();
+    }
+  }
+
+  private String updateConsumerAclOnCluster(ClusterAclRequest clusterAclRequest) {
     log.info("updateConsumerAclRequest {} ", clusterAclRequest);
-    AdminClient client;
+    AdminClient client = null;
     String resultStr = "";
     try {
       PatternType patternType;
@@ -399,6 +445,8 @@ public class ApacheKafkaAclService {
     } catch (Exception e) {
       log.error("Exception:", e);
       return ApiResultStatus.FAILURE.value;
+    } finally {
+      clusterApiUtils.releaseAdminClient(client);
     }
 
     return resultStr;
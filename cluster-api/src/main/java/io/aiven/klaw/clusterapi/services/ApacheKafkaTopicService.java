@@ -8,6 +8,7 @@ import io.aiven.klaw.clusterapi.models.TopicConfig;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.ClusterOperationLocks;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -15,10 +16,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.Config;
@@ -33,6 +37,7 @@ import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.config.ConfigResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -44,27 +49,55 @@ public class ApacheKafkaTopicService {
 
   private final SchemaService schemaService;
 
-  private static Map<ClusterKeyIdentifier, Set<TopicConfig>> cachedTopics = new HashMap<>();
+  private static Map<ClusterKeyIdentifier, Set<TopicConfig>> cachedTopics =
+      new ConcurrentHashMap<>();
 
-  private static Set<ClusterKeyIdentifier> topicCacheKeySets = new HashSet<>();
+  private static Set<ClusterKeyIdentifier> topicCacheKeySets = ConcurrentHashMap.newKeySet();
 
-  private static Map<ClusterKeyIdentifier, Boolean> topicsLoadingStatusOfClusters = new HashMap<>();
+  // topics created, updated or deleted through this api, described again on the next refresh
+  private static Map<ClusterKeyIdentifier, Set<String>> staleTopicNames = new ConcurrentHashMap<>();
+
+  private static Map<ClusterKeyIdentifier, Integer> incrementalRefreshCounts =
+      new ConcurrentHashMap<>();
+
+  @Value("${klaw.topics.cache.incremental.enabled:true}")
+  private boolean incrementalRefreshEnabled;
+
+  // number of topics per describeTopics call, 0 describes all topics in one call
+  @Value("${klaw.topics.cache.describe.batch.size:500}")
+  private int describeBatchSize;
+
+  // every nth refresh of a cluster rebuilds the cache, to pick up changes made outside klaw
+  @Value("${klaw.topics.cache.full.refresh.every:10}")
+  private int fullRefreshEvery;
+
+  private final ClusterOperationLocks clusterOperationLocks = new ClusterOperationLocks();
 
   public ApacheKafkaTopicService(ClusterApiUtils clusterApiUtils, SchemaService schemaService) {
     this.clusterApiUtils = clusterApiUtils;
     this.schemaService = schemaService;
   }
 
-  public synchronized LoadTopicsResponse loadTopics(
+  /** A reset of the cache describes all the topics of the cluster again. */
+  public LoadTopicsResponse loadTopics(
       String environment,
       KafkaSupportedProtocol protocol,
       String clusterIdentification,
       boolean resetCache)
       throws Exception {
+    return loadTopics(environment, protocol, clusterIdentification, resetCache, resetCache);
+  }
+
+  private LoadTopicsResponse loadTopics(
+      String environment,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      boolean resetCache,
+      boolean fullRefresh)
+      throws Exception {
     log.info("loadTopics {} {}", environment, protocol);
     AdminClient client =
         clusterApiUtils.getAdminClient(environment, protocol, clusterIdentification);
-    Set<TopicConfig> topics = new HashSet<>();
     if (client == null) {
       throw new Exception("Cannot connect to cluster.");
     }
@@ -72,81 +105,226 @@ public class ApacheKafkaTopicService {
     ClusterKeyIdentifier clusterKeyIdentifier =
         new ClusterKeyIdentifier(environment, protocol, clusterIdentification);
 
-    boolean topicsLoadingStatus = false;
-    if (topicsLoadingStatusOfClusters.containsKey(clusterKeyIdentifier)) {
-      topicsLoadingStatus = topicsLoadingStatusOfClusters.get(clusterKeyIdentifier);
-    } else {
-      topicsLoadingStatusOfClusters.put(clusterKeyIdentifier, false);
+    Set<TopicConfig> topics = cachedTopics.get(clusterKeyIdentifier);
+    try {
+      if (resetCache || topics == null) {
+        if (fullRefresh) {
+          // a load in flight may be incremental
+          clusterOperationLocks.invalidateLoad(clusterKeyIdentifier);
+        }
+        // concurrent loads of the same cluster share one describeTopics call
+        topics =
+            clusterOperationLocks.loadOnce(
+                clusterKeyIdentifier,
+                () -> refreshTopicsCache(client, clusterKeyIdentifier, fullRefresh));
+      }
+    } finally {
+      clusterApiUtils.releaseAdminClient(client);
+    }
+
+    return LoadTopicsResponse.builder().loadingInProgress(false).topicConfigSet(topics).build();
+  }
+
+  private Set<TopicConfig> refreshTopicsCache(
+      AdminClient client, ClusterKeyIdentifier clusterKeyIdentifier, boolean fullRefresh) {
+    // the topics changed until now are described by this refresh, they are put back if it fails
+    Set<String> staleTopics =
+        Objects.requireNonNullElse(
+            staleTopicNames.remove(clusterKeyIdentifier), Collections.emptySet());
+    boolean refreshed = false;
+    try {
+      Set<TopicConfig> cachedTopicConfigs = cachedTopics.get(clusterKeyIdentifier);
+      if (fullRefresh) {
+        incrementalRefreshCounts.remove(clusterKeyIdentifier);
+      } else if (incrementalRefreshEnabled
+          && cachedTopicConfigs != null
+          && !isFullRefreshDue(clusterKeyIdentifier)) {
+        try {
+          Set<TopicConfig> topics =
+              refreshTopicsIncrementally(
+                  client, clusterKeyIdentifier, cachedTopicConfigs, staleTopics);
+          refreshed = true;
+          return topics;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          log.error("Exception:", e);
+          return cachedTopicConfigs;
+        } catch (ExecutionException | TimeoutException e) {
+          log.warn(
+              "Incremental refresh of topics failed for {}, rebuilding the cache",
+              clusterKeyIdentifier,
+              e);
+        }
+      }
+
+      Set<TopicConfig> topics = new HashSet<>();
+      refreshed = loadTopicsForCache(client, topics, clusterKeyIdentifier);
+      return topics;
+    } finally {
+      if (!refreshed && !staleTopics.isEmpty()) {
+        staleTopicNames
+            .computeIfAbsent(clusterKeyIdentifier, k -> ConcurrentHashMap.newKeySet())
+            .addAll(staleTopics);
+      }
     }
+  }
 
-    if (topicsLoadingStatus) {
-      return LoadTopicsResponse.builder()
-          .loadingInProgress(true)
-          .topicConfigSet(new HashSet<>())
-          .build();
-    } else {
-      topicsLoadingStatusOfClusters.put(clusterKeyIdentifier, true);
+  private boolean isFullRefreshDue(ClusterKeyIdentifier clusterKeyIdentifier) {
+    if (fullRefreshEvery <= 0) {
+      return false;
+    }
+    int refreshCount = incrementalRefreshCounts.merge(clusterKeyIdentifier, 1, Integer::sum);
+    if (refreshCount >= fullRefreshEvery) {
+      incrementalRefreshCounts.remove(clusterKeyIdentifier);
+      return true;
     }
+    return false;
+  }
 
-    if (resetCache || !cachedTopics.containsKey(clusterKeyIdentifier)) {
-      loadTopicsForCache(client, topics, clusterKeyIdentifier);
-    } else {
-      topics = cachedTopics.get(clusterKeyIdentifier);
+  /**
+   * Lists the topic names and only describes the topics which are not cached yet (or were changed
+   * through this api), instead of describing every topic of the cluster. Topics which no longer
+   * exist are dropped.
+   */
+  private Set<TopicConfig> refreshTopicsIncrementally(
+      AdminClient client,
+      ClusterKeyIdentifier clusterKeyIdentifier,
+      Set<TopicConfig> cachedTopicConfigs,
+      Set<String> staleTopics)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    Map<String, TopicConfig> cachedTopicsByName = new HashMap<>();
+    cachedTopicConfigs.forEach(
+        topicConfig -> cachedTopicsByName.put(topicConfig.getTopicName(), topicConfig));
+
+    Set<TopicConfig> topics = new HashSet<>();
+    List<String> topicsToDescribe = new ArrayList<>();
+    for (String topicName : listTopicNames(client)) {
+      TopicConfig cachedTopicConfig = cachedTopicsByName.get(topicName);
+      if (cachedTopicConfig != null && !staleTopics.contains(topicName)) {
+        topics.add(cachedTopicConfig);
+      } else {
+        topicsToDescribe.add(topicName);
+      }
     }
 
-    topicsLoadingStatusOfClusters.put(clusterKeyIdentifier, false);
-    return LoadTopicsResponse.builder().loadingInProgress(false).topicConfigSet(topics).build();
+    log.info(
+        "Refreshing topics of {}: {} cached, {} to describe",
+        clusterKeyIdentifier,
+        topics.size(),
+        topicsToDescribe.size());
+    describeTopicsInBatches(client, topicsToDescribe)
+        .forEach(
+            (topicName, topicDescription) -> addTopicConfig(topics, topicName, topicDescription));
+    updateCache(clusterKeyIdentifier, topics);
+    return topics;
   }
 
-  private void loadTopicsForCache(
+  private boolean loadTopicsForCache(
       AdminClient client, Set<TopicConfig> topics, ClusterKeyIdentifier clusterKeyIdentifier) {
     try {
       Map<String, TopicDescription> topicDescriptionsPerAdminClient =
-          loadTopicDescriptionsMap(client);
+          describeTopicsInBatches(client, listTopicNames(client));
 
       Set<String> keySet = topicDescriptionsPerAdminClient.keySet();
-      keySet.remove("_schemas");
-      List<String> lstK = new ArrayList<>(keySet);
-      TopicConfig topicConfig;
-      for (String topicName : lstK) {
-        if (topicName.startsWith("_confluent") || topicName.startsWith("__connect")) {
+      for (String topicName : keySet) {
+        if (isExcludedTopic(topicName)) {
           continue;
         }
-        topicConfig = new TopicConfig();
-        topicConfig.setTopicName(topicName);
-        TopicDescription topicDescription = topicDescriptionsPerAdminClient.get(topicName);
-        topicConfig.setReplicationFactor(
-            "" + topicDescription.partitions().get(0).replicas().size());
-        topicConfig.setPartitions("" + topicDescription.partitions().size());
-        topics.add(topicConfig);
+        addTopicConfig(topics, topicName, topicDescriptionsPerAdminClient.get(topicName));
       }
       updateCache(clusterKeyIdentifier, topics);
+      return true;
     } catch (InterruptedException | ExecutionException | TimeoutException e) {
       log.error("Exception:", e);
+      return false;
     }
   }
 
+  private static void addTopicConfig(
+      Set<TopicConfig> topics, String topicName, TopicDescription topicDescription) {
+    TopicConfig topicConfig = new TopicConfig();
+    topicConfig.setTopicName(topicName);
+    topicConfig.setReplicationFactor("" + topicDescription.partitions().get(0).replicas().size());
+    topicConfig.setPartitions("" + topicDescription.partitions().size());
+    topics.add(topicConfig);
+  }
+
+  private static boolean isExcludedTopic(String topicName) {
+    return topicName.equals("_schemas")
+        || topicName.startsWith("_confluent")
+        || topicName.startsWith("__connect");
+  }
+
   private void updateCache(
       ClusterKeyIdentifier clusterKeyIdentifier, Set<TopicConfig> topicConfigSet) {
     cachedTopics.put(clusterKeyIdentifier, topicConfigSet);
     topicCacheKeySets.add(clusterKeyIdentifier);
   }
 
-  private Map<String, TopicDescription> loadTopicDescriptionsMap(AdminClient client)
+  private List<String> listTopicNames(AdminClient client)
       throws InterruptedException, ExecutionException, TimeoutException {
     ListTopicsOptions listTopicsOptions = new ListTopicsOptions();
     listTopicsOptions = listTopicsOptions.listInternal(false);
 
     ListTopicsResult topicsResult = client.listTopics(listTopicsOptions);
-    DescribeTopicsResult describeTopicsResult =
-        client.describeTopics(new ArrayList<>(topicsResult.names().get()));
+    List<String> topicNames = new ArrayList<>();
+    for (String topicName :
+        topicsResult
+            .names()
+            .get(
+                clusterApiUtils.getAdminClientProperties().getTopicsTimeoutSecs(),
+                TimeUnit.SECONDS)) {
+      if (!isExcludedTopic(topicName)) {
+        topicNames.add(topicName);
+      }
+    }
+    return topicNames;
+  }
 
-    return describeTopicsResult
-        .allTopicNames()
-        .get(clusterApiUtils.getAdminClientProperties().getTopicsTimeoutSecs(), TimeUnit.SECONDS);
+  private Map<String, TopicDescription> describeTopicsInBatches(
+      AdminClient client, List<String> topicNames)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    Map<String, TopicDescription> topicDescriptions = new HashMap<>();
+    if (topicNames.isEmpty()) {
+      return topicDescriptions;
+    }
+    int batchSize = describeBatchSize > 0 ? describeBatchSize : topicNames.size();
+    for (int from = 0; from < topicNames.size(); from += batchSize) {
+      List<String> batch = topicNames.subList(from, Math.min(from + batchSize, topicNames.size()));
+      DescribeTopicsResult describeTopicsResult = client.describeTopics(new ArrayList<>(batch));
+      topicDescriptions.putAll(
+          describeTopicsResult
+              .allTopicNames()
+              .get(
+                  clusterApiUtils.getAdminClientProperties().getTopicsTimeoutSecs(),
+                  TimeUnit.SECONDS));
+    }
+    return topicDescriptions;
   }
 
-  public synchronized ApiResponse createTopic(ClusterTopicRequest clusterTopicRequest)
+  private static void markTopicStale(ClusterTopicRequest clusterTopicRequest) {
+    if (clusterTopicRequest.getTopicName() == null) {
+      return;
+    }
+    staleTopicNames
+        .computeIfAbsent(
+            getClusterKeyIdentifier(clusterTopicRequest), k -> ConcurrentHashMap.newKeySet())
+        .add(clusterTopicRequest.getTopicName());
+  }
+
+  public ApiResponse createTopic(ClusterTopicRequest clusterTopicRequest) throws Exception {
+    Lock clusterLock = clusterOperationLocks.getLock(getClusterKeyIdentifier(clusterTopicRequest));
+    clusterLock.lock();
+    try {
+      return createTopicOnCluster(clusterTopicRequest);
+    } finally {
+      markTopicStale(clusterTopicRequest);
+      clusterOperationLocks.invalidateLoad(getClusterKeyIdentifier(clusterTopicRequest));
+      clusterLock.unlock();
+    }
+  }
+
+  private ApiResponse createTopicOnCluster(ClusterTopicRequest clusterTopicRequest)
       throws Exception {
     log.info("createTopic {}", clusterTopicRequest);
     AdminClient client =
@@ -204,6 +382,8 @@ public class ApacheKafkaTopicService {
     } catch (Exception e) {
       log.error("Exception:", e);
       throw e;
+    } finally {
+      clusterApiUtils.releaseAdminClient(client);
     }
 
     return ApiResponse.builder().success(true).message(ApiResultStatus.SUCCESS.value).build();
@@ -223,7 +403,19 @@ public class ApacheKafkaTopicService {
             == clusterTopicRequest.getReplicationFactor();
   }
 
-  public synchronized ApiResponse updateTopic(ClusterTopicRequest clusterTopicRequest)
+  public ApiResponse updateTopic(ClusterTopicRequest clusterTopicRequest) throws Exception {
+    Lock clusterLock = clusterOperationLocks.getLock(getClusterKeyIdentifier(clusterTopicRequest));
+    clusterLock.lock();
+    try {
+      return updateTopicOnCluster(clusterTopicRequest);
+    } finally {
+      markTopicStale(clusterTopicRequest);
+      clusterOperationLocks.invalidateLoad(getClusterKeyIdentifier(clusterTopicRequest));
+      clusterLock.unlock();
+    }
+  }
+
+  private ApiResponse updateTopicOnCluster(ClusterTopicRequest clusterTopicRequest)
       throws Exception {
     log.info("updateTopic Name: {}", clusterTopicRequest);
 
@@ -237,55 +429,73 @@ public class ApacheKafkaTopicService {
       throw new Exception("Cannot connect to cluster.");
     }
 
-    DescribeTopicsResult describeTopicsResult =
-        client.describeTopics(Collections.singleton(clusterTopicRequest.getTopicName()));
-    TopicDescription result =
-        describeTopicsResult
-            .all()
-            .get(
-                clusterApiUtils.getAdminClientProperties().getTopicsTimeoutSecs(), TimeUnit.SECONDS)
-            .get(clusterTopicRequest.getTopicName());
-
-    if (result.partitions().size() > clusterTopicRequest.getPartitions()) {
-      // delete topic and recreate
-      deleteTopic(clusterTopicRequest);
-      createTopic(clusterTopicRequest);
-    } else {
-      // Update partitions
-      Map<String, NewPartitions> newPartitionSet = new HashMap<>();
-      newPartitionSet.put(
-          clusterTopicRequest.getTopicName(),
-          NewPartitions.increaseTo(clusterTopicRequest.getPartitions()));
-      if (result.partitions().size() != clusterTopicRequest.getPartitions()) {
-        client.createPartitions(newPartitionSet);
-      }
+    try {
+      DescribeTopicsResult describeTopicsResult =
+          client.describeTopics(Collections.singleton(clusterTopicRequest.getTopicName()));
+      TopicDescription result =
+          describeTopicsResult
+              .all()
+              .get(
+                  clusterApiUtils.getAdminClientProperties().getTopicsTimeoutSecs(),
+                  TimeUnit.SECONDS)
+              .get(clusterTopicRequest.getTopicName());
+
+      if (result.partitions().size() > clusterTopicRequest.getPartitions()) {
+        // delete topic and recreate
+        deleteTopic(clusterTopicRequest);
+        createTopic(clusterTopicRequest);
+      } else {
+        // Update partitions
+        Map<String, NewPartitions> newPartitionSet = new HashMap<>();
+        newPartitionSet.put(
+            clusterTopicRequest.getTopicName(),
+            NewPartitions.increaseTo(clusterTopicRequest.getPartitions()));
+        if (result.partitions().size() != clusterTopicRequest.getPartitions()) {
+          client.createPartitions(newPartitionSet);
+        }
 
-      // Update advanced config
-      ConfigResource configResource =
-          new ConfigResource(ConfigResource.Type.TOPIC, clusterTopicRequest.getTopicName());
-      Map<ConfigResource, Config> updateConfig = new HashMap<>();
+        // Update advanced config
+        ConfigResource configResource =
+            new ConfigResource(ConfigResource.Type.TOPIC, clusterTopicRequest.getTopicName());
+        Map<ConfigResource, Config> updateConfig = new HashMap<>();
 
-      Map<String, String> advancedConfig = clusterTopicRequest.getAdvancedTopicConfiguration();
-      Collection<ConfigEntry> entries = new ArrayList<>();
-      for (String key : advancedConfig.keySet()) {
-        ConfigEntry configEntry = new ConfigEntry(key, advancedConfig.get(key));
-        entries.add(configEntry);
-      }
+        Map<String, String> advancedConfig = clusterTopicRequest.getAdvancedTopicConfiguration();
+        Collection<ConfigEntry> entries = new ArrayList<>();
+        for (String key : advancedConfig.keySet()) {
+          ConfigEntry configEntry = new ConfigEntry(key, advancedConfig.get(key));
+          entries.add(configEntry);
+        }
 
-      if (!advancedConfig.isEmpty()) {
-        updateConfig.put(configResource, new Config(entries));
-        client.alterConfigs(updateConfig);
+        if (!advancedConfig.isEmpty()) {
+          updateConfig.put(configResource, new Config(entries));
+          client.alterConfigs(updateConfig);
+        }
       }
+
+    } finally {
+      clusterApiUtils.releaseAdminClient(client);
     }
 
     return ApiResponse.builder().success(true).message(ApiResultStatus.SUCCESS.value).build();
   }
 
-  public synchronized ApiResponse deleteTopic(ClusterTopicRequest clusterTopicRequest)
+  public ApiResponse deleteTopic(ClusterTopicRequest clusterTopicRequest) throws Exception {
+    Lock clusterLock = clusterOperationLocks.getLock(getClusterKeyIdentifier(clusterTopicRequest));
+    clusterLock.lock();
+    try {
+      return deleteTopicOnCluster(clusterTopicRequest);
+    } finally {
+      markTopicStale(clusterTopicRequest);
+      clusterOperationLocks.invalidateLoad(getClusterKeyIdentifier(clusterTopicRequest));
+      clusterLock.unlock();
+    }
+  }
+
+  private ApiResponse deleteTopicOnCluster(ClusterTopicRequest clusterTopicRequest)
       throws Exception {
     log.info("deleteTopic Topic {}", clusterTopicRequest);
 
-    AdminClient client;
+    AdminClient client = null;
     try {
       client =
           clusterApiUtils.getAdminClient(
@@ -329,9 +539,19 @@ public class ApacheKafkaTopicService {
     } catch (Exception e) {
       log.error("Exception:", e);
       throw e;
+    } finally {
+      clusterApiUtils.releaseAdminClient(client);
     }
   }
 
+  private static ClusterKeyIdentifier getClusterKeyIdentifier(
+      ClusterTopicRequest clusterTopicRequest) {
+    return new ClusterKeyIdentifier(
+        clusterTopicRequest.getEnv(),
+        clusterTopicRequest.getProtocol(),
+        clusterTopicRequest.getClusterName());
+  }
+
   @Async("resetTopicsCacheTaskExecutor")
   @Scheduled(
       cron = "${klaw.topics.cron.expression:0 0 0 * * ?}",
@@ -341,11 +561,13 @@ public class ApacheKafkaTopicService {
         clusterKeyIdentifier -> {
           try {
             log.info("Loading topics {}", clusterKeyIdentifier);
+            // refreshed incrementally, every few refreshes describe all the topics again
             loadTopics(
                 clusterKeyIdentifier.getBootstrapServers(),
                 clusterKeyIdentifier.getProtocol(),
                 clusterKeyIdentifier.getClusterIdentification(),
-                true);
+                true,
+                false);
           } catch (Exception e) {
             log.error("Error while loading topics {}", clusterKeyIdentifier);
           }
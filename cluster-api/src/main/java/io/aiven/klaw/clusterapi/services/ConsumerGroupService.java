@@ -53,29 +53,32 @@ public class ConsumerGroupService {
     }
     AdminClient adminClient =
         clusterApiUtils.getAdminClient(environment, protocol, clusterIdentification);
-
-    TopicDescription topicDescription =
-        describeTopic(adminClient, consumerGroupOffsetsRequest.getTopicName());
-    if (topicDescription == null) {
-      throw new Exception(
-          "Topic " + consumerGroupOffsetsRequest.getTopicName() + " does not exist.");
-    }
-
-    OffsetSpec offsetSpec =
-        switch (consumerGroupOffsetsRequest.getOffsetResetType()) {
-          case EARLIEST -> OffsetSpec.earliest();
-          case LATEST -> OffsetSpec.latest();
-          case TO_DATE_TIME -> OffsetSpec.forTimestamp(
-              consumerGroupOffsetsRequest.getConsumerGroupResetTimestampMilliSecs());
-        };
     Map<OffsetsTiming, Map<String, Long>> offsetPositionsBeforeAndAfter = new HashMap<>();
+    try {
+      TopicDescription topicDescription =
+          describeTopic(adminClient, consumerGroupOffsetsRequest.getTopicName());
+      if (topicDescription == null) {
+        throw new Exception(
+            "Topic " + consumerGroupOffsetsRequest.getTopicName() + " does not exist.");
+      }
+
+      OffsetSpec offsetSpec =
+          switch (consumerGroupOffsetsRequest.getOffsetResetType()) {
+            case EARLIEST -> OffsetSpec.earliest();
+            case LATEST -> OffsetSpec.latest();
+            case TO_DATE_TIME -> OffsetSpec.forTimestamp(
+                consumerGroupOffsetsRequest.getConsumerGroupResetTimestampMilliSecs());
+          };
 
-    extractOffsetsBeforeAndAfter(
-        consumerGroupOffsetsRequest,
-        adminClient,
-        topicDescription,
-        offsetSpec,
-        offsetPositionsBeforeAndAfter);
+      extractOffsetsBeforeAndAfter(
+          consumerGroupOffsetsRequest,
+          adminClient,
+          topicDescription,
+          offsetSpec,
+          offsetPositionsBeforeAndAfter);
+    } finally {
+      clusterApiUtils.releaseAdminClient(adminClient);
+    }
 
     if (offsetPositionsBeforeAndAfter.isEmpty()) {
       return ApiResponse.builder()
@@ -249,6 +252,8 @@ public class ConsumerGroupService {
           consumerGroupId,
           exception);
       return consumerGroupOffsetList;
+    } finally {
+      clusterApiUtils.releaseAdminClient(adminClient);
     }
   }
 
@@ -1,25 +1,60 @@
 package io.aiven.klaw.clusterapi.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import javax.crypto.spec.SecretKeySpec;
 import org.apache.tomcat.util.codec.binary.Base64;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Verifies the tokens of the requests from Klaw. Klaw reuses a token for its calls until shortly
+ * before it expires, so the claims of a verified token are cached until the token expires, and the
+ * signature of a token is checked once instead of on every request.
+ */
 @Service
 public class JwtTokenUtilService implements InitializingBean {
+
+  // upper bound for tokens without an expiration
+  private static final Duration MAX_CACHED = Duration.ofMinutes(5);
+
   @Value("${klaw.clusterapi.access.base64.secret}")
   private String clusterApiSecret;
 
   private static byte[] decodedSecret;
 
+  private final Cache<String, Claims> verifiedTokens;
+
+  private volatile JwtParser jwtParser;
+
+  @Autowired
+  public JwtTokenUtilService(
+      MeterRegistry meterRegistry,
+      @Value("${klaw.clusterapi.access.token.cache.size:10000}") long cacheSize) {
+    this.verifiedTokens =
+        Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+  }
+
   // retrieve username from jwt token
   public String getUsernameFromToken(String token) {
     return getClaimFromToken(token, Claims::getSubject);
@@ -37,8 +72,16 @@ public class JwtTokenUtilService implements InitializingBean {
 
   // for retrieving any information from token we will need the secret key
   private Claims getAllClaimsFromToken(String token) {
-    Key hmacKey = new SecretKeySpec(decodedSecret, SignatureAlgorithm.HS256.getJcaName());
-    Jws<Claims> jwt = Jwts.parser().setSigningKey(hmacKey).build().parseClaimsJws(token);
+    // not cached when the verification fails, the exception is thrown to the caller
+    return verifiedTokens.get(token, this::verify);
+  }
+
+  private Claims verify(String token) {
+    if (jwtParser == null) {
+      Key hmacKey = new SecretKeySpec(decodedSecret, SignatureAlgorithm.HS256.getJcaName());
+      jwtParser = Jwts.parser().setSigningKey(hmacKey).build();
+    }
+    Jws<Claims> jwt = jwtParser.parseClaimsJws(token);
     return jwt.getBody();
   }
 
@@ -67,4 +110,30 @@ public class JwtTokenUtilService implements InitializingBean {
     }
     throw new Exception("Property not configured. klaw.clusterapi.access.base64.secret");
   }
+
+  private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+    @Override
+    public long expireAfterCreate(String token, Claims claims, long currentTime) {
+      if (claims.getExpiration() == null) {
+        return MAX_CACHED.toNanos();
+      }
+      long untilExpiration =
+          TimeUnit.MILLISECONDS.toNanos(
+              claims.getExpiration().getTime() - System.currentTimeMillis());
+      return Math.max(0, Math.min(untilExpiration, MAX_CACHED.toNanos()));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String token, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(
+        String token, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
@@ -1,9 +1,12 @@
 package io.aiven.klaw.clusterapi.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterKeyIdentifier;
 import io.aiven.klaw.clusterapi.models.ClusterSchemaCacheResetRequest;
 import io.aiven.klaw.clusterapi.models.ClusterSchemaRequest;
+import io.aiven.klaw.clusterapi.models.ClusterSchemasRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.RegisterSchemaCustomResponse;
 import io.aiven.klaw.clusterapi.models.RegisterSchemaResponse;
@@ -17,9 +20,11 @@ import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.models.enums.SchemaCacheUpdateType;
 import io.aiven.klaw.clusterapi.models.enums.SchemaType;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.ClusterOperationLocks;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -27,9 +32,17 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
@@ -37,11 +50,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
 @Service
@@ -60,9 +74,10 @@ public class SchemaService {
       new ParameterizedTypeReference<>() {};
 
   private static Map<String, SchemasInfoOfClusterResponse> schemasInfoOfClusterResponseMap =
-      new HashMap<>();
+      new ConcurrentHashMap<>();
 
-  private static Map<String, ClusterKeyIdentifier> schemasInfoCacheKeySetMap = new HashMap<>();
+  private static Map<String, ClusterKeyIdentifier> schemasInfoCacheKeySetMap =
+      new ConcurrentHashMap<>();
 
   public static final String SCHEMA_REGISTRY_CONTENT_TYPE =
       "application/vnd.schemaregistry.v1+json";
@@ -71,6 +86,8 @@ public class SchemaService {
 
   public static final String SCHEMA_SUBJECTS_URI = "subjects";
 
+  private static final long SCHEMA_CONTENT_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+
   public static final String TOPIC_COMPATIBILITY_URI_TEMPLATE =
       "/compatibility/subjects/{topic_name}-value/versions/latest";
 
@@ -80,13 +97,61 @@ public class SchemaService {
   @Value("${klaw.schemaregistry.compatibility.default:BACKWARD}")
   private String defaultSchemaCompatibility;
 
+  // maximum number of version requests in flight against one schema registry
+  @Value("${klaw.schemainfo.crawl.concurrency:8}")
+  private int crawlConcurrency;
+
+  @Value("${klaw.schemainfo.crawl.retries:3}")
+  private int crawlRetries;
+
+  @Value("${klaw.schemainfo.crawl.retry.backoff.ms:200}")
+  private long crawlRetryBackOffMs;
+
   final ClusterApiUtils clusterApiUtils;
 
-  public SchemaService(ClusterApiUtils clusterApiUtils) {
+  private final ClusterOperationLocks clusterOperationLocks = new ClusterOperationLocks();
+
+  private final Executor resetSchemaCacheTaskExecutor;
+
+  private final Executor schemaCrawlTaskExecutor;
+
+  // contents of schema versions, which are immutable, bounded by their approximate size in bytes
+  private final Cache<SchemaVersionKey, Map<String, Object>> schemaContentCache;
+
+  @Autowired
+  public SchemaService(
+      ClusterApiUtils clusterApiUtils,
+      @Qualifier("resetSchemaCacheTaskExecutor") Executor resetSchemaCacheTaskExecutor,
+      @Qualifier("schemaCrawlTaskExecutor") Executor schemaCrawlTaskExecutor,
+      @Value("${klaw.schemaregistry.schema.cache.max.bytes:" + SCHEMA_CONTENT_CACHE_MAX_BYTES + "}")
+          long schemaContentCacheMaxBytes) {
     this.clusterApiUtils = clusterApiUtils;
+    this.resetSchemaCacheTaskExecutor = resetSchemaCacheTaskExecutor;
+    this.schemaCrawlTaskExecutor = schemaCrawlTaskExecutor;
+    this.schemaContentCache =
+        Caffeine.newBuilder()
+            .maximumWeight(schemaContentCacheMaxBytes)
+            .weigher(SchemaService::weighSchemaContent)
+            .build();
+  }
+
+  public ApiResponse registerSchema(ClusterSchemaRequest clusterSchemaRequest) {
+    ClusterKeyIdentifier registry =
+        new ClusterKeyIdentifier(
+            clusterSchemaRequest.getEnv(),
+            clusterSchemaRequest.getProtocol(),
+            clusterSchemaRequest.getClusterIdentification());
+    Lock registryLock = clusterOperationLocks.getLock(registry);
+    registryLock.lock();
+    try {
+      return registerSchemaOnCluster(clusterSchemaRequest);
+    } finally {
+      clusterOperationLocks.invalidateLoad(registry);
+      registryLock.unlock();
+    }
   }
 
-  public synchronized ApiResponse registerSchema(ClusterSchemaRequest clusterSchemaRequest) {
+  private ApiResponse registerSchemaOnCluster(ClusterSchemaRequest clusterSchemaRequest) {
     String schemaCompatibility = null;
     boolean schemaCompatibilitySetOnSubject = false;
     try {
@@ -255,34 +320,27 @@ public class SchemaService {
       }
       Map<Integer, Map<String, Object>> allSchemaObjects = new TreeMap<>();
 
-      if (versionsList != null) {
+      if (versionsList != null && !versionsList.isEmpty()) {
+        revalidateLatestSchemaVersion(environmentVal, protocol, clusterIdentification, topicName);
         for (Integer schemaVersion : versionsList) {
-          String suffixUrl =
-              environmentVal
-                  + "/"
-                  + SCHEMA_SUBJECTS_URI
-                  + "/"
-                  + topicName
-                  + SCHEMA_VALUE_URI
-                  + "/versions/"
-                  + schemaVersion;
-          Pair<String, RestTemplate> reqDetails =
-              clusterApiUtils.getRequestDetails(suffixUrl, protocol);
-
-          Map<String, String> params = new HashMap<>();
-          HttpEntity<Object> request = createSchemaRegistryRequest(clusterIdentification);
-
-          ResponseEntity<Map<String, Object>> responseNew =
-              reqDetails
-                  .getRight()
-                  .exchange(
-                      reqDetails.getLeft(), HttpMethod.GET, request, GET_SCHEMA_TYPEREF, params);
-          Map<String, Object> schemaResponse = responseNew.getBody();
-          if (schemaResponse != null) {
+          Map<String, Object> schemaContent =
+              schemaContentCache.get(
+                  new SchemaVersionKey(
+                      environmentVal, clusterIdentification, topicName, schemaVersion),
+                  key ->
+                      getSchemaVersion(
+                          environmentVal,
+                          protocol,
+                          clusterIdentification,
+                          topicName,
+                          String.valueOf(schemaVersion)));
+          Map<String, Object> schemaResponse = null;
+          if (schemaContent != null) {
+            // the cached content is shared, the compatibility is added on a copy
+            schemaResponse = new HashMap<>(schemaContent);
             schemaResponse.put("compatibility", schemaCompatibility);
           }
-
-          log.info(Objects.requireNonNull(responseNew.getBody()).toString());
+          log.debug("Schema version {} of {}", schemaVersion, topicName);
           allSchemaObjects.put(schemaVersion, schemaResponse);
         }
       }
@@ -294,48 +352,189 @@ public class SchemaService {
     }
   }
 
+  /**
+   * Returns the schemas of several topics of a registry in one call, keyed by topic. The topics are
+   * loaded in parallel on the crawl pool, with the same bound on the requests in flight against the
+   * registry as the crawl of the registry.
+   */
+  public Map<String, Map<Integer, Map<String, Object>>> getSchemas(
+      ClusterSchemasRequest clusterSchemasRequest) throws InterruptedException {
+    List<String> topicNames = clusterSchemasRequest.getTopicNames();
+    List<Map<Integer, Map<String, Object>>> schemasOfTopics =
+        callWithBoundedConcurrency(
+            topicNames,
+            topicName ->
+                getSchema(
+                    clusterSchemasRequest.getEnv(),
+                    clusterSchemasRequest.getProtocol(),
+                    clusterSchemasRequest.getClusterIdentification(),
+                    topicName));
+
+    Map<String, Map<Integer, Map<String, Object>>> schemas = new LinkedHashMap<>();
+    for (int i = 0; i < topicNames.size(); i++) {
+      schemas.put(topicNames.get(i), schemasOfTopics.get(i));
+    }
+    return schemas;
+  }
+
+  /**
+   * Versions of a subject are immutable, except when the subject is deleted and registered again
+   * outside Klaw, which restarts its versions. Comparing the id of the latest version with the
+   * cached one detects that with a single request. The latest version is cached on the way.
+   */
+  private void revalidateLatestSchemaVersion(
+      String environmentVal,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      String topicName) {
+    Map<String, Object> latestSchema =
+        getSchemaVersion(environmentVal, protocol, clusterIdentification, topicName, "latest");
+    if (latestSchema == null || !(latestSchema.get("version") instanceof Integer latestVersion)) {
+      return;
+    }
+
+    SchemaVersionKey latestKey =
+        new SchemaVersionKey(environmentVal, clusterIdentification, topicName, latestVersion);
+    Map<String, Object> cachedSchema = schemaContentCache.getIfPresent(latestKey);
+    if (cachedSchema != null && !Objects.equals(cachedSchema.get("id"), latestSchema.get("id"))) {
+      log.info("Schemas of {} were registered again, evicting the cached versions", topicName);
+      evictSchemaContents(environmentVal, clusterIdentification, topicName);
+    }
+    schemaContentCache.put(latestKey, latestSchema);
+  }
+
+  private void evictSchemaContents(
+      String environmentVal, String clusterIdentification, String topicName) {
+    schemaContentCache
+        .asMap()
+        .keySet()
+        .removeIf(key -> key.isSubjectOf(environmentVal, clusterIdentification, topicName));
+  }
+
+  private Map<String, Object> getSchemaVersion(
+      String environmentVal,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      String topicName,
+      String schemaVersion) {
+    String suffixUrl =
+        environmentVal
+            + "/"
+            + SCHEMA_SUBJECTS_URI
+            + "/"
+            + topicName
+            + SCHEMA_VALUE_URI
+            + "/versions/"
+            + schemaVersion;
+    Pair<String, RestTemplate> reqDetails = clusterApiUtils.getRequestDetails(suffixUrl, protocol);
+
+    Map<String, String> params = new HashMap<>();
+    HttpEntity<Object> request = createSchemaRegistryRequest(clusterIdentification);
+
+    ResponseEntity<Map<String, Object>> responseNew =
+        reqDetails
+            .getRight()
+            .exchange(reqDetails.getLeft(), HttpMethod.GET, request, GET_SCHEMA_TYPEREF, params);
+    return responseNew.getBody();
+  }
+
+  private static int weighSchemaContent(SchemaVersionKey key, Map<String, Object> schemaContent) {
+    Object schema = schemaContent.get("schema");
+    int schemaLength = schema instanceof String schemaString ? schemaString.length() : 0;
+    // two bytes a char, plus the key, the other fields and the map
+    return 2 * schemaLength + 256;
+  }
+
   private Set<Integer> getSchemaVersions(
       String environmentVal,
       String topicName,
       KafkaSupportedProtocol protocol,
       String clusterIdentification) {
     try {
-      log.debug("Into getSchema versions {} {}", topicName, environmentVal);
-      if (environmentVal == null) {
-        return null;
-      }
-
-      String suffixUrl =
-          environmentVal
-              + "/"
-              + SCHEMA_SUBJECTS_URI
-              + "/"
-              + topicName
-              + SCHEMA_VALUE_URI
-              + "/versions";
-      Pair<String, RestTemplate> reqDetails =
-          clusterApiUtils.getRequestDetails(suffixUrl, protocol);
-
-      Map<String, String> params = new HashMap<>();
-      HttpEntity<Object> request = createSchemaRegistryRequest(clusterIdentification);
-
-      ResponseEntity<Set<Integer>> responseList =
-          reqDetails
-              .getRight()
-              .exchange(
-                  reqDetails.getLeft(),
-                  HttpMethod.GET,
-                  request,
-                  GET_SCHEMAVERSIONS_TYPEREF,
-                  params);
-      log.debug("Schema versions " + responseList);
-      return responseList.getBody();
+      return fetchSchemaVersions(environmentVal, topicName, protocol, clusterIdentification);
     } catch (Exception e) {
       log.error("Error in getting versions ", e);
       return Collections.emptySet();
     }
   }
 
+  /**
+   * Retries the requests which failed on a timeout, a connection error, a 429 or a 5xx response
+   * with an exponential back off, so a registry under load does not leave holes in the cache.
+   */
+  private Set<Integer> getSchemaVersionsWithRetry(
+      String environmentVal,
+      String topicName,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification) {
+    long backOffMs = crawlRetryBackOffMs;
+    for (int attempt = 0; ; attempt++) {
+      try {
+        return fetchSchemaVersions(environmentVal, topicName, protocol, clusterIdentification);
+      } catch (RuntimeException e) {
+        // one subject failing, with whatever error, leaves only its versions out of the cache
+        if (attempt >= crawlRetries || !isTransient(e)) {
+          log.error("Error in getting versions of {} ", topicName, e);
+          return Collections.emptySet();
+        }
+        log.warn(
+            "Retrying versions of {} in {} ms, attempt {}: {}",
+            topicName,
+            backOffMs,
+            attempt + 1,
+            e.getMessage());
+        try {
+          Thread.sleep(backOffMs);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return Collections.emptySet();
+        }
+        backOffMs *= 2;
+      }
+    }
+  }
+
+  private static boolean isTransient(RuntimeException e) {
+    if (e instanceof ResourceAccessException) {
+      return true;
+    }
+    return e instanceof RestClientResponseException responseException
+        && (responseException.getStatusCode().is5xxServerError()
+            || responseException.getStatusCode().value() == 429);
+  }
+
+  private Set<Integer> fetchSchemaVersions(
+      String environmentVal,
+      String topicName,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification) {
+    log.debug("Into getSchema versions {} {}", topicName, environmentVal);
+    if (environmentVal == null) {
+      return null;
+    }
+
+    String suffixUrl =
+        environmentVal
+            + "/"
+            + SCHEMA_SUBJECTS_URI
+            + "/"
+            + topicName
+            + SCHEMA_VALUE_URI
+            + "/versions";
+    Pair<String, RestTemplate> reqDetails = clusterApiUtils.getRequestDetails(suffixUrl, protocol);
+
+    Map<String, String> params = new HashMap<>();
+    HttpEntity<Object> request = createSchemaRegistryRequest(clusterIdentification);
+
+    ResponseEntity<Set<Integer>> responseList =
+        reqDetails
+            .getRight()
+            .exchange(
+                reqDetails.getLeft(), HttpMethod.GET, request, GET_SCHEMAVERSIONS_TYPEREF, params);
+    log.debug("Schema versions " + responseList);
+    return responseList.getBody();
+  }
+
   private String getSubjectSchemaCompatibility(
       String environmentVal,
       String topicName,
@@ -494,6 +693,10 @@ public class SchemaService {
               request,
               new ParameterizedTypeReference<>() {});
       log.info("Schema deleted {}", clusterTopicRequest);
+      evictSchemaContents(
+          clusterTopicRequest.getSchemaEnv(),
+          clusterTopicRequest.getSchemaClusterIdentification(),
+          clusterTopicRequest.getTopicName());
 
       try {
         CompletableFuture.runAsync(
@@ -664,6 +867,30 @@ public class SchemaService {
           schemasVersionsStorageKey);
     }
 
+    try {
+      return clusterOperationLocks.loadOnce(
+          new ClusterKeyIdentifier(bootstrapServers, protocol, clusterIdentification),
+          () ->
+              loadSchemasInfoOfCluster(
+                  bootstrapServers, protocol, clusterIdentification, schemasVersionsStorageKey));
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Lists the subjects of a registry and requests the versions of the value subjects in parallel on
+   * the crawl pool, with at most {@code klaw.schemainfo.crawl.concurrency} requests in flight
+   * against the registry. The cache is only replaced once the whole registry is loaded.
+   */
+  private SchemasInfoOfClusterResponse loadSchemasInfoOfCluster(
+      String bootstrapServers,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      String schemasVersionsStorageKey)
+      throws InterruptedException {
     SchemasInfoOfClusterResponse schemasInfoOfClusterResponse = new SchemasInfoOfClusterResponse();
     String suffixUrl = bootstrapServers + "/" + SCHEMA_SUBJECTS_URI;
     Pair<String, RestTemplate> reqDetails = clusterApiUtils.getRequestDetails(suffixUrl, protocol);
@@ -676,22 +903,42 @@ public class SchemaService {
             .getRight()
             .exchange(reqDetails.getLeft(), HttpMethod.GET, request, GET_SUBJECTS_TYPEREF, params);
 
-    List<SchemaInfoOfTopic> schemaInfoOfTopicList = new ArrayList<>();
+    List<String> topics = new ArrayList<>();
     List<String> subjectList = responseList.getBody();
     if (subjectList != null) {
       for (String subject : subjectList) {
         if (subject.indexOf(SCHEMA_VALUE_URI) > 0) {
-          subject = subject.substring(0, subject.indexOf(SCHEMA_VALUE_URI));
-          Set<Integer> schemaVersions =
-              getSchemaVersions(bootstrapServers, subject, protocol, clusterIdentification);
-          SchemaInfoOfTopic schemaInfoOfTopic = new SchemaInfoOfTopic();
-          schemaInfoOfTopic.setTopic(subject);
-          schemaInfoOfTopic.setSchemaVersions(schemaVersions);
-          schemaInfoOfTopicList.add(schemaInfoOfTopic);
+          topics.add(subject.substring(0, subject.indexOf(SCHEMA_VALUE_URI)));
         }
       }
     }
 
+    AtomicInteger loadedTopics = new AtomicInteger();
+    int progressStep = Math.max(100, topics.size() / 10);
+    List<SchemaInfoOfTopic> schemaInfoOfTopicList =
+        callWithBoundedConcurrency(
+            topics,
+            topic -> {
+              SchemaInfoOfTopic schemaInfoOfTopic = new SchemaInfoOfTopic();
+              schemaInfoOfTopic.setTopic(topic);
+              schemaInfoOfTopic.setSchemaVersions(
+                  getSchemaVersionsWithRetry(
+                      bootstrapServers, topic, protocol, clusterIdentification));
+              int loaded = loadedTopics.incrementAndGet();
+              if (loaded % progressStep == 0) {
+                log.info(
+                    "Loaded schema versions of {}/{} topics from {}",
+                    loaded,
+                    topics.size(),
+                    bootstrapServers);
+              }
+              return schemaInfoOfTopic;
+            });
+    log.info(
+        "Loaded schema versions of {} topics from {}",
+        schemaInfoOfTopicList.size(),
+        bootstrapServers);
+
     schemasInfoOfClusterResponse.setSchemaInfoOfTopicList(schemaInfoOfTopicList);
 
     updateCache(
@@ -704,6 +951,29 @@ public class SchemaService {
     return schemasInfoOfClusterResponse;
   }
 
+  /**
+   * Calls the function for every topic on the crawl pool, with at most {@code
+   * klaw.schemainfo.crawl.concurrency} calls in flight, and returns the results in the order of the
+   * topics.
+   */
+  private <T> List<T> callWithBoundedConcurrency(List<String> topics, Function<String, T> call)
+      throws InterruptedException {
+    Semaphore inFlightRequests = new Semaphore(Math.max(1, crawlConcurrency));
+    List<CompletableFuture<T>> futures = new ArrayList<>(topics.size());
+    for (String topic : topics) {
+      inFlightRequests.acquire();
+      futures.add(
+          CompletableFuture.supplyAsync(() -> call.apply(topic), schemaCrawlTaskExecutor)
+              .whenComplete((result, e) -> inFlightRequests.release()));
+    }
+
+    List<T> results = new ArrayList<>(topics.size());
+    for (CompletableFuture<T> future : futures) {
+      results.add(future.join());
+    }
+    return results;
+  }
+
   private static void updateCache(
       String bootstrapServers,
       KafkaSupportedProtocol protocol,
@@ -771,22 +1041,33 @@ public class SchemaService {
     }
   }
 
-  @Async("resetSchemaCacheTaskExecutor")
+  /**
+   * Reloads every cached registry in parallel on the {@code resetSchemaCacheTaskExecutor}. The
+   * previous schemas of a registry are served until its reload completes.
+   */
   @Scheduled(
       cron = "${klaw.schemainfo.cron.expression:0 0 0 * * ?}",
       zone = "${klaw.schemainfo.cron.expression.timezone:UTC}")
   public void resetSchemaCacheScheduler() {
-    for (String schemasVersionsStorageKey : schemasInfoCacheKeySetMap.keySet()) {
-      ClusterKeyIdentifier clusterKeyIdentifier =
-          schemasInfoCacheKeySetMap.get(schemasVersionsStorageKey);
-      schemasInfoOfClusterResponseMap.remove(schemasVersionsStorageKey);
-      loadAllSchemasInfoFromCluster(
-          clusterKeyIdentifier.getBootstrapServers(),
-          clusterKeyIdentifier.getProtocol(),
-          clusterKeyIdentifier.getClusterIdentification(),
-          false,
-          SchemaCacheUpdateType.NONE,
-          null);
+    for (ClusterKeyIdentifier clusterKeyIdentifier : schemasInfoCacheKeySetMap.values()) {
+      CompletableFuture.runAsync(
+              () ->
+                  loadAllSchemasInfoFromCluster(
+                      clusterKeyIdentifier.getBootstrapServers(),
+                      clusterKeyIdentifier.getProtocol(),
+                      clusterKeyIdentifier.getClusterIdentification(),
+                      true,
+                      SchemaCacheUpdateType.NONE,
+                      null),
+              resetSchemaCacheTaskExecutor)
+          .exceptionally(
+              e -> {
+                log.error(
+                    "Error in reloading schemas of {}",
+                    clusterKeyIdentifier.getBootstrapServers(),
+                    e);
+                return null;
+              });
     }
   }
 
@@ -799,4 +1080,14 @@ public class SchemaService {
         null);
     return ApiResponse.builder().success(true).build();
   }
+
+  private record SchemaVersionKey(
+      String environmentVal, String clusterIdentification, String topicName, int version) {
+
+    boolean isSubjectOf(String environmentVal, String clusterIdentification, String topicName) {
+      return this.environmentVal.equals(environmentVal)
+          && Objects.equals(this.clusterIdentification, clusterIdentification)
+          && this.topicName.equals(topicName);
+    }
+  }
 }
@@ -1,38 +1,74 @@
 package io.aiven.klaw.clusterapi.services;
 
+import io.aiven.klaw.clusterapi.models.TopicContentsRecord;
+import io.aiven.klaw.clusterapi.models.TopicContentsRequest;
+import io.aiven.klaw.clusterapi.models.TopicContentsResponse;
 import io.aiven.klaw.clusterapi.models.enums.TopicContentType;
+import io.aiven.klaw.clusterapi.models.enums.TopicContentsDirection;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.KafkaConsumerPool;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Reads records of topics for browsing. The consumers are assigned the partitions they read, so
+ * they never join a consumer group and never commit offsets, and they are pooled per cluster
+ * between requests.
+ */
 @Slf4j
 @Service
 public class TopicContentsService {
 
   public static final int RANGE_MAX_RECORDS = 100;
-  public static final int NUMBER_OF_POLLS = 3;
+  public static final int DEFAULT_MAX_RECORDS = 100;
   final ClusterApiUtils clusterApiUtils;
 
-  @Value("${klaw.topiccontents.consumergroup.id:notdefined}")
-  private String kwGenericConsumerGroupId;
+  private final KafkaConsumerPool kafkaConsumerPool;
+
+  private final AtomicLong consumerIds = new AtomicLong();
 
   @Value("${klaw.topiccontents.consumer.poll.interval.ms:2000}")
   private long defaultPollInterval;
 
-  public TopicContentsService(ClusterApiUtils clusterApiUtils) {
+  // bounds the metadata requests and the polls of one read
+  @Value("${klaw.topiccontents.read.timeout.ms:5000}")
+  private long readTimeoutMs;
+
+  @Value("${klaw.topiccontents.max.records:500}")
+  private int maxRecordsLimit;
+
+  public TopicContentsService(
+      ClusterApiUtils clusterApiUtils, KafkaConsumerPool kafkaConsumerPool) {
     this.clusterApiUtils = clusterApiUtils;
+    this.kafkaConsumerPool = kafkaConsumerPool;
   }
 
+  /** Receives the records of a page, in the order of the page. */
+  @FunctionalInterface
+  public interface RecordListener {
+    void onRecord(TopicContentsRecord record) throws IOException;
+  }
+
+  /**
+   * The consumer group is not used anymore, records are read without joining a group. It is kept in
+   * the signature for the existing callers.
+   */
   public Map<Long, String> readEvents(
       String bootStrapServers,
       String protocol,
@@ -62,89 +98,268 @@ public class TopicContentsService {
         rangeOffsetsEnd);
 
     Map<Long, String> eventMap = new TreeMap<>();
-    KafkaConsumer<String, String> consumer;
+    boolean isRange = offsetPosition.equals(TopicContentType.RANGE.getValue());
+    boolean isCustom = offsetPosition.equals(TopicContentType.CUSTOM.getValue());
 
-    if (offsetPosition.equals(TopicContentType.RANGE.getValue())
-        && (rangeOffsetsStart < 0 || rangeOffsetsEnd < 0)) {
+    if (isRange
+        && (rangeOffsetsStart < 0 || rangeOffsetsEnd < 0 || rangeOffsetsStart > rangeOffsetsEnd)) {
       return eventMap;
     }
 
-    if (consumerGroupId.equals("notdefined")) {
-      consumer =
-          getKafkaConsumer(
-              kwGenericConsumerGroupId, bootStrapServers, protocol, clusterIdentification);
-    } else {
-      consumer =
-          getKafkaConsumer(consumerGroupId, bootStrapServers, protocol, clusterIdentification);
-    }
+    String poolKey = consumerPoolKey(bootStrapServers, protocol, clusterIdentification);
+    Consumer<String, String> consumer =
+        kafkaConsumerPool.borrow(
+            poolKey, () -> getKafkaConsumer(bootStrapServers, protocol, clusterIdentification));
+    try {
+      List<TopicPartition> partitions =
+          getPartitions(consumer, topicName, isCustom || isRange ? selectedPartitionId : null);
+      if (partitions.isEmpty()) {
+        kafkaConsumerPool.release(poolKey, consumer);
+        return eventMap;
+      }
+      Duration timeout = Duration.ofMillis(readTimeoutMs);
+      Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions, timeout);
+      Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, timeout);
 
-    consumer.subscribe(Collections.singleton(topicName));
-    consumer.poll(Duration.ofMillis(defaultPollInterval));
-    Set<TopicPartition> topicPartitionsSet = consumer.assignment();
-
-    Set<TopicPartition> partitionsAssignment = new HashSet<>();
-    if (offsetPosition.equals(TopicContentType.CUSTOM.getValue())
-        || offsetPosition.equals(TopicContentType.RANGE.getValue())) {
-      for (TopicPartition tp : topicPartitionsSet) {
-        if (tp.partition() == selectedPartitionId) {
-          partitionsAssignment = Collections.singleton(tp);
-          break;
+      Map<TopicPartition, Long> fromOffsets = new HashMap<>();
+      Map<TopicPartition, Long> toOffsets = new HashMap<>();
+      for (TopicPartition tp : partitions) {
+        long beginningOffset = beginningOffsets.get(tp);
+        long endOffset = endOffsets.get(tp);
+        long fromOffset = beginningOffset;
+        long toOffset = endOffset;
+        if (readMessagesType.equals("OFFSET_ID")) {
+          if (isCustom) {
+            fromOffset = endOffset - selectedNumberOfOffsets;
+          } else if (isRange) {
+            fromOffset = rangeOffsetsStart;
+            toOffset = Math.min(endOffset, rangeOffsetsEnd + 1L);
+          } else {
+            fromOffset = endOffset - Integer.parseInt(offsetPosition);
+          }
         }
+        fromOffsets.put(tp, Math.max(fromOffset, beginningOffset));
+        toOffsets.put(tp, toOffset);
       }
-    } else {
-      partitionsAssignment = topicPartitionsSet;
+
+      List<TopicContentsRecord> records =
+          readOffsetRanges(
+              consumer, fromOffsets, toOffsets, isRange ? RANGE_MAX_RECORDS : maxRecordsLimit);
+      for (TopicContentsRecord record : records) {
+        eventMap.put(record.getOffset(), record.getValue());
+      }
+      kafkaConsumerPool.release(poolKey, consumer);
+    } catch (TimeoutException e) {
+      log.error("Error in reading records of {} from {}", topicName, bootStrapServers, e);
+      kafkaConsumerPool.invalidate(poolKey, consumer);
+    } catch (RuntimeException e) {
+      kafkaConsumerPool.invalidate(poolKey, consumer);
+      throw e;
     }
+    return eventMap;
+  }
 
-    if (partitionsAssignment.isEmpty()
-        || (offsetPosition.equals(TopicContentType.RANGE.getValue())
-            && rangeOffsetsStart > rangeOffsetsEnd)) {
-      consumer.close();
-      return eventMap;
+  /**
+   * Reads a page of records across the partitions of a topic. The records of the page are passed to
+   * the listener in the order of the page, once the consumer is back in the pool.
+   */
+  public TopicContentsResponse readRecords(
+      TopicContentsRequest topicContentsRequest, RecordListener recordListener) throws IOException {
+    String bootstrapServers = topicContentsRequest.getBootstrapServers();
+    String protocol = topicContentsRequest.getProtocol().getName();
+    String clusterIdentification = topicContentsRequest.getClusterIdentification();
+    boolean forward = topicContentsRequest.getDirection() != TopicContentsDirection.BACKWARD;
+    int maxRecords =
+        topicContentsRequest.getMaxRecords() > 0
+            ? Math.min(topicContentsRequest.getMaxRecords(), maxRecordsLimit)
+            : Math.min(DEFAULT_MAX_RECORDS, maxRecordsLimit);
+
+    String poolKey = consumerPoolKey(bootstrapServers, protocol, clusterIdentification);
+    Consumer<String, String> consumer =
+        kafkaConsumerPool.borrow(
+            poolKey, () -> getKafkaConsumer(bootstrapServers, protocol, clusterIdentification));
+    TopicContentsResponse page;
+    try {
+      List<TopicPartition> partitions =
+          getPartitions(
+              consumer, topicContentsRequest.getTopicName(), topicContentsRequest.getPartitionId());
+      Duration timeout = Duration.ofMillis(readTimeoutMs);
+      Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions, timeout);
+      Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, timeout);
+      Map<TopicPartition, Long> positions =
+          getPositions(consumer, topicContentsRequest, partitions, beginningOffsets, endOffsets);
+
+      Map<TopicPartition, Long> fromOffsets = new HashMap<>();
+      Map<TopicPartition, Long> toOffsets = new HashMap<>();
+      for (TopicPartition tp : partitions) {
+        long position = positions.get(tp);
+        fromOffsets.put(
+            tp, forward ? position : Math.max(beginningOffsets.get(tp), position - maxRecords));
+        toOffsets.put(tp, forward ? endOffsets.get(tp) : position);
+      }
+
+      // backward, each partition is read up to maxRecords before its position, the newest of
+      // these make the page
+      List<TopicContentsRecord> records =
+          readOffsetRanges(
+              consumer,
+              fromOffsets,
+              toOffsets,
+              forward ? maxRecords : maxRecords * partitions.size());
+      records.sort(
+          Comparator.comparingLong(TopicContentsRecord::getTimestamp)
+              .thenComparingInt(TopicContentsRecord::getPartition)
+              .thenComparingLong(TopicContentsRecord::getOffset));
+      if (!forward) {
+        records =
+            new ArrayList<>(
+                records.subList(Math.max(0, records.size() - maxRecords), records.size()));
+      }
+      page = getPage(records, partitions, forward ? fromOffsets : toOffsets);
+    } catch (RuntimeException e) {
+      kafkaConsumerPool.invalidate(poolKey, consumer);
+      throw e;
     }
-    consumer.seekToBeginning(partitionsAssignment);
-    Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitionsAssignment);
-    long newOffset;
-    if (readMessagesType.equals("OFFSET_ID")) {
-      for (TopicPartition tp : partitionsAssignment) {
-        long beginningOffset = consumer.position(tp);
-        long endOffset = endOffsets.get(tp);
-        if (offsetPosition.equals(TopicContentType.CUSTOM.getValue())) {
-          newOffset = endOffset - selectedNumberOfOffsets;
-        } else if (offsetPosition.equals(TopicContentType.RANGE.getValue())) {
-          newOffset = rangeOffsetsStart;
-        } else {
-          newOffset = endOffset - Integer.parseInt(offsetPosition);
-        }
-        if (newOffset < beginningOffset) {
-          newOffset = beginningOffset;
-        }
+    kafkaConsumerPool.release(poolKey, consumer);
 
-        consumer.seek(tp, newOffset);
+    if (recordListener != null) {
+      for (TopicContentsRecord record : page.getRecords()) {
+        recordListener.onRecord(record);
       }
     }
+    return page;
+  }
 
-    int i = 0;
-    boolean exitLoop = false;
-    do {
-      ConsumerRecords<String, String> consumerRecords = consumer.poll(Duration.ofMillis(500));
-      for (ConsumerRecord<String, String> record : consumerRecords) {
-        eventMap.put(record.offset(), record.value());
-        if (offsetPosition.equals(TopicContentType.RANGE.getValue())
-            && (record.offset() >= rangeOffsetsEnd || eventMap.size() >= RANGE_MAX_RECORDS)) {
-          exitLoop = true;
-          break;
+  private static TopicContentsResponse getPage(
+      List<TopicContentsRecord> records,
+      List<TopicPartition> partitions,
+      Map<TopicPartition, Long> pagePositions) {
+    Map<Integer, Long> nextOffsets = new TreeMap<>();
+    Map<Integer, Long> previousOffsets = new TreeMap<>();
+    for (TopicPartition tp : partitions) {
+      nextOffsets.put(tp.partition(), pagePositions.get(tp));
+      previousOffsets.put(tp.partition(), pagePositions.get(tp));
+    }
+    for (TopicContentsRecord record : records) {
+      nextOffsets.merge(record.getPartition(), record.getOffset() + 1, Math::max);
+      previousOffsets.merge(record.getPartition(), record.getOffset(), Math::min);
+    }
+    return TopicContentsResponse.builder()
+        .records(records)
+        .nextOffsets(nextOffsets)
+        .previousOffsets(previousOffsets)
+        .build();
+  }
+
+  private Map<TopicPartition, Long> getPositions(
+      Consumer<String, String> consumer,
+      TopicContentsRequest topicContentsRequest,
+      List<TopicPartition> partitions,
+      Map<TopicPartition, Long> beginningOffsets,
+      Map<TopicPartition, Long> endOffsets) {
+    Map<TopicPartition, OffsetAndTimestamp> timestampOffsets = Collections.emptyMap();
+    if (topicContentsRequest.getTimestamp() != null) {
+      Map<TopicPartition, Long> timestamps = new HashMap<>();
+      partitions.forEach(tp -> timestamps.put(tp, topicContentsRequest.getTimestamp()));
+      timestampOffsets = consumer.offsetsForTimes(timestamps, Duration.ofMillis(readTimeoutMs));
+    }
+
+    Map<Integer, Long> partitionOffsets =
+        Objects.requireNonNullElse(topicContentsRequest.getPartitionOffsets(), Map.of());
+    Map<TopicPartition, Long> positions = new HashMap<>();
+    for (TopicPartition tp : partitions) {
+      long position;
+      if (partitionOffsets.containsKey(tp.partition())) {
+        position = partitionOffsets.get(tp.partition());
+      } else if (topicContentsRequest.getTimestamp() != null) {
+        OffsetAndTimestamp offsetAndTimestamp = timestampOffsets.get(tp);
+        // no record at or after the timestamp
+        position = offsetAndTimestamp == null ? endOffsets.get(tp) : offsetAndTimestamp.offset();
+      } else if (topicContentsRequest.getDirection() == TopicContentsDirection.BACKWARD) {
+        position = endOffsets.get(tp);
+      } else {
+        position = beginningOffsets.get(tp);
+      }
+      positions.put(tp, Math.min(Math.max(position, beginningOffsets.get(tp)), endOffsets.get(tp)));
+    }
+    return positions;
+  }
+
+  private List<TopicPartition> getPartitions(
+      Consumer<String, String> consumer, String topicName, Integer partitionId) {
+    List<PartitionInfo> partitionInfos =
+        consumer.partitionsFor(topicName, Duration.ofMillis(readTimeoutMs));
+    List<TopicPartition> partitions = new ArrayList<>();
+    if (partitionInfos != null) {
+      for (PartitionInfo partitionInfo : partitionInfos) {
+        if (partitionId == null || partitionInfo.partition() == partitionId) {
+          partitions.add(new TopicPartition(topicName, partitionInfo.partition()));
         }
       }
-      i++;
-    } while (i != NUMBER_OF_POLLS && !exitLoop);
+    }
+    return partitions;
+  }
 
-    consumer.commitAsync();
-    consumer.close();
-    return eventMap;
+  /**
+   * Reads the records from the from offset (inclusive) to the to offset (exclusive) of each
+   * partition, until all ranges are read, {@code maxRecords} are read or the read timeout expires.
+   */
+  private List<TopicContentsRecord> readOffsetRanges(
+      Consumer<String, String> consumer,
+      Map<TopicPartition, Long> fromOffsets,
+      Map<TopicPartition, Long> toOffsets,
+      int maxRecords) {
+    Set<TopicPartition> unreadPartitions = new HashSet<>();
+    fromOffsets.forEach(
+        (tp, fromOffset) -> {
+          if (fromOffset < toOffsets.get(tp)) {
+            unreadPartitions.add(tp);
+          }
+        });
+    List<TopicContentsRecord> records = new ArrayList<>();
+    if (unreadPartitions.isEmpty()) {
+      return records;
+    }
+
+    consumer.assign(unreadPartitions);
+    unreadPartitions.forEach(tp -> consumer.seek(tp, fromOffsets.get(tp)));
+    long deadline = System.currentTimeMillis() + readTimeoutMs;
+    while (!unreadPartitions.isEmpty() && records.size() < maxRecords) {
+      long remainingMs = deadline - System.currentTimeMillis();
+      if (remainingMs <= 0) {
+        log.info("Read timeout, {} partitions not completely read", unreadPartitions.size());
+        break;
+      }
+      ConsumerRecords<String, String> consumerRecords =
+          consumer.poll(Duration.ofMillis(Math.min(remainingMs, defaultPollInterval)));
+      for (TopicPartition tp : consumerRecords.partitions()) {
+        long toOffset = toOffsets.get(tp);
+        for (ConsumerRecord<String, String> consumerRecord : consumerRecords.records(tp)) {
+          if (consumerRecord.offset() >= toOffset || records.size() >= maxRecords) {
+            break;
+          }
+          records.add(
+              TopicContentsRecord.builder()
+                  .partition(consumerRecord.partition())
+                  .offset(consumerRecord.offset())
+                  .timestamp(consumerRecord.timestamp())
+                  .key(consumerRecord.key())
+                  .value(consumerRecord.value())
+                  .build());
+        }
+      }
+      unreadPartitions.removeIf(tp -> consumer.position(tp) >= toOffsets.get(tp));
+    }
+    return records;
+  }
+
+  static String consumerPoolKey(
+      String bootstrapServers, String protocol, String clusterIdentification) {
+    return String.join("|", bootstrapServers, protocol, String.valueOf(clusterIdentification));
   }
 
-  public KafkaConsumer<String, String> getKafkaConsumer(
-      String groupId, String bootstrapServers, String protocol, String clusterIdentification) {
+  public Consumer<String, String> getKafkaConsumer(
+      String bootstrapServers, String protocol, String clusterIdentification) {
     Properties props = new Properties();
 
     if (protocol.equals("SSL")) {
@@ -153,8 +368,8 @@ public class TopicContentsService {
     }
     props.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
     props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-    props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-    props.put(ConsumerConfig.CLIENT_ID_CONFIG, "KLAW_TMP_GROUP_CLIENT" + groupId);
+    props.put(
+        ConsumerConfig.CLIENT_ID_CONFIG, "KLAW_TOPIC_CONTENTS_" + consumerIds.incrementAndGet());
     props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
     props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
     return new KafkaConsumer<>(props);
@@ -75,6 +75,7 @@ public class UtilComponentsService {
       } else {
         AdminClient client = clusterApiUtils.getAdminClient(environment, protocol, clusterName);
         if (client != null) {
+          clusterApiUtils.releaseAdminClient(client);
           return ClusterStatus.ONLINE;
         }
       }
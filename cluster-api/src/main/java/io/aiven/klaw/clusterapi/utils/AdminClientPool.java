@@ -0,0 +1,264 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded registry of the AdminClients created by {@link ClusterApiUtils}, one per cluster
+ * connection.
+ *
+ * <p>At most one client is created per key, even under parallel requests. Clients which have not
+ * been used for the idle timeout are evicted by a scheduled sweep, and when the pool is full the
+ * least recently used client makes room for a new one. Evicted and invalidated clients are always
+ * closed, so their network threads and sockets are released.
+ *
+ * <p>Clients are leased and released by their users. A client evicted or invalidated while leased
+ * is no longer handed out, and is closed when its last lease is released.
+ */
+@Slf4j
+@Component
+public class AdminClientPool {
+
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+  private final Map<String, PooledAdminClient> adminClients = new ConcurrentHashMap<>();
+
+  // every client not closed yet, pooled or retired and still leased
+  private final Map<AdminClient, PooledAdminClient> liveClients = new ConcurrentHashMap<>();
+
+  private final int maxSize;
+
+  private final long idleTimeoutMs;
+
+  private final LongSupplier clock;
+
+  private final Counter createdCounter;
+
+  private final Counter evictedCounter;
+
+  @Autowired
+  public AdminClientPool(
+      @Value("${klaw.adminclient.pool.max.size:100}") int maxSize,
+      @Value("${klaw.adminclient.pool.idle.timeout.ms:1800000}") long idleTimeoutMs,
+      MeterRegistry meterRegistry) {
+    this(maxSize, idleTimeoutMs, meterRegistry, System::currentTimeMillis);
+  }
+
+  AdminClientPool(
+      int maxSize, long idleTimeoutMs, MeterRegistry meterRegistry, LongSupplier clock) {
+    this.maxSize = maxSize;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.clock = clock;
+    Gauge.builder("klaw.clusterapi.adminclients.live", adminClients, Map::size)
+        .description("AdminClients currently held in the pool")
+        .register(meterRegistry);
+    this.createdCounter =
+        Counter.builder("klaw.clusterapi.adminclients.created")
+            .description("AdminClients created")
+            .register(meterRegistry);
+    this.evictedCounter =
+        Counter.builder("klaw.clusterapi.adminclients.evicted")
+            .description("AdminClients closed because they were idle, failed or the pool was full")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Leases the pooled client for the key, creating it with the given factory if there is none.
+   * Concurrent callers for the same key wait for a single creation. Every lease is to be given back
+   * with {@link #release(AdminClient)}.
+   */
+  public AdminClient lease(String key, Callable<AdminClient> factory) throws Exception {
+    while (true) {
+      PooledAdminClient pooledAdminClient = adminClients.get(key);
+      if (pooledAdminClient == null) {
+        if (adminClients.size() >= maxSize) {
+          evictLeastRecentlyUsed();
+        }
+        try {
+          pooledAdminClient =
+              adminClients.computeIfAbsent(
+                  key,
+                  k -> {
+                    try {
+                      AdminClient adminClient = factory.call();
+                      if (adminClient == null) {
+                        return null;
+                      }
+                      createdCounter.increment();
+                      PooledAdminClient created =
+                          new PooledAdminClient(adminClient, clock.getAsLong());
+                      liveClients.put(adminClient, created);
+                      return created;
+                    } catch (Exception e) {
+                      throw new AdminClientCreationException(e);
+                    }
+                  });
+        } catch (AdminClientCreationException e) {
+          throw (Exception) e.getCause();
+        }
+        if (pooledAdminClient == null) {
+          return null;
+        }
+      }
+      // fails only if the client was evicted in between, the next round gets or creates another
+      if (pooledAdminClient.acquire(clock.getAsLong())) {
+        return pooledAdminClient.adminClient;
+      }
+    }
+  }
+
+  /** Gives back a lease, closing the client if it was evicted meanwhile and this was the last. */
+  public void release(AdminClient adminClient) {
+    if (adminClient == null) {
+      return;
+    }
+    PooledAdminClient pooledAdminClient = liveClients.get(adminClient);
+    if (pooledAdminClient != null && pooledAdminClient.release()) {
+      close(pooledAdminClient);
+    }
+  }
+
+  /**
+   * Removes and closes the client if it is still the one pooled for the key, so the next request
+   * creates a new one. Called when a client is found to be unable to reach its cluster.
+   */
+  public void invalidate(String key, AdminClient adminClient) {
+    PooledAdminClient pooledAdminClient = adminClients.get(key);
+    if (pooledAdminClient != null
+        && pooledAdminClient.adminClient == adminClient
+        && adminClients.remove(key, pooledAdminClient)) {
+      log.info("Removing failed AdminClient {}", key);
+      retire(pooledAdminClient);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${klaw.adminclient.pool.eviction.interval.ms:60000}")
+  public void evictIdleClients() {
+    long idleSince = clock.getAsLong() - idleTimeoutMs;
+    List<String> idleKeys = new ArrayList<>();
+    adminClients.forEach(
+        (key, pooledAdminClient) -> {
+          if (!pooledAdminClient.isLeased() && pooledAdminClient.lastUsedMs < idleSince) {
+            idleKeys.add(key);
+          }
+        });
+    idleKeys.forEach(key -> evict(key, "idle"));
+  }
+
+  public int size() {
+    return adminClients.size();
+  }
+
+  @PreDestroy
+  public void closeAll() {
+    // on shutdown leased clients are closed too
+    adminClients.clear();
+    new ArrayList<>(liveClients.values()).forEach(this::close);
+  }
+
+  private void evictLeastRecentlyUsed() {
+    // clients not leased first, a leased client evicted is closed once released
+    Optional<String> leastRecentlyUsed =
+        adminClients.entrySet().stream()
+            .min(
+                Comparator.comparing(
+                        (Map.Entry<String, PooledAdminClient> entry) -> entry.getValue().isLeased())
+                    .thenComparingLong(entry -> entry.getValue().lastUsedMs))
+            .map(Map.Entry::getKey);
+    leastRecentlyUsed.ifPresent(key -> evict(key, "pool full"));
+  }
+
+  private void evict(String key, String reason) {
+    PooledAdminClient pooledAdminClient = adminClients.remove(key);
+    if (pooledAdminClient != null) {
+      log.info("Evicting AdminClient {} ({})", key, reason);
+      retire(pooledAdminClient);
+    }
+  }
+
+  private void retire(PooledAdminClient pooledAdminClient) {
+    if (pooledAdminClient.retire()) {
+      close(pooledAdminClient);
+    }
+  }
+
+  private void close(PooledAdminClient pooledAdminClient) {
+    if (liveClients.remove(pooledAdminClient.adminClient) == null) {
+      return;
+    }
+    evictedCounter.increment();
+    try {
+      pooledAdminClient.adminClient.close(CLOSE_TIMEOUT);
+    } catch (Exception e) {
+      log.error("Error while closing AdminClient", e);
+    }
+  }
+
+  private static class PooledAdminClient {
+    private final AdminClient adminClient;
+    private volatile long lastUsedMs;
+
+    // guarded by this
+    private int leases;
+    private boolean retired;
+
+    private PooledAdminClient(AdminClient adminClient, long lastUsedMs) {
+      this.adminClient = adminClient;
+      this.lastUsedMs = lastUsedMs;
+    }
+
+    private synchronized boolean acquire(long nowMs) {
+      if (retired) {
+        return false;
+      }
+      leases++;
+      lastUsedMs = nowMs;
+      return true;
+    }
+
+    /**
+     * @return true if the client is retired and this was its last lease
+     */
+    private synchronized boolean release() {
+      if (leases > 0) {
+        leases--;
+      }
+      return retired && leases == 0;
+    }
+
+    /**
+     * @return true if the client is not leased and can be closed right away
+     */
+    private synchronized boolean retire() {
+      retired = true;
+      return leases == 0;
+    }
+
+    private synchronized boolean isLeased() {
+      return leases > 0;
+    }
+  }
+
+  private static class AdminClientCreationException extends RuntimeException {
+    private AdminClientCreationException(Exception cause) {
+      super(cause);
+    }
+  }
+}
@@ -9,9 +9,9 @@ import io.aiven.klaw.clusterapi.models.enums.KafkaClustersType;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
@@ -44,18 +44,18 @@ public class ClusterApiUtils {
   public static final String KAFKA_CONFLUENT_CLOUD_CREDENTIALS_PROPERTY_SFX =
       ".klaw.confluentcloud.credentials";
 
-  private static MessageDigest messageDigest;
-
-  static {
-    try {
-      messageDigest = MessageDigest.getInstance("SHA-256");
-    } catch (NoSuchAlgorithmException e) {
-      log.error("Error ", e);
-    }
-  }
+  private static final ThreadLocal<MessageDigest> MESSAGE_DIGEST =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+              throw new IllegalStateException(e);
+            }
+          });
 
   private final Environment env;
-  private final Map<String, AdminClient> adminClientsMap;
+  private final AdminClientPool adminClientPool;
 
   private final Map<String, RestTemplate> restTemplateMap;
 
@@ -64,8 +64,11 @@ public class ClusterApiUtils {
   @Autowired private SslContextConfig sslContextConfig;
 
   @Autowired
-  public ClusterApiUtils(Environment env, AdminClientProperties adminClientProperties) {
-    this(env, adminClientProperties, new HashMap<>(), new HashMap<>());
+  public ClusterApiUtils(
+      Environment env,
+      AdminClientProperties adminClientProperties,
+      AdminClientPool adminClientPool) {
+    this(env, adminClientProperties, adminClientPool, new ConcurrentHashMap<>());
   }
 
   public AdminClientProperties getAdminClientProperties() {
@@ -75,129 +78,37 @@ public class ClusterApiUtils {
   ClusterApiUtils(
       Environment env,
       AdminClientProperties adminClientProperties,
-      Map<String, AdminClient> adminClientsMap,
+      AdminClientPool adminClientPool,
       Map<String, RestTemplate> restTemplateMap) {
     this.env = env;
-    this.adminClientsMap = adminClientsMap;
+    this.adminClientPool = adminClientPool;
     this.adminClientProperties = adminClientProperties;
     this.restTemplateMap = restTemplateMap;
   }
 
-  //    public void removeSSLElementFromAdminClientMap(String protocol, String clusterName){
-  //        log.info("Into removeSSLElementFromAdminClientMap");
-  //        String adminClientKeyReq = protocol + clusterName;
-  //        List<String> sslKeys = adminClientsMap.keySet().stream()
-  //                .filter(adminClientKey -> adminClientKey.equals(adminClientKeyReq))
-  //                .collect(Collectors.toList());
-  //        sslKeys.forEach(adminClientsMap::remove);
-  //    }
-
   public String getHash(String envHost) {
-    return new String(Base64.encodeBase64(messageDigest.digest(envHost.getBytes()), false));
+    return new String(Base64.encodeBase64(MESSAGE_DIGEST.get().digest(envHost.getBytes()), false));
   }
 
+  /**
+   * Leases the AdminClient of the cluster, checking it can reach the cluster. The client is to be
+   * given back with {@link #releaseAdminClient(AdminClient)} once the calls on it are done.
+   */
   public AdminClient getAdminClient(
       String envHost, KafkaSupportedProtocol protocol, String clusterIdentification)
       throws Exception {
     log.info(
         "Host : {} Protocol {} clusterIdentification {}", envHost, protocol, clusterIdentification);
 
-    AdminClient adminClient = null;
+    AdminClient adminClient;
     String adminClientKey = protocol + clusterIdentification + getHash(envHost);
 
     try {
-      switch (protocol) {
-        case PLAINTEXT:
-          if (!adminClientsMap.containsKey(adminClientKey)) {
-            adminClient = AdminClient.create(getPlainProperties(envHost));
-          } else {
-            adminClient = adminClientsMap.get(adminClientKey);
-          }
-          break;
-
-        case SSL:
-          if (!adminClientsMap.containsKey(adminClientKey)) {
-            adminClient = AdminClient.create(getSslProperties(envHost, clusterIdentification));
-          } else {
-            adminClient = adminClientsMap.get(adminClientKey);
-          }
-          break;
-
-        case SASL_PLAIN:
-          if (!adminClientsMap.containsKey(adminClientKey)) {
-            adminClient =
-                AdminClient.create(getSaslPlainProperties(envHost, clusterIdentification));
-          } else {
-            adminClient = adminClientsMap.get(adminClientKey);
-          }
-          break;
-
-        case SASL_SSL_PLAIN_MECHANISM:
-          if (!adminClientsMap.containsKey(adminClientKey)) {
-            adminClient =
-                AdminClient.create(
-                    getSaslSsl_PlainMechanismProperties(envHost, clusterIdentification));
-          } else {
-            adminClient = adminClientsMap.get(adminClientKey);
-          }
-
-          break;
-
-        case SASL_SSL_SCRAM_MECHANISM_256:
-          if (!adminClientsMap.containsKey(adminClientKey)) {
-            adminClient =
-                AdminClient.create(
-                    getSaslSsl_ScramMechanismProperties(envHost, clusterIdentification, SHA_256));
-          } else {
-            adminClient = adminClientsMap.get(adminClientKey);
-          }
-
-          break;
-
-        case SASL_SSL_SCRAM_MECHANISM_512:
-          if (!adminClientsMap.containsKey(adminClientKey)) {
-            adminClient =
-                AdminClient.create(
-                    getSaslSsl_ScramMechanismProperties(envHost, clusterIdentification, SHA_512));
-          } else {
-            adminClient = adminClientsMap.get(adminClientKey);
-          }
-
-          break;
-
-        case SASL_SSL_GSSAPI_MECHANISM:
-          if (!adminClientsMap.containsKey(adminClientKey)) {
-            adminClient =
-                AdminClient.create(
-                    getSaslSsl_GSSAPIMechanismProperties(envHost, clusterIdentification));
-          } else {
-            adminClient = adminClientsMap.get(adminClientKey);
-          }
-          break;
-
-        case SASL_PLAIN_OAUTHBEARER:
-          if (!adminClientsMap.containsKey(adminClientKey)) {
-            adminClient =
-                AdminClient.create(
-                    getSasl_OauthBearerMechanismProperties(envHost, clusterIdentification, false));
-          } else {
-            adminClient = adminClientsMap.get(adminClientKey);
-          }
-          break;
-
-        case SASL_SSL_OAUTHBEARER:
-          if (!adminClientsMap.containsKey(adminClientKey)) {
-            adminClient =
-                AdminClient.create(
-                    getSasl_OauthBearerMechanismProperties(envHost, clusterIdentification, true));
-          } else {
-            adminClient = adminClientsMap.get(adminClientKey);
-          }
-          break;
-      }
+      adminClient =
+          adminClientPool.lease(
+              adminClientKey, () -> createAdminClient(envHost, protocol, clusterIdentification));
     } catch (Exception exception) {
       log.error("Unable to create Admin client ", exception);
-      exception.printStackTrace();
       throw new Exception("Cannot connect to cluster. Please contact Administrator.");
     }
 
@@ -211,18 +122,41 @@ public class ClusterApiUtils {
           .listTopics()
           .names()
           .get(adminClientProperties.getTopicsTimeoutSecs(), TimeUnit.SECONDS);
-      if (!adminClientsMap.containsKey(adminClientKey)) {
-        adminClientsMap.put(adminClientKey, adminClient);
-      }
       return adminClient;
     } catch (Exception e) {
-      adminClientsMap.remove(adminClientKey);
-      adminClient.close();
+      // drop the failed client, the next request creates a new one
+      adminClientPool.invalidate(adminClientKey, adminClient);
+      adminClientPool.release(adminClient);
       log.error("Cannot create Admin Client {} {} {}", envHost, protocol, clusterIdentification, e);
       throw new Exception("Cannot connect to cluster. Please contact Administrator.");
     }
   }
 
+  public void releaseAdminClient(AdminClient adminClient) {
+    adminClientPool.release(adminClient);
+  }
+
+  private AdminClient createAdminClient(
+      String envHost, KafkaSupportedProtocol protocol, String clusterIdentification) {
+    return switch (protocol) {
+      case PLAINTEXT -> AdminClient.create(getPlainProperties(envHost));
+      case SSL -> AdminClient.create(getSslProperties(envHost, clusterIdentification));
+      case SASL_PLAIN -> AdminClient.create(getSaslPlainProperties(envHost, clusterIdentification));
+      case SASL_SSL_PLAIN_MECHANISM -> AdminClient.create(
+          getSaslSsl_PlainMechanismProperties(envHost, clusterIdentification));
+      case SASL_SSL_SCRAM_MECHANISM_256 -> AdminClient.create(
+          getSaslSsl_ScramMechanismProperties(envHost, clusterIdentification, SHA_256));
+      case SASL_SSL_SCRAM_MECHANISM_512 -> AdminClient.create(
+          getSaslSsl_ScramMechanismProperties(envHost, clusterIdentification, SHA_512));
+      case SASL_SSL_GSSAPI_MECHANISM -> AdminClient.create(
+          getSaslSsl_GSSAPIMechanismProperties(envHost, clusterIdentification));
+      case SASL_PLAIN_OAUTHBEARER -> AdminClient.create(
+          getSasl_OauthBearerMechanismProperties(envHost, clusterIdentification, false));
+      case SASL_SSL_OAUTHBEARER -> AdminClient.create(
+          getSasl_OauthBearerMechanismProperties(envHost, clusterIdentification, true));
+    };
+  }
+
   public Properties getPlainProperties(String environment) {
     Properties props = new Properties();
 
@@ -532,7 +466,9 @@ public class ClusterApiUtils {
     if (PLAINTEXT == protocol) {
       connectorsUrl = HTTP_PREFIX + suffixUrl;
       if (!restTemplateMap.containsKey(PLAIN_REST_TEMPLATE)) {
-        restTemplateMap.put(PLAIN_REST_TEMPLATE, new RestTemplate());
+        restTemplateMap.put(
+            PLAIN_REST_TEMPLATE,
+            new RestTemplate(sslContextConfig.getPlainClientHttpRequestFactory()));
       }
       return Pair.of(connectorsUrl, restTemplateMap.get(PLAIN_REST_TEMPLATE));
     } else if (SSL == protocol) {
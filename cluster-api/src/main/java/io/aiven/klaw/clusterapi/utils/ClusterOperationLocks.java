@@ -0,0 +1,79 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import io.aiven.klaw.clusterapi.models.ClusterKeyIdentifier;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coordinates operations per cluster instead of per service, so a slow or unreachable cluster only
+ * blocks operations on that cluster.
+ *
+ * <p>Updates on a cluster are serialised with a (reentrant) lock per cluster. Loads are coalesced:
+ * while a load for a cluster is in flight, other callers asking for the same cluster wait for it
+ * and share its result instead of issuing their own AdminClient calls. An update of the cluster
+ * invalidates the load in flight, so the callers after the update read the cluster again.
+ */
+@Slf4j
+public class ClusterOperationLocks {
+
+  private final Map<ClusterKeyIdentifier, Lock> clusterLocks = new ConcurrentHashMap<>();
+
+  private final Map<ClusterKeyIdentifier, CompletableFuture<Object>> inFlightLoads =
+      new ConcurrentHashMap<>();
+
+  public Lock getLock(ClusterKeyIdentifier clusterKeyIdentifier) {
+    return clusterLocks.computeIfAbsent(clusterKeyIdentifier, k -> new ReentrantLock());
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T loadOnce(ClusterKeyIdentifier clusterKeyIdentifier, Callable<T> loader)
+      throws Exception {
+    CompletableFuture<Object> load = new CompletableFuture<>();
+    CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(clusterKeyIdentifier, load);
+    if (inFlightLoad != null) {
+      log.debug("Waiting for in flight load of {}", clusterKeyIdentifier);
+      return (T) awaitLoad(inFlightLoad);
+    }
+
+    try {
+      T result = loader.call();
+      load.complete(result);
+      return result;
+    } catch (Throwable e) {
+      // errors too, waiters would otherwise wait forever on the load
+      load.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightLoads.remove(clusterKeyIdentifier, load);
+    }
+  }
+
+  /**
+   * Called once a cluster is updated: the load in flight may have read the cluster before the
+   * update, callers arriving from now on start a new load instead of joining it. Its waiters still
+   * get its result.
+   */
+  public void invalidateLoad(ClusterKeyIdentifier clusterKeyIdentifier) {
+    inFlightLoads.remove(clusterKeyIdentifier);
+  }
+
+  private static Object awaitLoad(CompletableFuture<Object> inFlightLoad) throws Exception {
+    try {
+      return inFlightLoad.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
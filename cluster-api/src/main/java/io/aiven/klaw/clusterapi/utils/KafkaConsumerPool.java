@@ -0,0 +1,171 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Idle consumers of the topic contents reader, per cluster connection.
+ *
+ * <p>A consumer is not thread safe, so it is borrowed by one request at a time and released
+ * afterwards, without any assignment. At most {@code maxIdlePerCluster} consumers are kept per
+ * cluster, extra ones are closed on release. Consumers which have not been used for the idle
+ * timeout are closed by a scheduled sweep.
+ */
+@Slf4j
+@Component
+public class KafkaConsumerPool {
+
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+  private final Map<String, Deque<PooledConsumer>> idleConsumers = new ConcurrentHashMap<>();
+
+  private final AtomicInteger idleCount = new AtomicInteger();
+
+  private final int maxIdlePerCluster;
+
+  private final long idleTimeoutMs;
+
+  private final LongSupplier clock;
+
+  private final Counter createdCounter;
+
+  private final Counter closedCounter;
+
+  @Autowired
+  public KafkaConsumerPool(
+      @Value("${klaw.topiccontents.consumer.pool.max.idle:4}") int maxIdlePerCluster,
+      @Value("${klaw.topiccontents.consumer.pool.idle.timeout.ms:300000}") long idleTimeoutMs,
+      MeterRegistry meterRegistry) {
+    this(maxIdlePerCluster, idleTimeoutMs, meterRegistry, System::currentTimeMillis);
+  }
+
+  KafkaConsumerPool(
+      int maxIdlePerCluster, long idleTimeoutMs, MeterRegistry meterRegistry, LongSupplier clock) {
+    this.maxIdlePerCluster = maxIdlePerCluster;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.clock = clock;
+    Gauge.builder("klaw.clusterapi.topiccontents.consumers.idle", idleCount, AtomicInteger::get)
+        .description("Topic contents consumers waiting in the pool")
+        .register(meterRegistry);
+    this.createdCounter =
+        Counter.builder("klaw.clusterapi.topiccontents.consumers.created")
+            .description("Topic contents consumers created")
+            .register(meterRegistry);
+    this.closedCounter =
+        Counter.builder("klaw.clusterapi.topiccontents.consumers.closed")
+            .description("Topic contents consumers closed because they were idle, failed or extra")
+            .register(meterRegistry);
+  }
+
+  /** Returns an idle consumer of the cluster, or a new one from the factory if there is none. */
+  public Consumer<String, String> borrow(String key, Supplier<Consumer<String, String>> factory) {
+    Deque<PooledConsumer> consumers = idleConsumers.get(key);
+    PooledConsumer pooledConsumer = consumers == null ? null : consumers.pollFirst();
+    if (pooledConsumer != null) {
+      idleCount.decrementAndGet();
+      return pooledConsumer.consumer;
+    }
+    createdCounter.increment();
+    return factory.get();
+  }
+
+  /** Gives the consumer back, it must not be used by the caller anymore. */
+  public void release(String key, Consumer<String, String> consumer) {
+    try {
+      consumer.unsubscribe();
+    } catch (Exception e) {
+      log.error("Error while clearing the assignment of consumer of {}", key, e);
+      invalidate(key, consumer);
+      return;
+    }
+    Deque<PooledConsumer> consumers =
+        idleConsumers.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+    if (consumers.size() >= maxIdlePerCluster) {
+      close(key, consumer);
+      return;
+    }
+    consumers.addFirst(new PooledConsumer(consumer, clock.getAsLong()));
+    idleCount.incrementAndGet();
+  }
+
+  /** Closes a consumer which failed, instead of giving it back. */
+  public void invalidate(String key, Consumer<String, String> consumer) {
+    log.info("Closing failed consumer of {}", key);
+    close(key, consumer);
+  }
+
+  @Scheduled(fixedDelayString = "${klaw.topiccontents.consumer.pool.eviction.interval.ms:60000}")
+  public void evictIdleConsumers() {
+    long idleSince = clock.getAsLong() - idleTimeoutMs;
+    idleConsumers.forEach(
+        (key, consumers) -> {
+          // the most recently released consumers are at the head
+          Iterator<PooledConsumer> oldestFirst = consumers.descendingIterator();
+          while (oldestFirst.hasNext()) {
+            PooledConsumer pooledConsumer = oldestFirst.next();
+            if (pooledConsumer.releasedMs >= idleSince) {
+              break;
+            }
+            if (consumers.removeLastOccurrence(pooledConsumer)) {
+              idleCount.decrementAndGet();
+              close(key, pooledConsumer.consumer);
+            }
+          }
+        });
+  }
+
+  public int idleSize() {
+    return idleCount.get();
+  }
+
+  @PreDestroy
+  public void closeAll() {
+    List<String> keys = new ArrayList<>(idleConsumers.keySet());
+    for (String key : keys) {
+      Deque<PooledConsumer> consumers = idleConsumers.remove(key);
+      PooledConsumer pooledConsumer;
+      while (consumers != null && (pooledConsumer = consumers.pollFirst()) != null) {
+        idleCount.decrementAndGet();
+        close(key, pooledConsumer.consumer);
+      }
+    }
+  }
+
+  private void close(String key, Consumer<String, String> consumer) {
+    closedCounter.increment();
+    try {
+      consumer.close(CLOSE_TIMEOUT);
+    } catch (Exception e) {
+      log.error("Error while closing consumer of {}", key, e);
+    }
+  }
+
+  private static class PooledConsumer {
+    private final Consumer<String, String> consumer;
+    private final long releasedMs;
+
+    private PooledConsumer(Consumer<String, String> consumer, long releasedMs) {
+      this.consumer = consumer;
+      this.releasedMs = releasedMs;
+    }
+  }
+}
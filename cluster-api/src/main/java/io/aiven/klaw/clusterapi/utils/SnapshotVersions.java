@@ -0,0 +1,68 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import io.aiven.klaw.clusterapi.models.ClusterKeyIdentifier;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versions the snapshots (topics, acls) returned for each cluster, so Klaw can ask for a snapshot
+ * only if it changed since the one it holds.
+ *
+ * <p>The version of a cluster moves up whenever its snapshot differs from the previous one, and is
+ * returned as an ETag. Versions start again when cluster api restarts, so the ETag also carries an
+ * id of this instance, and ETags of an earlier run or another instance never match.
+ *
+ * <p>The ETags are weak: the server compresses responses with weak ETags only, as the compressed
+ * bytes differ from the uncompressed ones. They are compared with the weak comparison of RFC 9110,
+ * which is the one defined for If-None-Match.
+ */
+public class SnapshotVersions {
+
+  private static final String WEAK_PREFIX = "W/";
+
+  private static final String INSTANCE_ID = UUID.randomUUID().toString().substring(0, 8);
+
+  private final Map<ClusterKeyIdentifier, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+  /** Records the snapshot of a cluster and returns its ETag. */
+  public String update(ClusterKeyIdentifier clusterKeyIdentifier, Object content) {
+    Snapshot snapshot =
+        snapshots.compute(
+            clusterKeyIdentifier,
+            (key, previous) -> {
+              if (previous == null) {
+                return new Snapshot(content, 1);
+              }
+              // cached snapshots are returned as the same instance, compared in constant time
+              return previous.content().equals(content)
+                  ? previous
+                  : new Snapshot(content, previous.version() + 1);
+            });
+    return eTag(snapshot.version());
+  }
+
+  /** Whether one of the ETags of an If-None-Match header matches this ETag, weak or not. */
+  public static boolean matches(String ifNoneMatch, String eTag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if ("*".equals(tag) || opaqueTag(tag).equals(opaqueTag(eTag))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String opaqueTag(String eTag) {
+    return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+  }
+
+  private static String eTag(long version) {
+    return WEAK_PREFIX + "\"" + INSTANCE_ID + "-" + version + "\"";
+  }
+
+  private record Snapshot(Object content, long version) {}
+}
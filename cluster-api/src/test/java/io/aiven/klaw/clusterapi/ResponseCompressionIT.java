@@ -0,0 +1,141 @@
+package io.aiven.klaw.clusterapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aiven.klaw.clusterapi.models.LoadTopicsResponse;
+import io.aiven.klaw.clusterapi.models.TopicConfig;
+import io.aiven.klaw.clusterapi.models.enums.AclsNativeType;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.services.ApacheKafkaTopicService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.tomcat.util.codec.binary.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Requests the bulk endpoints through the embedded Tomcat, which compresses the responses, unlike
+ * MockMvc.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    classes = KafkaClusterApiApplication.class)
+@TestPropertySource(
+    locations = "classpath:application.properties",
+    // the self signed certificate of the tests is not issued for localhost
+    properties = "server.ssl.enabled=false")
+@DirtiesContext
+public class ResponseCompressionIT {
+
+  private static final String KWCLUSTERAPIUSER = "kwclusterapiuser";
+
+  @LocalServerPort private int port;
+
+  @Value("${klaw.clusterapi.access.base64.secret}")
+  private String clusterAccessSecret;
+
+  @MockBean private ApacheKafkaTopicService apacheKafkaTopicService;
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    Set<TopicConfig> topics = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      TopicConfig topic = new TopicConfig();
+      topic.setTopicName("compressedtopic" + i);
+      topic.setPartitions("2");
+      topic.setReplicationFactor("1");
+      topics.add(topic);
+    }
+    when(apacheKafkaTopicService.loadTopics(
+            "localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "DEV1", false))
+        .thenReturn(
+            LoadTopicsResponse.builder().loadingInProgress(false).topicConfigSet(topics).build());
+  }
+
+  @Test
+  public void topicsAreGzippedWithAWeakETag() throws Exception {
+    HttpResponse<byte[]> response = getTopics(null);
+
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+    assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+    String eTag = response.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+    assertThat(eTag).startsWith("W/\"");
+    try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+      assertThat(new ObjectMapper().readValue(body, LoadTopicsResponse.class).getTopicConfigSet())
+          .hasSize(100);
+    }
+
+    HttpResponse<byte[]> notModified = getTopics(eTag);
+
+    assertThat(notModified.statusCode()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    assertThat(notModified.body()).isEmpty();
+  }
+
+  private HttpResponse<byte[]> getTopics(String ifNoneMatch) throws Exception {
+    String path =
+        String.join(
+            "/",
+            "/topics",
+            "getTopics",
+            "localhost:9092",
+            KafkaSupportedProtocol.PLAINTEXT.getValue(),
+            "DEV1",
+            "topicsNativeType",
+            AclsNativeType.NATIVE.value,
+            "resetCache",
+            "false");
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + generateToken());
+    if (ifNoneMatch != null) {
+      request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    return httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private String generateToken() {
+    Key hmacKey =
+        new SecretKeySpec(
+            Base64.decodeBase64(clusterAccessSecret), SignatureAlgorithm.HS256.getJcaName());
+    Instant now = Instant.now();
+
+    return Jwts.builder()
+        .claim("name", KWCLUSTERAPIUSER)
+        .subject(KWCLUSTERAPIUSER)
+        .id(UUID.randomUUID().toString())
+        .issuedAt(Date.from(now))
+        .expiration(Date.from(now.plus(3, ChronoUnit.MINUTES)))
+        .signWith(hmacKey)
+        .compact();
+  }
+}
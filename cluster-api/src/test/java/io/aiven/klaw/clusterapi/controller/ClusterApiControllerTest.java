@@ -1,5 +1,6 @@
 package io.aiven.klaw.clusterapi.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
@@ -9,10 +10,12 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.aiven.klaw.clusterapi.UtilMethods;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
+import io.aiven.klaw.clusterapi.models.LoadTopicsResponse;
 import io.aiven.klaw.clusterapi.models.enums.AclType;
 import io.aiven.klaw.clusterapi.models.enums.AclsNativeType;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
@@ -30,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -132,6 +136,42 @@ public class ClusterApiControllerTest {
         .andExpect(jsonPath("$.topicConfigSet", hasSize(1)));
   }
 
+  @Test
+  public void getTopicsAsSmile() throws Exception {
+    String clusterName = "testCluster";
+    String bootstrapServers = "localhost:9092";
+
+    when(apacheKafkaTopicService.loadTopics(
+            bootstrapServers, KafkaSupportedProtocol.PLAINTEXT, clusterName, false))
+        .thenReturn(utilMethods.getTopics());
+
+    String urlTemplate =
+        String.join(
+            "/",
+            "/topics",
+            "getTopics",
+            bootstrapServers,
+            KafkaSupportedProtocol.PLAINTEXT.getValue(),
+            clusterName,
+            "topicsNativeType",
+            AclsNativeType.NATIVE.value,
+            "resetCache",
+            "false");
+    byte[] body =
+        mvc.perform(
+                get(urlTemplate)
+                    .accept(ClusterApiController.APPLICATION_SMILE_VALUE, "application/json"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ClusterApiController.APPLICATION_SMILE_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    LoadTopicsResponse loadTopicsResponse =
+        new ObjectMapper(new SmileFactory()).readValue(body, LoadTopicsResponse.class);
+    assertThat(loadTopicsResponse.getTopicConfigSet()).hasSize(1);
+  }
+
   @Test
   public void getAcls() throws Exception {
     String clusterName = "testCluster";
@@ -161,6 +201,40 @@ public class ClusterApiControllerTest {
         .andExpect(jsonPath("$", hasSize(2)));
   }
 
+  @Test
+  public void getAclsNotModified() throws Exception {
+    String clusterName = "testCluster";
+    String bootstrapServers = "localhost:9092";
+
+    when(apacheKafkaAclService.loadAcls(
+            bootstrapServers, KafkaSupportedProtocol.PLAINTEXT, clusterName))
+        .thenReturn(utilMethods.getAcls());
+
+    String urlTemplate =
+        String.join(
+            "/",
+            "/topics",
+            "getAcls",
+            bootstrapServers,
+            AclsNativeType.NATIVE.name(),
+            KafkaSupportedProtocol.PLAINTEXT.getValue(),
+            clusterName,
+            "projectName",
+            "serviceName");
+    String eTag =
+        mvc.perform(get(urlTemplate))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    mvc.perform(get(urlTemplate).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag))
+        .andExpect(content().string(""));
+  }
+
   @Test
   public void createTopics() throws Exception {
     String jsonReq = new ObjectMapper().writer().writeValueAsString(utilMethods.getTopicRequest());
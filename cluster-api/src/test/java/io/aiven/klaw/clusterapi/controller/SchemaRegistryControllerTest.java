@@ -12,10 +12,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aiven.klaw.clusterapi.UtilMethods;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterSchemaRequest;
+import io.aiven.klaw.clusterapi.models.ClusterSchemasRequest;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.services.SchemaService;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -58,6 +61,29 @@ public class SchemaRegistryControllerTest {
         .andExpect(content().string(containsString(ApiResultStatus.SUCCESS.value)));
   }
 
+  @Test
+  public void getSchemas() throws Exception {
+    ClusterSchemasRequest clusterSchemasRequest =
+        ClusterSchemasRequest.builder()
+            .env("localhost:8081")
+            .protocol(KafkaSupportedProtocol.PLAINTEXT)
+            .clusterIdentification("DEV2")
+            .topicNames(List.of("topic1"))
+            .build();
+    String jsonReq = new ObjectMapper().writer().writeValueAsString(clusterSchemasRequest);
+    when(schemaService.getSchemas(any(ClusterSchemasRequest.class)))
+        .thenReturn(Map.of("topic1", Map.of(1, Map.of("schema", "{}", "id", 11))));
+
+    mvc.perform(
+            post("/topics/getSchemas")
+                .content(jsonReq)
+                .contentType(MediaType.APPLICATION_JSON)
+                .characterEncoding(StandardCharsets.UTF_8))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(content().string(containsString("\"topic1\":{\"1\":")));
+  }
+
   @Test
   public void postSchemaFail() throws Exception {
     String jsonReq = new ObjectMapper().writer().writeValueAsString(utilMethods.getSchema());
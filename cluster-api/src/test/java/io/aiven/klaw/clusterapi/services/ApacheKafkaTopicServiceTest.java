@@ -8,6 +8,7 @@ import io.aiven.klaw.clusterapi.constants.TestConstants;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.LoadTopicsResponse;
+import io.aiven.klaw.clusterapi.models.TopicConfig;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.utils.AdminClientProperties;
@@ -22,8 +23,10 @@ import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.TopicPartitionInfo;
 import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
 import org.assertj.core.api.AbstractThrowableAssert;
 import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +35,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class ApacheKafkaTopicServiceTest {
@@ -126,6 +130,123 @@ class ApacheKafkaTopicServiceTest {
     Assertions.assertThat(topicConfigs.getTopicConfigSet().size()).isEqualTo(1);
   }
 
+  @Test
+  void loadTopicsIncrementallyDescribesOnlyNewTopics() throws Exception {
+    ReflectionTestUtils.setField(apacheKafkaTopicService, "incrementalRefreshEnabled", true);
+    ReflectionTestUtils.setField(apacheKafkaTopicService, "describeBatchSize", 1);
+    String clusterIdentification = "incrementalRefresh";
+    Mockito.when(
+            clusterApiUtils.getAdminClient(
+                TestConstants.ENVIRONMENT, KafkaSupportedProtocol.PLAINTEXT, clusterIdentification))
+        .thenReturn(adminClient);
+    Mockito.when(clusterApiUtils.getAdminClientProperties()).thenReturn(adminClientProperties);
+    Mockito.when(adminClientProperties.getTopicsTimeoutSecs()).thenReturn(10L);
+    Mockito.when(adminClient.listTopics(any(ListTopicsOptions.class))).thenReturn(listTopicsResult);
+    Mockito.when(listTopicsResult.names())
+        .thenReturn(KafkaFuture.completedFuture(Set.of("topic1", "topic2")))
+        .thenReturn(KafkaFuture.completedFuture(Set.of("topic2", "topic3")));
+    stubDescribeTopic("topic1", 1);
+    stubDescribeTopic("topic2", 2);
+    stubDescribeTopic("topic3", 3);
+
+    apacheKafkaTopicService.loadTopics(
+        TestConstants.ENVIRONMENT, KafkaSupportedProtocol.PLAINTEXT, clusterIdentification, false);
+    apacheKafkaTopicService.resetTopicsCacheScheduler();
+    LoadTopicsResponse refreshedTopics =
+        apacheKafkaTopicService.loadTopics(
+            TestConstants.ENVIRONMENT,
+            KafkaSupportedProtocol.PLAINTEXT,
+            clusterIdentification,
+            false);
+
+    Assertions.assertThat(refreshedTopics.getTopicConfigSet())
+        .extracting(TopicConfig::getTopicName, TopicConfig::getPartitions)
+        .containsExactlyInAnyOrder(Tuple.tuple("topic2", "2"), Tuple.tuple("topic3", "3"));
+    Mockito.verify(adminClient, Mockito.times(1)).describeTopics(List.of("topic1"));
+    Mockito.verify(adminClient, Mockito.times(1)).describeTopics(List.of("topic2"));
+    Mockito.verify(adminClient, Mockito.times(1)).describeTopics(List.of("topic3"));
+  }
+
+  @Test
+  void loadTopicsResetCacheDescribesAllTopics() throws Exception {
+    ReflectionTestUtils.setField(apacheKafkaTopicService, "incrementalRefreshEnabled", true);
+    ReflectionTestUtils.setField(apacheKafkaTopicService, "describeBatchSize", 1);
+    String clusterIdentification = "resetCache";
+    Mockito.when(
+            clusterApiUtils.getAdminClient(
+                TestConstants.ENVIRONMENT, KafkaSupportedProtocol.PLAINTEXT, clusterIdentification))
+        .thenReturn(adminClient);
+    Mockito.when(clusterApiUtils.getAdminClientProperties()).thenReturn(adminClientProperties);
+    Mockito.when(adminClientProperties.getTopicsTimeoutSecs()).thenReturn(10L);
+    Mockito.when(adminClient.listTopics(any(ListTopicsOptions.class))).thenReturn(listTopicsResult);
+    Mockito.when(listTopicsResult.names())
+        .thenReturn(KafkaFuture.completedFuture(Set.of("topic1")));
+    stubDescribeTopic("topic1", 1);
+
+    apacheKafkaTopicService.loadTopics(
+        TestConstants.ENVIRONMENT, KafkaSupportedProtocol.PLAINTEXT, clusterIdentification, false);
+    apacheKafkaTopicService.loadTopics(
+        TestConstants.ENVIRONMENT, KafkaSupportedProtocol.PLAINTEXT, clusterIdentification, true);
+
+    Mockito.verify(adminClient, Mockito.times(2)).describeTopics(List.of("topic1"));
+  }
+
+  @Test
+  void loadTopicsKeepsStaleTopicsWhenTheRefreshFails() throws Exception {
+    ReflectionTestUtils.setField(apacheKafkaTopicService, "incrementalRefreshEnabled", true);
+    ReflectionTestUtils.setField(apacheKafkaTopicService, "describeBatchSize", 1);
+    String clusterIdentification = "staleTopics";
+    Mockito.when(
+            clusterApiUtils.getAdminClient(
+                TestConstants.ENVIRONMENT, KafkaSupportedProtocol.PLAINTEXT, clusterIdentification))
+        .thenReturn(adminClient);
+    Mockito.when(clusterApiUtils.getAdminClientProperties()).thenReturn(adminClientProperties);
+    Mockito.when(adminClientProperties.getTopicsTimeoutSecs()).thenReturn(10L);
+    Mockito.when(adminClient.listTopics(any(ListTopicsOptions.class))).thenReturn(listTopicsResult);
+    KafkaFutureImpl<Set<String>> clusterUnavailable = new KafkaFutureImpl<>();
+    clusterUnavailable.completeExceptionally(new KafkaException("Cluster unavailable"));
+    // the incremental refresh and the rebuild which follows fail, the next refresh succeeds
+    Mockito.when(listTopicsResult.names())
+        .thenReturn(KafkaFuture.completedFuture(Set.of("topic1")))
+        .thenReturn(clusterUnavailable)
+        .thenReturn(clusterUnavailable)
+        .thenReturn(KafkaFuture.completedFuture(Set.of("topic1")));
+    stubDescribeTopic("topic1", 1);
+    apacheKafkaTopicService.loadTopics(
+        TestConstants.ENVIRONMENT, KafkaSupportedProtocol.PLAINTEXT, clusterIdentification, false);
+
+    ClusterTopicRequest updateRequest =
+        ClusterTopicRequest.builder()
+            .env(TestConstants.ENVIRONMENT)
+            .protocol(KafkaSupportedProtocol.PLAINTEXT)
+            .clusterName(clusterIdentification)
+            .topicName("topic1")
+            .build();
+    ReflectionTestUtils.invokeMethod(
+        ApacheKafkaTopicService.class, "markTopicStale", updateRequest);
+    apacheKafkaTopicService.resetTopicsCacheScheduler();
+    apacheKafkaTopicService.resetTopicsCacheScheduler();
+
+    Mockito.verify(adminClient, Mockito.times(2)).describeTopics(List.of("topic1"));
+  }
+
+  private void stubDescribeTopic(String topicName, int partitions) {
+    Node node = new Node(1, "localhost", 9092);
+    List<TopicPartitionInfo> partitionInfos = new ArrayList<>();
+    for (int partition = 0; partition < partitions; partition++) {
+      partitionInfos.add(new TopicPartitionInfo(partition, node, List.of(node), List.of(node)));
+    }
+    DescribeTopicsResult topicDescribeResult = mock(DescribeTopicsResult.class);
+    Mockito.lenient()
+        .when(adminClient.describeTopics(List.of(topicName)))
+        .thenReturn(topicDescribeResult);
+    Mockito.lenient()
+        .when(topicDescribeResult.allTopicNames())
+        .thenReturn(
+            KafkaFuture.completedFuture(
+                Map.of(topicName, new TopicDescription(topicName, false, partitionInfos))));
+  }
+
   @Test
   void createTopicClientNull() throws Exception {
     ClusterTopicRequest clusterTopicRequest =
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.when;
 
 import io.aiven.klaw.clusterapi.config.SslContextConfig;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.utils.AdminClientPool;
 import io.aiven.klaw.clusterapi.utils.AdminClientProperties;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
 import java.util.Properties;
@@ -24,6 +25,7 @@ public class ClusterApiUtilsTest {
 
   @Mock Environment env;
   @Mock private AdminClientProperties adminClientProperties;
+  @Mock private AdminClientPool adminClientPool;
   private ClusterApiUtils clusterApiUtils;
 
   @Mock private HttpComponentsClientHttpRequestFactory httpComponentsClientHttpRequestFactory;
@@ -32,7 +34,7 @@ public class ClusterApiUtilsTest {
 
   @BeforeEach
   public void setUp() {
-    clusterApiUtils = new ClusterApiUtils(env, adminClientProperties);
+    clusterApiUtils = new ClusterApiUtils(env, adminClientProperties, adminClientPool);
     ReflectionTestUtils.setField(clusterApiUtils, "sslContextConfig", sslContextConfig);
   }
 
@@ -67,10 +69,14 @@ public class ClusterApiUtilsTest {
   @Test
   public void getSchemaRegistryRequestDetailsPlain() {
     String suffixUrl = "localhost:8081/subjects";
+    when(sslContextConfig.getPlainClientHttpRequestFactory())
+        .thenReturn(httpComponentsClientHttpRequestFactory);
     Pair<String, RestTemplate> templatePair =
         clusterApiUtils.getRequestDetails(suffixUrl, KafkaSupportedProtocol.PLAINTEXT);
 
     assertThat(templatePair.getLeft()).isEqualTo(ClusterApiUtils.HTTP_PREFIX + suffixUrl);
+    assertThat(templatePair.getRight().getRequestFactory())
+        .isEqualTo(httpComponentsClientHttpRequestFactory);
   }
 
   @Test
@@ -99,10 +105,14 @@ public class ClusterApiUtilsTest {
   public void getConnectRequestDetailsPlain() {
     String clusterIdentification = "CLID1";
     String suffixUrl = "localhost:8081/subjects";
+    when(sslContextConfig.getPlainClientHttpRequestFactory())
+        .thenReturn(httpComponentsClientHttpRequestFactory);
     Pair<String, RestTemplate> templatePair =
         clusterApiUtils.getRequestDetails(suffixUrl, KafkaSupportedProtocol.PLAINTEXT);
 
     assertThat(templatePair.getLeft()).isEqualTo(ClusterApiUtils.HTTP_PREFIX + suffixUrl);
+    assertThat(templatePair.getRight().getRequestFactory())
+        .isEqualTo(httpComponentsClientHttpRequestFactory);
   }
 
   @Test
@@ -3,8 +3,11 @@ package io.aiven.klaw.clusterapi.services;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.apache.tomcat.util.codec.binary.Base64;
@@ -21,7 +24,7 @@ class JwtTokenUtilServiceTest {
 
   @BeforeEach
   public void setUp() {
-    jwtTokenUtilService = new JwtTokenUtilService();
+    jwtTokenUtilService = new JwtTokenUtilService(new SimpleMeterRegistry(), 10000);
     ReflectionTestUtils.setField(jwtTokenUtilService, "clusterApiSecret", clusterApiSecret);
     ReflectionTestUtils.setField(jwtTokenUtilService, "decodedSecret", decodedSecret);
   }
@@ -61,6 +64,63 @@ class JwtTokenUtilServiceTest {
     assertThat(actual).isTrue();
   }
 
+  @Test
+  void verifiesATokenOnce() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    jwtTokenUtilService = new JwtTokenUtilService(meterRegistry, 10);
+    SecretKey hmacKey = new SecretKeySpec(decodedSecret, SignatureAlgorithm.HS256.getJcaName());
+    String token =
+        Jwts.builder()
+            .subject("user123")
+            .expiration(new DateTime().plusMinutes(3).toDate())
+            .signWith(hmacKey)
+            .compact();
+
+    assertThat(jwtTokenUtilService.getUsernameFromToken(token)).isEqualTo("user123");
+    assertThat(jwtTokenUtilService.validateToken(token)).isTrue();
+    assertThat(jwtTokenUtilService.validateToken(token)).isTrue();
+
+    assertThat(cacheGets(meterRegistry, "miss")).isEqualTo(1);
+    assertThat(cacheGets(meterRegistry, "hit")).isEqualTo(2);
+  }
+
+  @Test
+  void doesNotCacheTokensFailingVerification() {
+    SecretKey otherKey =
+        new SecretKeySpec(
+            Base64.decodeBase64("b3RoZXIgc2VjcmV0IHRvIGFjY2VzcyB0aGUgY2x1c3RlcmFwaQ=="),
+            SignatureAlgorithm.HS256.getJcaName());
+    String token = Jwts.builder().subject("user123").signWith(otherKey).compact();
+
+    assertThatThrownBy(() -> jwtTokenUtilService.getUsernameFromToken(token))
+        .isInstanceOf(SignatureException.class);
+    assertThatThrownBy(() -> jwtTokenUtilService.getUsernameFromToken(token))
+        .isInstanceOf(SignatureException.class);
+  }
+
+  @Test
+  void rejectsExpiredTokens() {
+    SecretKey hmacKey = new SecretKeySpec(decodedSecret, SignatureAlgorithm.HS256.getJcaName());
+    String token =
+        Jwts.builder()
+            .subject("user123")
+            .expiration(new DateTime().minusMinutes(1).toDate())
+            .signWith(hmacKey)
+            .compact();
+
+    assertThatThrownBy(() -> jwtTokenUtilService.getUsernameFromToken(token))
+        .isInstanceOf(ExpiredJwtException.class);
+  }
+
+  private static double cacheGets(SimpleMeterRegistry meterRegistry, String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", "verifiedTokens")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
   @Test
   void afterPropertiesSet_PropertyNotConfigured() {
     ReflectionTestUtils.setField(jwtTokenUtilService, "clusterApiSecret", "");
@@ -55,7 +55,7 @@ class SchemaServiceRegisterSchemaTest {
 
   @BeforeEach
   public void setUp() {
-    schemaService = new SchemaService(clusterApiUtil);
+    schemaService = new SchemaService(clusterApiUtil, Runnable::run, Runnable::run, 1024 * 1024);
     utilMethods = new UtilMethods();
   }
 
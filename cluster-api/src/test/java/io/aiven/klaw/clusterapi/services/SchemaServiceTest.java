@@ -10,8 +10,10 @@ import static org.springframework.test.web.client.response.MockRestResponseCreat
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aiven.klaw.clusterapi.config.SchedulerConfig;
 import io.aiven.klaw.clusterapi.constants.TestConstants;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
+import io.aiven.klaw.clusterapi.models.ClusterSchemasRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.SchemaCompatibilityCheckResponse;
 import io.aiven.klaw.clusterapi.models.SchemaInfoOfTopic;
@@ -23,6 +25,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.util.Lists;
@@ -34,12 +38,15 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
 @RestClientTest(SchemaService.class)
+@Import(SchedulerConfig.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class SchemaServiceTest {
   public static final String TOPIC_COMPATIBILITY_URI_TEMPLATE =
@@ -77,7 +84,7 @@ class SchemaServiceTest {
   @BeforeEach
   public void setUp() {
     restTemplate = new RestTemplate();
-    schemaService = new SchemaService(getAdminClient);
+    schemaService = new SchemaService(getAdminClient, Runnable::run, Runnable::run, 1024 * 1024);
     mockRestServiceServer = MockRestServiceServer.bindTo(restTemplate).build();
   }
 
@@ -157,6 +164,17 @@ class SchemaServiceTest {
   }
 
   private void getSchema() throws JsonProcessingException {
+    String getLatestSchemaUrl = "env/subjects/topic-value/versions/latest";
+    when(getAdminClient.getRequestDetails(
+            eq(getLatestSchemaUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(getLatestSchemaUrl, restTemplate));
+    this.mockRestServiceServer
+        .expect(requestTo("/" + getLatestSchemaUrl))
+        .andRespond(
+            withSuccess(
+                objectMapper.writeValueAsString(Collections.singletonMap("foo", "bar")),
+                MediaType.APPLICATION_JSON));
+
     String getSchemaUrl = "env/subjects/topic-value/versions/1";
     when(getAdminClient.getRequestDetails(eq(getSchemaUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
         .thenReturn(Pair.of(getSchemaUrl, restTemplate));
@@ -526,4 +544,239 @@ class SchemaServiceTest {
 
     Assertions.assertThat(actual).isEqualTo(expected);
   }
+
+  @Test
+  @Order(15)
+  public void getSchemasOfClusterInParallel() throws Exception {
+    String prd = "Prd";
+    String subjectsUrl = prd + "/subjects";
+    List<String> topics = List.of("test1", "test2", "test3", "test4", "test5");
+    ExecutorService crawlExecutor = Executors.newFixedThreadPool(4);
+    schemaService = new SchemaService(getAdminClient, Runnable::run, crawlExecutor, 1024 * 1024);
+    ReflectionTestUtils.setField(schemaService, "crawlConcurrency", 2);
+    mockRestServiceServer =
+        MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+
+    when(getAdminClient.getRequestDetails(eq(subjectsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(subjectsUrl, restTemplate));
+    when(getAdminClient.createHeaders(eq("20"), eq(KafkaClustersType.SCHEMA_REGISTRY)))
+        .thenReturn(new HttpHeaders());
+    this.mockRestServiceServer
+        .expect(requestTo("/" + subjectsUrl))
+        .andRespond(
+            withSuccess(
+                mapper.writeValueAsString(
+                    topics.stream().map(topic -> topic + SCHEMA_VALUE_URI).toList()),
+                MediaType.APPLICATION_JSON));
+    for (int i = 0; i < topics.size(); i++) {
+      String versionsUrl = subjectsUrl + "/" + topics.get(i) + SCHEMA_VALUE_URI + "/versions";
+      this.mockRestServiceServer
+          .expect(requestTo("/" + versionsUrl))
+          .andRespond(
+              withSuccess(mapper.writeValueAsString(Set.of(i + 1)), MediaType.APPLICATION_JSON));
+      when(getAdminClient.getRequestDetails(eq(versionsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+          .thenReturn(Pair.of(versionsUrl, restTemplate));
+    }
+
+    try {
+      SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
+          schemaService.loadAllSchemasInfoFromCluster(
+              prd, KafkaSupportedProtocol.PLAINTEXT, "20", false, SchemaCacheUpdateType.NONE, null);
+
+      assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList())
+          .extracting(SchemaInfoOfTopic::getTopic)
+          .containsExactlyElementsOf(topics);
+      assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList())
+          .extracting(SchemaInfoOfTopic::getSchemaVersions)
+          .containsExactly(Set.of(1), Set.of(2), Set.of(3), Set.of(4), Set.of(5));
+      mockRestServiceServer.verify();
+    } finally {
+      crawlExecutor.shutdown();
+    }
+  }
+
+  @Test
+  @Order(16)
+  public void getSchemasOfClusterRetriesServerErrors() throws JsonProcessingException {
+    String tst = "Tst";
+    String subjectsUrl = tst + "/subjects";
+    String topic1 = "test1", topic2 = "test2";
+    String topic1VersionsUrl = subjectsUrl + "/" + topic1 + SCHEMA_VALUE_URI + "/versions";
+    String topic2VersionsUrl = subjectsUrl + "/" + topic2 + SCHEMA_VALUE_URI + "/versions";
+    ReflectionTestUtils.setField(schemaService, "crawlRetries", 2);
+
+    when(getAdminClient.getRequestDetails(eq(subjectsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(subjectsUrl, restTemplate));
+    when(getAdminClient.getRequestDetails(
+            eq(topic1VersionsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(topic1VersionsUrl, restTemplate));
+    when(getAdminClient.getRequestDetails(
+            eq(topic2VersionsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(topic2VersionsUrl, restTemplate));
+    when(getAdminClient.createHeaders(eq("21"), eq(KafkaClustersType.SCHEMA_REGISTRY)))
+        .thenReturn(new HttpHeaders());
+    this.mockRestServiceServer
+        .expect(requestTo("/" + subjectsUrl))
+        .andRespond(
+            withSuccess(
+                mapper.writeValueAsString(
+                    List.of(topic1 + SCHEMA_VALUE_URI, topic2 + SCHEMA_VALUE_URI)),
+                MediaType.APPLICATION_JSON));
+    // a server error is retried, a client error is not
+    this.mockRestServiceServer
+        .expect(requestTo("/" + topic1VersionsUrl))
+        .andRespond(withServiceUnavailable());
+    this.mockRestServiceServer
+        .expect(requestTo("/" + topic1VersionsUrl))
+        .andRespond(withSuccess(mapper.writeValueAsString(Set.of(1)), MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/" + topic2VersionsUrl))
+        .andRespond(withResourceNotFound());
+
+    SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
+        schemaService.loadAllSchemasInfoFromCluster(
+            tst, KafkaSupportedProtocol.PLAINTEXT, "21", false, SchemaCacheUpdateType.NONE, null);
+
+    assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList())
+        .extracting(SchemaInfoOfTopic::getSchemaVersions)
+        .containsExactly(Set.of(1), Set.of());
+    mockRestServiceServer.verify();
+  }
+
+  @Test
+  @Order(16)
+  public void getSchemasOfClusterSkipsSubjectsFailingWithAnyError() throws JsonProcessingException {
+    String uat = "Uat";
+    String subjectsUrl = uat + "/subjects";
+    String topic1 = "test1", topic2 = "test2";
+    String topic1VersionsUrl = subjectsUrl + "/" + topic1 + SCHEMA_VALUE_URI + "/versions";
+    String topic2VersionsUrl = subjectsUrl + "/" + topic2 + SCHEMA_VALUE_URI + "/versions";
+
+    when(getAdminClient.getRequestDetails(eq(subjectsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(subjectsUrl, restTemplate));
+    when(getAdminClient.getRequestDetails(
+            eq(topic1VersionsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenThrow(new IllegalStateException("No registry configured"));
+    when(getAdminClient.getRequestDetails(
+            eq(topic2VersionsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(topic2VersionsUrl, restTemplate));
+    when(getAdminClient.createHeaders(eq("22"), eq(KafkaClustersType.SCHEMA_REGISTRY)))
+        .thenReturn(new HttpHeaders());
+    this.mockRestServiceServer
+        .expect(requestTo("/" + subjectsUrl))
+        .andRespond(
+            withSuccess(
+                mapper.writeValueAsString(
+                    List.of(topic1 + SCHEMA_VALUE_URI, topic2 + SCHEMA_VALUE_URI)),
+                MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/" + topic2VersionsUrl))
+        .andRespond(withSuccess(mapper.writeValueAsString(Set.of(2)), MediaType.APPLICATION_JSON));
+
+    SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
+        schemaService.loadAllSchemasInfoFromCluster(
+            uat, KafkaSupportedProtocol.PLAINTEXT, "22", false, SchemaCacheUpdateType.NONE, null);
+
+    assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList())
+        .extracting(SchemaInfoOfTopic::getSchemaVersions)
+        .containsExactly(Set.of(), Set.of(2));
+    mockRestServiceServer.verify();
+  }
+
+  @Test
+  @Order(17)
+  public void getSchemaServesImmutableVersionsFromCache() throws JsonProcessingException {
+    String versionsUrl = "reg/subjects/topic-value/versions";
+    expectGet(versionsUrl, List.of(1, 2));
+    expectGet("reg/config/topic-value", Map.of("compatibilityLevel", "BACKWARD"));
+    expectGet(versionsUrl + "/latest", schemaVersion(2, 12));
+    expectGet(versionsUrl + "/1", schemaVersion(1, 11));
+
+    Map<Integer, Map<String, Object>> schemaResponse =
+        schemaService.getSchema("reg", KafkaSupportedProtocol.PLAINTEXT, "CLID1", "topic");
+
+    assertThat(schemaResponse.keySet()).containsExactly(1, 2);
+    assertThat(schemaResponse.get(1)).containsEntry("id", 11);
+    assertThat(schemaResponse.get(2)).containsEntry("compatibility", "BACKWARD");
+    mockRestServiceServer.verify();
+
+    // only the new latest version is downloaded
+    mockRestServiceServer.reset();
+    expectGet(versionsUrl, List.of(1, 2, 3));
+    expectGet("reg/config/topic-value", Map.of("compatibilityLevel", "FULL"));
+    expectGet(versionsUrl + "/latest", schemaVersion(3, 13));
+
+    schemaResponse =
+        schemaService.getSchema("reg", KafkaSupportedProtocol.PLAINTEXT, "CLID1", "topic");
+
+    assertThat(schemaResponse.keySet()).containsExactly(1, 2, 3);
+    assertThat(schemaResponse.get(1))
+        .containsEntry("id", 11)
+        .containsEntry("compatibility", "FULL");
+    assertThat(schemaResponse.get(3)).containsEntry("id", 13);
+    mockRestServiceServer.verify();
+  }
+
+  @Test
+  @Order(18)
+  public void getSchemaEvictsVersionsOfSubjectRegisteredAgain() throws JsonProcessingException {
+    String versionsUrl = "reg/subjects/topic-value/versions";
+    expectGet(versionsUrl, List.of(1, 2));
+    expectGet("reg/config/topic-value", Map.of("compatibilityLevel", "BACKWARD"));
+    expectGet(versionsUrl + "/latest", schemaVersion(2, 12));
+    expectGet(versionsUrl + "/1", schemaVersion(1, 11));
+    schemaService.getSchema("reg", KafkaSupportedProtocol.PLAINTEXT, "CLID1", "topic");
+    mockRestServiceServer.verify();
+
+    mockRestServiceServer.reset();
+    expectGet(versionsUrl, List.of(1, 2));
+    expectGet("reg/config/topic-value", Map.of("compatibilityLevel", "BACKWARD"));
+    expectGet(versionsUrl + "/latest", schemaVersion(2, 22));
+    expectGet(versionsUrl + "/1", schemaVersion(1, 21));
+
+    Map<Integer, Map<String, Object>> schemaResponse =
+        schemaService.getSchema("reg", KafkaSupportedProtocol.PLAINTEXT, "CLID1", "topic");
+
+    assertThat(schemaResponse.get(1)).containsEntry("id", 21);
+    assertThat(schemaResponse.get(2)).containsEntry("id", 22);
+    mockRestServiceServer.verify();
+  }
+
+  @Test
+  @Order(19)
+  public void getSchemasOfSeveralTopics() throws Exception {
+    for (String topic : List.of("topic1", "topic2")) {
+      String versionsUrl = "reg/subjects/" + topic + "-value/versions";
+      expectGet(versionsUrl, List.of(1));
+      expectGet("reg/config/" + topic + "-value", Map.of("compatibilityLevel", "BACKWARD"));
+      expectGet(versionsUrl + "/latest", schemaVersion(1, topic.equals("topic1") ? 31 : 32));
+    }
+
+    Map<String, Map<Integer, Map<String, Object>>> schemas =
+        schemaService.getSchemas(
+            ClusterSchemasRequest.builder()
+                .env("reg")
+                .protocol(KafkaSupportedProtocol.PLAINTEXT)
+                .clusterIdentification("CLID1")
+                .topicNames(List.of("topic1", "topic2"))
+                .build());
+
+    assertThat(schemas.keySet()).containsExactly("topic1", "topic2");
+    assertThat(schemas.get("topic1").get(1)).containsEntry("id", 31);
+    assertThat(schemas.get("topic2").get(1)).containsEntry("id", 32);
+    mockRestServiceServer.verify();
+  }
+
+  private void expectGet(String url, Object response) throws JsonProcessingException {
+    when(getAdminClient.getRequestDetails(eq(url), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(url, restTemplate));
+    this.mockRestServiceServer
+        .expect(requestTo("/" + url))
+        .andRespond(
+            withSuccess(objectMapper.writeValueAsString(response), MediaType.APPLICATION_JSON));
+  }
+
+  private static Map<String, Object> schemaVersion(int version, int id) {
+    return Map.of("version", version, "id", id, "schema", "{\"type\": \"string\"}");
+  }
 }
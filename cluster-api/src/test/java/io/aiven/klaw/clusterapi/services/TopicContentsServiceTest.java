@@ -1,10 +1,33 @@
 package io.aiven.klaw.clusterapi.services;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 import io.aiven.klaw.clusterapi.constants.TestConstants;
+import io.aiven.klaw.clusterapi.models.TopicContentsRecord;
+import io.aiven.klaw.clusterapi.models.TopicContentsRequest;
+import io.aiven.klaw.clusterapi.models.TopicContentsResponse;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.enums.TopicContentsDirection;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.KafkaConsumerPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,15 +35,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class TopicContentsServiceTest {
+  private static final String BOOTSTRAP_SERVERS = "localhost:9092";
+  private static final String POOL_KEY =
+      TopicContentsService.consumerPoolKey(
+          BOOTSTRAP_SERVERS, "PLAINTEXT", TestConstants.CLUSTER_IDENTIFICATION);
+
   @Mock private ClusterApiUtils clusterApiUtils;
+  private KafkaConsumerPool kafkaConsumerPool;
   private TopicContentsService topicContentsService;
 
   @BeforeEach
   void setup() {
-    topicContentsService = new TopicContentsService(clusterApiUtils);
+    kafkaConsumerPool = new KafkaConsumerPool(4, 300000, new SimpleMeterRegistry());
+    topicContentsService = new TopicContentsService(clusterApiUtils, kafkaConsumerPool);
   }
 
   @Test
@@ -49,5 +80,170 @@ class TopicContentsServiceTest {
 
     Map<Long, String> expected = Collections.emptyMap();
     Assertions.assertThat(actual).isEqualTo(expected);
+    assertThat(kafkaConsumerPool.idleSize()).isZero();
+  }
+
+  @Test
+  void readEventsReadsLastOffsetsOfEachPartitionAndReleasesConsumer() {
+    MockConsumer<String, String> consumer = mockConsumer(2, 10);
+
+    Map<Long, String> actual =
+        topicContentsService.readEvents(
+            BOOTSTRAP_SERVERS,
+            "PLAINTEXT",
+            TestConstants.CONSUMER_GROUP_ID,
+            TestConstants.TOPIC_NAME,
+            "3",
+            0,
+            0,
+            0,
+            0,
+            "OFFSET_ID",
+            TestConstants.CLUSTER_IDENTIFICATION);
+
+    assertThat(actual).containsOnlyKeys(7L, 8L, 9L);
+    assertThat(actual.get(9L)).startsWith("value-");
+    assertThat(consumer.closed()).isFalse();
+    assertThat(consumer.assignment()).isEmpty();
+    assertThat(kafkaConsumerPool.idleSize()).isEqualTo(1);
+  }
+
+  @Test
+  void readEventsOfRangeIncludesEndOffset() {
+    mockConsumer(1, 10);
+
+    Map<Long, String> actual =
+        topicContentsService.readEvents(
+            BOOTSTRAP_SERVERS,
+            "PLAINTEXT",
+            TestConstants.CONSUMER_GROUP_ID,
+            TestConstants.TOPIC_NAME,
+            "range",
+            0,
+            0,
+            2,
+            4,
+            "OFFSET_ID",
+            TestConstants.CLUSTER_IDENTIFICATION);
+
+    assertThat(actual).containsOnlyKeys(2L, 3L, 4L);
+  }
+
+  @Test
+  void readRecordsForwardPagesAcrossPartitions() throws Exception {
+    mockConsumer(2, 10);
+    List<TopicContentsRecord> streamed = new ArrayList<>();
+
+    TopicContentsResponse firstPage =
+        topicContentsService.readRecords(
+            request(TopicContentsDirection.FORWARD, null), streamed::add);
+
+    assertThat(firstPage.getRecords()).hasSize(4);
+    assertThat(streamed).isEqualTo(firstPage.getRecords());
+    assertThat(firstPage.getNextOffsets().values().stream().mapToLong(Long::longValue).sum())
+        .isEqualTo(4L);
+
+    mockConsumer(2, 10);
+    TopicContentsResponse secondPage =
+        topicContentsService.readRecords(
+            request(TopicContentsDirection.FORWARD, firstPage.getNextOffsets()), null);
+
+    assertThat(secondPage.getRecords())
+        .extracting(r -> r.getPartition() + ":" + r.getOffset())
+        .doesNotContainAnyElementsOf(
+            firstPage.getRecords().stream()
+                .map(r -> r.getPartition() + ":" + r.getOffset())
+                .toList());
+    assertThat(secondPage.getPreviousOffsets()).isEqualTo(firstPage.getNextOffsets());
+  }
+
+  @Test
+  void readRecordsBackwardReturnsNewestRecords() throws Exception {
+    mockConsumer(2, 10);
+
+    TopicContentsResponse page =
+        topicContentsService.readRecords(request(TopicContentsDirection.BACKWARD, null), null);
+
+    assertThat(page.getRecords()).hasSize(4);
+    // the records of both partitions have the same timestamps, the newest are the last two of each
+    // partition
+    assertThat(page.getRecords()).extracting(TopicContentsRecord::getOffset).containsOnly(8L, 9L);
+    assertThat(page.getPreviousOffsets()).containsEntry(0, 8L).containsEntry(1, 8L);
+    assertThat(page.getNextOffsets()).containsEntry(0, 10L).containsEntry(1, 10L);
+    assertThat(kafkaConsumerPool.idleSize()).isEqualTo(1);
+  }
+
+  @Test
+  void readRecordsReleasesConsumerWhenTheListenerFails() {
+    MockConsumer<String, String> consumer = mockConsumer(1, 10);
+
+    assertThatThrownBy(
+            () ->
+                topicContentsService.readRecords(
+                    request(TopicContentsDirection.FORWARD, null),
+                    record -> {
+                      throw new IOException("Broken pipe");
+                    }))
+        .isInstanceOf(IOException.class);
+
+    assertThat(consumer.closed()).isFalse();
+    assertThat(kafkaConsumerPool.idleSize()).isEqualTo(1);
+  }
+
+  private TopicContentsRequest request(
+      TopicContentsDirection direction, Map<Integer, Long> partitionOffsets) {
+    return TopicContentsRequest.builder()
+        .bootstrapServers(BOOTSTRAP_SERVERS)
+        .protocol(KafkaSupportedProtocol.PLAINTEXT)
+        .clusterIdentification(TestConstants.CLUSTER_IDENTIFICATION)
+        .topicName(TestConstants.TOPIC_NAME)
+        .partitionOffsets(partitionOffsets)
+        .direction(direction)
+        .maxRecords(4)
+        .build();
+  }
+
+  /** Puts a consumer of a topic with records at offsets 0 until endOffset into the pool. */
+  private MockConsumer<String, String> mockConsumer(int partitionCount, long endOffset) {
+    ReflectionTestUtils.setField(topicContentsService, "readTimeoutMs", 1000L);
+    ReflectionTestUtils.setField(topicContentsService, "defaultPollInterval", 100L);
+    ReflectionTestUtils.setField(topicContentsService, "maxRecordsLimit", 500);
+    MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    List<PartitionInfo> partitionInfos = new ArrayList<>();
+    Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+    Map<TopicPartition, Long> endOffsets = new HashMap<>();
+    for (int partition = 0; partition < partitionCount; partition++) {
+      partitionInfos.add(
+          new PartitionInfo(
+              TestConstants.TOPIC_NAME, partition, Node.noNode(), new Node[0], new Node[0]));
+      TopicPartition tp = new TopicPartition(TestConstants.TOPIC_NAME, partition);
+      beginningOffsets.put(tp, 0L);
+      endOffsets.put(tp, endOffset);
+    }
+    consumer.updatePartitions(TestConstants.TOPIC_NAME, partitionInfos);
+    consumer.updateBeginningOffsets(beginningOffsets);
+    consumer.updateEndOffsets(endOffsets);
+    consumer.schedulePollTask(
+        () -> {
+          for (TopicPartition tp : consumer.assignment()) {
+            for (long offset = 0; offset < endOffset; offset++) {
+              consumer.addRecord(
+                  new ConsumerRecord<>(
+                      tp.topic(),
+                      tp.partition(),
+                      offset,
+                      offset,
+                      TimestampType.CREATE_TIME,
+                      0,
+                      0,
+                      "key-" + offset,
+                      "value-" + offset,
+                      new RecordHeaders(),
+                      Optional.empty()));
+            }
+          }
+        });
+    kafkaConsumerPool.release(POOL_KEY, consumer);
+    return consumer;
   }
 }
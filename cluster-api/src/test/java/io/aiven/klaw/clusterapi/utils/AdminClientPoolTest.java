@@ -0,0 +1,184 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AdminClientPoolTest {
+
+  private static final long IDLE_TIMEOUT_MS = 1000;
+
+  private final AtomicLong now = new AtomicLong();
+  private SimpleMeterRegistry meterRegistry;
+  private AdminClientPool adminClientPool;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    adminClientPool = new AdminClientPool(2, IDLE_TIMEOUT_MS, meterRegistry, now::get);
+  }
+
+  @Test
+  public void concurrentRequestsCreateOneClient() throws Exception {
+    AtomicInteger creations = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<AdminClient>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(
+            executorService.submit(
+                () -> {
+                  start.await();
+                  return adminClientPool.lease(
+                      "cluster1",
+                      () -> {
+                        creations.incrementAndGet();
+                        return mock(AdminClient.class);
+                      });
+                }));
+      }
+      start.countDown();
+
+      AdminClient first = results.get(0).get(5, TimeUnit.SECONDS);
+      for (Future<AdminClient> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+      }
+      assertThat(creations.get()).isEqualTo(1);
+      assertThat(meterRegistry.get("klaw.clusterapi.adminclients.created").counter().count())
+          .isEqualTo(1);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void idleClientsAreEvictedAndClosed() throws Exception {
+    AdminClient idleClient = mock(AdminClient.class);
+    AdminClient activeClient = mock(AdminClient.class);
+    adminClientPool.release(adminClientPool.lease("idle", () -> idleClient));
+    adminClientPool.release(adminClientPool.lease("active", () -> activeClient));
+
+    now.set(IDLE_TIMEOUT_MS);
+    adminClientPool.release(adminClientPool.lease("active", () -> activeClient));
+    now.set(IDLE_TIMEOUT_MS + 1);
+    adminClientPool.evictIdleClients();
+
+    assertThat(adminClientPool.size()).isEqualTo(1);
+    verify(idleClient).close(any(Duration.class));
+    verify(activeClient, never()).close(any(Duration.class));
+    assertThat(meterRegistry.get("klaw.clusterapi.adminclients.live").gauge().value()).isEqualTo(1);
+    assertThat(meterRegistry.get("klaw.clusterapi.adminclients.evicted").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void leastRecentlyUsedClientIsEvictedWhenPoolIsFull() throws Exception {
+    AdminClient client1 = mock(AdminClient.class);
+    AdminClient client2 = mock(AdminClient.class);
+    AdminClient client3 = mock(AdminClient.class);
+    adminClientPool.release(adminClientPool.lease("cluster1", () -> client1));
+    now.incrementAndGet();
+    adminClientPool.release(adminClientPool.lease("cluster2", () -> client2));
+    now.incrementAndGet();
+    adminClientPool.release(adminClientPool.lease("cluster1", () -> client1));
+    now.incrementAndGet();
+
+    adminClientPool.lease("cluster3", () -> client3);
+
+    assertThat(adminClientPool.size()).isEqualTo(2);
+    verify(client2).close(any(Duration.class));
+    verify(client1, never()).close(any(Duration.class));
+  }
+
+  @Test
+  public void invalidatedClientIsClosedAndRecreated() throws Exception {
+    AdminClient failedClient = mock(AdminClient.class);
+    AdminClient newClient = mock(AdminClient.class);
+    adminClientPool.lease("cluster1", () -> failedClient);
+
+    adminClientPool.invalidate("cluster1", failedClient);
+    adminClientPool.release(failedClient);
+
+    verify(failedClient).close(any(Duration.class));
+    assertThat(adminClientPool.lease("cluster1", () -> newClient)).isSameAs(newClient);
+  }
+
+  @Test
+  public void leasedClientsAreNotIdle() throws Exception {
+    AdminClient leasedClient = mock(AdminClient.class);
+    adminClientPool.lease("cluster1", () -> leasedClient);
+
+    now.set(IDLE_TIMEOUT_MS + 1);
+    adminClientPool.evictIdleClients();
+
+    assertThat(adminClientPool.size()).isEqualTo(1);
+    verify(leasedClient, never()).close(any(Duration.class));
+  }
+
+  @Test
+  public void clientsNotLeasedAreEvictedFirstWhenPoolIsFull() throws Exception {
+    AdminClient leasedClient = mock(AdminClient.class);
+    AdminClient releasedClient = mock(AdminClient.class);
+    adminClientPool.lease("cluster1", () -> leasedClient);
+    now.incrementAndGet();
+    adminClientPool.release(adminClientPool.lease("cluster2", () -> releasedClient));
+    now.incrementAndGet();
+
+    adminClientPool.lease("cluster3", () -> mock(AdminClient.class));
+
+    verify(releasedClient).close(any(Duration.class));
+    verify(leasedClient, never()).close(any(Duration.class));
+  }
+
+  @Test
+  public void clientEvictedWhileLeasedIsClosedOnItsLastRelease() throws Exception {
+    AdminClient evictedClient = mock(AdminClient.class);
+    AdminClient newClient = mock(AdminClient.class);
+    AdminClient lease1 = adminClientPool.lease("cluster1", () -> evictedClient);
+    AdminClient lease2 = adminClientPool.lease("cluster1", () -> evictedClient);
+
+    adminClientPool.invalidate("cluster1", evictedClient);
+
+    assertThat(adminClientPool.lease("cluster1", () -> newClient)).isSameAs(newClient);
+    adminClientPool.release(lease1);
+    verify(evictedClient, never()).close(any(Duration.class));
+    adminClientPool.release(lease2);
+    verify(evictedClient).close(any(Duration.class));
+    adminClientPool.release(lease2);
+    verify(newClient, never()).close(any(Duration.class));
+    assertThat(meterRegistry.get("klaw.clusterapi.adminclients.evicted").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void closeAllClosesEveryClient() throws Exception {
+    AdminClient client1 = mock(AdminClient.class);
+    AdminClient client2 = mock(AdminClient.class);
+    adminClientPool.lease("cluster1", () -> client1);
+    adminClientPool.lease("cluster2", () -> client2);
+
+    adminClientPool.closeAll();
+
+    assertThat(adminClientPool.size()).isZero();
+    verify(client1).close(any(Duration.class));
+    verify(client2).close(any(Duration.class));
+  }
+}
@@ -0,0 +1,199 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.aiven.klaw.clusterapi.models.ClusterKeyIdentifier;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ClusterOperationLocksTest {
+
+  private static final ClusterKeyIdentifier CLUSTER_1 =
+      new ClusterKeyIdentifier("localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "DEV1");
+  private static final ClusterKeyIdentifier CLUSTER_2 =
+      new ClusterKeyIdentifier("localhost:9093", KafkaSupportedProtocol.PLAINTEXT, "DEV2");
+
+  private final ClusterOperationLocks clusterOperationLocks = new ClusterOperationLocks();
+  private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+  @AfterEach
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  // the caller found the load in flight and waits for its result
+  private static void awaitWaiting(Thread thread) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+  }
+
+  @Test
+  public void concurrentLoadsOfSameClusterShareOneCall() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch releaseLoad = new CountDownLatch(1);
+
+    Future<String> first =
+        executorService.submit(
+            () ->
+                clusterOperationLocks.loadOnce(
+                    CLUSTER_1,
+                    () -> {
+                      loads.incrementAndGet();
+                      loadStarted.countDown();
+                      releaseLoad.await(5, TimeUnit.SECONDS);
+                      return "topics";
+                    }));
+    assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<Thread> secondThread = new CompletableFuture<>();
+    Future<String> second =
+        executorService.submit(
+            () -> {
+              secondThread.complete(Thread.currentThread());
+              return clusterOperationLocks.loadOnce(
+                  CLUSTER_1,
+                  () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                  });
+            });
+    awaitWaiting(secondThread.get(5, TimeUnit.SECONDS));
+    releaseLoad.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("topics");
+    assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("topics");
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void loadsOfDifferentClustersDoNotBlockEachOther() throws Exception {
+    CountDownLatch releaseLoad = new CountDownLatch(1);
+    Future<String> slowCluster =
+        executorService.submit(
+            () ->
+                clusterOperationLocks.loadOnce(
+                    CLUSTER_1,
+                    () -> {
+                      releaseLoad.await(5, TimeUnit.SECONDS);
+                      return "slow";
+                    }));
+
+    String fastCluster = clusterOperationLocks.loadOnce(CLUSTER_2, () -> "fast");
+
+    assertThat(fastCluster).isEqualTo("fast");
+    assertThat(slowCluster.isDone()).isFalse();
+    releaseLoad.countDown();
+    assertThat(slowCluster.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+  }
+
+  @Test
+  public void failedLoadIsNotCached() throws Exception {
+    assertThatThrownBy(
+            () ->
+                clusterOperationLocks.loadOnce(
+                    CLUSTER_1,
+                    () -> {
+                      throw new Exception("Cannot connect to cluster.");
+                    }))
+        .hasMessage("Cannot connect to cluster.");
+
+    assertThat(clusterOperationLocks.loadOnce(CLUSTER_1, () -> "topics")).isEqualTo("topics");
+  }
+
+  @Test
+  public void errorOfLoadIsPassedToWaiters() throws Exception {
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch releaseLoad = new CountDownLatch(1);
+
+    Future<String> first =
+        executorService.submit(
+            () ->
+                clusterOperationLocks.loadOnce(
+                    CLUSTER_1,
+                    () -> {
+                      loadStarted.countDown();
+                      releaseLoad.await(5, TimeUnit.SECONDS);
+                      throw new NoClassDefFoundError("org/apache/kafka/clients/admin/Admin");
+                    }));
+    assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<Thread> secondThread = new CompletableFuture<>();
+    Future<String> second =
+        executorService.submit(
+            () -> {
+              secondThread.complete(Thread.currentThread());
+              return clusterOperationLocks.loadOnce(CLUSTER_1, () -> "topics");
+            });
+    awaitWaiting(secondThread.get(5, TimeUnit.SECONDS));
+    releaseLoad.countDown();
+
+    assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(NoClassDefFoundError.class);
+    assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(NoClassDefFoundError.class);
+  }
+
+  @Test
+  public void loadAfterAnUpdateDoesNotJoinTheLoadInFlight() throws Exception {
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch releaseLoad = new CountDownLatch(1);
+    Future<String> beforeUpdate =
+        executorService.submit(
+            () ->
+                clusterOperationLocks.loadOnce(
+                    CLUSTER_1,
+                    () -> {
+                      loadStarted.countDown();
+                      releaseLoad.await(5, TimeUnit.SECONDS);
+                      return "before update";
+                    }));
+    assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    clusterOperationLocks.invalidateLoad(CLUSTER_1);
+    String afterUpdate = clusterOperationLocks.loadOnce(CLUSTER_1, () -> "after update");
+    releaseLoad.countDown();
+
+    assertThat(afterUpdate).isEqualTo("after update");
+    assertThat(beforeUpdate.get(5, TimeUnit.SECONDS)).isEqualTo("before update");
+  }
+
+  @Test
+  public void locksArePerCluster() throws Exception {
+    clusterOperationLocks.getLock(CLUSTER_1).lock();
+    try {
+      boolean lockedOtherCluster =
+          CompletableFuture.supplyAsync(
+                  () -> {
+                    boolean locked = clusterOperationLocks.getLock(CLUSTER_2).tryLock();
+                    if (locked) {
+                      clusterOperationLocks.getLock(CLUSTER_2).unlock();
+                    }
+                    return locked;
+                  },
+                  executorService)
+              .get(5, TimeUnit.SECONDS);
+      boolean lockedSameCluster =
+          CompletableFuture.supplyAsync(
+                  () -> clusterOperationLocks.getLock(CLUSTER_1).tryLock(), executorService)
+              .get(5, TimeUnit.SECONDS);
+
+      assertThat(lockedOtherCluster).isTrue();
+      assertThat(lockedSameCluster).isFalse();
+    } finally {
+      clusterOperationLocks.getLock(CLUSTER_1).unlock();
+    }
+  }
+}
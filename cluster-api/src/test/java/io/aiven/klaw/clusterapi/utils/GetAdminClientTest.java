@@ -1,17 +1,22 @@
 package io.aiven.klaw.clusterapi.utils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
-import java.util.HashMap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeoutException;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.ListTopicsResult;
 import org.apache.kafka.common.KafkaFuture;
@@ -37,15 +42,16 @@ public class GetAdminClientTest {
   ClusterApiUtils getAdminClient;
   @Mock private ListTopicsResult listTopicsResult;
   @Mock private KafkaFuture<Set<String>> kafkaFuture;
-  @Mock private HashMap<String, AdminClient> adminClientsMap;
 
   @Mock private Map<String, RestTemplate> restTemplateMap;
   @Mock private AdminClientProperties adminClientProperties;
+  private AdminClientPool adminClientPool;
 
   @BeforeEach
   public void setUp() {
+    adminClientPool = new AdminClientPool(10, 60_000, new SimpleMeterRegistry());
     getAdminClient =
-        new ClusterApiUtils(env, adminClientProperties, adminClientsMap, restTemplateMap);
+        new ClusterApiUtils(env, adminClientProperties, adminClientPool, restTemplateMap);
     when(adminClientProperties.getRetriesConfig()).thenReturn("3");
     when(adminClientProperties.getRequestTimeOutMs()).thenReturn("15000");
     when(adminClientProperties.getRetryBackOffMsConfig()).thenReturn("15000");
@@ -68,6 +74,44 @@ public class GetAdminClientTest {
     }
   }
 
+  @Test
+  public void getAdminClientReusesPooledClient() throws Exception {
+    try (MockedStatic<AdminClient> mocked = mockStatic(AdminClient.class)) {
+      mocked.when(() -> AdminClient.create(any(Properties.class))).thenReturn(adminClient);
+      when(adminClient.listTopics()).thenReturn(listTopicsResult);
+      when(listTopicsResult.names()).thenReturn(kafkaFuture);
+      when(kafkaFuture.get(anyLong(), any())).thenReturn(new HashSet<>());
+
+      AdminClient first =
+          getAdminClient.getAdminClient(LOCALHOST_9092, KafkaSupportedProtocol.PLAINTEXT, "");
+      AdminClient second =
+          getAdminClient.getAdminClient(LOCALHOST_9092, KafkaSupportedProtocol.PLAINTEXT, "");
+
+      assertThat(second).isSameAs(first);
+      assertThat(adminClientPool.size()).isEqualTo(1);
+      mocked.verify(() -> AdminClient.create(any(Properties.class)), times(1));
+    }
+  }
+
+  @Test
+  public void getAdminClientClosesAndDropsFailedClient() throws Exception {
+    try (MockedStatic<AdminClient> mocked = mockStatic(AdminClient.class)) {
+      mocked.when(() -> AdminClient.create(any(Properties.class))).thenReturn(adminClient);
+      when(adminClient.listTopics()).thenReturn(listTopicsResult);
+      when(listTopicsResult.names()).thenReturn(kafkaFuture);
+      when(kafkaFuture.get(anyLong(), any())).thenThrow(new TimeoutException());
+
+      assertThatThrownBy(
+              () ->
+                  getAdminClient.getAdminClient(
+                      LOCALHOST_9092, KafkaSupportedProtocol.PLAINTEXT, ""))
+          .hasMessage("Cannot connect to cluster. Please contact Administrator.");
+
+      assertThat(adminClientPool.size()).isZero();
+      verify(adminClient).close(any(Duration.class));
+    }
+  }
+
   @Test
   @Disabled
   public void getAdminClient2() throws Exception {
@@ -0,0 +1,106 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class KafkaConsumerPoolTest {
+
+  private static final long IDLE_TIMEOUT_MS = 1000;
+
+  private final AtomicLong now = new AtomicLong();
+  private SimpleMeterRegistry meterRegistry;
+  private KafkaConsumerPool kafkaConsumerPool;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    kafkaConsumerPool = new KafkaConsumerPool(2, IDLE_TIMEOUT_MS, meterRegistry, now::get);
+  }
+
+  @Test
+  public void releasedConsumerIsReused() {
+    Consumer<String, String> consumer = newConsumer();
+    Consumer<String, String> borrowed = kafkaConsumerPool.borrow("cluster1", () -> consumer);
+    kafkaConsumerPool.release("cluster1", borrowed);
+
+    assertThat(kafkaConsumerPool.borrow("cluster1", KafkaConsumerPoolTest::newConsumer))
+        .isSameAs(consumer);
+    assertThat(kafkaConsumerPool.borrow("cluster2", KafkaConsumerPoolTest::newConsumer))
+        .isNotSameAs(consumer);
+    verify(consumer).unsubscribe();
+    assertThat(
+            meterRegistry.get("klaw.clusterapi.topiccontents.consumers.created").counter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void extraConsumersAreClosedOnRelease() {
+    Consumer<String, String> first = newConsumer();
+    Consumer<String, String> second = newConsumer();
+    Consumer<String, String> third = newConsumer();
+    kafkaConsumerPool.release("cluster1", first);
+    kafkaConsumerPool.release("cluster1", second);
+    kafkaConsumerPool.release("cluster1", third);
+
+    assertThat(kafkaConsumerPool.idleSize()).isEqualTo(2);
+    verify(third).close(any(Duration.class));
+    verify(first, never()).close(any(Duration.class));
+  }
+
+  @Test
+  public void consumerFailingOnReleaseIsClosed() {
+    Consumer<String, String> consumer = newConsumer();
+    doThrow(new KafkaException("failed")).when(consumer).unsubscribe();
+
+    kafkaConsumerPool.release("cluster1", consumer);
+
+    assertThat(kafkaConsumerPool.idleSize()).isZero();
+    verify(consumer).close(any(Duration.class));
+  }
+
+  @Test
+  public void idleConsumersAreEvicted() {
+    Consumer<String, String> old = newConsumer();
+    kafkaConsumerPool.release("cluster1", old);
+    now.set(IDLE_TIMEOUT_MS);
+    Consumer<String, String> recent = newConsumer();
+    kafkaConsumerPool.release("cluster1", recent);
+
+    now.set(IDLE_TIMEOUT_MS + 1);
+    kafkaConsumerPool.evictIdleConsumers();
+
+    assertThat(kafkaConsumerPool.idleSize()).isEqualTo(1);
+    verify(old).close(any(Duration.class));
+    verify(recent, never()).close(any(Duration.class));
+    assertThat(meterRegistry.get("klaw.clusterapi.topiccontents.consumers.idle").gauge().value())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void closeAllClosesIdleConsumers() {
+    Consumer<String, String> consumer = newConsumer();
+    kafkaConsumerPool.release("cluster1", consumer);
+
+    kafkaConsumerPool.closeAll();
+
+    assertThat(kafkaConsumerPool.idleSize()).isZero();
+    verify(consumer).close(any(Duration.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Consumer<String, String> newConsumer() {
+    return mock(Consumer.class);
+  }
+}
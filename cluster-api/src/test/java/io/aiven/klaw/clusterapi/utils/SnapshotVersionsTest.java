@@ -0,0 +1,56 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.aiven.klaw.clusterapi.models.ClusterKeyIdentifier;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class SnapshotVersionsTest {
+
+  private static final ClusterKeyIdentifier CLUSTER_1 =
+      new ClusterKeyIdentifier("localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "DEV1");
+  private static final ClusterKeyIdentifier CLUSTER_2 =
+      new ClusterKeyIdentifier("localhost:9093", KafkaSupportedProtocol.PLAINTEXT, "DEV2");
+
+  private final SnapshotVersions snapshotVersions = new SnapshotVersions();
+
+  @Test
+  public void unchangedSnapshotKeepsItsETag() {
+    String eTag = snapshotVersions.update(CLUSTER_1, Set.of("topic1", "topic2"));
+
+    assertThat(snapshotVersions.update(CLUSTER_1, Set.of("topic2", "topic1"))).isEqualTo(eTag);
+    assertThat(SnapshotVersions.matches(eTag, eTag)).isTrue();
+  }
+
+  @Test
+  public void changedSnapshotGetsANewETag() {
+    String eTag = snapshotVersions.update(CLUSTER_1, Set.of("topic1"));
+    String changedETag = snapshotVersions.update(CLUSTER_1, Set.of("topic1", "topic2"));
+
+    assertThat(changedETag).isNotEqualTo(eTag);
+    assertThat(snapshotVersions.update(CLUSTER_1, Set.of("topic1"))).isNotIn(eTag, changedETag);
+  }
+
+  @Test
+  public void eTagsAreWeakAndComparedWeakly() {
+    String eTag = snapshotVersions.update(CLUSTER_1, Set.of("topic1"));
+    String strongETag = eTag.substring("W/".length());
+
+    assertThat(eTag).startsWith("W/\"");
+    assertThat(SnapshotVersions.matches(strongETag, eTag)).isTrue();
+    assertThat(SnapshotVersions.matches("W/\"other\", " + eTag, eTag)).isTrue();
+    assertThat(SnapshotVersions.matches("*", eTag)).isTrue();
+    assertThat(SnapshotVersions.matches("W/\"other\"", eTag)).isFalse();
+  }
+
+  @Test
+  public void snapshotsOfClustersAreVersionedApart() {
+    String eTag = snapshotVersions.update(CLUSTER_1, Set.of("topic1"));
+    snapshotVersions.update(CLUSTER_2, Set.of("topic2"));
+
+    assertThat(snapshotVersions.update(CLUSTER_1, Set.of("topic1"))).isEqualTo(eTag);
+    assertThat(SnapshotVersions.matches(null, eTag)).isFalse();
+  }
+}
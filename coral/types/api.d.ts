@@ -7687,6 +7687,8 @@ export interface operations {
                 pageNo: string;
                 ordering?: "ASC" | "DESC";
                 currentPage?: string;
+                activityDateFrom?: string;
+                activityDateTo?: string;
             };
             header?: never;
             path?: never;
@@ -3,8 +3,9 @@ package io.aiven.klaw.config;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.aiven.klaw.constants.CacheConstants;
 import io.aiven.klaw.dao.Env;
-import io.aiven.klaw.service.HARestMessagingService;
+import io.aiven.klaw.service.interfaces.HAMessagingServiceI;
 import io.aiven.klaw.service.utils.CacheService;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Properties;
@@ -26,7 +27,10 @@ import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 @EnableCaching
 public class CacheConfig {
 
-  @Autowired private HARestMessagingService HARestMessagingService;
+  // batched when high availability is enabled, see HABatchingMessagingService
+  @Autowired private HAMessagingServiceI haMessagingService;
+
+  @Autowired private MeterRegistry meterRegistry;
 
   @Value("${klaw.clusterapi.access.username}")
   private String apiUser;
@@ -58,22 +62,35 @@ public class CacheConfig {
 
   @Bean
   public CacheService<Env> kafkaEnvListPerTenant() {
-    return new CacheService<>(CacheConstants.ENVIRONMENT_PATH, HARestMessagingService);
+    return new CacheService<>(
+        CacheConstants.ENVIRONMENT_PATH,
+        haMessagingService,
+        meterRegistry,
+        "kafkaEnvListPerTenant");
   }
 
   @Bean
   public CacheService<Env> schemaRegEnvListPerTenant() {
-    return new CacheService<>(CacheConstants.ENVIRONMENT_PATH, HARestMessagingService);
+    return new CacheService<>(
+        CacheConstants.ENVIRONMENT_PATH,
+        haMessagingService,
+        meterRegistry,
+        "schemaRegEnvListPerTenant");
   }
 
   @Bean
   public CacheService<Env> kafkaConnectEnvListPerTenant() {
-    return new CacheService<>(CacheConstants.ENVIRONMENT_PATH, HARestMessagingService);
+    return new CacheService<>(
+        CacheConstants.ENVIRONMENT_PATH,
+        haMessagingService,
+        meterRegistry,
+        "kafkaConnectEnvListPerTenant");
   }
 
   @Bean
   public CacheService<Env> allEnvListPerTenant() {
-    return new CacheService<>(CacheConstants.ENVIRONMENT_PATH, HARestMessagingService);
+    return new CacheService<>(
+        CacheConstants.ENVIRONMENT_PATH, haMessagingService, meterRegistry, "allEnvListPerTenant");
   }
 
   @Bean
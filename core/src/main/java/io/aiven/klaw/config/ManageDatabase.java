@@ -22,14 +22,17 @@ import io.aiven.klaw.model.TenantConfig;
 import io.aiven.klaw.model.enums.ApiResultStatus;
 import io.aiven.klaw.model.enums.EntityType;
 import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.model.enums.RequestStatus;
 import io.aiven.klaw.model.enums.RolesType;
 import io.aiven.klaw.model.response.EnvParams;
 import io.aiven.klaw.service.DefaultDataService;
 import io.aiven.klaw.service.utils.CacheService;
+import io.aiven.klaw.service.utils.TopicCatalog;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -37,6 +40,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -67,6 +71,9 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
 
   private static List<UserInfo> allUsersAllTenants;
 
+  // key username, value user info. Users are unique across tenants.
+  private static volatile Map<String, UserInfo> usersByUsername = Map.of();
+
   private static Set<String> serviceAccounts;
 
   // key is tenant id, value is list of envs
@@ -87,6 +94,9 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
   // key rolename, value list of permissions per tenant
   private static Map<Integer, Map<String, Set<String>>> rolesPermsMapPerTenant;
 
+  // key tenantId, sub key rolename, the same permissions compiled for the permission checks
+  private static Map<Integer, Map<String, Set<PermissionType>>> rolePermissionTypesPerTenant;
+
   // key tenantId, sub key clusterid Pertenant
   private static Map<Integer, Map<Integer, KwClusters>> kwAllClustersPertenant;
 
@@ -99,6 +109,8 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
   // key tenantId, sub key clusterid Pertenant
   private static Map<Integer, Map<Integer, KwClusters>> kwKafkaConnectClustersPertenant;
   private static Map<Integer, Map<String, Env>> envMapPerTenant = new HashMap<>();
+
+  // the env getters return read only snapshots of these caches, shared by all the callers
   @Autowired private CacheService<Env> kafkaEnvListPerTenant;
   @Autowired private CacheService<Env> schemaRegEnvListPerTenant;
   @Autowired private CacheService<Env> kafkaConnectEnvListPerTenant;
@@ -106,7 +118,8 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
 
   private static Map<Integer, KwTenantConfigModel> tenantConfig = new HashMap<>();
 
-  private static Map<Integer, List<Topic>> topicsPerTenant = new HashMap<>();
+  // key tenantId, value indexed catalog of the topics of the tenant
+  private static Map<Integer, TopicCatalog> topicsPerTenant = new ConcurrentHashMap<>();
 
   private static Map<Integer, Map<Integer, List<UserInfo>>> usersPerTeamAndTenant = new HashMap<>();
 
@@ -352,32 +365,26 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
   }
 
   public List<Env> getKafkaEnvList(int tenantId) {
-    // Return a copy of the environments so no changes can be made to the cache
     return kafkaEnvListPerTenant.getCacheAsList(tenantId);
   }
 
   public List<Env> getSchemaRegEnvList(int tenantId) {
-    // Return a copy of the environments so no changes can be made to the cache
     return schemaRegEnvListPerTenant.getCacheAsList(tenantId);
   }
 
   public List<Env> getKafkaConnectEnvList(int tenantId) {
-    // Return a copy of the environments so no changes can be made to the cache
     return kafkaConnectEnvListPerTenant.getCacheAsList(tenantId);
   }
 
   public List<Env> getAllEnvList(int tenantId) {
-    // Return a copy of the environments so no changes can be made to the cache
     return allEnvListPerTenant.getCacheAsList(tenantId);
   }
 
   public Optional<Env> getEnv(int tenantId, Integer envId) {
-    // Return a copy of the environments so no changes can be made to the cache
     return allEnvListPerTenant.get(tenantId, envId);
   }
 
   public Optional<Env> getKafkaEnv(int tenantId, Integer envId) {
-    // Return a copy of the environments so no changes can be made to the cache
     return kafkaEnvListPerTenant.get(tenantId, envId);
   }
 
@@ -543,20 +550,34 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
 
   public void loadUsersForAllTenants() {
     List<UserInfo> allUsers;
-    allUsersAllTenants = new ArrayList<>();
+    List<UserInfo> allUsersList = new ArrayList<>();
+    Map<String, UserInfo> usersByUsernameMap = new HashMap<>();
     for (Integer tenantId : tenantMap.keySet()) {
       allUsers = handleDbRequests.getAllUsersInfo(tenantId);
       usersPerTenant.put(tenantId, allUsers);
-      allUsersAllTenants.addAll(allUsers);
+      allUsersList.addAll(allUsers);
+      allUsers.forEach(userInfo -> usersByUsernameMap.put(userInfo.getUsername(), userInfo));
 
+      Map<Integer, List<UserInfo>> usersPerTeam =
+          allUsers.stream().collect(Collectors.groupingBy(UserInfo::getTeamId));
       List<Team> allTeams = handleDbRequests.getAllTeams(tenantId);
       Map<Integer, List<UserInfo>> innerMap = new HashMap<>();
       for (Team team : allTeams) {
         innerMap.put(
-            team.getTeamId(), handleDbRequests.getAllUsersInfoForTeam(team.getTeamId(), tenantId));
+            team.getTeamId(), usersPerTeam.getOrDefault(team.getTeamId(), new ArrayList<>()));
       }
       usersPerTeamAndTenant.put(tenantId, innerMap);
     }
+    // swap in the new lists, so readers never see a partially loaded cache
+    allUsersAllTenants = allUsersList;
+    usersByUsername = Collections.unmodifiableMap(usersByUsernameMap);
+  }
+
+  public Optional<UserInfo> getCachedUserInfo(String userName) {
+    if (userName == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(usersByUsername.get(userName));
   }
 
   public List<UserInfo> getUsersPerTeamAndTenant(Integer teamId, Integer tenantId) {
@@ -565,20 +586,32 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
 
   public void loadTopicsForAllTenants() {
     for (Integer tenantId : tenantMap.keySet()) {
-      topicsPerTenant.put(tenantId, handleDbRequests.getAllTopics(tenantId));
+      loadTopicsForOneTenant(tenantId);
     }
   }
 
   public void loadTopicsForOneTenant(int tenantId) {
-    topicsPerTenant.put(tenantId, handleDbRequests.getAllTopics(tenantId));
+    getTopicCatalog(tenantId).replaceAll(handleDbRequests.getAllTopics(tenantId));
+  }
+
+  // reload only the topics (all envs) with the given name, instead of all topics of the tenant
+  public void loadTopicsForTopicName(int tenantId, String topicName) {
+    getTopicCatalog(tenantId)
+        .replaceTopicsForName(topicName, handleDbRequests.getTopics(topicName, tenantId));
   }
 
   public void addTopicToCache(int tenantId, Topic topic) {
     log.debug("addTopicToCache {} {}", tenantId, topic);
-    // If the topic does not already exist in the cache simply add it.
-    if (!topicsPerTenant.get(tenantId).contains(topic)) {
-      topicsPerTenant.get(tenantId).add(topic);
-    }
+    // Topics are indexed on their id, an existing entry is replaced.
+    getTopicCatalog(tenantId).addOrUpdate(topic);
+  }
+
+  public void addTopicsToCache(int tenantId, List<Topic> topics) {
+    getTopicCatalog(tenantId).addOrUpdateAll(topics);
+  }
+
+  public void removeTopicsFromCache(int tenantId, List<Integer> topicIds) {
+    getTopicCatalog(tenantId).removeAll(topicIds);
   }
 
   public void addEnvToCache(int tenantId, Env env, boolean isLocal) {
@@ -625,7 +658,11 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
   }
 
   public List<Topic> getTopicsForTenant(int tenantId) {
-    return topicsPerTenant.get(tenantId);
+    return getTopicCatalog(tenantId).getAll();
+  }
+
+  public TopicCatalog getTopicCatalog(int tenantId) {
+    return topicsPerTenant.computeIfAbsent(tenantId, k -> new TopicCatalog());
   }
 
   public void loadTenantTeamsForOneTenant(List<Team> allTeams, Integer tenantId) {
@@ -848,9 +885,19 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
     return rolesPermsMapPerTenant.getOrDefault(tenantId, Collections.emptyMap());
   }
 
+  public Set<PermissionType> getPermissionTypes(int tenantId, String roleId) {
+    if (roleId == null) {
+      return Collections.emptySet();
+    }
+    return rolePermissionTypesPerTenant
+        .getOrDefault(tenantId, Collections.emptyMap())
+        .getOrDefault(roleId, Collections.emptySet());
+  }
+
   public void loadRolesForAllTenants() {
     log.info("Load roles and permissions.");
     rolesPermsMapPerTenant = new HashMap<>();
+    rolePermissionTypesPerTenant = new HashMap<>();
     List<KwRolesPermissions> rolesPermissions = handleDbRequests.getRolesPermissions();
     for (Integer tenantId : tenantMap.keySet()) {
       loadRolesPermissionsOneTenant(rolesPermissions, tenantId);
@@ -877,6 +924,21 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
       rolesPermsMap.put(rolesPermission.getRoleId(), tmpSet);
     }
     rolesPermsMapPerTenant.put(tenantId, rolesPermsMap);
+
+    Map<String, Set<PermissionType>> rolePermissionTypes = new HashMap<>();
+    rolesPermsMap.forEach(
+        (roleId, permissions) -> {
+          Set<PermissionType> permissionTypes = EnumSet.noneOf(PermissionType.class);
+          for (String permission : permissions) {
+            try {
+              permissionTypes.add(PermissionType.valueOf(permission));
+            } catch (IllegalArgumentException e) {
+              log.warn("Ignoring unknown permission {} of role {}", permission, roleId);
+            }
+          }
+          rolePermissionTypes.put(roleId, Collections.unmodifiableSet(permissionTypes));
+        });
+    rolePermissionTypesPerTenant.put(tenantId, rolePermissionTypes);
   }
 
   public List<String> getRequestStatusList() {
@@ -919,6 +981,8 @@ public class ManageDatabase implements ApplicationContextAware, InitializingBean
     usersPerTenant.remove(tenantId);
     kwPropertiesMapPerTenant.remove(tenantId);
     rolesPermsMapPerTenant.remove(tenantId);
+    rolePermissionTypesPerTenant.remove(tenantId);
+    topicsPerTenant.remove(tenantId);
 
     kwKafkaClustersPertenant.remove(tenantId);
     kwSchemaRegClustersPertenant.remove(tenantId);
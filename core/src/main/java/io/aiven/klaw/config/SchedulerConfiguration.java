@@ -6,6 +6,7 @@ import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class SchedulerConfiguration {
@@ -13,8 +14,41 @@ public class SchedulerConfiguration {
   @Value("${klaw.shedlock.tablename:kwshedlock}")
   private String shedLockTableName;
 
+  @Value("${klaw.notify.admins.clusterchanges.scheduler.parallelism:4}")
+  private int topicReconParallelism;
+
+  @Value("${klaw.reports.parallelism:2}")
+  private int reportsParallelism;
+
+  @Value("${klaw.reports.queue.capacity:20}")
+  private int reportsQueueCapacity;
+
   @Bean
   public LockProvider lockProvider(DataSource dataSource) {
     return new JdbcTemplateLockProvider(dataSource, shedLockTableName);
   }
+
+  // Environments compared with Klaw at the same time by the scheduled topic reconciliation, which
+  // reconciles as many environments at once, the topics of the clusters are fetched before without
+  // holding a thread
+  @Bean(name = "topicReconTaskExecutor")
+  public ThreadPoolTaskExecutor topicReconTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(topicReconParallelism);
+    threadPoolTaskExecutor.setMaxPoolSize(topicReconParallelism);
+    threadPoolTaskExecutor.setThreadNamePrefix("topic-recon-");
+    return threadPoolTaskExecutor;
+  }
+
+  // Reports generated at the same time, one per user and number of days at most, further reports
+  // are queued
+  @Bean(name = "reportTaskExecutor")
+  public ThreadPoolTaskExecutor reportTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(reportsParallelism);
+    threadPoolTaskExecutor.setMaxPoolSize(reportsParallelism);
+    threadPoolTaskExecutor.setQueueCapacity(reportsQueueCapacity);
+    threadPoolTaskExecutor.setThreadNamePrefix("kw-report-");
+    return threadPoolTaskExecutor;
+  }
 }
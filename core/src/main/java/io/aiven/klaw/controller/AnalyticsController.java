@@ -4,6 +4,7 @@ import io.aiven.klaw.error.KlawBadRequestException;
 import io.aiven.klaw.model.charts.TeamOverview;
 import io.aiven.klaw.model.response.AclsCountPerEnv;
 import io.aiven.klaw.model.response.KwReport;
+import io.aiven.klaw.model.response.KwReportJob;
 import io.aiven.klaw.model.response.TopicsCountPerEnv;
 import io.aiven.klaw.service.AnalyticsControllerService;
 import java.io.File;
@@ -76,12 +77,39 @@ public class AnalyticsController {
         chartsProcessor.getAclsCountPerEnv(sourceEnvSelected), HttpStatus.OK);
   }
 
+  @RequestMapping(
+      value = "/generateKwReport",
+      method = RequestMethod.POST,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<KwReportJob> generateKwReport() throws KlawBadRequestException {
+    return new ResponseEntity<>(
+        chartsProcessor.startReportJob(DEFAULT_NUMBER_OF_DAYS), HttpStatus.OK);
+  }
+
+  @RequestMapping(
+      value = "/getKwReportJob",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<KwReportJob> getKwReportJob(@RequestParam("jobId") String jobId)
+      throws KlawBadRequestException {
+    return new ResponseEntity<>(chartsProcessor.getReportJob(jobId), HttpStatus.OK);
+  }
+
+  /**
+   * Returns the report of a job started with generateKwReport, or generates the report while the
+   * request waits when no job is given.
+   */
   @RequestMapping(
       value = "/getKwReport",
       method = RequestMethod.GET,
       produces = {MediaType.APPLICATION_JSON_VALUE})
-  public ResponseEntity<KwReport> getKwReport() {
-    File file = chartsProcessor.generateReport(DEFAULT_NUMBER_OF_DAYS);
+  public ResponseEntity<KwReport> getKwReport(
+      @RequestParam(value = "jobId", required = false) String jobId)
+      throws KlawBadRequestException {
+    File file =
+        jobId == null
+            ? chartsProcessor.generateReport(DEFAULT_NUMBER_OF_DAYS)
+            : chartsProcessor.getReportOfJob(jobId);
     try {
       byte[] arr = FileUtils.readFileToByteArray(file);
       String str = Base64.getEncoder().encodeToString(arr);
@@ -92,6 +120,11 @@ public class AnalyticsController {
       return new ResponseEntity<>(kwReport, HttpStatus.OK);
     } catch (IOException e) {
       log.error("Exception:", e);
+    } finally {
+      // reports of jobs are deleted when the job expires, the ones generated here once sent
+      if (jobId == null) {
+        FileUtils.deleteQuietly(file);
+      }
     }
     return null;
   }
@@ -4,6 +4,8 @@ import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.error.KlawNotAuthorizedException;
 import io.aiven.klaw.model.ApiResponse;
+import io.aiven.klaw.model.requests.HACacheMessageBatch;
+import io.aiven.klaw.service.HACacheMessageReceiver;
 import io.aiven.klaw.service.HARestMessagingService;
 import io.aiven.klaw.service.JwtTokenUtilService;
 import jakarta.validation.Valid;
@@ -25,6 +27,21 @@ public class CacheController {
 
   @Autowired JwtTokenUtilService jwtTokenUtilService;
 
+  @Autowired private HACacheMessageReceiver haCacheMessageReceiver;
+
+  @PostMapping(
+      value = "/batch",
+      produces = {MediaType.APPLICATION_JSON_VALUE},
+      consumes = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<ApiResponse> receiveCacheChanges(
+      @Valid @RequestBody HACacheMessageBatch batch,
+      @RequestHeader(name = "Authorization") String token)
+      throws KlawNotAuthorizedException {
+    jwtTokenUtilService.validateRole(token, HARestMessagingService.CACHE_ADMIN);
+    haCacheMessageReceiver.receive(batch);
+    return new ResponseEntity<>(HttpStatus.OK);
+  }
+
   @PostMapping(
       value = "/tenant/{tenantId}/entityType/environment",
       produces = {MediaType.APPLICATION_JSON_VALUE},
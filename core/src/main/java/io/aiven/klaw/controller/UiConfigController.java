@@ -6,8 +6,10 @@ import io.aiven.klaw.model.NotificationModel;
 import io.aiven.klaw.model.enums.OrderBy;
 import io.aiven.klaw.model.response.DbAuthInfo;
 import io.aiven.klaw.service.UiConfigControllerService;
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -57,9 +59,16 @@ public class UiConfigController {
       @RequestParam(value = "env", defaultValue = "") String env,
       @RequestParam("pageNo") String pageNo,
       @RequestParam(value = "ordering", defaultValue = "DESC") OrderBy orderBy,
-      @RequestParam(value = "currentPage", defaultValue = "") String currentPage) {
+      @RequestParam(value = "currentPage", defaultValue = "") String currentPage,
+      @RequestParam(value = "activityDateFrom", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate activityDateFrom,
+      @RequestParam(value = "activityDateTo", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate activityDateTo) {
     return new ResponseEntity<>(
-        uiConfigControllerService.showActivityLog(env, pageNo, orderBy, currentPage),
+        uiConfigControllerService.showActivityLog(
+            env, pageNo, orderBy, currentPage, activityDateFrom, activityDateTo),
         HttpStatus.OK);
   }
 }
@@ -79,6 +79,15 @@ public class KlawErrorMessages {
 
   public static final String ANALYTICS_107 = "Approved requests per day";
 
+  public static final String ANALYTICS_108 = "Report not found. It may have expired.";
+
+  public static final String ANALYTICS_109 = "Report is not ready yet.";
+
+  public static final String ANALYTICS_110 = "Report could not be generated.";
+
+  public static final String ANALYTICS_111 =
+      "Too many reports are being generated, please retry later.";
+
   // Base overview service
   public static final String BASE_OVERVIEW_101 = "Not Authorized to see this.";
 
@@ -145,6 +154,8 @@ public class KlawErrorMessages {
   public static final String CLUSTER_API_ERR_124 =
       "Could not approve reset consumer offsets request. Please contact Administrator.";
 
+  public static final String CLUSTER_API_ERR_125 = "Could not replicate cache changes to %s.";
+
   // Env clusters tenants service
   public static final String ENV_CLUSTER_TNT_ERR_101 =
       "Failure. Please choose a different name. This environment name already exists.";
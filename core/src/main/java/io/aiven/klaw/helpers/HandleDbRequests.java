@@ -5,6 +5,7 @@ import io.aiven.klaw.error.KlawNotAuthorizedException;
 import io.aiven.klaw.model.enums.*;
 import io.aiven.klaw.model.response.DashboardStats;
 import io.aiven.klaw.service.CommonUtilsService;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -40,6 +41,23 @@ public interface HandleDbRequests {
 
   String addToSyncacls(List<Acl> acls);
 
+  // rows of a metadata export are stored as exported, ids and status included, in one batch
+  String importTopics(List<Topic> topics);
+
+  String importAcls(List<Acl> acls);
+
+  String importSchemas(List<MessageSchema> schemas);
+
+  String importConnectors(List<KwKafkaConnector> connectors);
+
+  String importTopicRequests(List<TopicRequest> topicRequests);
+
+  String importAclRequests(List<AclRequests> aclRequests);
+
+  String importSchemaRequests(List<SchemaRequest> schemaRequests);
+
+  String importConnectorRequests(List<KafkaConnectorRequest> connectorRequests);
+
   Integer getNextSeqIdAndUpdate(String entityName, int tenantId);
 
   boolean hasSequence(String entityName, int tenantId);
@@ -102,6 +120,10 @@ public interface HandleDbRequests {
   Map<String, Map<String, Long>> getConnectorRequestsCounts(
       int teamId, RequestMode requestMode, int tenantId, String requestor);
 
+  // counts of the created requests the requestor can approve, per request type and environment
+  Map<RequestEntityType, Map<String, Long>> getRequestsToApproveCountsPerEnv(
+      String requestor, String role, boolean showRequestsOfAllTeams, int tenantId);
+
   List<TopicRequest> getCreatedTopicRequests(
       String requestor, String status, boolean showRequestsOfAllTeams, int tenantId);
 
@@ -328,7 +350,21 @@ public interface HandleDbRequests {
   Env getEnvDetails(String env, int tenantId);
 
   List<ActivityLog> getActivityLog(
-      String user, String env, OrderBy orderBy, boolean allReqs, int tenantId);
+      String env,
+      Integer teamId,
+      OrderBy orderBy,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo,
+      int offset,
+      int pageSize,
+      int tenantId);
+
+  int getActivityLogCount(
+      String env,
+      Integer teamId,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo,
+      int tenantId);
 
   Map<Integer, Map<String, Map<String, String>>> getAllKwProperties();
 
@@ -531,21 +567,23 @@ public interface HandleDbRequests {
   MessageSchema getTeamIdFromSchemaTopicNameAndEnvAndTenantId(
       String schemaTopicName, String envId, int tenantId);
 
-  List<Topic> getAllTopics();
+  // pages of all tenants ordered by tenant and id, starting after the last row of the previous page
+  // (null for the first page), used by the metadata export
+  List<Topic> getAllTopics(Topic after, int pageSize);
 
-  List<TopicRequest> getAllTopicRequests();
+  List<TopicRequest> getAllTopicRequests(TopicRequest after, int pageSize);
 
-  List<KafkaConnectorRequest> getAllConnectorRequests();
+  List<KafkaConnectorRequest> getAllConnectorRequests(KafkaConnectorRequest after, int pageSize);
 
-  List<KwKafkaConnector> getAllConnectors();
+  List<KwKafkaConnector> getAllConnectors(KwKafkaConnector after, int pageSize);
 
-  List<Acl> getAllSubscriptions();
+  List<Acl> getAllSubscriptions(Acl after, int pageSize);
 
-  List<AclRequests> getAllAclRequests();
+  List<AclRequests> getAllAclRequests(AclRequests after, int pageSize);
 
-  List<SchemaRequest> getAllSchemaRequests();
+  List<SchemaRequest> getAllSchemaRequests(SchemaRequest after, int pageSize);
 
-  List<MessageSchema> getAllSchemas();
+  List<MessageSchema> getAllSchemas(MessageSchema after, int pageSize);
 
   List<Team> getTeams();
 
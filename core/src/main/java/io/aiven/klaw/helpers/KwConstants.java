@@ -137,6 +137,7 @@ public class KwConstants {
 
   public static final String URI_SCHEMA_RESET_CACHE = "/topics/schema/resetCache";
   public static final String URI_GET_SCHEMA = "/topics/getSchema/";
+  public static final String URI_GET_SCHEMAS = "/topics/getSchemas";
 
   public static final String URI_SCHEMA = "/topics/schemas/";
   public static final String URI_GET_METRICS = "/metrics/getMetrics";
@@ -55,11 +55,31 @@ public class Pager {
       int recsPerPage,
       List<INPUT> aclListMap,
       BiFunction<PageContext, INPUT, OUTPUT> consumer) {
+    return getItemsList(
+        pageNo,
+        currentPage,
+        recsPerPage,
+        aclListMap.size(),
+        (offset, pageSize) ->
+            aclListMap.subList(offset, Math.min(offset + pageSize, aclListMap.size())),
+        consumer);
+  }
+
+  /**
+   * Pages items which are loaded one page at a time (for example from the database) instead of
+   * being held in a list. The page loader is called with the offset of the requested page and the
+   * number of records per page, and only when the requested page holds any records.
+   */
+  public static <INPUT, OUTPUT> List<OUTPUT> getItemsList(
+      String pageNo,
+      String currentPage,
+      int recsPerPage,
+      int totalRecs,
+      BiFunction<Integer, Integer, List<INPUT>> pageLoader,
+      BiFunction<PageContext, INPUT, OUTPUT> consumer) {
     List<OUTPUT> aclListMapUpdated = new ArrayList<>();
 
-    int totalRecs = aclListMap.size();
-    int totalPages =
-        aclListMap.size() / recsPerPage + (aclListMap.size() % recsPerPage > 0 ? 1 : 0);
+    int totalPages = totalRecs / recsPerPage + (totalRecs % recsPerPage > 0 ? 1 : 0);
 
     final int requestPageNo = deriveCurrentPage(pageNo, currentPage, totalPages);
     final int startVar = Math.max(0, (requestPageNo - 1) * recsPerPage);
@@ -70,8 +90,12 @@ public class Pager {
 
     PageContext pageContext =
         PageContext.of(totalPages, numList, Integer.toString(requestPageNo), totalRecs);
-    for (int i = startVar; i < lastVar; i++) {
-      aclListMapUpdated.add(consumer.apply(pageContext, aclListMap.get(i)));
+    if (startVar >= lastVar) {
+      return aclListMapUpdated;
+    }
+    List<INPUT> pageItems = pageLoader.apply(startVar, recsPerPage);
+    for (int i = 0; i < lastVar - startVar && i < pageItems.size(); i++) {
+      aclListMapUpdated.add(consumer.apply(pageContext, pageItems.get(i)));
     }
     return aclListMapUpdated;
   }
@@ -0,0 +1,59 @@
+package io.aiven.klaw.helpers.db.rdbms;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Number of activities of a tenant per day, environment and team. Activities are only ever added,
+ * so the counts are incremented as they are logged instead of being loaded again.
+ */
+final class ActivityAggregates {
+
+  record ActivityKey(LocalDate day, String env, Integer teamId) {}
+
+  private final Map<ActivityKey, Long> activityCounts = new ConcurrentHashMap<>();
+
+  ActivityAggregates(Map<ActivityKey, Long> activityCounts) {
+    this.activityCounts.putAll(activityCounts);
+  }
+
+  void add(LocalDate day, String env, Integer teamId) {
+    activityCounts.merge(new ActivityKey(day, env, teamId), 1L, Long::sum);
+  }
+
+  // the first days with activity in the environments, in the rows of findActivityLogForLastNDays
+  List<Object[]> countsPerDay(int numberOfDays, String[] envIds) {
+    Set<String> envIdSet = new HashSet<>(Arrays.asList(envIds));
+    return countsPerDay(key -> envIdSet.contains(key.env())).stream().limit(numberOfDays).toList();
+  }
+
+  // the days with activity of the team since the given day, in the rows of
+  // findActivityLogForTeamIdAfter
+  List<Object[]> countsPerDay(Integer teamId, LocalDate fromDay) {
+    return countsPerDay(
+        key -> Objects.equals(teamId, key.teamId()) && !key.day().isBefore(fromDay));
+  }
+
+  private List<Object[]> countsPerDay(Predicate<ActivityKey> filter) {
+    Map<LocalDate, Long> countsPerDay = new TreeMap<>();
+    activityCounts.forEach(
+        (key, count) -> {
+          if (filter.test(key)) {
+            countsPerDay.merge(key.day(), count, Long::sum);
+          }
+        });
+    List<Object[]> rows = new ArrayList<>(countsPerDay.size());
+    countsPerDay.forEach((day, count) -> rows.add(new Object[] {Date.valueOf(day), count}));
+    return rows;
+  }
+}
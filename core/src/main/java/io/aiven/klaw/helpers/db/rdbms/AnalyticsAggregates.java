@@ -0,0 +1,171 @@
+package io.aiven.klaw.helpers.db.rdbms;
+
+import io.aiven.klaw.model.enums.AclType;
+import io.aiven.klaw.model.response.DashboardStats;
+import io.aiven.klaw.service.CommonUtilsService.ChartsOverviewItem;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aggregates of the topics, acls and activity of each tenant, from which the dashboard and the
+ * analytics charts are derived without reading the whole catalog.
+ *
+ * <p>Topics and acls are updated in place and deleted by id, so the aggregates of a tenant are
+ * dropped when they change, and loaded again with a few grouped queries on the next read. The
+ * activity log is only appended to, so its counts are incremented as activities are logged. All the
+ * aggregates are dropped periodically, which reconciles them with changes made by other instances.
+ */
+@Component
+@Slf4j
+public class AnalyticsAggregates {
+
+  @Autowired SelectDataJdbc jdbcSelectHelper;
+
+  private final Map<Integer, CatalogAggregates> catalogs = new ConcurrentHashMap<>();
+
+  // incremented on every change, so that aggregates loaded during a change are not kept
+  private final Map<Integer, AtomicLong> catalogVersions = new ConcurrentHashMap<>();
+
+  private final Map<Integer, ActivityAggregates> activities = new ConcurrentHashMap<>();
+
+  public DashboardStats getDashboardStats(Integer teamId, int tenantId) {
+    DashboardStats dashboardStats = new DashboardStats();
+    try {
+      CatalogAggregates catalog = getCatalog(tenantId);
+      dashboardStats.setProducerCount(catalog.aclTopicsCount(AclType.PRODUCER.value, teamId));
+      dashboardStats.setConsumerCount(catalog.aclTopicsCount(AclType.CONSUMER.value, teamId));
+    } catch (Exception e) {
+      log.error("Error from getDashboardStats ", e);
+    }
+    dashboardStats.setTeamMembersCount(jdbcSelectHelper.selectTeamMembersCount(teamId, tenantId));
+    return dashboardStats;
+  }
+
+  public List<ChartsOverviewItem<String, Integer>> getTopicsCountByEnv(int tenantId) {
+    return fromCatalog(tenantId, CatalogAggregates::topicsCountByEnv);
+  }
+
+  public List<ChartsOverviewItem<Integer, Integer>> getTopicsCountByTeams(
+      Integer teamId, int tenantId) {
+    return fromCatalog(tenantId, catalog -> catalog.topicsCountByTeams(teamId));
+  }
+
+  public List<ChartsOverviewItem<String, Integer>> getPartitionsCountByEnv(
+      Integer teamId, int tenantId) {
+    return fromCatalog(tenantId, catalog -> catalog.partitionsCountByEnv(teamId));
+  }
+
+  public List<ChartsOverviewItem<String, Integer>> getAclsCountByEnv(Integer teamId, int tenantId) {
+    return fromCatalog(tenantId, catalog -> catalog.aclsCountByEnv(teamId));
+  }
+
+  public List<ChartsOverviewItem<Integer, Integer>> getAclsCountByTeams(
+      String aclType, Integer teamId, int tenantId) {
+    return fromCatalog(tenantId, catalog -> catalog.aclsCountByTeams(aclType, teamId));
+  }
+
+  public List<ChartsOverviewItem<String, Integer>> getAllTopicsForTeamGroupByEnv(
+      Integer teamId, int tenantId) {
+    return fromCatalog(tenantId, catalog -> catalog.topicsForTeamGroupByEnv(teamId));
+  }
+
+  public List<ChartsOverviewItem<String, Integer>> getActivityLogForLastDays(
+      int numberOfDays, String[] envIdList, int tenantId) {
+    try {
+      return SelectDataJdbc.toActivityChart(
+          getActivity(tenantId).countsPerDay(numberOfDays, envIdList),
+          SelectDataJdbc.getTimestampFromLastNumberOfDays(numberOfDays));
+    } catch (Exception e) {
+      log.error("Error selectActivityLogForLastDays ", e);
+    }
+    return Collections.emptyList();
+  }
+
+  public List<ChartsOverviewItem<String, Integer>> getActivityLogByTeam(
+      Integer teamId, int numberOfDays, int tenantId) {
+    try {
+      // the counts are per day, the activity of the whole first day is included
+      LocalDate fromDay =
+          SelectDataJdbc.getTimestampFromLastNumberOfDays(numberOfDays)
+              .toLocalDateTime()
+              .toLocalDate();
+      return SelectDataJdbc.toActivityChart(
+          getActivity(tenantId).countsPerDay(teamId, fromDay),
+          SelectDataJdbc.getTimestampFromLastNumberOfDays(numberOfDays));
+    } catch (Exception e) {
+      log.error("Error selectActivityLogByTeam ", e);
+    }
+    return Collections.emptyList();
+  }
+
+  public void activityLogged(int tenantId, String envId, Integer teamId) {
+    // not loaded yet, the activity is counted when the aggregates are loaded
+    ActivityAggregates activity = activities.get(tenantId);
+    if (activity != null) {
+      activity.add(LocalDate.now(), envId, teamId);
+    }
+  }
+
+  public void catalogChanged(int tenantId) {
+    catalogVersions.computeIfAbsent(tenantId, k -> new AtomicLong()).incrementAndGet();
+    catalogs.remove(tenantId);
+  }
+
+  public void tenantDataDeleted(int tenantId) {
+    catalogChanged(tenantId);
+    activities.remove(tenantId);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${klaw.analytics.aggregates.reconcile.ms:600000}",
+      initialDelayString = "${klaw.analytics.aggregates.reconcile.ms:600000}")
+  public void reconcile() {
+    log.debug("Dropping the analytics aggregates of {} tenants", catalogs.size());
+    catalogVersions.keySet().forEach(this::catalogChanged);
+    activities.clear();
+  }
+
+  private <T> List<T> fromCatalog(int tenantId, Function<CatalogAggregates, List<T>> chart) {
+    try {
+      return chart.apply(getCatalog(tenantId));
+    } catch (Exception e) {
+      log.error("Error loading the analytics aggregates of tenant {}", tenantId, e);
+    }
+    return Collections.emptyList();
+  }
+
+  private CatalogAggregates getCatalog(int tenantId) {
+    CatalogAggregates catalog = catalogs.get(tenantId);
+    if (catalog != null) {
+      return catalog;
+    }
+    AtomicLong version = catalogVersions.computeIfAbsent(tenantId, k -> new AtomicLong());
+    long loadedVersion = version.get();
+    catalog = jdbcSelectHelper.selectCatalogAggregates(tenantId);
+    catalogs.put(tenantId, catalog);
+    if (version.get() != loadedVersion) {
+      // changed while loading, the aggregates are used once and loaded again on the next read
+      catalogs.remove(tenantId, catalog);
+    }
+    return catalog;
+  }
+
+  private ActivityAggregates getActivity(int tenantId) {
+    ActivityAggregates activity = activities.get(tenantId);
+    if (activity != null) {
+      return activity;
+    }
+    activity = jdbcSelectHelper.selectActivityAggregates(tenantId);
+    ActivityAggregates loaded = activities.putIfAbsent(tenantId, activity);
+    return loaded == null ? activity : loaded;
+  }
+}
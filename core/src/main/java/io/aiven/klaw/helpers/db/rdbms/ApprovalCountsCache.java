@@ -0,0 +1,45 @@
+package io.aiven.klaw.helpers.db.rdbms;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.aiven.klaw.model.enums.RequestEntityType;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts of the requests each user can approve, which the UI polls for the badges. The counts of a
+ * tenant are dropped when a request of the tenant is created, changed or deleted on this instance.
+ * Changes made on other instances are seen once the counts expire.
+ */
+@Component
+public class ApprovalCountsCache {
+
+  private final Cache<Key, Map<RequestEntityType, Map<String, Long>>> cache;
+
+  @Autowired
+  public ApprovalCountsCache(
+      @Value("${klaw.requests.approval.counts.cache.ttl.ms:10000}") long ttlMs) {
+    this.cache =
+        Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(ttlMs)).maximumSize(10000).build();
+  }
+
+  public Map<RequestEntityType, Map<String, Long>> get(
+      String requestor,
+      String role,
+      boolean showRequestsOfAllTeams,
+      int tenantId,
+      Supplier<Map<RequestEntityType, Map<String, Long>>> counts) {
+    return cache.get(
+        new Key(tenantId, requestor, role, showRequestsOfAllTeams), key -> counts.get());
+  }
+
+  public void invalidate(int tenantId) {
+    cache.asMap().keySet().removeIf(key -> key.tenantId() == tenantId);
+  }
+
+  private record Key(int tenantId, String requestor, String role, boolean showRequestsOfAllTeams) {}
+}
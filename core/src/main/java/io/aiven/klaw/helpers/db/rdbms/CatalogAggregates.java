@@ -0,0 +1,158 @@
+package io.aiven.klaw.helpers.db.rdbms;
+
+import io.aiven.klaw.model.enums.AclType;
+import io.aiven.klaw.service.CommonUtilsService.ChartsOverviewItem;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts of the topics and acls of a tenant per environment and team, from which the dashboard and
+ * the analytics charts are derived. A snapshot is never changed, it is replaced when the topics or
+ * acls of the tenant change.
+ */
+@Slf4j
+final class CatalogAggregates {
+
+  record TopicCounts(String env, Integer teamId, long topics, long partitions) {}
+
+  record AclCounts(String env, Integer teamId, String aclType, long acls) {}
+
+  record AclTopicCounts(Integer teamId, String aclType, int topics) {}
+
+  private final Set<String> kafkaEnvIds;
+
+  private final Map<String, String> envNames;
+
+  private final Set<Integer> teamIds;
+
+  private final List<TopicCounts> topicCounts;
+
+  private final List<AclCounts> aclCounts;
+
+  private final List<AclTopicCounts> aclTopicCounts;
+
+  CatalogAggregates(
+      Set<String> kafkaEnvIds,
+      Map<String, String> envNames,
+      Set<Integer> teamIds,
+      List<TopicCounts> topicCounts,
+      List<AclCounts> aclCounts,
+      List<AclTopicCounts> aclTopicCounts) {
+    // copies which allow null team ids and environments, unlike Set.copyOf and List.copyOf
+    this.kafkaEnvIds = new HashSet<>(kafkaEnvIds);
+    this.envNames = new HashMap<>(envNames);
+    this.teamIds = new HashSet<>(teamIds);
+    this.topicCounts = new ArrayList<>(topicCounts);
+    this.aclCounts = new ArrayList<>(aclCounts);
+    this.aclTopicCounts = new ArrayList<>(aclTopicCounts);
+  }
+
+  List<ChartsOverviewItem<String, Integer>> topicsCountByEnv() {
+    return sumByEnv(
+        topicCounts, TopicCounts::env, TopicCounts::topics, counts -> isKafkaEnv(counts.env()));
+  }
+
+  List<ChartsOverviewItem<Integer, Integer>> topicsCountByTeams(Integer teamId) {
+    if (teamId != null) {
+      long topics =
+          topicCounts.stream()
+              .filter(counts -> teamId.equals(counts.teamId()))
+              .mapToLong(TopicCounts::topics)
+              .sum();
+      return List.of(ChartsOverviewItem.of(teamId, (int) topics));
+    }
+    Map<Integer, Long> topicsPerTeam = new HashMap<>();
+    topicCounts.forEach(counts -> topicsPerTeam.merge(counts.teamId(), counts.topics(), Long::sum));
+    List<ChartsOverviewItem<Integer, Integer>> items = new ArrayList<>();
+    topicsPerTeam.forEach(
+        (team, topics) -> items.add(ChartsOverviewItem.of(team, topics.intValue())));
+    return items;
+  }
+
+  List<ChartsOverviewItem<String, Integer>> partitionsCountByEnv(Integer teamId) {
+    return sumByEnv(
+        topicCounts,
+        TopicCounts::env,
+        TopicCounts::partitions,
+        counts -> teamId == null ? isKafkaEnv(counts.env()) : teamId.equals(counts.teamId()));
+  }
+
+  List<ChartsOverviewItem<String, Integer>> aclsCountByEnv(Integer teamId) {
+    return sumByEnv(
+        aclCounts,
+        AclCounts::env,
+        AclCounts::acls,
+        counts -> teamId == null ? isKafkaEnv(counts.env()) : teamId.equals(counts.teamId()));
+  }
+
+  List<ChartsOverviewItem<Integer, Integer>> aclsCountByTeams(String aclType, Integer teamId) {
+    String type = AclType.PRODUCER.value.equals(aclType) ? aclType : AclType.CONSUMER.value;
+    if (teamId != null) {
+      long acls =
+          aclCounts.stream()
+              .filter(counts -> type.equals(counts.aclType()) && teamId.equals(counts.teamId()))
+              .mapToLong(AclCounts::acls)
+              .sum();
+      return List.of(ChartsOverviewItem.of(teamId, (int) acls));
+    }
+    Map<Integer, Long> aclsPerTeam = new HashMap<>();
+    aclCounts.stream()
+        .filter(counts -> type.equals(counts.aclType()) && teamIds.contains(counts.teamId()))
+        .forEach(counts -> aclsPerTeam.merge(counts.teamId(), counts.acls(), Long::sum));
+    List<ChartsOverviewItem<Integer, Integer>> items = new ArrayList<>();
+    aclsPerTeam.forEach((team, acls) -> items.add(ChartsOverviewItem.of(team, acls.intValue())));
+    return items;
+  }
+
+  List<ChartsOverviewItem<String, Integer>> topicsForTeamGroupByEnv(Integer teamId) {
+    List<ChartsOverviewItem<String, Integer>> items = new ArrayList<>();
+    for (ChartsOverviewItem<String, Integer> item :
+        sumByEnv(
+            topicCounts,
+            TopicCounts::env,
+            TopicCounts::topics,
+            counts -> teamId != null && teamId.equals(counts.teamId()))) {
+      String envName = envNames.get(item.getxValue());
+      if (envName == null) {
+        log.error("Error: Environment not found for env {}", item.getxValue());
+      } else {
+        items.add(ChartsOverviewItem.of(envName, item.getyValue()));
+      }
+    }
+    return items;
+  }
+
+  // topics with acls of the team, a topic with several acls is counted once
+  int aclTopicsCount(String aclType, Integer teamId) {
+    return aclTopicCounts.stream()
+        .filter(
+            counts -> aclType.equals(counts.aclType()) && Objects.equals(teamId, counts.teamId()))
+        .mapToInt(AclTopicCounts::topics)
+        .sum();
+  }
+
+  private boolean isKafkaEnv(String envId) {
+    return kafkaEnvIds.contains(envId);
+  }
+
+  private static <T> List<ChartsOverviewItem<String, Integer>> sumByEnv(
+      List<T> rows, Function<T, String> env, ToLongFunction<T> count, Predicate<T> filter) {
+    Map<String, Long> countsPerEnv = new HashMap<>();
+    rows.stream()
+        .filter(filter)
+        .forEach(row -> countsPerEnv.merge(env.apply(row), count.applyAsLong(row), Long::sum));
+    List<ChartsOverviewItem<String, Integer>> items = new ArrayList<>();
+    countsPerEnv.forEach(
+        (envId, total) -> items.add(ChartsOverviewItem.of(envId, total.intValue())));
+    return items;
+  }
+}
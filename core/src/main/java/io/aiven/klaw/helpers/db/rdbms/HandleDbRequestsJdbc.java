@@ -6,10 +6,12 @@ import io.aiven.klaw.helpers.HandleDbRequests;
 import io.aiven.klaw.model.enums.*;
 import io.aiven.klaw.model.response.DashboardStats;
 import io.aiven.klaw.service.CommonUtilsService;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
@@ -31,18 +33,26 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Autowired DeleteDataJdbc jdbcDeleteHelper;
 
+  @Autowired ApprovalCountsCache approvalCountsCache;
+
+  @Autowired AnalyticsAggregates analyticsAggregates;
+
   /*--------------------Insert */
 
   public Map<String, String> requestForTopic(TopicRequest topicRequest) {
-    return jdbcInsertHelper.insertIntoRequestTopic(topicRequest);
+    return invalidateApprovalCounts(
+        topicRequest.getTenantId(), jdbcInsertHelper.insertIntoRequestTopic(topicRequest));
   }
 
   public Map<String, String> requestForConnector(KafkaConnectorRequest connectorRequest) {
-    return jdbcInsertHelper.insertIntoRequestConnector(connectorRequest);
+    return invalidateApprovalCounts(
+        connectorRequest.getTenantId(),
+        jdbcInsertHelper.insertIntoRequestConnector(connectorRequest));
   }
 
   public Map<String, String> requestForAcl(AclRequests aclReq) {
-    return jdbcInsertHelper.insertIntoRequestAcl(aclReq);
+    return invalidateApprovalCounts(
+        aclReq.getTenantId(), jdbcInsertHelper.insertIntoRequestAcl(aclReq));
   }
 
   @Override
@@ -55,7 +65,7 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   }
 
   public String addNewTeam(Team team) {
-    return jdbcInsertHelper.insertIntoTeams(team);
+    return catalogChanged(team.getTenantId(), jdbcInsertHelper.insertIntoTeams(team));
   }
 
   @Override
@@ -64,7 +74,7 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   }
 
   public String addNewEnv(Env env) {
-    return jdbcInsertHelper.addNewEnv(env);
+    return catalogChanged(env.getTenantId(), jdbcInsertHelper.addNewEnv(env));
   }
 
   @Override
@@ -73,11 +83,14 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   }
 
   public String requestForSchema(SchemaRequest schemaRequest) {
-    return jdbcInsertHelper.insertIntoRequestSchema(schemaRequest);
+    return invalidateApprovalCounts(
+        schemaRequest.getTenantId(), jdbcInsertHelper.insertIntoRequestSchema(schemaRequest));
   }
 
   public CRUDResponse<Topic> addToSynctopics(List<Topic> topicRequests) {
-    return jdbcInsertHelper.insertIntoTopicSOT(topicRequests);
+    return catalogChanged(
+        topicRequests.stream().map(Topic::getTenantId),
+        jdbcInsertHelper.insertIntoTopicSOT(topicRequests));
   }
 
   public String addToSyncConnectors(List<KwKafkaConnector> topicRequests) {
@@ -85,7 +98,49 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   }
 
   public String addToSyncacls(List<Acl> acls) {
-    return jdbcInsertHelper.insertIntoAclsSOT(acls, true);
+    return catalogChanged(
+        acls.stream().map(Acl::getTenantId), jdbcInsertHelper.insertIntoAclsSOT(acls, true));
+  }
+
+  @Override
+  public String importTopics(List<Topic> topics) {
+    return catalogChanged(
+        topics.stream().map(Topic::getTenantId), jdbcInsertHelper.importTopics(topics));
+  }
+
+  @Override
+  public String importAcls(List<Acl> acls) {
+    return catalogChanged(acls.stream().map(Acl::getTenantId), jdbcInsertHelper.importAcls(acls));
+  }
+
+  @Override
+  public String importSchemas(List<MessageSchema> schemas) {
+    return jdbcInsertHelper.importSchemas(schemas);
+  }
+
+  @Override
+  public String importConnectors(List<KwKafkaConnector> connectors) {
+    return jdbcInsertHelper.importConnectors(connectors);
+  }
+
+  @Override
+  public String importTopicRequests(List<TopicRequest> topicRequests) {
+    return jdbcInsertHelper.importTopicRequests(topicRequests);
+  }
+
+  @Override
+  public String importAclRequests(List<AclRequests> aclRequests) {
+    return jdbcInsertHelper.importAclRequests(aclRequests);
+  }
+
+  @Override
+  public String importSchemaRequests(List<SchemaRequest> schemaRequests) {
+    return jdbcInsertHelper.importSchemaRequests(schemaRequests);
+  }
+
+  @Override
+  public String importConnectorRequests(List<KafkaConnectorRequest> connectorRequests) {
+    return jdbcInsertHelper.importConnectorRequests(connectorRequests);
   }
 
   @Override
@@ -129,6 +184,7 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
       String requestor) {
     jdbcInsertHelper.insertIntoActivityLog(
         requestType, tenantId, operationType, teamId, details, envId, requestor);
+    analyticsAggregates.activityLogged(tenantId, envId, teamId);
   }
 
   @Override
@@ -209,6 +265,30 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
     return jdbcSelectHelper.getConnectorRequestsCounts(teamId, requestMode, tenantId, requestor);
   }
 
+  @Override
+  public Map<RequestEntityType, Map<String, Long>> getRequestsToApproveCountsPerEnv(
+      String requestor, String role, boolean showRequestsOfAllTeams, int tenantId) {
+    return approvalCountsCache.get(
+        requestor,
+        role,
+        showRequestsOfAllTeams,
+        tenantId,
+        () ->
+            Map.of(
+                RequestEntityType.TOPIC,
+                jdbcSelectHelper.getTopicRequestsToApproveCountsPerEnv(
+                    requestor, showRequestsOfAllTeams, tenantId),
+                RequestEntityType.ACL,
+                jdbcSelectHelper.getAclRequestsToApproveCountsPerEnv(
+                    requestor, role, showRequestsOfAllTeams, tenantId),
+                RequestEntityType.SCHEMA,
+                jdbcSelectHelper.getSchemaRequestsToApproveCountsPerEnv(
+                    requestor, showRequestsOfAllTeams, tenantId),
+                RequestEntityType.CONNECTOR,
+                jdbcSelectHelper.getConnectorRequestsToApproveCountsPerEnv(
+                    requestor, showRequestsOfAllTeams, tenantId)));
+  }
+
   public List<TopicRequest> getCreatedTopicRequests(
       String requestor, String status, boolean showRequestsOfAllTeams, int tenantId) {
     return getCreatedTopicRequests(
@@ -744,8 +824,27 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   }
 
   public List<ActivityLog> getActivityLog(
-      String user, String env, OrderBy orderBy, boolean allReqs, int tenantId) {
-    return jdbcSelectHelper.selectActivityLog(user, env, orderBy, allReqs, tenantId);
+      String env,
+      Integer teamId,
+      OrderBy orderBy,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo,
+      int offset,
+      int pageSize,
+      int tenantId) {
+    return jdbcSelectHelper.selectActivityLog(
+        env, teamId, orderBy, activityTimeFrom, activityTimeTo, offset, pageSize, tenantId);
+  }
+
+  @Override
+  public int getActivityLogCount(
+      String env,
+      Integer teamId,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo,
+      int tenantId) {
+    return jdbcSelectHelper.countActivityLog(
+        env, teamId, activityTimeFrom, activityTimeTo, tenantId);
   }
 
   @Override
@@ -780,12 +879,12 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public Integer getNextTopicRequestId(String idType, int tenantId) {
-    return jdbcSelectHelper.getNextTopicRequestId(idType, tenantId);
+    return jdbcInsertHelper.getNextTopicRequestId(idType, tenantId);
   }
 
   @Override
   public Integer getNextConnectorRequestId(String idType, int tenantId) {
-    return jdbcSelectHelper.getNextConnectorRequestId(idType, tenantId);
+    return jdbcInsertHelper.getNextConnectorRequestId(idType, tenantId);
   }
 
   @Override
@@ -835,7 +934,7 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public DashboardStats getDashboardStats(Integer teamId, int tenantId) {
-    return jdbcSelectHelper.getDashboardStats(teamId, tenantId);
+    return analyticsAggregates.getDashboardStats(teamId, tenantId);
   }
 
   @Override
@@ -847,49 +946,49 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   @Override
   public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> getActivityLogForLastDays(
       int numberOfDays, String[] envId, int tenantId) {
-    return jdbcSelectHelper.selectActivityLogForLastDays(numberOfDays, envId, tenantId);
+    return analyticsAggregates.getActivityLogForLastDays(numberOfDays, envId, tenantId);
   }
 
   @Override
   public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> getActivityLogByTeam(
       Integer teamId, int numberOfDays, int tenantId) {
-    return jdbcSelectHelper.selectActivityLogByTeam(teamId, numberOfDays, tenantId);
+    return analyticsAggregates.getActivityLogByTeam(teamId, numberOfDays, tenantId);
   }
 
   @Override
   public List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> getTopicsCountByTeams(
       Integer teamId, int tenantId) {
-    return jdbcSelectHelper.selectTopicsCountByTeams(teamId, tenantId);
+    return analyticsAggregates.getTopicsCountByTeams(teamId, tenantId);
   }
 
   @Override
   public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> getTopicsCountByEnv(
       Integer tenantId) {
-    return jdbcSelectHelper.selectTopicsCountByEnv(tenantId);
+    return analyticsAggregates.getTopicsCountByEnv(tenantId);
   }
 
   @Override
   public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> getPartitionsCountByEnv(
       Integer teamId, Integer tenantId) {
-    return jdbcSelectHelper.selectPartitionsCountByEnv(teamId, tenantId);
+    return analyticsAggregates.getPartitionsCountByEnv(teamId, tenantId);
   }
 
   @Override
   public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> getAclsCountByEnv(
       Integer teamId, Integer tenantId) {
-    return jdbcSelectHelper.selectAclsCountByEnv(teamId, tenantId);
+    return analyticsAggregates.getAclsCountByEnv(teamId, tenantId);
   }
 
   @Override
   public List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> getAclsCountByTeams(
       String aclType, Integer teamId, Integer tenantId) {
-    return jdbcSelectHelper.selectAclsCountByTeams(aclType, teamId, tenantId);
+    return analyticsAggregates.getAclsCountByTeams(aclType, teamId, tenantId);
   }
 
   @Override
   public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> getAllTopicsForTeamGroupByEnv(
       Integer teamId, int tenantId) {
-    return jdbcSelectHelper.selectAllTopicsForTeamGroupByEnv(teamId, tenantId);
+    return analyticsAggregates.getAllTopicsForTeamGroupByEnv(teamId, tenantId);
   }
 
   @Override
@@ -925,7 +1024,11 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public CRUDResponse<Topic> updateTopicRequest(TopicRequest topicRequest, String approver) {
-    return jdbcUpdateHelper.updateTopicRequest(topicRequest, approver);
+    return invalidateApprovalCounts(
+        topicRequest.getTenantId(),
+        catalogChanged(
+            topicRequest.getTenantId(),
+            jdbcUpdateHelper.updateTopicRequest(topicRequest, approver)));
   }
 
   @Override
@@ -937,46 +1040,61 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public String updateConnectorRequest(KafkaConnectorRequest topicRequest, String approver) {
-    return jdbcUpdateHelper.updateConnectorRequest(topicRequest, approver);
+    return invalidateApprovalCounts(
+        topicRequest.getTenantId(),
+        jdbcUpdateHelper.updateConnectorRequest(topicRequest, approver));
   }
 
   @Override
   public String updateTopicRequestStatus(TopicRequest topicRequest, String approver) {
-    return jdbcUpdateHelper.updateTopicRequestStatus(topicRequest, approver);
+    return invalidateApprovalCounts(
+        topicRequest.getTenantId(),
+        jdbcUpdateHelper.updateTopicRequestStatus(topicRequest, approver));
   }
 
   @Override
   public String updateConnectorRequestStatus(
       KafkaConnectorRequest connectorRequest, String approver) {
-    return jdbcUpdateHelper.updateConnectorRequestStatus(connectorRequest, approver);
+    return invalidateApprovalCounts(
+        connectorRequest.getTenantId(),
+        jdbcUpdateHelper.updateConnectorRequestStatus(connectorRequest, approver));
   }
 
   public String declineTopicRequest(TopicRequest topicRequest, String approver) {
-    return jdbcUpdateHelper.declineTopicRequest(topicRequest, approver);
+    return invalidateApprovalCounts(
+        topicRequest.getTenantId(), jdbcUpdateHelper.declineTopicRequest(topicRequest, approver));
   }
 
   public String declineConnectorRequest(KafkaConnectorRequest topicRequest, String approver) {
-    return jdbcUpdateHelper.declineConnectorRequest(topicRequest, approver);
+    return invalidateApprovalCounts(
+        topicRequest.getTenantId(),
+        jdbcUpdateHelper.declineConnectorRequest(topicRequest, approver));
   }
 
   @Override
   public String declineAclRequest(AclRequests aclReq, String approver) {
-    return jdbcUpdateHelper.declineAclRequest(aclReq, approver);
+    return invalidateApprovalCounts(
+        aclReq.getTenantId(), jdbcUpdateHelper.declineAclRequest(aclReq, approver));
   }
 
   @Override
   public String claimAclRequest(AclRequests aclReq, RequestStatus status) {
-    return jdbcUpdateHelper.claimAclRequest(aclReq, status);
+    return invalidateApprovalCounts(
+        aclReq.getTenantId(), jdbcUpdateHelper.claimAclRequest(aclReq, status));
   }
 
   @Override
   public String updateAcl(Acl acl) {
-    return jdbcUpdateHelper.updateAcl(acl);
+    return catalogChanged(acl.getTenantId(), jdbcUpdateHelper.updateAcl(acl));
   }
 
   public String updateAclRequest(
       AclRequests aclReq, String approver, Map<String, String> jsonParams, boolean saveReqOnly) {
-    return jdbcUpdateHelper.updateAclRequest(aclReq, approver, jsonParams, saveReqOnly);
+    return invalidateApprovalCounts(
+        aclReq.getTenantId(),
+        catalogChanged(
+            aclReq.getTenantId(),
+            jdbcUpdateHelper.updateAclRequest(aclReq, approver, jsonParams, saveReqOnly)));
   }
 
   @Override
@@ -985,12 +1103,15 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   }
 
   public String updateSchemaRequest(SchemaRequest schemaRequest, String approver) {
-    return jdbcUpdateHelper.updateSchemaRequest(schemaRequest, approver);
+    return invalidateApprovalCounts(
+        schemaRequest.getTenantId(), jdbcUpdateHelper.updateSchemaRequest(schemaRequest, approver));
   }
 
   @Override
   public String updateSchemaRequestDecline(SchemaRequest schemaRequest, String approver) {
-    return jdbcUpdateHelper.updateSchemaRequestDecline(schemaRequest, approver);
+    return invalidateApprovalCounts(
+        schemaRequest.getTenantId(),
+        jdbcUpdateHelper.updateSchemaRequestDecline(schemaRequest, approver));
   }
 
   public String updatePassword(String username, String pwd) {
@@ -1030,12 +1151,14 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   /*--------------------Delete */
   @Override
   public String deleteConnectorRequest(int connectorId, int tenantId) {
-    return jdbcDeleteHelper.deleteConnectorRequest(connectorId, tenantId);
+    return invalidateApprovalCounts(
+        tenantId, jdbcDeleteHelper.deleteConnectorRequest(connectorId, tenantId));
   }
 
   @Override
   public String deleteTopicRequest(int topicId, String userName, int tenantId) {
-    return jdbcDeleteHelper.deleteTopicRequest(topicId, userName, tenantId);
+    return invalidateApprovalCounts(
+        tenantId, jdbcDeleteHelper.deleteTopicRequest(topicId, userName, tenantId));
   }
 
   @Override
@@ -1045,7 +1168,7 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public String deleteTopic(int topicId, int tenantId) {
-    return jdbcDeleteHelper.deleteTopic(topicId, tenantId);
+    return catalogChanged(tenantId, jdbcDeleteHelper.deleteTopic(topicId, tenantId));
   }
 
   @Override
@@ -1055,12 +1178,13 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public String deleteAclRequest(int req_no, String userName, int tenantId) {
-    return jdbcDeleteHelper.deleteAclRequest(req_no, userName, tenantId);
+    return invalidateApprovalCounts(
+        tenantId, jdbcDeleteHelper.deleteAclRequest(req_no, userName, tenantId));
   }
 
   @Override
   public String deleteEnvironmentRequest(String envId, int tenantId) {
-    return jdbcDeleteHelper.deleteEnvironment(envId, tenantId);
+    return catalogChanged(tenantId, jdbcDeleteHelper.deleteEnvironment(envId, tenantId));
   }
 
   @Override
@@ -1080,12 +1204,13 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public String deleteTeamRequest(Integer teamId, int tenantId) {
-    return jdbcDeleteHelper.deleteTeamRequest(teamId, tenantId);
+    return catalogChanged(tenantId, jdbcDeleteHelper.deleteTeamRequest(teamId, tenantId));
   }
 
   @Override
   public String deleteSchemaRequest(int schemaId, String userName, int tenantId) {
-    return jdbcDeleteHelper.deleteSchemaRequest(schemaId, userName, tenantId);
+    return invalidateApprovalCounts(
+        tenantId, jdbcDeleteHelper.deleteSchemaRequest(schemaId, userName, tenantId));
   }
 
   @Override
@@ -1105,12 +1230,12 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public String deleteAllTeams(int tenantId) {
-    return jdbcDeleteHelper.deleteAllTeams(tenantId);
+    return catalogChanged(tenantId, jdbcDeleteHelper.deleteAllTeams(tenantId));
   }
 
   @Override
   public String deleteAllEnvs(int tenantId) {
-    return jdbcDeleteHelper.deleteAllEnvs(tenantId);
+    return catalogChanged(tenantId, jdbcDeleteHelper.deleteAllEnvs(tenantId));
   }
 
   @Override
@@ -1130,7 +1255,9 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public String deleteTxnData(int tenantId) {
-    return jdbcDeleteHelper.deleteTxnData(tenantId);
+    String result = jdbcDeleteHelper.deleteTxnData(tenantId);
+    analyticsAggregates.tenantDataDeleted(tenantId);
+    return result;
   }
 
   @Override
@@ -1196,13 +1323,14 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   }
 
   @Override
-  public List<TopicRequest> getAllTopicRequests() {
-    return jdbcSelectHelper.getAllTopicRequests();
+  public List<TopicRequest> getAllTopicRequests(TopicRequest after, int pageSize) {
+    return jdbcSelectHelper.getAllTopicRequests(after, pageSize);
   }
 
   @Override
-  public List<KafkaConnectorRequest> getAllConnectorRequests() {
-    return jdbcSelectHelper.getAllConnectorRequests();
+  public List<KafkaConnectorRequest> getAllConnectorRequests(
+      KafkaConnectorRequest after, int pageSize) {
+    return jdbcSelectHelper.getAllConnectorRequests(after, pageSize);
   }
 
   @Override
@@ -1226,33 +1354,33 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
   }
 
   @Override
-  public List<KwKafkaConnector> getAllConnectors() {
-    return jdbcSelectHelper.getAllConnectors();
+  public List<KwKafkaConnector> getAllConnectors(KwKafkaConnector after, int pageSize) {
+    return jdbcSelectHelper.getAllConnectors(after, pageSize);
   }
 
   @Override
-  public List<Topic> getAllTopics() {
-    return jdbcSelectHelper.getAllTopics();
+  public List<Topic> getAllTopics(Topic after, int pageSize) {
+    return jdbcSelectHelper.getAllTopics(after, pageSize);
   }
 
   @Override
-  public List<Acl> getAllSubscriptions() {
-    return jdbcSelectHelper.getAllSubscriptions();
+  public List<Acl> getAllSubscriptions(Acl after, int pageSize) {
+    return jdbcSelectHelper.getAllSubscriptions(after, pageSize);
   }
 
   @Override
-  public List<AclRequests> getAllAclRequests() {
-    return jdbcSelectHelper.getAllAclRequests();
+  public List<AclRequests> getAllAclRequests(AclRequests after, int pageSize) {
+    return jdbcSelectHelper.getAllAclRequests(after, pageSize);
   }
 
   @Override
-  public List<SchemaRequest> getAllSchemaRequests() {
-    return jdbcSelectHelper.getAllSchemaRequests();
+  public List<SchemaRequest> getAllSchemaRequests(SchemaRequest after, int pageSize) {
+    return jdbcSelectHelper.getAllSchemaRequests(after, pageSize);
   }
 
   @Override
-  public List<MessageSchema> getAllSchemas() {
-    return jdbcSelectHelper.selectAllSchemas();
+  public List<MessageSchema> getAllSchemas(MessageSchema after, int pageSize) {
+    return jdbcSelectHelper.selectAllSchemas(after, pageSize);
   }
 
   @Override
@@ -1282,10 +1410,26 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
 
   @Override
   public String deleteAcls(List<Acl> listDeleteAcls, int tenantId) {
-    return jdbcDeleteHelper.deleteAcls(listDeleteAcls, tenantId);
+    return catalogChanged(tenantId, jdbcDeleteHelper.deleteAcls(listDeleteAcls, tenantId));
   }
 
   public String updateDbWithUpdatedVersions(List<MessageSchema> schemaListUpdated) {
     return jdbcUpdateHelper.updateDbWithUpdatedVersions(schemaListUpdated);
   }
+
+  // dropped after the change is stored, so that no counts loaded before the change are kept
+  private <T> T invalidateApprovalCounts(int tenantId, T result) {
+    approvalCountsCache.invalidate(tenantId);
+    return result;
+  }
+
+  private <T> T catalogChanged(int tenantId, T result) {
+    analyticsAggregates.catalogChanged(tenantId);
+    return result;
+  }
+
+  private <T> T catalogChanged(Stream<Integer> tenantIds, T result) {
+    tenantIds.distinct().forEach(analyticsAggregates::catalogChanged);
+    return result;
+  }
 }
@@ -0,0 +1,123 @@
+package io.aiven.klaw.helpers.db.rdbms;
+
+import static io.aiven.klaw.helpers.db.rdbms.InsertDataJdbc.DEFAULT_REQ_ID_NUMBER;
+
+import io.aiven.klaw.repository.KwEntitySequenceRepo;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out the ids of topics, acls, connectors, schemas, their requests and the activity log from
+ * blocks reserved in kwentityseq, one sequence per tenant and entity. A block is reserved with a
+ * single conditional update, so instances sharing the database never get the same ids, and the ids
+ * of a block are then handed out in memory. Ids of blocks which are not used up are skipped.
+ */
+@Component
+@Slf4j
+public class IdBlockAllocator {
+
+  enum IdSequence {
+    TOPIC_REQ_ID,
+    TOPIC_ID,
+    CONNECTOR_REQ_ID,
+    CONNECTOR_ID,
+    ACL_REQ_ID,
+    ACL_ID,
+    SCHEMA_REQ_ID,
+    SCHEMA_ID,
+    OPERATIONAL_REQ_ID,
+    ACTIVITY_LOG_ID
+  }
+
+  @Autowired(required = false)
+  private KwEntitySequenceRepo kwEntitySequenceRepo;
+
+  @Value("${klaw.ids.block.size:50}")
+  private int blockSize;
+
+  private final Map<BlockKey, IdBlock> blocks = new ConcurrentHashMap<>();
+
+  /**
+   * @param maxId the highest id in use, a block never starts below it, so ids inserted without the
+   *     allocator (before the upgrade, or by an import) are not handed out again
+   */
+  int nextId(IdSequence sequence, int tenantId, Supplier<Integer> maxId) {
+    IdBlock block = blocks.computeIfAbsent(new BlockKey(sequence, tenantId), k -> new IdBlock());
+    synchronized (block) {
+      if (block.next >= block.end) {
+        block.next = reserveBlock(sequence.name(), tenantId, maxId.get());
+        block.end = block.next + blockSize;
+      }
+      return block.next++;
+    }
+  }
+
+  /**
+   * Moves the sequence past ids inserted without the allocator, by an import, and drops the block
+   * of this instance, which may contain them. Blocks reserved before by other instances are not
+   * dropped, which is why the import runs on startup.
+   */
+  void skipPast(IdSequence sequence, int tenantId, int maxId) {
+    String entityName = sequence.name();
+    int floor = maxId + 1;
+    while (true) {
+      Integer seqId = kwEntitySequenceRepo.findSeqId(entityName, tenantId);
+      if (seqId == null) {
+        try {
+          kwEntitySequenceRepo.insertSeqId(entityName, tenantId, floor);
+          break;
+        } catch (DataIntegrityViolationException e) {
+          log.debug("Sequence {} of tenant {} created concurrently", entityName, tenantId);
+          continue;
+        }
+      }
+      if (seqId >= floor
+          || kwEntitySequenceRepo.compareAndSetSeqId(entityName, tenantId, seqId, floor) == 1) {
+        break;
+      }
+    }
+
+    IdBlock block = blocks.get(new BlockKey(sequence, tenantId));
+    if (block != null) {
+      synchronized (block) {
+        block.next = block.end;
+      }
+    }
+  }
+
+  // returns the first id of the block
+  private int reserveBlock(String entityName, int tenantId, Integer maxId) {
+    int floor = maxId == null ? DEFAULT_REQ_ID_NUMBER : maxId + 1;
+    while (true) {
+      Integer seqId = kwEntitySequenceRepo.findSeqId(entityName, tenantId);
+      if (seqId == null) {
+        try {
+          kwEntitySequenceRepo.insertSeqId(entityName, tenantId, floor + blockSize);
+          return floor;
+        } catch (DataIntegrityViolationException e) {
+          log.debug("Sequence {} of tenant {} created concurrently", entityName, tenantId);
+          continue;
+        }
+      }
+      int start = Math.max(seqId, floor);
+      if (kwEntitySequenceRepo.compareAndSetSeqId(entityName, tenantId, seqId, start + blockSize)
+          == 1) {
+        return start;
+      }
+      log.debug("Block of sequence {} of tenant {} reserved concurrently", entityName, tenantId);
+    }
+  }
+
+  private record BlockKey(IdSequence sequence, int tenantId) {}
+
+  private static final class IdBlock {
+    private int next;
+    private int end;
+  }
+}
@@ -3,17 +3,28 @@ package io.aiven.klaw.helpers.db.rdbms;
 import static org.springframework.beans.BeanUtils.copyProperties;
 
 import io.aiven.klaw.dao.*;
+import io.aiven.klaw.helpers.db.rdbms.IdBlockAllocator.IdSequence;
 import io.aiven.klaw.model.enums.ApiResultStatus;
 import io.aiven.klaw.model.enums.EntityType;
 import io.aiven.klaw.model.enums.RequestStatus;
 import io.aiven.klaw.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -90,9 +101,13 @@ public class InsertDataJdbc {
 
   @Autowired private SelectDataJdbc jdbcSelectHelper;
 
+  @Autowired private IdBlockAllocator idBlockAllocator;
+
+  @PersistenceContext private EntityManager entityManager;
+
   public InsertDataJdbc() {}
 
-  public synchronized Map<String, String> insertIntoRequestTopic(TopicRequest topicRequest) {
+  public Map<String, String> insertIntoRequestTopic(TopicRequest topicRequest) {
     log.debug("insertIntoRequestTopic {}", topicRequest);
 
     Map<String, String> hashMap = new HashMap<>();
@@ -115,8 +130,7 @@ public class InsertDataJdbc {
     return hashMap;
   }
 
-  public synchronized Map<String, String> insertIntoRequestConnector(
-      KafkaConnectorRequest connectorRequest) {
+  public Map<String, String> insertIntoRequestConnector(KafkaConnectorRequest connectorRequest) {
     log.debug("insertIntoRequestConnector {}", connectorRequest);
 
     Map<String, String> hashMap = new HashMap<>();
@@ -134,7 +148,7 @@ public class InsertDataJdbc {
     return hashMap;
   }
 
-  public synchronized CRUDResponse<Topic> insertIntoTopicSOT(List<Topic> topics) {
+  public CRUDResponse<Topic> insertIntoTopicSOT(List<Topic> topics) {
     Set<Integer> existingTopicIds = new HashSet<>();
     topicRepo
         .findAllById(
@@ -156,7 +170,7 @@ public class InsertDataJdbc {
     return CRUDResponse.ok(topics);
   }
 
-  public synchronized String insertIntoConnectorSOT(
+  public String insertIntoConnectorSOT(
       List<KwKafkaConnector> kafkaConnectors, boolean isSyncTopics) {
 
     kafkaConnectors.forEach(
@@ -185,7 +199,7 @@ public class InsertDataJdbc {
     return ApiResultStatus.SUCCESS.value;
   }
 
-  synchronized Map<String, String> insertIntoRequestAcl(AclRequests aclReq) {
+  Map<String, String> insertIntoRequestAcl(AclRequests aclReq) {
     log.debug("insertIntoRequestAcl {}", aclReq.getTopicname());
     Map<String, String> hashMap = new HashMap<>();
     if (aclReq.getReq_no() == null) {
@@ -225,8 +239,7 @@ public class InsertDataJdbc {
     return hashMap;
   }
 
-  synchronized Map<String, String> insertIntoOperationalRequests(
-      OperationalRequest operationalRequest) {
+  Map<String, String> insertIntoOperationalRequests(OperationalRequest operationalRequest) {
     log.debug("insertIntoOperationalRequests {}", operationalRequest.getTopicname());
     Map<String, String> hashMap = new HashMap<>();
 
@@ -243,7 +256,7 @@ public class InsertDataJdbc {
     return hashMap;
   }
 
-  public synchronized String insertIntoAclsSOT(List<Acl> acls, boolean isSyncAcls) {
+  public String insertIntoAclsSOT(List<Acl> acls, boolean isSyncAcls) {
 
     acls.forEach(
         acl -> {
@@ -256,7 +269,7 @@ public class InsertDataJdbc {
     return ApiResultStatus.SUCCESS.value;
   }
 
-  public synchronized String insertIntoRequestSchema(SchemaRequest schemaRequest) {
+  public String insertIntoRequestSchema(SchemaRequest schemaRequest) {
     log.debug("insertIntoRequestSchema {}", schemaRequest.getTopicname());
 
     if (schemaRequest.getReq_no() == null) {
@@ -272,7 +285,7 @@ public class InsertDataJdbc {
     return ApiResultStatus.SUCCESS.value;
   }
 
-  public synchronized String insertIntoMessageSchemaSOT(List<MessageSchema> schemas) {
+  public String insertIntoMessageSchemaSOT(List<MessageSchema> schemas) {
 
     for (MessageSchema mSchema : schemas) {
       log.debug("insertIntoMessageSchemaSOT {}", mSchema.getTopicname());
@@ -403,79 +416,68 @@ public class InsertDataJdbc {
   }
 
   public Integer getNextAclRequestId(int tenantId) {
-    Integer aclReqId = aclRequestsRepo.getNextAclRequestId(tenantId);
-    if (aclReqId == null) {
-      return DEFAULT_REQ_ID_NUMBER;
-    } else {
-      return aclReqId + 1;
-    }
+    return idBlockAllocator.nextId(
+        IdSequence.ACL_REQ_ID, tenantId, () -> aclRequestsRepo.getNextAclRequestId(tenantId));
   }
 
   public Integer getNextOperationalRequestId(int tenantId) {
-    Integer operationalRequestId = operationalRequestsRepo.getNextOperationalRequestId(tenantId);
-    if (operationalRequestId == null) {
-      return DEFAULT_REQ_ID_NUMBER;
-    } else {
-      return operationalRequestId + 1;
-    }
+    return idBlockAllocator.nextId(
+        IdSequence.OPERATIONAL_REQ_ID,
+        tenantId,
+        () -> operationalRequestsRepo.getNextOperationalRequestId(tenantId));
   }
 
   public Integer getNextAclId(int tenantId) {
-    Integer aclId = aclRepo.getNextAclId(tenantId);
-    if (aclId == null) {
-      return DEFAULT_REQ_ID_NUMBER;
-    } else {
-      return aclId + 1;
-    }
+    return idBlockAllocator.nextId(
+        IdSequence.ACL_ID, tenantId, () -> aclRepo.getNextAclId(tenantId));
   }
 
-  public synchronized Integer getNextActivityLogRequestId(int tenantId) {
-    Integer activityLogId = activityLogRepo.getNextActivityLogRequestId(tenantId);
-
-    if (activityLogId == null) {
-      return DEFAULT_REQ_ID_NUMBER;
-    } else {
-      return activityLogId + 1;
-    }
+  public Integer getNextActivityLogRequestId(int tenantId) {
+    return idBlockAllocator.nextId(
+        IdSequence.ACTIVITY_LOG_ID,
+        tenantId,
+        () -> activityLogRepo.getNextActivityLogRequestId(tenantId));
   }
 
   public Integer getNextTopicRequestId(String idType, int tenantId) {
-    Integer topicId = null;
     if ("TOPIC_REQ_ID".equals(idType)) {
-      topicId = topicRequestsRepo.getNextTopicRequestId(tenantId);
+      return idBlockAllocator.nextId(
+          IdSequence.TOPIC_REQ_ID,
+          tenantId,
+          () -> topicRequestsRepo.getNextTopicRequestId(tenantId));
     } else if ("TOPIC_ID".equals(idType)) {
-      topicId = topicRepo.getNextTopicRequestId(tenantId);
+      return idBlockAllocator.nextId(
+          IdSequence.TOPIC_ID, tenantId, () -> topicRepo.getNextTopicRequestId(tenantId));
     }
-
-    return topicId == null ? DEFAULT_REQ_ID_NUMBER : topicId + 1;
+    return DEFAULT_REQ_ID_NUMBER;
   }
 
   public Integer getNextConnectorRequestId(String idType, int tenantId) {
-    Integer topicId;
-    if (idType.equals("CONNECTOR_REQ_ID")) {
-      topicId = kafkaConnectorRequestsRepo.getNextConnectorRequestId(tenantId);
-    } else if (idType.equals("CONNECTOR_ID")) {
-      topicId = kafkaConnectorRepo.getNextConnectorRequestId(tenantId);
-    } else {
-      topicId = null;
-    }
-
-    if (topicId == null) {
-      return DEFAULT_REQ_ID_NUMBER;
-    } else {
-      return topicId + 1;
+    if ("CONNECTOR_REQ_ID".equals(idType)) {
+      return idBlockAllocator.nextId(
+          IdSequence.CONNECTOR_REQ_ID,
+          tenantId,
+          () -> kafkaConnectorRequestsRepo.getNextConnectorRequestId(tenantId));
+    } else if ("CONNECTOR_ID".equals(idType)) {
+      return idBlockAllocator.nextId(
+          IdSequence.CONNECTOR_ID,
+          tenantId,
+          () -> kafkaConnectorRepo.getNextConnectorRequestId(tenantId));
     }
+    return DEFAULT_REQ_ID_NUMBER;
   }
 
   public Integer getNextSchemaRequestId(String idType, int tenantId) {
-    Integer schemaReqId = null;
     if ("SCHEMA_REQ_ID".equals(idType)) {
-      schemaReqId = schemaRequestRepo.getNextSchemaRequestId(tenantId);
+      return idBlockAllocator.nextId(
+          IdSequence.SCHEMA_REQ_ID,
+          tenantId,
+          () -> schemaRequestRepo.getNextSchemaRequestId(tenantId));
     } else if ("SCHEMA_ID".equals(idType)) {
-      schemaReqId = messageSchemaRepo.getNextSchemaId(tenantId);
+      return idBlockAllocator.nextId(
+          IdSequence.SCHEMA_ID, tenantId, () -> messageSchemaRepo.getNextSchemaId(tenantId));
     }
-
-    return schemaReqId == null ? DEFAULT_REQ_ID_NUMBER : schemaReqId + 1;
+    return DEFAULT_REQ_ID_NUMBER;
   }
 
   public String addNewTenant(KwTenants kwTenants) {
@@ -547,6 +549,193 @@ public class InsertDataJdbc {
     return ApiResultStatus.SUCCESS.value;
   }
 
+  // Imported rows keep their exported ids when these are free, as in the sync of topics and
+  // connectors, else they get new ids from the blocks of the allocator. They are persisted, never
+  // merged over a row of the same id, and imported requests start over as created
+  @Transactional
+  public String importTopics(List<Topic> topics) {
+    insertImportedRows(
+        topics,
+        Topic::getTenantId,
+        Topic::getTopicid,
+        Topic::setTopicid,
+        topicRepo::findIdsIn,
+        IdSequence.TOPIC_ID,
+        tenantId -> getNextTopicRequestId("TOPIC_ID", tenantId));
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  @Transactional
+  public String importAcls(List<Acl> acls) {
+    insertImportedRows(
+        acls,
+        Acl::getTenantId,
+        Acl::getReq_no,
+        Acl::setReq_no,
+        aclRepo::findIdsIn,
+        IdSequence.ACL_ID,
+        this::getNextAclId);
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  @Transactional
+  public String importSchemas(List<MessageSchema> schemas) {
+    insertImportedRows(
+        schemas,
+        MessageSchema::getTenantId,
+        MessageSchema::getReq_no,
+        MessageSchema::setReq_no,
+        messageSchemaRepo::findIdsIn,
+        IdSequence.SCHEMA_ID,
+        tenantId -> getNextSchemaRequestId("SCHEMA_ID", tenantId));
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  @Transactional
+  public String importConnectors(List<KwKafkaConnector> connectors) {
+    insertImportedRows(
+        connectors,
+        KwKafkaConnector::getTenantId,
+        KwKafkaConnector::getConnectorId,
+        KwKafkaConnector::setConnectorId,
+        kafkaConnectorRepo::findIdsIn,
+        IdSequence.CONNECTOR_ID,
+        tenantId -> getNextConnectorRequestId("CONNECTOR_ID", tenantId));
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  @Transactional
+  public String importTopicRequests(List<TopicRequest> topicRequests) {
+    Timestamp requestTime = new Timestamp(System.currentTimeMillis());
+    for (TopicRequest topicRequest : topicRequests) {
+      topicRequest.setRequestStatus(RequestStatus.CREATED.value);
+      topicRequest.setRequesttime(requestTime);
+    }
+    insertImportedRows(
+        topicRequests,
+        TopicRequest::getTenantId,
+        TopicRequest::getTopicid,
+        TopicRequest::setTopicid,
+        topicRequestsRepo::findIdsIn,
+        IdSequence.TOPIC_REQ_ID,
+        tenantId -> getNextTopicRequestId("TOPIC_REQ_ID", tenantId));
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  @Transactional
+  public String importAclRequests(List<AclRequests> aclRequests) {
+    Timestamp requestTime = new Timestamp(System.currentTimeMillis());
+    Map<String, UserInfo> requestors = new HashMap<>();
+    for (AclRequests aclRequest : aclRequests) {
+      // Set foreign Keys for the kwaclapprovals table, as in insertIntoRequestAcl. The approvals
+      // get new ids, from the identity column
+      if (aclRequest.getApprovals() != null) {
+        aclRequest
+            .getApprovals()
+            .forEach(
+                approval -> {
+                  approval.setApprovalId(null);
+                  approval.setParent(aclRequest);
+                });
+      }
+      aclRequest.setRequestStatus(RequestStatus.CREATED.value);
+      aclRequest.setRequesttime(requestTime);
+      UserInfo userInfo =
+          requestors.computeIfAbsent(aclRequest.getRequestor(), jdbcSelectHelper::selectUserInfo);
+      if (userInfo != null) {
+        aclRequest.setRequestingteam(userInfo.getTeamId());
+      }
+    }
+    insertImportedRows(
+        aclRequests,
+        AclRequests::getTenantId,
+        AclRequests::getReq_no,
+        AclRequests::setReq_no,
+        aclRequestsRepo::findIdsIn,
+        IdSequence.ACL_REQ_ID,
+        this::getNextAclRequestId);
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  @Transactional
+  public String importSchemaRequests(List<SchemaRequest> schemaRequests) {
+    Timestamp requestTime = new Timestamp(System.currentTimeMillis());
+    for (SchemaRequest schemaRequest : schemaRequests) {
+      schemaRequest.setSchemafull(schemaRequest.getSchemafull().trim());
+      schemaRequest.setRequestStatus(RequestStatus.CREATED.value);
+      schemaRequest.setRequesttime(requestTime);
+    }
+    insertImportedRows(
+        schemaRequests,
+        SchemaRequest::getTenantId,
+        SchemaRequest::getReq_no,
+        SchemaRequest::setReq_no,
+        schemaRequestRepo::findIdsIn,
+        IdSequence.SCHEMA_REQ_ID,
+        tenantId -> getNextSchemaRequestId("SCHEMA_REQ_ID", tenantId));
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  @Transactional
+  public String importConnectorRequests(List<KafkaConnectorRequest> connectorRequests) {
+    Timestamp requestTime = new Timestamp(System.currentTimeMillis());
+    for (KafkaConnectorRequest connectorRequest : connectorRequests) {
+      // as in insertIntoRequestConnector, connector requests always get new ids
+      connectorRequest.setConnectorId(null);
+      connectorRequest.setRequestStatus(RequestStatus.CREATED.value);
+      connectorRequest.setRequesttime(requestTime);
+    }
+    insertImportedRows(
+        connectorRequests,
+        KafkaConnectorRequest::getTenantId,
+        KafkaConnectorRequest::getConnectorId,
+        KafkaConnectorRequest::setConnectorId,
+        kafkaConnectorRequestsRepo::findIdsIn,
+        IdSequence.CONNECTOR_REQ_ID,
+        tenantId -> getNextConnectorRequestId("CONNECTOR_REQ_ID", tenantId));
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  // one query per tenant of the batch for the ids already taken. The sequence is first moved past
+  // the ids kept, so the new ids never collide with them, then the inserts are sent in jdbc
+  // batches of hibernate.jdbc.batch_size on flush
+  private <T> void insertImportedRows(
+      List<T> rows,
+      Function<T, Integer> tenantId,
+      Function<T, Integer> id,
+      BiConsumer<T, Integer> setId,
+      BiFunction<Integer, Collection<Integer>, List<Integer>> takenIds,
+      IdSequence sequence,
+      IntFunction<Integer> nextId) {
+    Map<Integer, List<T>> rowsByTenant = rows.stream().collect(Collectors.groupingBy(tenantId));
+    rowsByTenant.forEach(
+        (tenant, rowsOfTenant) -> {
+          List<Integer> exportedIds =
+              rowsOfTenant.stream().map(id).filter(Objects::nonNull).toList();
+          Set<Integer> taken =
+              exportedIds.isEmpty() ? Set.of() : new HashSet<>(takenIds.apply(tenant, exportedIds));
+          List<T> newIdRows = new ArrayList<>();
+          int maxKeptId = Integer.MIN_VALUE;
+          for (T row : rowsOfTenant) {
+            Integer rowId = id.apply(row);
+            // a later row of the batch with the same id gets a new one
+            if (rowId == null || !taken.add(rowId)) {
+              newIdRows.add(row);
+            } else {
+              maxKeptId = Math.max(maxKeptId, rowId);
+            }
+          }
+          if (maxKeptId != Integer.MIN_VALUE) {
+            idBlockAllocator.skipPast(sequence, tenant, maxKeptId);
+          }
+          newIdRows.forEach(row -> setId.accept(row, nextId.apply(tenant)));
+        });
+
+    rows.forEach(entityManager::persist);
+    entityManager.flush();
+    entityManager.clear();
+  }
+
   public void insertIntoActivityLog(
       String requestType,
       int tenantId,
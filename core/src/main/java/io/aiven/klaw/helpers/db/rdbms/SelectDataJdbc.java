@@ -8,6 +8,7 @@ import com.google.common.collect.Lists;
 import io.aiven.klaw.dao.*;
 import io.aiven.klaw.model.enums.AclPatternType;
 import io.aiven.klaw.model.enums.AclType;
+import io.aiven.klaw.model.enums.EntityType;
 import io.aiven.klaw.model.enums.KafkaClustersType;
 import io.aiven.klaw.model.enums.NewUserStatus;
 import io.aiven.klaw.model.enums.OperationalRequestType;
@@ -16,7 +17,6 @@ import io.aiven.klaw.model.enums.RequestMode;
 import io.aiven.klaw.model.enums.RequestOperationType;
 import io.aiven.klaw.model.enums.RequestStatus;
 import io.aiven.klaw.model.enums.RolesType;
-import io.aiven.klaw.model.response.DashboardStats;
 import io.aiven.klaw.repository.*;
 import io.aiven.klaw.service.CommonUtilsService;
 import java.sql.Timestamp;
@@ -36,22 +36,27 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 @Component
 @Slf4j
 public class SelectDataJdbc {
 
+  // bounds of the activity log queries when no date range is requested
+  private static final Timestamp ACTIVITY_TIME_MIN = new Timestamp(0);
+  private static final Timestamp ACTIVITY_TIME_MAX = Timestamp.valueOf("9999-12-31 23:59:59");
+
   @Autowired(required = false)
   private UserInfoRepo userInfoRepo;
 
@@ -458,19 +463,8 @@ public class SelectDataJdbc {
     }
   }
 
-  public DashboardStats getDashboardStats(Integer teamId, int tenantId) {
-    DashboardStats dashboardStats = new DashboardStats();
-    dashboardStats.setProducerCount(
-        aclRepo.countDistinctTopicNameByAclTypeAndTeamIdAndTenantId(
-            AclType.PRODUCER.value, teamId, tenantId));
-
-    dashboardStats.setConsumerCount(
-        aclRepo.countDistinctTopicNameByAclTypeAndTeamIdAndTenantId(
-            AclType.CONSUMER.value, teamId, tenantId));
-
-    dashboardStats.setTeamMembersCount(userInfoRepo.countByTeamIdAndTenantId(teamId, tenantId));
-
-    return dashboardStats;
+  public int selectTeamMembersCount(Integer teamId, int tenantId) {
+    return userInfoRepo.countByTeamIdAndTenantId(teamId, tenantId);
   }
 
   public List<Topic> selectAllTopicsByTopictypeAndTeamname(
@@ -1048,41 +1042,45 @@ public class SelectDataJdbc {
   }
 
   public List<ActivityLog> selectActivityLog(
-      String username, String env, OrderBy orderBy, boolean allReqs, int tenantId) {
-    log.debug("selectActivityLog {}", username);
-    List<ActivityLog> activityList;
+      String env,
+      Integer teamId,
+      OrderBy orderBy,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo,
+      int offset,
+      int pageSize,
+      int tenantId) {
+    log.debug("selectActivityLog {} {} {}", env, teamId, offset);
+    Sort.Direction direction =
+        OrderBy.ASC.equals(orderBy) ? Sort.Direction.ASC : Sort.Direction.DESC;
+    Pageable pageable =
+        PageRequest.of(offset / pageSize, pageSize, Sort.by(direction, "activityTime"));
+    Timestamp from = activityTimeFrom == null ? ACTIVITY_TIME_MIN : activityTimeFrom;
+    Timestamp to = activityTimeTo == null ? ACTIVITY_TIME_MAX : activityTimeTo;
 
-    if (allReqs) {
+    List<ActivityLog> activityList;
+    if (teamId == null) {
       if (env == null || env.isBlank()) {
-        activityList = Lists.newArrayList(activityLogRepo.findAllByTenantId(tenantId));
+        activityList =
+            activityLogRepo.findAllByTenantIdAndActivityTimeBetween(tenantId, from, to, pageable);
       } else {
-        activityList = activityLogRepo.findAllByEnvAndTenantId(env, tenantId);
+        activityList =
+            activityLogRepo.findAllByEnvAndTenantIdAndActivityTimeBetween(
+                env, tenantId, from, to, pageable);
       }
     } else {
-      final UserInfo userInfo = selectUserInfo(username);
       if (env == null || env.isBlank()) {
-        if (orderBy.equals(OrderBy.DESC)) {
-          activityList =
-              activityLogRepo.findAllByTeamIdAndTenantIdOrderByActivityTimeDesc(
-                  userInfo.getTeamId(), tenantId);
-        } else {
-          activityList =
-              activityLogRepo.findAllByTeamIdAndTenantIdOrderByActivityTimeAsc(
-                  userInfo.getTeamId(), tenantId);
-        }
+        activityList =
+            activityLogRepo.findAllByTeamIdAndTenantIdAndActivityTimeBetween(
+                teamId, tenantId, from, to, pageable);
       } else {
-        if (orderBy.equals(OrderBy.DESC)) {
-          activityList =
-              activityLogRepo.findAllByEnvAndTeamIdAndTenantIdOrderByActivityTimeDesc(
-                  env, userInfo.getTeamId(), tenantId);
-        } else {
-          activityList =
-              activityLogRepo.findAllByEnvAndTeamIdAndTenantIdOrderByActivityTimeAsc(
-                  env, userInfo.getTeamId(), tenantId);
-        }
+        activityList =
+            activityLogRepo.findAllByEnvAndTeamIdAndTenantIdAndActivityTimeBetween(
+                env, teamId, tenantId, from, to, pageable);
       }
     }
 
+    // only the rows of the requested page are formatted
     for (ActivityLog row : activityList) {
       row.setActivityTimeString(
           DATE_TIME_DDMMMYYYY_HHMMSS_FORMATTER.format(row.getActivityTime().toLocalDateTime()));
@@ -1091,6 +1089,36 @@ public class SelectDataJdbc {
     return activityList;
   }
 
+  public int countActivityLog(
+      String env,
+      Integer teamId,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo,
+      int tenantId) {
+    Timestamp from = activityTimeFrom == null ? ACTIVITY_TIME_MIN : activityTimeFrom;
+    Timestamp to = activityTimeTo == null ? ACTIVITY_TIME_MAX : activityTimeTo;
+    long count;
+    if (teamId == null) {
+      if (env == null || env.isBlank()) {
+        count = activityLogRepo.countByTenantIdAndActivityTimeBetween(tenantId, from, to);
+      } else {
+        count =
+            activityLogRepo.countByEnvAndTenantIdAndActivityTimeBetween(env, tenantId, from, to);
+      }
+    } else {
+      if (env == null || env.isBlank()) {
+        count =
+            activityLogRepo.countByTeamIdAndTenantIdAndActivityTimeBetween(
+                teamId, tenantId, from, to);
+      } else {
+        count =
+            activityLogRepo.countByEnvAndTeamIdAndTenantIdAndActivityTimeBetween(
+                env, teamId, tenantId, from, to);
+      }
+    }
+    return Math.toIntExact(count);
+  }
+
   public List<Team> selectTeamsOfUsers(String username, int tenantId) {
 
     Optional<UserInfo> userInfoOpt =
@@ -1209,49 +1237,10 @@ public class SelectDataJdbc {
     return teamRepo.findFirstByTenantIdAndTeamnameOrderByTenantId(tenantId, teamName);
   }
 
-  public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> selectActivityLogByTeam(
-      Integer teamId, int numberOfDays, int tenantId) {
-    // Instant.now() returns UTC time
-    Timestamp last30days = getTimestampFromLastNumberOfDays(numberOfDays);
-
-    try {
-      List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res = new ArrayList<>();
-      List<Pair<String, Integer>> fromDb =
-          gatherActivityList(
-              activityLogRepo.findActivityLogForTeamIdAfter(teamId, tenantId, last30days),
-              last30days);
-      for (Pair<String, Integer> elem : fromDb) {
-        res.add(CommonUtilsService.ChartsOverviewItem.of(elem.getKey(), elem.getValue()));
-      }
-      return res;
-    } catch (Exception e) {
-      log.error("Error selectActivityLogForLastDays ", e);
-    }
-    return Collections.emptyList();
-  }
-
-  private static Timestamp getTimestampFromLastNumberOfDays(int numberOfDays) {
+  static Timestamp getTimestampFromLastNumberOfDays(int numberOfDays) {
     return Timestamp.from(Instant.now().minus(numberOfDays, ChronoUnit.DAYS));
   }
 
-  public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> selectActivityLogForLastDays(
-      int numberOfDays, String[] envIdList, int tenantId) {
-    try {
-      List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res = new ArrayList<>();
-      List<Pair<String, Integer>> fromDb =
-          gatherActivityList(
-              activityLogRepo.findActivityLogForLastNDays(envIdList, tenantId, numberOfDays),
-              getTimestampFromLastNumberOfDays(numberOfDays));
-      for (Pair<String, Integer> elem : fromDb) {
-        res.add(CommonUtilsService.ChartsOverviewItem.of(elem.getKey(), elem.getValue()));
-      }
-      return res;
-    } catch (Exception e) {
-      log.error("Error selectActivityLogForLastDays ", e);
-    }
-    return Collections.emptyList();
-  }
-
   static class ActivityCountItem {
     private String dateOfActivity;
     private int activityCount;
@@ -1266,7 +1255,17 @@ public class SelectDataJdbc {
     }
   }
 
-  private List<Pair<String, Integer>> gatherActivityList(
+  // rows of date and activity count, ordered by date, with the days without activity filled in
+  static List<CommonUtilsService.ChartsOverviewItem<String, Integer>> toActivityChart(
+      List<Object[]> activityCount, Timestamp lastDays) {
+    List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res = new ArrayList<>();
+    for (Pair<String, Integer> elem : gatherActivityList(activityCount, lastDays)) {
+      res.add(CommonUtilsService.ChartsOverviewItem.of(elem.getKey(), elem.getValue()));
+    }
+    return res;
+  }
+
+  private static List<Pair<String, Integer>> gatherActivityList(
       List<Object[]> activityCount, Timestamp lastDays) {
     List<Pair<String, Integer>> res = new ArrayList<>(activityCount.size());
     LocalDate lastEntryDate = lastDays.toLocalDateTime().toLocalDate();
@@ -1291,158 +1290,56 @@ public class SelectDataJdbc {
     }
   }
 
-  public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> selectTopicsCountByEnv(
-      Integer tenantId) {
-    List<CommonUtilsService.ChartsOverviewItem<String, Integer>> totalTopicCount =
-        new ArrayList<>();
-    try {
-      List<Object[]> topics = topicRepo.findAllTopicsGroupByEnv(tenantId);
+  CatalogAggregates selectCatalogAggregates(int tenantId) {
+    Set<String> kafkaEnvIds = new HashSet<>();
+    envRepo
+        .findAllByTypeAndTenantId(KafkaClustersType.KAFKA.value, tenantId)
+        .forEach(env -> kafkaEnvIds.add(env.getId()));
+    Map<String, String> envNames = new HashMap<>();
+    envRepo.findAllByTenantId(tenantId).forEach(env -> envNames.put(env.getId(), env.getName()));
+    Set<Integer> teamIds = new HashSet<>();
+    teamRepo.findAllByTenantId(tenantId).forEach(team -> teamIds.add(team.getTeamId()));
 
-      for (Object[] topic : topics) {
-        totalTopicCount.add(
-            CommonUtilsService.ChartsOverviewItem.of(
-                (String) topic[0], ((Long) topic[1]).intValue()));
-      }
-    } catch (Exception e) {
-      log.error("Error selectTopicsCountByEnv ", e);
+    List<CatalogAggregates.TopicCounts> topicCounts = new ArrayList<>();
+    for (Object[] row : topicRepo.findAllTopicsGroupByEnvAndTeam(tenantId)) {
+      topicCounts.add(
+          new CatalogAggregates.TopicCounts(
+              (String) row[0], toInteger(row[1]), toLong(row[2]), toLong(row[3])));
     }
-    return totalTopicCount;
-  }
-
-  public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> selectPartitionsCountByEnv(
-      Integer teamId, Integer tenantId) {
-    List<CommonUtilsService.ChartsOverviewItem<String, Integer>> totalPartitionsCount =
-        new ArrayList<>();
-    try {
-      List<Object[]> topics;
-      if (teamId != null) {
-        topics = topicRepo.findAllPartitionsForTeamGroupByEnv(teamId, tenantId);
-      } else {
-        topics = topicRepo.findAllPartitionsGroupByEnv(tenantId);
-      }
-
-      for (Object[] topic : topics) {
-        totalPartitionsCount.add(
-            CommonUtilsService.ChartsOverviewItem.of(
-                String.valueOf(topic[0]), ((Long) topic[1]).intValue()));
-      }
-    } catch (Exception e) {
-      log.error("Error from selectPartitionsCountByEnv ", e);
+    List<CatalogAggregates.AclCounts> aclCounts = new ArrayList<>();
+    for (Object[] row : aclRepo.findAllAclsGroupByEnvTeamAndAclType(tenantId)) {
+      aclCounts.add(
+          new CatalogAggregates.AclCounts(
+              (String) row[0], toInteger(row[1]), (String) row[2], toLong(row[3])));
     }
-    return totalPartitionsCount;
-  }
-
-  public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> selectAclsCountByEnv(
-      Integer teamId, Integer tenantId) {
-    List<CommonUtilsService.ChartsOverviewItem<String, Integer>> totalAclsCount = new ArrayList<>();
-    try {
-      List<Object[]> topics;
-      if (teamId != null) {
-        topics = aclRepo.findAllAclsforTeamGroupByEnv(teamId, tenantId);
-      } else {
-        topics = aclRepo.findAllAclsGroupByEnv(tenantId);
-      }
-
-      for (Object[] topic : topics) {
-        totalAclsCount.add(
-            CommonUtilsService.ChartsOverviewItem.of(
-                (String) topic[0], ((Long) topic[1]).intValue()));
-      }
-    } catch (Exception e) {
-      log.error("Error selectAclsCountByEnv", e);
+    List<CatalogAggregates.AclTopicCounts> aclTopicCounts = new ArrayList<>();
+    for (Object[] row : aclRepo.countDistinctTopicNameGroupByTeamAndAclType(tenantId)) {
+      aclTopicCounts.add(
+          new CatalogAggregates.AclTopicCounts(
+              toInteger(row[0]), (String) row[1], (int) toLong(row[2])));
     }
-    return totalAclsCount;
+    return new CatalogAggregates(
+        kafkaEnvIds, envNames, teamIds, topicCounts, aclCounts, aclTopicCounts);
   }
 
-  public List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> selectTopicsCountByTeams(
-      Integer teamId, int tenantId) {
-    List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> totalTopicCount =
-        new ArrayList<>();
-    try {
-      List<Object[]> topics;
-      if (teamId != null) {
-        topics = topicRepo.findAllTopicsForTeam(teamId, tenantId);
-      } else {
-        topics = topicRepo.findAllTopicsGroupByTeamId(tenantId);
-      }
-
-      for (Object[] topic : topics) {
-        if (teamId == null) {
-          totalTopicCount.add(
-              CommonUtilsService.ChartsOverviewItem.of(
-                  (Integer) topic[0], ((Long) topic[1]).intValue()));
-        } else {
-          totalTopicCount.add(
-              CommonUtilsService.ChartsOverviewItem.of(teamId, ((Long) topic[0]).intValue()));
-        }
-      }
-    } catch (Exception e) {
-      log.error("Error from selectTopicsCountByTeams ", e);
+  ActivityAggregates selectActivityAggregates(int tenantId) {
+    Map<ActivityAggregates.ActivityKey, Long> activityCounts = new HashMap<>();
+    for (Object[] row : activityLogRepo.findActivityLogGroupByDateEnvAndTeam(tenantId)) {
+      activityCounts.put(
+          new ActivityAggregates.ActivityKey(
+              ((java.sql.Date) row[0]).toLocalDate(), (String) row[1], toInteger(row[2])),
+          toLong(row[3]));
     }
-    return totalTopicCount;
+    return new ActivityAggregates(activityCounts);
   }
 
-  public List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> selectAclsCountByTeams(
-      String aclType, Integer teamId, Integer tenantId) {
-    List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> totalAclCount = new ArrayList<>();
-    try {
-      List<Object[]> acls;
-      if (AclType.PRODUCER.value.equals(aclType)) {
-        if (teamId != null) {
-          acls = aclRepo.findAllProducerAclsForTeamId(teamId, tenantId);
-        } else {
-          acls = aclRepo.findAllProducerAclsGroupByTeamId(tenantId);
-        }
-      } else {
-        if (teamId != null) {
-          acls = aclRepo.findAllConsumerAclsForTeamId(teamId, tenantId);
-        } else {
-          acls = aclRepo.findAllConsumerAclsGroupByTeamId(tenantId);
-        }
-      }
-      for (Object[] topic : acls) {
-        if (teamId == null) {
-          totalAclCount.add(
-              CommonUtilsService.ChartsOverviewItem.of(
-                  ((Long) topic[0]).intValue(), ((Long) topic[1]).intValue()));
-        } else {
-          totalAclCount.add(
-              CommonUtilsService.ChartsOverviewItem.of(teamId, ((Long) topic[0]).intValue()));
-        }
-      }
-    } catch (Exception e) {
-      log.error("Error from selectAclsCountByTeams ", e);
-    }
-    return totalAclCount;
+  private static Integer toInteger(Object number) {
+    return number == null ? null : ((Number) number).intValue();
   }
 
-  public List<CommonUtilsService.ChartsOverviewItem<String, Integer>>
-      selectAllTopicsForTeamGroupByEnv(Integer teamId, int tenantId) {
-    List<CommonUtilsService.ChartsOverviewItem<String, Integer>> totalTopicCount =
-        new ArrayList<>();
-    try {
-      List<Object[]> topics = topicRepo.findAllTopicsForTeamGroupByEnv(teamId, tenantId);
-      Map<String, Integer> envIds =
-          topics.stream()
-              .collect(Collectors.toMap(e -> (String) e[0], e -> ((Long) e[1]).intValue()));
-
-      Map<String, Env> name2envsFromDb =
-          StreamSupport.stream(selectEnvsDetails(envIds.keySet(), tenantId).spliterator(), false)
-              .collect(Collectors.toMap(Env::getId, Function.identity()));
-
-      for (var envIdEntry : envIds.entrySet()) {
-        if (!name2envsFromDb.containsKey(envIdEntry.getKey())) {
-          log.error("Error: Environment not found for env {}", envIdEntry.getKey());
-        } else {
-          totalTopicCount.add(
-              CommonUtilsService.ChartsOverviewItem.of(
-                  name2envsFromDb.get(envIdEntry.getKey()).getName(), envIdEntry.getValue()));
-        }
-      }
-    } catch (Exception e) {
-      log.error("Error from selectAllTopicsForTeamGroupByEnv ", e);
-    }
-    return totalTopicCount;
+  // sums are null for groups without values
+  private static long toLong(Object number) {
+    return number == null ? 0 : ((Number) number).longValue();
   }
 
   public List<CommonUtilsService.ChartsOverviewItem<String, Integer>> selectAllMetrics(
@@ -1495,33 +1392,6 @@ public class SelectDataJdbc {
     return kwPropertiesRepo.findAllByTenantId(tenantId);
   }
 
-  public Integer getNextTopicRequestId(String idType, int tenantId) {
-    Integer topicId;
-    if (idType.equals("TOPIC_REQ_ID")) {
-      topicId = topicRequestsRepo.getNextTopicRequestId(tenantId);
-    } else if (idType.equals("TOPIC_ID")) {
-      topicId = topicRepo.getNextTopicRequestId(tenantId);
-    } else {
-      topicId = null;
-    }
-
-    if (topicId == null) {
-      return 1001;
-    } else {
-      return topicId + 1;
-    }
-  }
-
-  public Integer getNextConnectorRequestId(String idType, int tenantId) {
-    Integer connectorId = null;
-    if ("CONNECTOR_REQ_ID".equals(idType)) {
-      connectorId = kafkaConnectorRequestsRepo.getNextConnectorRequestId(tenantId);
-    } else if ("CONNECTOR_ID".equals(idType)) {
-      connectorId = kafkaConnectorRepo.getNextConnectorRequestId(tenantId);
-    }
-    return (connectorId == null) ? 1001 : connectorId + 1;
-  }
-
   public List<KwTenants> getTenants() {
     return Lists.newArrayList(tenantRepo.findAll());
   }
@@ -1918,6 +1788,102 @@ public class SelectDataJdbc {
     return allCountsMap;
   }
 
+  // Counts of the created requests the requestor can approve per environment, the same requests
+  // selectFilteredTopicRequests returns for approval
+  public Map<String, Long> getTopicRequestsToApproveCountsPerEnv(
+      String requestor, boolean showRequestsOfAllTeams, int tenantId) {
+    Map<String, Long> envCountsMap = new HashMap<>();
+    if (showRequestsOfAllTeams) {
+      updateMap(
+          envCountsMap,
+          topicRequestsRepo.countRequestorsTopicRequestsOfAllTeamsGroupByEnv(
+              tenantId, requestor, RequestStatus.CREATED.value));
+    } else {
+      Integer teamId = selectUserInfo(requestor).getTeamId();
+      updateMap(
+          envCountsMap,
+          topicRequestsRepo.countRequestorsTopicRequestsGroupByEnv(
+              teamId, Integer.toString(teamId), tenantId, requestor, RequestStatus.CREATED.value));
+    }
+    return envCountsMap;
+  }
+
+  // Counts of the created requests the requestor can approve per environment, the same requests
+  // selectFilteredAclRequests returns for approval
+  public Map<String, Long> getAclRequestsToApproveCountsPerEnv(
+      String requestor, String role, boolean showRequestsOfAllTeams, int tenantId) {
+    Map<String, Long> envCountsMap = new HashMap<>();
+    Integer teamId = selectUserInfo(requestor).getTeamId();
+    if (showRequestsOfAllTeams) {
+      updateMap(
+          envCountsMap,
+          aclRequestsRepo.countRequestorsAclRequestsOfAllTeamsGroupByEnv(
+              tenantId, requestor, RequestStatus.CREATED.value));
+    } else if (REQUESTOR_SUBSCRIPTIONS.equals(role)) {
+      updateMap(
+          envCountsMap,
+          aclRequestsRepo.countRequestorsAclRequestsRaisedByTeamGroupByEnv(
+              teamId, tenantId, requestor, RequestStatus.CREATED.value));
+    } else {
+      updateMap(
+          envCountsMap,
+          aclRequestsRepo.countRequestorsAclRequestsAssignedToTeamGroupByEnv(
+              teamId, tenantId, requestor, RequestStatus.CREATED.value));
+    }
+
+    // claim requests are approved by the teams owning the topic
+    Optional<Team> team = teamRepo.findById(new TeamID(teamId, tenantId));
+    if (team.isPresent()) {
+      aclRequestsRepo
+          .countRequestorsAclClaimRequestsGroupByEnv(
+              team.get().getTeamname(), tenantId, requestor, RequestStatus.CREATED.value)
+          .forEach(reqObj -> envCountsMap.merge((String) reqObj[0], (Long) reqObj[1], Long::sum));
+    }
+    return envCountsMap;
+  }
+
+  // Counts of the created requests the requestor can approve per environment, the same requests
+  // selectFilteredSchemaRequests returns for approval
+  public Map<String, Long> getSchemaRequestsToApproveCountsPerEnv(
+      String requestor, boolean showRequestsOfAllTeams, int tenantId) {
+    Map<String, Long> envCountsMap = new HashMap<>();
+    if (showRequestsOfAllTeams) {
+      updateMap(
+          envCountsMap,
+          schemaRequestRepo.countRequestorsSchemaRequestsOfAllTeamsGroupByEnv(
+              tenantId, requestor, RequestStatus.CREATED.value));
+    } else {
+      updateMap(
+          envCountsMap,
+          schemaRequestRepo.countRequestorsSchemaRequestsGroupByEnv(
+              selectUserInfo(requestor).getTeamId(),
+              tenantId,
+              requestor,
+              RequestStatus.CREATED.value));
+    }
+    return envCountsMap;
+  }
+
+  // Counts of the created requests the requestor can approve per environment, the same requests
+  // selectFilteredKafkaConnectorRequests returns for approval
+  public Map<String, Long> getConnectorRequestsToApproveCountsPerEnv(
+      String requestor, boolean showRequestsOfAllTeams, int tenantId) {
+    Map<String, Long> envCountsMap = new HashMap<>();
+    if (showRequestsOfAllTeams) {
+      updateMap(
+          envCountsMap,
+          kafkaConnectorRequestsRepo.countRequestorsConnectorRequestsOfAllTeamsGroupByEnv(
+              tenantId, requestor, RequestStatus.CREATED.value));
+    } else {
+      Integer teamId = selectUserInfo(requestor).getTeamId();
+      updateMap(
+          envCountsMap,
+          kafkaConnectorRequestsRepo.countRequestorsConnectorRequestsGroupByEnv(
+              teamId, Integer.toString(teamId), tenantId, requestor, RequestStatus.CREATED.value));
+    }
+    return envCountsMap;
+  }
+
   public MessageSchema getTeamIdFromSchemaTopicNameAndEnvAndTenantId(
       String schemaTopicName, String envId, int tenantId) {
     List<MessageSchema> schema =
@@ -1982,40 +1948,65 @@ public class SelectDataJdbc {
     return Lists.newArrayList(kwPropertiesRepo.findAll());
   }
 
-  public List<Topic> getAllTopics() {
-    return Lists.newArrayList(topicRepo.findAll());
+  public List<Topic> getAllTopics(Topic after, int pageSize) {
+    return after == null
+        ? topicRepo.findPageOrderedById(PageRequest.of(0, pageSize))
+        : topicRepo.findPageAfterId(
+            after.getTenantId(), after.getTopicid(), PageRequest.of(0, pageSize));
   }
 
-  public List<Acl> getAllSubscriptions() {
-    return Lists.newArrayList(aclRepo.findAll());
+  public List<Acl> getAllSubscriptions(Acl after, int pageSize) {
+    return after == null
+        ? aclRepo.findPageOrderedById(PageRequest.of(0, pageSize))
+        : aclRepo.findPageAfterId(
+            after.getTenantId(), after.getReq_no(), PageRequest.of(0, pageSize));
   }
 
-  public List<MessageSchema> selectAllSchemas() {
-    return Lists.newArrayList(messageSchemaRepo.findAll());
+  public List<MessageSchema> selectAllSchemas(MessageSchema after, int pageSize) {
+    return after == null
+        ? messageSchemaRepo.findPageOrderedById(PageRequest.of(0, pageSize))
+        : messageSchemaRepo.findPageAfterId(
+            after.getTenantId(), after.getReq_no(), PageRequest.of(0, pageSize));
   }
 
-  public List<KwKafkaConnector> getAllConnectors() {
-    return Lists.newArrayList(kafkaConnectorRepo.findAll());
+  public List<KwKafkaConnector> getAllConnectors(KwKafkaConnector after, int pageSize) {
+    return after == null
+        ? kafkaConnectorRepo.findPageOrderedById(PageRequest.of(0, pageSize))
+        : kafkaConnectorRepo.findPageAfterId(
+            after.getTenantId(), after.getConnectorId(), PageRequest.of(0, pageSize));
   }
 
   public List<ActivityLog> getAllActivityLog() {
     return Lists.newArrayList(activityLogRepo.findAll());
   }
 
-  public List<TopicRequest> getAllTopicRequests() {
-    return Lists.newArrayList(topicRequestsRepo.findAll());
+  public List<TopicRequest> getAllTopicRequests(TopicRequest after, int pageSize) {
+    return after == null
+        ? topicRequestsRepo.findPageOrderedById(PageRequest.of(0, pageSize))
+        : topicRequestsRepo.findPageAfterId(
+            after.getTenantId(), after.getTopicid(), PageRequest.of(0, pageSize));
   }
 
-  public List<AclRequests> getAllAclRequests() {
-    return Lists.newArrayList(aclRequestsRepo.findAll());
+  public List<AclRequests> getAllAclRequests(AclRequests after, int pageSize) {
+    return after == null
+        ? aclRequestsRepo.findPageOrderedById(PageRequest.of(0, pageSize))
+        : aclRequestsRepo.findPageAfterId(
+            after.getTenantId(), after.getReq_no(), PageRequest.of(0, pageSize));
   }
 
-  public List<SchemaRequest> getAllSchemaRequests() {
-    return Lists.newArrayList(schemaRequestRepo.findAll());
+  public List<SchemaRequest> getAllSchemaRequests(SchemaRequest after, int pageSize) {
+    return after == null
+        ? schemaRequestRepo.findPageOrderedById(PageRequest.of(0, pageSize))
+        : schemaRequestRepo.findPageAfterId(
+            after.getTenantId(), after.getReq_no(), PageRequest.of(0, pageSize));
   }
 
-  public List<KafkaConnectorRequest> getAllConnectorRequests() {
-    return Lists.newArrayList(kafkaConnectorRequestsRepo.findAll());
+  public List<KafkaConnectorRequest> getAllConnectorRequests(
+      KafkaConnectorRequest after, int pageSize) {
+    return after == null
+        ? kafkaConnectorRequestsRepo.findPageOrderedById(PageRequest.of(0, pageSize))
+        : kafkaConnectorRequestsRepo.findPageAfterId(
+            after.getTenantId(), after.getConnectorId(), PageRequest.of(0, pageSize));
   }
 
   public Integer getNextClusterId(int tenantId) {
@@ -2031,7 +2022,9 @@ public class SelectDataJdbc {
   }
 
   public long getDataFromKwEntitySequences() {
-    return kwEntitySequenceRepo.count();
+    // only the sequences of the clusters, environments and teams are created by the migration
+    return kwEntitySequenceRepo.countByEntityNameIn(
+        List.of(EntityType.CLUSTER.name(), EntityType.ENVIRONMENT.name(), EntityType.TEAM.name()));
   }
 
   public boolean existsSchemaRequest(
@@ -0,0 +1,21 @@
+package io.aiven.klaw.model.cluster;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
+import java.io.Serializable;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ClusterSchemasRequest implements Serializable {
+
+  @JsonProperty private String env;
+
+  @JsonProperty private KafkaSupportedProtocol protocol;
+
+  @JsonProperty private String clusterIdentification;
+
+  @JsonProperty private List<String> topicNames;
+}
@@ -0,0 +1,7 @@
+package io.aiven.klaw.model.enums;
+
+public enum HAMessageType {
+  CACHE_UPDATE,
+  CACHE_REMOVE,
+  METADATA_RESET
+}
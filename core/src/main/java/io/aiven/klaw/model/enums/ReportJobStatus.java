@@ -0,0 +1,7 @@
+package io.aiven.klaw.model.enums;
+
+public enum ReportJobStatus {
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
@@ -0,0 +1,30 @@
+package io.aiven.klaw.model.requests;
+
+import io.aiven.klaw.model.enums.HAMessageType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A change of the caches of an instance, replicated to the other instances. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HACacheMessage {
+  // increases with every change of the sender, older or repeated changes are ignored
+  private long sequence;
+
+  @NotNull private HAMessageType messageType;
+
+  private int tenantId;
+
+  private String entityType;
+
+  private Integer id;
+
+  private Object entry;
+
+  private ResetEntityCache resetEntityCache;
+}
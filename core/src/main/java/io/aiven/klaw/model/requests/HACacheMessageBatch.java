@@ -0,0 +1,20 @@
+package io.aiven.klaw.model.requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HACacheMessageBatch {
+  // identifies an instance from its start to its shutdown
+  @NotNull private String senderId;
+
+  @NotNull @Valid private List<HACacheMessage> messages;
+}
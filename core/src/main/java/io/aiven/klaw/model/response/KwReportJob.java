@@ -0,0 +1,13 @@
+package io.aiven.klaw.model.response;
+
+import io.aiven.klaw.model.enums.ReportJobStatus;
+import lombok.Data;
+
+@Data
+public class KwReportJob {
+  private String jobId;
+
+  private ReportJobStatus status;
+
+  private String filename;
+}
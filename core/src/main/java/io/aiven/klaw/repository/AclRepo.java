@@ -2,8 +2,10 @@ package io.aiven.klaw.repository;
 
 import io.aiven.klaw.dao.Acl;
 import io.aiven.klaw.dao.AclID;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +13,19 @@ import org.springframework.data.repository.query.Param;
 public interface AclRepo extends CrudRepository<Acl, AclID> {
   Optional<Acl> findById(AclID aclID);
 
+  @Query("SELECT e FROM Acl e ORDER BY e.tenantId, e.req_no")
+  List<Acl> findPageOrderedById(Pageable pageable);
+
+  @Query(
+      "SELECT e FROM Acl e WHERE e.tenantId > :tenantId"
+          + " OR (e.tenantId = :tenantId AND e.req_no > :id) ORDER BY e.tenantId, e.req_no")
+  List<Acl> findPageAfterId(
+      @Param("tenantId") Integer tenantId, @Param("id") Integer id, Pageable pageable);
+
+  @Query("SELECT e.req_no FROM Acl e WHERE e.tenantId = :tenantId AND e.req_no IN :ids")
+  List<Integer> findIdsIn(
+      @Param("tenantId") Integer tenantId, @Param("ids") Collection<Integer> ids);
+
   List<Acl> findAllByEnvironmentAndTenantId(String environment, int tenantId);
 
   List<Acl> findAllByAclTypeAndTeamIdAndTenantId(String topicType, Integer teamId, int tenantId);
@@ -18,13 +33,6 @@ public interface AclRepo extends CrudRepository<Acl, AclID> {
   List<Acl> findAllByAclTypeAndTeamIdAndTenantIdAndEnvironment(
       String topicType, Integer teamId, int tenantId, String env);
 
-  @Query(
-      value =
-          "SELECT count(DISTINCT topicname) FROM kwacls WHERE topictype = :topicType AND teamid = :teamId AND tenantid = :tenantId",
-      nativeQuery = true)
-  int countDistinctTopicNameByAclTypeAndTeamIdAndTenantId(
-      String topicType, Integer teamId, int tenantId);
-
   List<Acl> findAllByAclTypeAndTenantId(String topicType, int tenantId);
 
   List<Acl> findAllByEnvironmentAndTopicnameAndTenantId(
@@ -63,47 +71,20 @@ public interface AclRepo extends CrudRepository<Acl, AclID> {
   boolean existsByTeamIdAndTenantId(
       @Param("teamId") Integer teamId, @Param("tenantId") Integer tenantId);
 
+  // aggregates of all the acls of the tenant, the analytics charts are derived from them
   @Query(
       value =
-          "select teamid,  count(*) from kwacls where tenantid = :tenantId and topictype='Producer' "
-              + "and teamid in (select teamid from kwteams where tenantid = :tenantId) group by teamid",
-      nativeQuery = true)
-  List<Object[]> findAllProducerAclsGroupByTeamId(@Param("tenantId") Integer tenantId);
-
-  @Query(
-      value =
-          "select  count(*) from kwacls where topictype='Producer' and teamid = :teamidVar and tenantid = :tenantId",
-      nativeQuery = true)
-  List<Object[]> findAllProducerAclsForTeamId(
-      @Param("teamidVar") Integer teamidVar, @Param("tenantId") Integer tenantId);
-
-  @Query(
-      value =
-          "select teamid,  count(*) from kwacls where tenantid = :tenantId and topictype='Consumer' "
-              + "and teamid in (select teamid from kwteams where tenantid = :tenantId) group by teamid",
-      nativeQuery = true)
-  List<Object[]> findAllConsumerAclsGroupByTeamId(@Param("tenantId") Integer tenantId);
-
-  @Query(
-      value =
-          "select  count(*) from kwacls where topictype='Consumer' and teamid = :teamIdVar and tenantid = :tenantId",
-      nativeQuery = true)
-  List<Object[]> findAllConsumerAclsForTeamId(
-      @Param("teamIdVar") Integer teamnameVar, @Param("tenantId") Integer tenantId);
-
-  @Query(
-      value =
-          "select env, count(*) from kwacls "
-              + "where env in (select id from kwenv where envtype='kafka' and tenantid = :tenantId) group by env",
+          "select env, teamid, topictype, count(*) from kwacls"
+              + " where tenantid = :tenantId group by env, teamid, topictype",
       nativeQuery = true)
-  List<Object[]> findAllAclsGroupByEnv(@Param("tenantId") Integer tenantId);
+  List<Object[]> findAllAclsGroupByEnvTeamAndAclType(@Param("tenantId") Integer tenantId);
 
   @Query(
       value =
-          "select env, count(*) from kwacls where teamid = :teamIdVar and tenantid = :tenantId group by env",
+          "select teamid, topictype, count(distinct topicname) from kwacls"
+              + " where tenantid = :tenantId group by teamid, topictype",
       nativeQuery = true)
-  List<Object[]> findAllAclsforTeamGroupByEnv(
-      @Param("teamIdVar") Integer teamIdVar, @Param("tenantId") Integer tenantId);
+  List<Object[]> countDistinctTopicNameGroupByTeamAndAclType(@Param("tenantId") Integer tenantId);
 
   @Query(value = "select max(aclid) from kwacls where tenantid = :tenantId", nativeQuery = true)
   Integer getNextAclId(@Param("tenantId") Integer tenantId);
@@ -2,8 +2,10 @@ package io.aiven.klaw.repository;
 
 import io.aiven.klaw.dao.AclRequestID;
 import io.aiven.klaw.dao.AclRequests;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +15,19 @@ public interface AclRequestsRepo
     extends CrudRepository<AclRequests, AclRequestID>, QueryByExampleExecutor<AclRequests> {
   Optional<AclRequests> findById(AclRequestID aclRequestID);
 
+  @Query("SELECT e FROM AclRequests e ORDER BY e.tenantId, e.req_no")
+  List<AclRequests> findPageOrderedById(Pageable pageable);
+
+  @Query(
+      "SELECT e FROM AclRequests e WHERE e.tenantId > :tenantId"
+          + " OR (e.tenantId = :tenantId AND e.req_no > :id) ORDER BY e.tenantId, e.req_no")
+  List<AclRequests> findPageAfterId(
+      @Param("tenantId") Integer tenantId, @Param("id") Integer id, Pageable pageable);
+
+  @Query("SELECT e.req_no FROM AclRequests e WHERE e.tenantId = :tenantId AND e.req_no IN :ids")
+  List<Integer> findIdsIn(
+      @Param("tenantId") Integer tenantId, @Param("ids") Collection<Integer> ids);
+
   List<AclRequests> findAllByTenantId(int tenantId);
 
   List<AclRequests>
@@ -103,5 +118,62 @@ public interface AclRequestsRepo
       @Param("requestor") String requestor,
       @Param("topicStatus") String topicStatus);
 
+  // requests raised by my team, delete requests are always approved by the requesting team
+  @Query(
+      value =
+          "select env, count(*) from kwaclrequests where tenantid = :tenantId"
+              + " and requestingteam = :requestingTeamId and acltype != 'Claim'"
+              + " and requestor != :requestor and topicstatus = :topicStatus group by env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsAclRequestsRaisedByTeamGroupByEnv(
+      @Param("requestingTeamId") Integer requestingTeamId,
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("topicStatus") String topicStatus);
+
+  // requests assigned to my team, delete requests are always approved by the requesting team
+  @Query(
+      value =
+          "select env, count(*) from kwaclrequests where tenantid = :tenantId"
+              + " and ((teamid = :assignedToTeamId and acltype not in ('Claim', 'Delete'))"
+              + " or (requestingteam = :assignedToTeamId and acltype = 'Delete'))"
+              + " and requestor != :requestor and topicstatus = :topicStatus group by env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsAclRequestsAssignedToTeamGroupByEnv(
+      @Param("assignedToTeamId") Integer assignedToTeamId,
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("topicStatus") String topicStatus);
+
+  @Query(
+      value =
+          "select env, count(*) from kwaclrequests where tenantid = :tenantId"
+              + " and acltype != 'Claim' and requestor != :requestor"
+              + " and topicstatus = :topicStatus group by env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsAclRequestsOfAllTeamsGroupByEnv(
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("topicStatus") String topicStatus);
+
+  // claim requests waiting for the approval of my team, which the requestor did not approve yet
+  @Query(
+      value =
+          "select req.env, count(distinct req.aclid) from kwaclrequests req"
+              + " join kwaclapprovals appr on appr.req_no = req.aclid"
+              + " and appr.tenantid = req.tenantid"
+              + " where req.tenantid = :tenantId and req.acltype = 'Claim'"
+              + " and appr.requiredapprover = :teamName and appr.approvername is null"
+              + " and req.requestor != :requestor and req.topicstatus = :topicStatus"
+              + " and not exists (select 1 from kwaclapprovals myappr"
+              + " where myappr.req_no = req.aclid and myappr.tenantid = req.tenantid"
+              + " and myappr.approvername = :requestor) group by req.env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsAclClaimRequestsGroupByEnv(
+      @Param("teamName") String teamName,
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("topicStatus") String topicStatus);
+
   void deleteByTenantId(int tenantId);
 }
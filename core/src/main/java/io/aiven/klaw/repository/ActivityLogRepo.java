@@ -5,6 +5,7 @@ import io.aiven.klaw.dao.ActivityLogID;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -12,18 +13,6 @@ import org.springframework.data.repository.query.Param;
 public interface ActivityLogRepo extends CrudRepository<ActivityLog, ActivityLogID> {
   Optional<ActivityLog> findById(ActivityLogID activityLogID);
 
-  List<ActivityLog> findAllByEnvAndTenantId(String env, int tenantId);
-
-  List<ActivityLog> findAllByEnvAndTeamIdAndTenantIdOrderByActivityTimeAsc(
-      String env, Integer teamId, int tenantId);
-
-  List<ActivityLog> findAllByEnvAndTeamIdAndTenantIdOrderByActivityTimeDesc(
-      String env, Integer teamId, int tenantId);
-
-  List<ActivityLog> findAllByTeamIdAndTenantIdOrderByActivityTimeAsc(Integer team, int tenantId);
-
-  List<ActivityLog> findAllByTeamIdAndTenantIdOrderByActivityTimeDesc(Integer team, int tenantId);
-
   @Query(
       value =
           "select date(activitytime), count(*) from kwactivitylog where "
@@ -42,6 +31,47 @@ public interface ActivityLogRepo extends CrudRepository<ActivityLog, ActivityLog
 
   List<ActivityLog> findAllByTenantId(int tenantId);
 
+  List<ActivityLog> findAllByTenantIdAndActivityTimeBetween(
+      int tenantId, Timestamp activityTimeFrom, Timestamp activityTimeTo, Pageable pageable);
+
+  long countByTenantIdAndActivityTimeBetween(
+      int tenantId, Timestamp activityTimeFrom, Timestamp activityTimeTo);
+
+  List<ActivityLog> findAllByEnvAndTenantIdAndActivityTimeBetween(
+      String env,
+      int tenantId,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo,
+      Pageable pageable);
+
+  long countByEnvAndTenantIdAndActivityTimeBetween(
+      String env, int tenantId, Timestamp activityTimeFrom, Timestamp activityTimeTo);
+
+  List<ActivityLog> findAllByTeamIdAndTenantIdAndActivityTimeBetween(
+      Integer teamId,
+      int tenantId,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo,
+      Pageable pageable);
+
+  long countByTeamIdAndTenantIdAndActivityTimeBetween(
+      Integer teamId, int tenantId, Timestamp activityTimeFrom, Timestamp activityTimeTo);
+
+  List<ActivityLog> findAllByEnvAndTeamIdAndTenantIdAndActivityTimeBetween(
+      String env,
+      Integer teamId,
+      int tenantId,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo,
+      Pageable pageable);
+
+  long countByEnvAndTeamIdAndTenantIdAndActivityTimeBetween(
+      String env,
+      Integer teamId,
+      int tenantId,
+      Timestamp activityTimeFrom,
+      Timestamp activityTimeTo);
+
   @Query(
       value =
           "select date(activitytime), count(*) from kwactivitylog where"
@@ -52,6 +82,14 @@ public interface ActivityLogRepo extends CrudRepository<ActivityLog, ActivityLog
       @Param("tenantId") Integer tenantId,
       @Param("activityTimeAfter") Timestamp activityTime);
 
+  // aggregates of the activity of the tenant, the activity charts are derived from them
+  @Query(
+      value =
+          "select cast(activitytime as date), env, teamid, count(*) from kwactivitylog"
+              + " where tenantid = :tenantId group by cast(activitytime as date), env, teamid",
+      nativeQuery = true)
+  List<Object[]> findActivityLogGroupByDateEnvAndTeam(@Param("tenantId") Integer tenantId);
+
   List<ActivityLog> findByTeamIdAndTenantIdAndActivityTimeAfter(
       Integer teamId, int tenantId, Timestamp activityTime);
 }
@@ -2,9 +2,14 @@ package io.aiven.klaw.repository;
 
 import io.aiven.klaw.dao.KwEntitySequence;
 import io.aiven.klaw.dao.KwEntitySequenceID;
+import jakarta.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface KwEntitySequenceRepo extends CrudRepository<KwEntitySequence, KwEntitySequenceID> {
   Optional<KwEntitySequence> findById(KwEntitySequenceID id);
@@ -12,4 +17,40 @@ public interface KwEntitySequenceRepo extends CrudRepository<KwEntitySequence, K
   List<KwEntitySequence> findAllByEntityNameAndTenantId(String entityName, Integer tenantId);
 
   boolean existsByEntityNameAndTenantId(String entityName, Integer tenantId);
+
+  long countByEntityNameIn(Collection<String> entityNames);
+
+  @Query(
+      value =
+          "select seq_id from kwentityseq where entity_name = :entityName and tenantid = :tenantId",
+      nativeQuery = true)
+  Integer findSeqId(@Param("entityName") String entityName, @Param("tenantId") Integer tenantId);
+
+  // only updated when nobody else moved the sequence since it was read, and committed on its own
+  // so that the reserved ids are not handed out again when the caller's transaction rolls back
+  @Transactional(Transactional.TxType.REQUIRES_NEW)
+  @Modifying
+  @Query(
+      value =
+          "update kwentityseq set seq_id = :newSeqId where entity_name = :entityName"
+              + " and tenantid = :tenantId and seq_id = :seqId",
+      nativeQuery = true)
+  int compareAndSetSeqId(
+      @Param("entityName") String entityName,
+      @Param("tenantId") Integer tenantId,
+      @Param("seqId") Integer seqId,
+      @Param("newSeqId") Integer newSeqId);
+
+  // fails with a duplicate key, rather than overwriting it, when the sequence already exists
+  @Transactional(Transactional.TxType.REQUIRES_NEW)
+  @Modifying
+  @Query(
+      value =
+          "insert into kwentityseq (entity_name, tenantid, seq_id)"
+              + " values (:entityName, :tenantId, :seqId)",
+      nativeQuery = true)
+  int insertSeqId(
+      @Param("entityName") String entityName,
+      @Param("tenantId") Integer tenantId,
+      @Param("seqId") Integer seqId);
 }
@@ -2,8 +2,10 @@ package io.aiven.klaw.repository;
 
 import io.aiven.klaw.dao.KwKafkaConnector;
 import io.aiven.klaw.dao.KwKafkaConnectorID;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +13,20 @@ import org.springframework.data.repository.query.Param;
 public interface KwKafkaConnectorRepo extends CrudRepository<KwKafkaConnector, KwKafkaConnectorID> {
   Optional<KwKafkaConnector> findById(KwKafkaConnectorID topicId);
 
+  @Query("SELECT e FROM KwKafkaConnector e ORDER BY e.tenantId, e.connectorId")
+  List<KwKafkaConnector> findPageOrderedById(Pageable pageable);
+
+  @Query(
+      "SELECT e FROM KwKafkaConnector e WHERE e.tenantId > :tenantId"
+          + " OR (e.tenantId = :tenantId AND e.connectorId > :id) ORDER BY e.tenantId, e.connectorId")
+  List<KwKafkaConnector> findPageAfterId(
+      @Param("tenantId") Integer tenantId, @Param("id") Integer id, Pageable pageable);
+
+  @Query(
+      "SELECT e.connectorId FROM KwKafkaConnector e WHERE e.tenantId = :tenantId AND e.connectorId IN :ids")
+  List<Integer> findIdsIn(
+      @Param("tenantId") Integer tenantId, @Param("ids") Collection<Integer> ids);
+
   List<KwKafkaConnector> findAllByTenantId(int tenantId);
 
   List<KwKafkaConnector> findAllByEnvironmentAndTenantId(String env, int tenantId);
@@ -3,8 +3,10 @@ package io.aiven.klaw.repository;
 import io.aiven.klaw.dao.KafkaConnectorRequest;
 import io.aiven.klaw.dao.KafkaConnectorRequestID;
 import io.aiven.klaw.model.enums.RequestStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +17,20 @@ public interface KwKafkaConnectorRequestsRepo
         QueryByExampleExecutor<KafkaConnectorRequest> {
   Optional<KafkaConnectorRequest> findById(KafkaConnectorRequestID connectorRequestId);
 
+  @Query("SELECT e FROM KafkaConnectorRequest e ORDER BY e.tenantId, e.connectorId")
+  List<KafkaConnectorRequest> findPageOrderedById(Pageable pageable);
+
+  @Query(
+      "SELECT e FROM KafkaConnectorRequest e WHERE e.tenantId > :tenantId"
+          + " OR (e.tenantId = :tenantId AND e.connectorId > :id) ORDER BY e.tenantId, e.connectorId")
+  List<KafkaConnectorRequest> findPageAfterId(
+      @Param("tenantId") Integer tenantId, @Param("id") Integer id, Pageable pageable);
+
+  @Query(
+      "SELECT e.connectorId FROM KafkaConnectorRequest e WHERE e.tenantId = :tenantId AND e.connectorId IN :ids")
+  List<Integer> findIdsIn(
+      @Param("tenantId") Integer tenantId, @Param("ids") Collection<Integer> ids);
+
   List<KafkaConnectorRequest> findAllByRequestStatusAndConnectorNameAndEnvironmentAndTenantId(
       String connectorStatus, String connectorName, String envId, int tenantId);
 
@@ -89,5 +105,32 @@ public interface KwKafkaConnectorRequestsRepo
       @Param("requestor") String requestor,
       @Param("connectorStatus") String connectorStatus);
 
+  // requests the requestor can approve, claim requests are approved by the owning team
+  @Query(
+      value =
+          "select env, count(*) from kwkafkaconnectorrequests where tenantid = :tenantId"
+              + " and ((teamid = :teamId and connectortype != 'Claim')"
+              + " or (approvingteamid = :approvingTeamid and connectortype = 'Claim'))"
+              + " and requestor != :requestor"
+              + " and connectorstatus = :connectorStatus group by env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsConnectorRequestsGroupByEnv(
+      @Param("teamId") Integer teamId,
+      @Param("approvingTeamid") String approvingTeamid,
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("connectorStatus") String connectorStatus);
+
+  @Query(
+      value =
+          "select env, count(*) from kwkafkaconnectorrequests where tenantid = :tenantId"
+              + " and requestor != :requestor"
+              + " and connectorstatus = :connectorStatus group by env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsConnectorRequestsOfAllTeamsGroupByEnv(
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("connectorStatus") String connectorStatus);
+
   void deleteByTenantId(int tenantId);
 }
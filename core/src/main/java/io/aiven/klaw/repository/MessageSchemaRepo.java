@@ -2,8 +2,10 @@ package io.aiven.klaw.repository;
 
 import io.aiven.klaw.dao.MessageSchema;
 import io.aiven.klaw.dao.MessageSchemaID;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +13,19 @@ import org.springframework.data.repository.query.Param;
 public interface MessageSchemaRepo extends CrudRepository<MessageSchema, MessageSchemaID> {
   Optional<MessageSchema> findById(MessageSchemaID avroSchemaId);
 
+  @Query("SELECT e FROM MessageSchema e ORDER BY e.tenantId, e.req_no")
+  List<MessageSchema> findPageOrderedById(Pageable pageable);
+
+  @Query(
+      "SELECT e FROM MessageSchema e WHERE e.tenantId > :tenantId"
+          + " OR (e.tenantId = :tenantId AND e.req_no > :id) ORDER BY e.tenantId, e.req_no")
+  List<MessageSchema> findPageAfterId(
+      @Param("tenantId") Integer tenantId, @Param("id") Integer id, Pageable pageable);
+
+  @Query("SELECT e.req_no FROM MessageSchema e WHERE e.tenantId = :tenantId AND e.req_no IN :ids")
+  List<Integer> findIdsIn(
+      @Param("tenantId") Integer tenantId, @Param("ids") Collection<Integer> ids);
+
   boolean existsByTenantIdAndTopicnameAndEnvironment(
       int tenantId, String topicName, String environmentId);
 
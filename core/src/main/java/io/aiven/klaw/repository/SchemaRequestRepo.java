@@ -2,8 +2,10 @@ package io.aiven.klaw.repository;
 
 import io.aiven.klaw.dao.SchemaRequest;
 import io.aiven.klaw.dao.SchemaRequestID;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +15,19 @@ public interface SchemaRequestRepo
     extends CrudRepository<SchemaRequest, SchemaRequestID>, QueryByExampleExecutor<SchemaRequest> {
   Optional<SchemaRequest> findById(SchemaRequestID schemaRequestId);
 
+  @Query("SELECT e FROM SchemaRequest e ORDER BY e.tenantId, e.req_no")
+  List<SchemaRequest> findPageOrderedById(Pageable pageable);
+
+  @Query(
+      "SELECT e FROM SchemaRequest e WHERE e.tenantId > :tenantId"
+          + " OR (e.tenantId = :tenantId AND e.req_no > :id) ORDER BY e.tenantId, e.req_no")
+  List<SchemaRequest> findPageAfterId(
+      @Param("tenantId") Integer tenantId, @Param("id") Integer id, Pageable pageable);
+
+  @Query("SELECT e.req_no FROM SchemaRequest e WHERE e.tenantId = :tenantId AND e.req_no IN :ids")
+  List<Integer> findIdsIn(
+      @Param("tenantId") Integer tenantId, @Param("ids") Collection<Integer> ids);
+
   boolean existsByTenantIdAndEnvironmentAndRequestStatusAndTopicname(
       int tenantId, String environment, String requestStatus, String topicname);
 
@@ -70,5 +85,27 @@ public interface SchemaRequestRepo
       @Param("requestor") String requestor,
       @Param("topicStatus") String topicStatus);
 
+  @Query(
+      value =
+          "select env, count(*) from kwschemarequests where tenantid = :tenantId"
+              + " and teamid = :teamId and requestor != :requestor"
+              + " and topicstatus = :topicStatus group by env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsSchemaRequestsGroupByEnv(
+      @Param("teamId") Integer teamId,
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("topicStatus") String topicStatus);
+
+  @Query(
+      value =
+          "select env, count(*) from kwschemarequests where tenantid = :tenantId"
+              + " and requestor != :requestor and topicstatus = :topicStatus group by env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsSchemaRequestsOfAllTeamsGroupByEnv(
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("topicStatus") String topicStatus);
+
   void deleteByTenantId(int tenantId);
 }
@@ -2,8 +2,10 @@ package io.aiven.klaw.repository;
 
 import io.aiven.klaw.dao.Topic;
 import io.aiven.klaw.dao.TopicID;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +13,19 @@ import org.springframework.data.repository.query.Param;
 public interface TopicRepo extends CrudRepository<Topic, TopicID> {
   Optional<Topic> findById(TopicID topicId);
 
+  @Query("SELECT e FROM Topic e ORDER BY e.tenantId, e.topicid")
+  List<Topic> findPageOrderedById(Pageable pageable);
+
+  @Query(
+      "SELECT e FROM Topic e WHERE e.tenantId > :tenantId"
+          + " OR (e.tenantId = :tenantId AND e.topicid > :id) ORDER BY e.tenantId, e.topicid")
+  List<Topic> findPageAfterId(
+      @Param("tenantId") Integer tenantId, @Param("id") Integer id, Pageable pageable);
+
+  @Query("SELECT e.topicid FROM Topic e WHERE e.tenantId = :tenantId AND e.topicid IN :ids")
+  List<Integer> findIdsIn(
+      @Param("tenantId") Integer tenantId, @Param("ids") Collection<Integer> ids);
+
   List<Topic> findAllByTenantId(int tenantId);
 
   List<Topic> findAllByTenantIdAndTopicnameIn(int tenantId, List<String> topicsNamesList);
@@ -33,54 +48,23 @@ public interface TopicRepo extends CrudRepository<Topic, TopicID> {
   Integer findDistinctCountTopicnameByTeamId(
       @Param("teamIdVar") Integer teamIdVar, @Param("tenantId") Integer tenantId);
 
-  @Query(
-      value = "select teamid, count(*) from kwtopics where tenantid = :tenantId group by teamid",
-      nativeQuery = true)
-  List<Object[]> findAllTopicsGroupByTeamId(@Param("tenantId") Integer tenantId);
-
   int countByTenantId(int tenantId);
 
   @Query(value = "select count(*) from kwtopics", nativeQuery = true)
   int findAllTopicsCount();
 
-  @Query(
-      value = "select count(*) from kwtopics where teamid = :teamIdVar and tenantid = :tenantId",
-      nativeQuery = true)
-  List<Object[]> findAllTopicsForTeam(
-      @Param("teamIdVar") Integer teamIdVar, @Param("tenantId") Integer tenantId);
-
   boolean existsByEnvironmentAndTenantId(
       @Param("envId") String envId, @Param("tenantId") Integer tenantId);
 
   boolean existsByTeamIdAndTenantId(Integer teamId, Integer tenantId);
 
+  // aggregates of all the topics of the tenant, the analytics charts are derived from them
   @Query(
       value =
-          "select env, count(*) from kwtopics "
-              + "where env in (select id from kwenv where envtype='kafka' and tenantid = :tenantId) and tenantid = :tenantId group by env",
+          "select env, teamid, count(*), sum(partitions) from kwtopics"
+              + " where tenantid = :tenantId group by env, teamid",
       nativeQuery = true)
-  List<Object[]> findAllTopicsGroupByEnv(@Param("tenantId") Integer tenantId);
-
-  @Query(
-      value =
-          "select env, sum(partitions) from kwtopics "
-              + "where env in (select id from kwenv where envtype='kafka' and tenantid = :tenantId) and tenantid = :tenantId group by env",
-      nativeQuery = true)
-  List<Object[]> findAllPartitionsGroupByEnv(@Param("tenantId") Integer tenantId);
-
-  @Query(
-      value =
-          "select env, sum(partitions) from kwtopics where teamid = :teamIdVar and tenantid = :tenantId group by env",
-      nativeQuery = true)
-  List<Object[]> findAllPartitionsForTeamGroupByEnv(
-      @Param("teamIdVar") Integer teamIdVar, @Param("tenantId") Integer tenantId);
-
-  @Query(
-      value =
-          "select env, count(*) from kwtopics where teamid = :teamIdVar and tenantid = :tenantId group by env",
-      nativeQuery = true)
-  List<Object[]> findAllTopicsForTeamGroupByEnv(
-      @Param("teamIdVar") Integer teamIdVar, @Param("tenantId") Integer tenantId);
+  List<Object[]> findAllTopicsGroupByEnvAndTeam(@Param("tenantId") Integer tenantId);
 
   @Query(value = "select max(topicid) from kwtopics where tenantid = :tenantId", nativeQuery = true)
   Integer getNextTopicRequestId(@Param("tenantId") Integer tenantId);
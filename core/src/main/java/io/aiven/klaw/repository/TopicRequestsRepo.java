@@ -2,10 +2,12 @@ package io.aiven.klaw.repository;
 
 import io.aiven.klaw.dao.TopicRequest;
 import io.aiven.klaw.dao.TopicRequestID;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +17,19 @@ public interface TopicRequestsRepo
     extends CrudRepository<TopicRequest, TopicRequestID>, QueryByExampleExecutor<TopicRequest> {
   Optional<TopicRequest> findById(TopicRequestID topicRequestId);
 
+  @Query("SELECT e FROM TopicRequest e ORDER BY e.tenantId, e.topicid")
+  List<TopicRequest> findPageOrderedById(Pageable pageable);
+
+  @Query(
+      "SELECT e FROM TopicRequest e WHERE e.tenantId > :tenantId"
+          + " OR (e.tenantId = :tenantId AND e.topicid > :id) ORDER BY e.tenantId, e.topicid")
+  List<TopicRequest> findPageAfterId(
+      @Param("tenantId") Integer tenantId, @Param("id") Integer id, Pageable pageable);
+
+  @Query("SELECT e.topicid FROM TopicRequest e WHERE e.tenantId = :tenantId AND e.topicid IN :ids")
+  List<Integer> findIdsIn(
+      @Param("tenantId") Integer tenantId, @Param("ids") Collection<Integer> ids);
+
   List<TopicRequest> findAllByTenantId(int tenantId);
 
   boolean existsByTenantIdAndEnvironmentAndRequestStatusAndTopicname(
@@ -104,6 +119,31 @@ public interface TopicRequestsRepo
       @Param("requestor") String requestor,
       @Param("topicStatus") String topicStatus);
 
+  // requests the requestor can approve, claim requests are approved by the owning team
+  @Query(
+      value =
+          "select env, count(*) from kwtopicrequests where tenantid = :tenantId"
+              + " and ((teamid = :teamId and topictype != 'Claim')"
+              + " or (approvingteamid = :approvingTeamId and topictype = 'Claim'))"
+              + " and requestor != :requestor and topicstatus = :topicStatus group by env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsTopicRequestsGroupByEnv(
+      @Param("teamId") Integer teamId,
+      @Param("approvingTeamId") String approvingTeamId,
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("topicStatus") String topicStatus);
+
+  @Query(
+      value =
+          "select env, count(*) from kwtopicrequests where tenantid = :tenantId"
+              + " and requestor != :requestor and topicstatus = :topicStatus group by env",
+      nativeQuery = true)
+  List<Object[]> countRequestorsTopicRequestsOfAllTeamsGroupByEnv(
+      @Param("tenantId") Integer tenantId,
+      @Param("requestor") String requestor,
+      @Param("topicStatus") String topicStatus);
+
   void deleteByTenantId(int tenantId);
 
   private Map<String, Long> deriveCountsFromRequests(List<Object[]> list) {
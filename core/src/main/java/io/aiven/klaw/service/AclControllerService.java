@@ -741,8 +741,7 @@ public class AclControllerService {
       return ApiResponse.notOk("Acl no longer exists");
     }
     Optional<Topic> topic =
-        manageDatabase.getTopicsForTenant(tenantId).stream()
-            .filter(topicSearch -> topicSearch.getTopicname().equals(acl.get().getTopicname()))
+        manageDatabase.getTopicCatalog(tenantId).getTopicsByName(acl.get().getTopicname()).stream()
             .findFirst();
 
     if (topic.isEmpty()) {
@@ -872,11 +871,9 @@ public class AclControllerService {
       return ApiResponse.notOk(REQ_ERR_101);
     }
 
-    if (manageDatabase.getTopicsForTenant(tenantId).stream()
-        .noneMatch(
-            topic ->
-                topic.getEnvironment().equals(aclReq.getEnvironment())
-                    && aclReq.getTopicname().equals(topic.getTopicname()))) {
+    if (!manageDatabase
+        .getTopicCatalog(tenantId)
+        .existsTopicInEnv(aclReq.getTopicname(), aclReq.getEnvironment())) {
       return ApiResponse.notOk(ACL_ERR_101);
     }
 
@@ -30,7 +30,9 @@ import io.aiven.klaw.model.enums.KafkaFlavors;
 import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.model.enums.RequestOperationType;
+import io.aiven.klaw.service.utils.AclResourceIndex;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -502,11 +504,18 @@ public class AclSyncControllerService {
     List<String> teamList = new ArrayList<>();
     teamList = tenantFiltering(teamList);
 
-    List<String> topicListInSelectedEnv =
-        manageDatabase.getTopicsForTenant(tenantId).stream()
-            .filter(topic -> topic.getEnvironment().equals(env))
+    Set<String> topicListInSelectedEnv =
+        manageDatabase.getTopicCatalog(tenantId).getTopicsByEnv(env).stream()
             .map(Topic::getTopicname)
-            .toList();
+            .collect(Collectors.toSet());
+
+    // the acls of the cluster are matched on the resource name only, whatever the pattern type
+    AclResourceIndex<Acl> aclsFromMetadataIndex = new AclResourceIndex<>();
+    for (Acl aclSotItem : aclsFromMetadata) {
+      if (aclSotItem.getTopicname() != null) {
+        aclsFromMetadataIndex.addLiteral(aclSotItem.getTopicname(), aclSotItem);
+      }
+    }
 
     for (Map<String, String> aclListItem : aclListFromCluster) {
       AclInfo mp = new AclInfo();
@@ -538,7 +547,12 @@ public class AclSyncControllerService {
       mp.setAcl_ip(aclListItem.get("host"));
       mp.setAcl_ssl(aclListItem.get("principle"));
 
-      for (Acl aclSotItem : aclsFromMetadata) {
+      String resourceName = aclListItem.get("resourceName");
+      List<Acl> aclsOfResource =
+          resourceName == null
+              ? Collections.emptyList()
+              : aclsFromMetadataIndex.getExact(resourceName);
+      for (Acl aclSotItem : aclsOfResource) {
         String acl_ssl = aclSotItem.getAclssl();
         String acl_host = aclSotItem.getAclip();
 
@@ -556,9 +570,7 @@ public class AclSyncControllerService {
           acl_host = "*";
         }
 
-        if (aclSotItem.getTopicname() != null
-            && Objects.equals(aclListItem.get("resourceName"), aclSotItem.getTopicname())
-            && Objects.equals(aclListItem.get("host"), acl_host)
+        if (Objects.equals(aclListItem.get("host"), acl_host)
             && Objects.equals(aclListItem.get("principle"), acl_ssl)
             && Objects.equals(aclSotItem.getAclType(), mp.getTopictype())) {
           mp.setTeamname(manageDatabase.getTeamNameFromTeamId(tenantId, aclSotItem.getTeamId()));
@@ -610,6 +622,13 @@ public class AclSyncControllerService {
       int tenantId,
       String env) {
 
+    AclResourceIndex<Map<String, String>> aclListFromClusterIndex = new AclResourceIndex<>();
+    for (Map<String, String> aclListItem : aclListFromCluster) {
+      if (aclListItem.get("resourceName") != null) {
+        aclListFromClusterIndex.addLiteral(aclListItem.get("resourceName"), aclListItem);
+      }
+    }
+
     for (Acl aclSotItem : aclsFromMetadata) {
       String acl_ssl = aclSotItem.getAclssl();
       String acl_host = aclSotItem.getAclip();
@@ -633,15 +652,14 @@ public class AclSyncControllerService {
       AclInfo mp = new AclInfo();
 
       List<Map<String, String>> aclListFromClusterSubList =
-          aclListFromCluster.stream()
-              .filter(
-                  aclListItem -> {
-                    return Objects.equals(
-                            aclListItem.get("resourceName"), aclSotItem.getTopicname())
-                        && Objects.equals(aclListItem.get("host"), finalAcl_host)
-                        && Objects.equals(aclListItem.get("principle"), finalAcl_ssl);
-                  })
-              .toList();
+          aclSotItem.getTopicname() == null
+              ? Collections.emptyList()
+              : aclListFromClusterIndex.getExact(aclSotItem.getTopicname()).stream()
+                  .filter(
+                      aclListItem ->
+                          Objects.equals(aclListItem.get("host"), finalAcl_host)
+                              && Objects.equals(aclListItem.get("principle"), finalAcl_ssl))
+                  .toList();
 
       boolean aclFoundMatch = false;
 
@@ -687,7 +705,7 @@ public class AclSyncControllerService {
   }
 
   private boolean verifyIfTopicExists(
-      Map<String, String> aclListItemFromCluster, List<String> topicListInSelectedEnv) {
+      Map<String, String> aclListItemFromCluster, Set<String> topicListInSelectedEnv) {
     String topicName;
     if (TOPIC_RESOURCE.equalsIgnoreCase(aclListItemFromCluster.get("resourceType"))) {
       topicName = aclListItemFromCluster.get("resourceName");
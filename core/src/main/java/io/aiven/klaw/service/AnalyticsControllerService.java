@@ -7,35 +7,52 @@ import static io.aiven.klaw.error.KlawErrorMessages.ANALYTICS_104;
 import static io.aiven.klaw.error.KlawErrorMessages.ANALYTICS_105;
 import static io.aiven.klaw.error.KlawErrorMessages.ANALYTICS_106;
 import static io.aiven.klaw.error.KlawErrorMessages.ANALYTICS_107;
-
+import static io.aiven.klaw.error.KlawErrorMessages.ANALYTICS_108;
+import static io.aiven.klaw.error.KlawErrorMessages.ANALYTICS_109;
+import static io.aiven.klaw.error.KlawErrorMessages.ANALYTICS_110;
+import static io.aiven.klaw.error.KlawErrorMessages.ANALYTICS_111;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.constants.MapConstants;
 import io.aiven.klaw.dao.Acl;
 import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.error.KlawBadRequestException;
 import io.aiven.klaw.helpers.KwConstants;
 import io.aiven.klaw.model.charts.ChartsJsOverview;
 import io.aiven.klaw.model.charts.TeamOverview;
 import io.aiven.klaw.model.enums.AclType;
 import io.aiven.klaw.model.enums.ApiResultStatus;
 import io.aiven.klaw.model.enums.PermissionType;
+import io.aiven.klaw.model.enums.ReportJobStatus;
 import io.aiven.klaw.model.response.AclsCountPerEnv;
+import io.aiven.klaw.model.response.KwReportJob;
 import io.aiven.klaw.model.response.TopicsCountPerEnv;
 import java.io.*;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -68,6 +85,49 @@ public class AnalyticsControllerService {
 
   @Autowired private CommonUtilsService commonUtilsService;
 
+  @Autowired
+  @Qualifier("reportTaskExecutor")
+  private Executor reportTaskExecutor;
+
+  // rows of a sheet kept in memory while a report is written, older rows are flushed to disk
+  private static final int REPORT_ROWS_IN_MEMORY = 100;
+
+  // completed reports can be downloaded for an hour, then their files are deleted. Running jobs
+  // are kept until they complete, they are put again then.
+  private final Cache<String, ReportJob> reportJobs =
+      Caffeine.newBuilder()
+          .expireAfter(
+              new Expiry<String, ReportJob>() {
+                @Override
+                public long expireAfterCreate(String jobId, ReportJob reportJob, long currentTime) {
+                  return reportJob.status == ReportJobStatus.RUNNING
+                      ? Long.MAX_VALUE
+                      : Duration.ofHours(1).toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(
+                    String jobId, ReportJob reportJob, long currentTime, long currentDuration) {
+                  return expireAfterCreate(jobId, reportJob, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(
+                    String jobId, ReportJob reportJob, long currentTime, long currentDuration) {
+                  return currentDuration;
+                }
+              })
+          .removalListener(
+              (String jobId, ReportJob reportJob, RemovalCause cause) -> {
+                if (reportJob != null && reportJob.reportFile != null) {
+                  reportJob.reportFile.delete();
+                }
+              })
+          .build();
+
+  // a report depends on the user, who sees the topics of their team and envs, and on the days
+  private final Map<ReportJobKey, ReportJob> reportJobsInProgress = new ConcurrentHashMap<>();
+
   public static final DateTimeFormatter DATE_TIME_FORMATTER =
       new DateTimeFormatterBuilder()
           .appendPattern("yyyy-MM-ddHH-mm-ss")
@@ -396,275 +456,299 @@ public class AnalyticsControllerService {
   }
 
   public File generateReport(int numberOfDays) {
-    int tenantId = commonUtilsService.getTenantId(getCurrentUserName());
-    String kwReportsLocation =
-        manageDatabase.getKwPropertyValue(KwConstants.KW_REPORTS_TMP_LOCATION_KEY, tenantId);
-
-    List<TeamOverview> totalOverviewList = getTeamsOverview(null, numberOfDays);
-    final Map<String, List<String>> topicNames = getTopicNames(tenantId);
-    final Map<String, List<String>> consumerGroups = getConsumerGroups(tenantId);
-    File zipFile =
-        new File(
-            kwReportsLocation + "KwReport" + DATE_TIME_FORMATTER.format(Instant.now()) + ".zip");
-    ZipOutputStream zipOutputStream = null;
+    ReportScope reportScope = getReportScope(numberOfDays);
+    File zipFile = newReportFile(reportScope);
     try {
-      zipOutputStream = new ZipOutputStream(new FileOutputStream(zipFile));
-    } catch (FileNotFoundException e) {
+      writeReport(reportScope, zipFile);
+    } catch (IOException e) {
       log.error("Exception:", e);
     }
+    return zipFile;
+  }
 
-    String actualFileName;
-    List<File> reportFilesOfTenants = new ArrayList<>();
-    for (TeamOverview totalOverview : totalOverviewList) {
-      if (totalOverview.getTenantName() != null) {
-        actualFileName = "Klaw-" + totalOverview.getTenantName() + ".xlsx";
-      } else {
-        actualFileName = "KlawReport" + ".xlsx";
-      }
-
-      String fileName = kwReportsLocation + actualFileName;
-      File reportFile = new File(fileName);
-      reportFilesOfTenants.add(reportFile);
-
-      XSSFWorkbook workbook = new XSSFWorkbook();
+  /**
+   * Starts generating the report of the current user on the reports pool, the returned job is
+   * polled by this user until the report is completed. A report already being generated for the
+   * user and the same number of days is returned instead of starting another one.
+   */
+  public KwReportJob startReportJob(int numberOfDays) throws KlawBadRequestException {
+    ReportScope reportScope = getReportScope(numberOfDays);
+    ReportJob reportJob =
+        new ReportJob(
+            UUID.randomUUID().toString(),
+            new ReportJobKey(reportScope.tenantId(), reportScope.userName(), numberOfDays));
+    ReportJob jobInProgress = reportJobsInProgress.putIfAbsent(reportJob.key, reportJob);
+    if (jobInProgress != null) {
+      return jobInProgress.toKwReportJob();
+    }
+    reportJobs.put(reportJob.jobId, reportJob);
+    try {
+      reportTaskExecutor.execute(() -> runReportJob(reportJob, reportScope));
+    } catch (RejectedExecutionException e) {
+      log.error("Report of user {} rejected", reportJob.key.userName(), e);
+      reportJobs.invalidate(reportJob.jobId);
+      reportJobsInProgress.remove(reportJob.key, reportJob);
+      throw new KlawBadRequestException(ANALYTICS_111);
+    }
+    return reportJob.toKwReportJob();
+  }
 
-      generateReportPerView(totalOverview.getTopicsPerEnvOverview(), workbook, reportFile);
-      generateReportPerView(totalOverview.getPartitionsPerEnvOverview(), workbook, reportFile);
-      generateReportPerView(totalOverview.getTopicsPerTeamsOverview(), workbook, reportFile);
-      generateReportPerView(totalOverview.getAclsPerEnvOverview(), workbook, reportFile);
-      generateReportPerView(totalOverview.getProducerAclsPerTeamsOverview(), workbook, reportFile);
-      generateReportPerView(totalOverview.getConsumerAclsPerTeamsOverview(), workbook, reportFile);
-      generateReportPerView(totalOverview.getActivityLogOverview(), workbook, reportFile);
+  public KwReportJob getReportJob(String jobId) throws KlawBadRequestException {
+    return findReportJob(jobId).toKwReportJob();
+  }
 
-      addTopicNamesPerEnvToReport(topicNames, workbook, reportFile, "Topics");
-      addTopicNamesPerEnvToReport(consumerGroups, workbook, reportFile, "ConsumerGroups");
+  public File getReportOfJob(String jobId) throws KlawBadRequestException {
+    ReportJob reportJob = findReportJob(jobId);
+    return switch (reportJob.status) {
+      case COMPLETED -> reportJob.reportFile;
+      case FAILED -> throw new KlawBadRequestException(ANALYTICS_110);
+      default -> throw new KlawBadRequestException(ANALYTICS_109);
+    };
+  }
 
-      log.info("Report generated");
-      if (zipOutputStream != null) {
-        writeToZipFile(zipOutputStream, fileName, actualFileName);
-      }
+  private ReportJob findReportJob(String jobId) throws KlawBadRequestException {
+    ReportJob reportJob = jobId == null ? null : reportJobs.getIfPresent(jobId);
+    String userName = getCurrentUserName();
+    // jobs of other users are not found, their reports may show topics this user can not see
+    if (reportJob == null
+        || !reportJob.key.userName().equals(userName)
+        || reportJob.key.tenantId() != commonUtilsService.getTenantId(userName)) {
+      throw new KlawBadRequestException(ANALYTICS_108);
     }
+    return reportJob;
+  }
 
+  private void runReportJob(ReportJob reportJob, ReportScope reportScope) {
+    File zipFile = newReportFile(reportScope);
     try {
-      if (zipOutputStream != null) {
-        zipOutputStream.close();
-        // delete xlsx report file after writing to zip file.
-        for (File reportFilesOfTenant : reportFilesOfTenants) {
-          reportFilesOfTenant.delete();
-        }
-      }
-    } catch (IOException e) {
+      writeReport(reportScope, zipFile);
+      reportJob.reportFile = zipFile;
+      reportJob.status = ReportJobStatus.COMPLETED;
+    } catch (Exception e) {
       log.error("Exception:", e);
+      reportJob.status = ReportJobStatus.FAILED;
+    } finally {
+      reportJobs.put(reportJob.jobId, reportJob);
+      reportJobsInProgress.remove(reportJob.key, reportJob);
     }
-
-    return zipFile;
   }
 
-  private void writeToZipFile(ZipOutputStream zos, String fullFileName, String fileName) {
-    try {
-      ZipEntry e = new ZipEntry(fileName);
-      zos.putNextEntry(e);
-
-      FileInputStream fis = new FileInputStream(fullFileName);
+  // everything which depends on the current user, the report itself can be written on any thread
+  private ReportScope getReportScope(int numberOfDays) {
+    String userName = getCurrentUserName();
+    int tenantId = commonUtilsService.getTenantId(userName);
+    Integer teamId =
+        commonUtilsService.isNotAuthorizedUser(
+                commonUtilsService.getPrincipal(), PermissionType.ALL_TEAMS_REPORTS)
+            ? commonUtilsService.getTeamId(userName)
+            : null;
+    Map<String, String> envNames = new HashMap<>();
+    for (String envId : commonUtilsService.getEnvsFromUserId(userName)) {
+      envNames.put(envId, getEnvName(envId));
+    }
+    return new ReportScope(
+        userName,
+        tenantId,
+        teamId,
+        envNames,
+        getTeamsOverview(null, numberOfDays),
+        manageDatabase.getKwPropertyValue(KwConstants.KW_REPORTS_TMP_LOCATION_KEY, tenantId));
+  }
 
-      byte[] bytes = new byte[1024];
-      int length;
-      while ((length = fis.read(bytes)) >= 0) {
-        zos.write(bytes, 0, length);
+  // the workbooks are streamed into the zip file, only a window of rows of each sheet is in memory
+  private void writeReport(ReportScope reportScope, File zipFile) throws IOException {
+    try (ZipOutputStream zipOutputStream =
+        new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)))) {
+      Map<String, List<String>> topicNames = getTopicNames(reportScope);
+      Map<String, List<String>> consumerGroups = getConsumerGroups(reportScope);
+      for (TeamOverview totalOverview : reportScope.overviews()) {
+        String actualFileName;
+        if (totalOverview.getTenantName() != null) {
+          actualFileName = "Klaw-" + totalOverview.getTenantName() + ".xlsx";
+        } else {
+          actualFileName = "KlawReport" + ".xlsx";
+        }
+        zipOutputStream.putNextEntry(new ZipEntry(actualFileName));
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(REPORT_ROWS_IN_MEMORY);
+        workbook.setCompressTempFiles(true);
+        try {
+          generateReportPerView(totalOverview.getTopicsPerEnvOverview(), workbook);
+          generateReportPerView(totalOverview.getPartitionsPerEnvOverview(), workbook);
+          generateReportPerView(totalOverview.getTopicsPerTeamsOverview(), workbook);
+          generateReportPerView(totalOverview.getAclsPerEnvOverview(), workbook);
+          generateReportPerView(totalOverview.getProducerAclsPerTeamsOverview(), workbook);
+          generateReportPerView(totalOverview.getConsumerAclsPerTeamsOverview(), workbook);
+          generateReportPerView(totalOverview.getActivityLogOverview(), workbook);
+
+          addTopicNamesPerEnvToReport(topicNames, workbook, "Topics");
+          addTopicNamesPerEnvToReport(consumerGroups, workbook, "ConsumerGroups");
+
+          // the zip stream stays open for the reports of the other tenants
+          workbook.write(CloseShieldOutputStream.wrap(zipOutputStream));
+        } finally {
+          workbook.close();
+          workbook.dispose();
+        }
+        zipOutputStream.closeEntry();
+        log.info("Report generated");
       }
-
-    } catch (IOException e) {
-      log.error("Exception:", e);
     }
   }
 
+  private static File newReportFile(ReportScope reportScope) {
+    return new File(
+        reportScope.reportsLocation()
+            + "KwReport"
+            + DATE_TIME_FORMATTER.format(Instant.now())
+            + ".zip");
+  }
+
   private void addTopicNamesPerEnvToReport(
-      Map<String, List<String>> topicNames,
-      XSSFWorkbook workbook,
-      File reportFile,
-      String sheetName) {
-    XSSFSheet sheet = workbook.createSheet(sheetName);
-    Map<Integer, Object[]> data = new TreeMap<>();
-    int id = 1;
+      Map<String, List<String>> topicNames, SXSSFWorkbook workbook, String sheetName) {
+    Sheet sheet = workbook.createSheet(sheetName);
     List<String> envNames = new ArrayList<>(topicNames.keySet());
 
     // set header row
-    data.put(id, new Object[] {"S.No", envNames});
-    id++;
+    int rownum = 0;
+    Row row = sheet.createRow(rownum++);
+    row.createCell(0).setCellValue("S.No");
+    for (int i = 0; i < envNames.size(); i++) {
+      row.createCell(i + 1).setCellValue(envNames.get(i));
+    }
 
     int maxSize = 0;
-
     List<List<String>> allTopicLists = new ArrayList<>();
     for (String envName : envNames) {
       allTopicLists.add(topicNames.get(envName));
-      if (topicNames.get(envName).size() > maxSize) {
-        maxSize = topicNames.get(envName).size();
-      }
+      maxSize = Math.max(maxSize, topicNames.get(envName).size());
     }
 
     // set content
-    List<String> rowValList;
     for (int i = 0; i < maxSize; i++) {
-      rowValList = new ArrayList<>();
-      for (List<String> allTopicList : allTopicLists) {
-        if (allTopicList.size() > i) {
-          rowValList.add(allTopicList.get(i));
-        } else {
-          rowValList.add("");
-        }
+      row = sheet.createRow(rownum++);
+      row.createCell(0).setCellValue(i + 1);
+      for (int j = 0; j < allTopicLists.size(); j++) {
+        List<String> allTopicList = allTopicLists.get(j);
+        row.createCell(j + 1).setCellValue(allTopicList.size() > i ? allTopicList.get(i) : "");
       }
-      data.put(id, new Object[] {id - 1, rowValList});
-      id++;
     }
-
-    addData(sheet, data);
-    writeToFile(sheetName, workbook, reportFile);
+    log.info("Added Sheet {}", sheetName);
   }
 
-  private void addData(XSSFSheet sheet, Map<Integer, Object[]> data) {
-    int rownum = 0;
-    org.apache.poi.ss.usermodel.Row rowXl;
-    Set<Integer> keyset = data.keySet();
-    for (Integer key : keyset) {
-      rowXl = sheet.createRow(rownum++);
-      Object[] objArr = data.get(key);
-      int cellnum = 0;
-      Cell cell;
-      for (Object obj : objArr) {
-        if (obj instanceof String) {
-          cell = rowXl.createCell(cellnum++);
-          cell.setCellValue((String) obj);
-        } else if (obj instanceof Integer) {
-          cell = rowXl.createCell(cellnum++);
-          cell.setCellValue((Integer) obj);
-        } else if (obj instanceof List) {
-          List<String> strList = (List<String>) obj;
-          for (String s : strList) {
-            cell = rowXl.createCell(cellnum++);
-            cell.setCellValue(s);
-          }
-        }
-      }
-    }
-  }
-
-  private void generateReportPerView(
-      ChartsJsOverview chartsJsOverview, XSSFWorkbook workbook, File reportFile) {
-    // Create a blank sheet
-    XSSFSheet sheet = workbook.createSheet(chartsJsOverview.getTitleForReport());
-    // This data needs to be written (Object[])
-    Map<Integer, Object[]> data = new HashMap<>();
-    List<Integer> data1 = chartsJsOverview.getData();
+  private void generateReportPerView(ChartsJsOverview chartsJsOverview, SXSSFWorkbook workbook) {
+    Sheet sheet = workbook.createSheet(chartsJsOverview.getTitleForReport());
+    List<Integer> data = chartsJsOverview.getData();
     List<String> labels = chartsJsOverview.getLabels();
 
     // header
-    data.put(
-        1,
-        new Object[] {"S.No", chartsJsOverview.getXAxisLabel(), chartsJsOverview.getYAxisLabel()});
-    int id = 2;
+    int rownum = 0;
+    Row row = sheet.createRow(rownum++);
+    row.createCell(0).setCellValue("S.No");
+    row.createCell(1).setCellValue(chartsJsOverview.getXAxisLabel());
+    row.createCell(2).setCellValue(chartsJsOverview.getYAxisLabel());
 
     // content
-    for (int i = 0; i < data1.size(); i++) {
+    for (int i = 0; i < data.size(); i++) {
       if (!"".equals(labels.get(i))) {
-        data.put(id, new Object[] {id - 1, labels.get(i), data1.get(i)});
-        id++;
+        row = sheet.createRow(rownum);
+        row.createCell(0).setCellValue(rownum);
+        row.createCell(1).setCellValue(labels.get(i));
+        row.createCell(2).setCellValue(data.get(i));
+        rownum++;
       }
     }
-
-    addData(sheet, data);
-
-    writeToFile(chartsJsOverview.getOptions().getTitle().toString(), workbook, reportFile);
+    log.info("Added Sheet {}", chartsJsOverview.getOptions().getTitle());
   }
 
-  private void writeToFile(String title, XSSFWorkbook workbook, File reportFile) {
-    try {
-      // Write the workbook in file system
-      FileOutputStream out = new FileOutputStream(reportFile);
-      workbook.write(out);
-      out.close();
-      log.info("Added Sheet {}", title);
-    } catch (Exception e) {
-      log.error("Error : writeToFile ", e);
-    }
-  }
-
-  private Map<String, List<String>> getTopicNames(int tenantId) {
-    // tenant filtering
-    final Set<String> allowedEnvIdSet = commonUtilsService.getEnvsFromUserId(getCurrentUserName());
-
-    Map<String, List<String>> topicsPerEnv = new HashMap<>();
-    if (commonUtilsService.isNotAuthorizedUser(
-        commonUtilsService.getPrincipal(), PermissionType.ALL_TEAMS_REPORTS)) {
+  private Map<String, List<String>> getTopicNames(ReportScope reportScope) {
+    List<Topic> topics;
+    if (reportScope.teamId() != null) {
       // normal user
-      Integer userTeamId = commonUtilsService.getTeamId(getCurrentUserName());
-      List<Topic> topics =
-          manageDatabase.getHandleDbRequests().getTopicsforTeam(userTeamId, tenantId);
-
-      for (String env : allowedEnvIdSet) {
-        topicsPerEnv.put(
-            getEnvName(env),
-            topics.stream()
-                .filter(topic -> Objects.equals(topic.getEnvironment(), env))
-                .map(Topic::getTopicname)
-                .sorted()
-                .collect(Collectors.toList()));
-      }
+      topics =
+          manageDatabase
+              .getHandleDbRequests()
+              .getTopicsforTeam(reportScope.teamId(), reportScope.tenantId());
     } else {
       // admin
-      List<Topic> topics = manageDatabase.getHandleDbRequests().getAllTopics(tenantId);
-      for (String env : allowedEnvIdSet) {
-        topicsPerEnv.put(
-            getEnvName(env),
-            topics.stream()
-                .filter(topic -> Objects.equals(topic.getEnvironment(), env))
-                .map(Topic::getTopicname)
-                .sorted()
-                .collect(Collectors.toList()));
-      }
+      topics = manageDatabase.getHandleDbRequests().getAllTopics(reportScope.tenantId());
     }
 
+    Map<String, List<String>> topicsPerEnv = new HashMap<>();
+    reportScope
+        .envNames()
+        .forEach(
+            (env, envName) ->
+                topicsPerEnv.put(
+                    envName,
+                    topics.stream()
+                        .filter(topic -> Objects.equals(topic.getEnvironment(), env))
+                        .map(Topic::getTopicname)
+                        .sorted()
+                        .collect(Collectors.toList())));
     return topicsPerEnv;
   }
 
-  private Map<String, List<String>> getConsumerGroups(int tenantId) {
-    // tenant filtering
-    final Set<String> allowedEnvIdSet = commonUtilsService.getEnvsFromUserId(getCurrentUserName());
-
-    Map<String, List<String>> aclsPerEnv = new HashMap<>();
-    if (commonUtilsService.isNotAuthorizedUser(
-        commonUtilsService.getPrincipal(), PermissionType.ALL_TEAMS_REPORTS)) {
+  private Map<String, List<String>> getConsumerGroups(ReportScope reportScope) {
+    List<Acl> acls;
+    if (reportScope.teamId() != null) {
       // normal user
-      Integer userTeamId = commonUtilsService.getTeamId(getCurrentUserName());
-      List<Acl> acls =
-          manageDatabase.getHandleDbRequests().getConsumerGroupsforTeam(userTeamId, tenantId);
-
-      for (String env : allowedEnvIdSet) {
-        aclsPerEnv.put(
-            getEnvName(env),
-            acls.stream()
-                .filter(
-                    acl ->
-                        Objects.equals(acl.getEnvironment(), env) && acl.getConsumergroup() != null)
-                .map(Acl::getConsumergroup)
-                .sorted()
-                .collect(Collectors.toList()));
-      }
+      acls =
+          manageDatabase
+              .getHandleDbRequests()
+              .getConsumerGroupsforTeam(reportScope.teamId(), reportScope.tenantId());
     } else {
       // admin
-      List<Acl> acls = manageDatabase.getHandleDbRequests().getAllConsumerGroups(tenantId);
-      for (String env : allowedEnvIdSet) {
-        aclsPerEnv.put(
-            getEnvName(env),
-            acls.stream()
-                .filter(
-                    acl ->
-                        Objects.equals(acl.getEnvironment(), env) && acl.getConsumergroup() != null)
-                .map(Acl::getConsumergroup)
-                .sorted()
-                .collect(Collectors.toList()));
-      }
+      acls = manageDatabase.getHandleDbRequests().getAllConsumerGroups(reportScope.tenantId());
     }
 
+    Map<String, List<String>> aclsPerEnv = new HashMap<>();
+    reportScope
+        .envNames()
+        .forEach(
+            (env, envName) ->
+                aclsPerEnv.put(
+                    envName,
+                    acls.stream()
+                        .filter(
+                            acl ->
+                                Objects.equals(acl.getEnvironment(), env)
+                                    && acl.getConsumergroup() != null)
+                        .map(Acl::getConsumergroup)
+                        .sorted()
+                        .collect(Collectors.toList())));
     return aclsPerEnv;
   }
+
+  private record ReportScope(
+      String userName,
+      int tenantId,
+      Integer teamId,
+      Map<String, String> envNames,
+      List<TeamOverview> overviews,
+      String reportsLocation) {}
+
+  private record ReportJobKey(int tenantId, String userName, int numberOfDays) {}
+
+  private static class ReportJob {
+    private final String jobId;
+    private final ReportJobKey key;
+    private volatile ReportJobStatus status = ReportJobStatus.RUNNING;
+    private volatile File reportFile;
+
+    private ReportJob(String jobId, ReportJobKey key) {
+      this.jobId = jobId;
+      this.key = key;
+    }
+
+    private KwReportJob toKwReportJob() {
+      KwReportJob kwReportJob = new KwReportJob();
+      kwReportJob.setJobId(jobId);
+      kwReportJob.setStatus(status);
+      if (reportFile != null) {
+        kwReportJob.setFilename(reportFile.getName());
+      }
+      return kwReportJob;
+    }
+  }
 }
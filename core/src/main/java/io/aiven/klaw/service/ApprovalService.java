@@ -154,10 +154,7 @@ public class ApprovalService {
    * @return true if there is an approval that the user fits the requirements for to approve
    */
   public boolean isUserAQualifiedOutstandingApprover(List<Approval> approvals, String username) {
-    Optional<UserInfo> user =
-        manageDatabase.selectAllCachedUserInfo().stream()
-            .filter(u -> u.getUsername().equals(username))
-            .findFirst();
+    Optional<UserInfo> user = manageDatabase.getCachedUserInfo(username);
     if (user.isEmpty()) {
       return false;
     }
@@ -198,10 +195,7 @@ public class ApprovalService {
 
     List<Approval> remaining = getRemainingApprovals(approvals);
 
-    Optional<UserInfo> user =
-        manageDatabase.selectAllCachedUserInfo().stream()
-            .filter(u -> u.getUsername().equals(userName))
-            .findFirst();
+    Optional<UserInfo> user = manageDatabase.getCachedUserInfo(userName);
     Set<ApprovalType> completedApprovalTypes = new HashSet<>();
 
     if (user.isPresent()) {
@@ -4,6 +4,8 @@ import static io.aiven.klaw.error.KlawErrorMessages.*;
 import static io.aiven.klaw.helpers.KwConstants.*;
 import static io.aiven.klaw.helpers.UtilMethods.updateEnvStatus;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.dao.AclRequests;
 import io.aiven.klaw.dao.Env;
@@ -16,6 +18,7 @@ import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.cluster.ClusterAclRequest;
 import io.aiven.klaw.model.cluster.ClusterConnectorRequest;
 import io.aiven.klaw.model.cluster.ClusterSchemaRequest;
+import io.aiven.klaw.model.cluster.ClusterSchemasRequest;
 import io.aiven.klaw.model.cluster.ClusterTopicRequest;
 import io.aiven.klaw.model.cluster.ConnectorsStatus;
 import io.aiven.klaw.model.cluster.LoadTopicsResponse;
@@ -34,14 +37,17 @@ import io.aiven.klaw.model.enums.SchemaType;
 import io.aiven.klaw.model.requests.KafkaConnectorRestartModel;
 import io.aiven.klaw.model.response.OffsetDetails;
 import io.aiven.klaw.model.response.ServiceAccountDetails;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.aiven.klaw.service.utils.ReusableTokenIssuer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.Key;
 import java.security.KeyManagementException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
@@ -49,26 +55,29 @@ import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.UUID;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.TrustManagerFactory;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
 import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
@@ -77,6 +86,7 @@ import org.apache.hc.core5.http.config.Registry;
 import org.apache.hc.core5.http.config.RegistryBuilder;
 import org.apache.hc.core5.ssl.SSLContextBuilder;
 import org.apache.hc.core5.ssl.TrustStrategy;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -87,6 +97,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -95,6 +106,13 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
 
 @Service
 @Slf4j
@@ -118,16 +136,65 @@ public class ClusterApiService {
   @Value("${server.ssl.key-store-type:JKS}")
   private String keyStoreType;
 
+  @Value("${server.ssl.trust-store:null}")
+  private String trustStore;
+
+  @Value("${server.ssl.trust-store-password:null}")
+  private String trustStorePwd;
+
   @Value("${klaw.clusterapi.access.username}")
   private String clusterApiUser;
 
   @Value("${klaw.clusterapi.access.base64.secret:#{''}}")
   private String clusterApiAccessBase64Secret;
 
+  // created on the first call, once the secret is known
+  private volatile ReusableTokenIssuer tokenIssuer;
+
+  @Value("${klaw.clusterapi.client.max.connections:50}")
+  private int clientMaxConnections;
+
+  @Value("${klaw.clusterapi.client.connect.timeout.ms:5000}")
+  private int clientConnectTimeoutMs;
+
+  @Value("${klaw.clusterapi.client.retries:2}")
+  private int clientRetries;
+
+  @Value("${klaw.clusterapi.client.topics.timeout.ms:120000}")
+  private long topicsTimeoutMs;
+
+  @Value("${klaw.clusterapi.client.acls.timeout.ms:60000}")
+  private long aclsTimeoutMs;
+
+  @Value("${klaw.clusterapi.client.schemas.timeout.ms:120000}")
+  private long schemasTimeoutMs;
+
+  @Value("${klaw.clusterapi.client.connectors.timeout.ms:60000}")
+  private long connectorsTimeoutMs;
+
+  @Value("${klaw.clusterapi.client.max.response.mb:256}")
+  private int clientMaxResponseMb;
+
+  private static final Duration RETRY_BACKOFF = Duration.ofMillis(200);
+
+  private static final MediaType APPLICATION_SMILE =
+      new MediaType("application", "x-jackson-smile");
+
+  @Value("${klaw.clusterapi.smile.enabled:true}")
+  private boolean smileEnabled;
+
   private static String clusterConnUrl;
   protected static HttpComponentsClientHttpRequestFactory requestFactory;
   RestTemplate httpRestTemplate, httpsRestTemplate;
 
+  // last topics and acls snapshots per url with their ETag, sent again only if they changed
+  private final Cache<String, Snapshot> snapshots =
+      Caffeine.newBuilder().expireAfterAccess(Duration.ofHours(1)).maximumSize(100).build();
+
+  // non blocking client for the bulk reads, created on the first call
+  private volatile WebClient webClient;
+  private ConnectionProvider connectionProvider;
+
   public ClusterApiService(ManageDatabase manageDatabase) {
     this.manageDatabase = manageDatabase;
   }
@@ -143,12 +210,102 @@ public class ClusterApiService {
       return this.httpsRestTemplate;
     } else {
       if (this.httpRestTemplate == null) {
-        this.httpRestTemplate = new RestTemplate();
+        PoolingHttpClientConnectionManager poolingConnManager =
+            PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(clientMaxConnections)
+                .setMaxConnPerRoute(clientMaxConnections)
+                .setDefaultConnectionConfig(
+                    ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(clientConnectTimeoutMs))
+                        .build())
+                .build();
+        CloseableHttpClient httpClient =
+            HttpClients.custom().setConnectionManager(poolingConnManager).build();
+        this.httpRestTemplate =
+            new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
       }
       return this.httpRestTemplate;
     }
   }
 
+  private WebClient getWebClient() {
+    if (webClient == null) {
+      synchronized (this) {
+        if (webClient == null) {
+          webClient = createWebClient();
+        }
+      }
+    }
+    return webClient;
+  }
+
+  private WebClient createWebClient() {
+    // at most max.connections requests to cluster api at once, further requests wait for a
+    // connection of the pool
+    connectionProvider =
+        ConnectionProvider.builder("cluster-api")
+            .maxConnections(clientMaxConnections)
+            .maxIdleTime(Duration.ofSeconds(30))
+            .build();
+    HttpClient httpClient =
+        HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, clientConnectTimeoutMs)
+            .compress(true);
+    if (keyStore != null && !keyStore.equals("null")) {
+      SslContext sslContext = createSslContext();
+      httpClient =
+          httpClient.secure(
+              spec ->
+                  spec.sslContext(sslContext)
+                      .handlerConfigurator(ClusterApiService::disableHostnameVerification));
+    }
+    return WebClient.builder()
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        // the topics of large clusters are well above the default limit of 256 KB
+        .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(clientMaxResponseMb << 20))
+        .build();
+  }
+
+  // same key material as the https RestTemplate, cluster api is trusted through the configured
+  // trust store, or the default one of the jvm
+  private SslContext createSslContext() {
+    try {
+      KeyManagerFactory keyManagerFactory =
+          KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+      keyManagerFactory.init(getStore(keyStorePwd, keyStore), keyStorePwd.toCharArray());
+      SslContextBuilder sslContextBuilder =
+          SslContextBuilder.forClient().keyManager(keyManagerFactory);
+      if (trustStore != null && !trustStore.equals("null")) {
+        TrustManagerFactory trustManagerFactory =
+            TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(getStore(trustStorePwd, trustStore));
+        sslContextBuilder.trustManager(trustManagerFactory);
+      }
+      return sslContextBuilder.build();
+    } catch (NoSuchAlgorithmException
+        | KeyStoreException
+        | CertificateException
+        | UnrecoverableKeyException
+        | IOException e) {
+      log.error("Exception: ", e);
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void disableHostnameVerification(SslHandler sslHandler) {
+    SSLEngine sslEngine = sslHandler.engine();
+    SSLParameters sslParameters = sslEngine.getSSLParameters();
+    sslParameters.setEndpointIdentificationAlgorithm(null);
+    sslEngine.setSSLParameters(sslParameters);
+  }
+
+  @PreDestroy
+  private void closeWebClient() {
+    if (connectionProvider != null) {
+      connectionProvider.dispose();
+    }
+  }
+
   private void getClusterApiProperties(int tenantId) {
     clusterConnUrl = manageDatabase.getKwPropertyValue(CLUSTER_CONN_URL_KEY, tenantId);
     if (clusterApiAccessBase64Secret.isBlank()) {
@@ -308,61 +465,17 @@ public class ClusterApiService {
 
     List<Map<String, String>> aclListOriginal;
     try {
-      String uriGetAcls = URI_GET_ACLS;
-      KwClusters kwClusters =
-          manageDatabase
-              .getClusters(KafkaClustersType.KAFKA, tenantId)
-              .get(envSelected.getClusterId());
-
-      String uri;
-      // aiven config
-      if (KafkaFlavors.AIVEN_FOR_APACHE_KAFKA.value.equals(kwClusters.getKafkaFlavor())) {
-        uri =
-            clusterConnUrl
-                + uriGetAcls
-                + bootstrapHost
-                + URL_DELIMITER
-                + String.join(
-                    URL_DELIMITER,
-                    AclsNativeType.AIVEN.name(),
-                    protocol.getName(),
-                    kwClusters.getClusterName() + kwClusters.getClusterId(),
-                    kwClusters.getProjectName(),
-                    kwClusters.getServiceName());
-      } // confluent cloud config
-      else if (KafkaFlavors.CONFLUENT_CLOUD.value.equals(kwClusters.getKafkaFlavor())) {
-        uri =
-            clusterConnUrl
-                + uriGetAcls
-                + bootstrapHost
-                + URL_DELIMITER
-                + String.join(
-                    URL_DELIMITER,
-                    AclsNativeType.CONFLUENT_CLOUD.name(),
-                    protocol.getName(),
-                    kwClusters.getClusterName() + kwClusters.getClusterId(),
-                    kwClusters.getProjectName(),
-                    kwClusters.getServiceName());
-      } else {
-        uri =
-            clusterConnUrl
-                + uriGetAcls
-                + bootstrapHost
-                + URL_DELIMITER
-                + String.join(
-                    URL_DELIMITER,
-                    AclsNativeType.NATIVE.name(),
-                    protocol.getName(),
-                    kwClusters.getClusterName() + kwClusters.getClusterId(),
-                    "na",
-                    "na");
-      }
+      String uri = getAclsUri(clusterConnUrl, bootstrapHost, envSelected, protocol, tenantId);
 
+      Snapshot snapshot = snapshots.getIfPresent(uri);
       ResponseEntity<Set<Map<String, String>>> resultBody =
           getRestTemplate(null)
               .exchange(
-                  uri, HttpMethod.GET, getHttpEntity(), new ParameterizedTypeReference<>() {});
-      aclListOriginal = new ArrayList<>(Objects.requireNonNull(resultBody.getBody()));
+                  uri,
+                  HttpMethod.GET,
+                  getBulkReadHttpEntity(snapshot),
+                  new ParameterizedTypeReference<>() {});
+      aclListOriginal = copyOf(Objects.requireNonNull(fromSnapshot(uri, snapshot, resultBody)));
     } catch (Exception e) {
       log.error("Error from getAcls", e);
       throw new KlawException(CLUSTER_API_ERR_103);
@@ -370,6 +483,63 @@ public class ClusterApiService {
     return aclListOriginal;
   }
 
+  private String getAclsUri(
+      String clusterUrl,
+      String bootstrapHost,
+      Env envSelected,
+      KafkaSupportedProtocol protocol,
+      int tenantId) {
+    KwClusters kwClusters =
+        manageDatabase
+            .getClusters(KafkaClustersType.KAFKA, tenantId)
+            .get(envSelected.getClusterId());
+
+    String uri;
+    // aiven config
+    if (KafkaFlavors.AIVEN_FOR_APACHE_KAFKA.value.equals(kwClusters.getKafkaFlavor())) {
+      uri =
+          clusterUrl
+              + URI_GET_ACLS
+              + bootstrapHost
+              + URL_DELIMITER
+              + String.join(
+                  URL_DELIMITER,
+                  AclsNativeType.AIVEN.name(),
+                  protocol.getName(),
+                  kwClusters.getClusterName() + kwClusters.getClusterId(),
+                  kwClusters.getProjectName(),
+                  kwClusters.getServiceName());
+    } // confluent cloud config
+    else if (KafkaFlavors.CONFLUENT_CLOUD.value.equals(kwClusters.getKafkaFlavor())) {
+      uri =
+          clusterUrl
+              + URI_GET_ACLS
+              + bootstrapHost
+              + URL_DELIMITER
+              + String.join(
+                  URL_DELIMITER,
+                  AclsNativeType.CONFLUENT_CLOUD.name(),
+                  protocol.getName(),
+                  kwClusters.getClusterName() + kwClusters.getClusterId(),
+                  kwClusters.getProjectName(),
+                  kwClusters.getServiceName());
+    } else {
+      uri =
+          clusterUrl
+              + URI_GET_ACLS
+              + bootstrapHost
+              + URL_DELIMITER
+              + String.join(
+                  URL_DELIMITER,
+                  AclsNativeType.NATIVE.name(),
+                  protocol.getName(),
+                  kwClusters.getClusterName() + kwClusters.getClusterId(),
+                  "na",
+                  "na");
+    }
+    return uri;
+  }
+
   public LoadTopicsResponse getAllTopics(
       String bootstrapHost,
       KafkaSupportedProtocol protocol,
@@ -382,32 +552,24 @@ public class ClusterApiService {
     getClusterApiProperties(tenantId);
 
     LoadTopicsResponse loadTopicsResponse;
-    String aclsNativeType = AclsNativeType.NATIVE.value;
-
-    if (KafkaFlavors.CONFLUENT_CLOUD.value.equals(kafkaFlavors)) {
-      aclsNativeType = AclsNativeType.CONFLUENT_CLOUD.value;
-    }
     try {
       String uriGetTopicsFull =
-          clusterConnUrl
-              + URI_GET_TOPICS
-              + bootstrapHost
-              + URL_DELIMITER
-              + String.join(
-                  URL_DELIMITER,
-                  protocol.getName(),
-                  clusterIdentification,
-                  TOPICS_NATIVE_TYPE,
-                  aclsNativeType,
-                  RESET_CACHE,
-                  String.valueOf(resetTopicsCache));
-
-      HttpEntity<String> entity = getHttpEntity();
+          getAllTopicsUri(
+              clusterConnUrl,
+              bootstrapHost,
+              protocol,
+              clusterIdentification,
+              kafkaFlavors,
+              resetTopicsCache);
+
+      Snapshot snapshot = snapshots.getIfPresent(uriGetTopicsFull);
+      HttpEntity<String> entity = getBulkReadHttpEntity(snapshot);
       ResponseEntity<LoadTopicsResponse> s =
           getRestTemplate(null)
               .exchange(
                   uriGetTopicsFull, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
-      loadTopicsResponse = Objects.requireNonNull(s.getBody());
+      loadTopicsResponse =
+          copyOf(Objects.requireNonNull(fromSnapshot(uriGetTopicsFull, snapshot, s)));
     } catch (Exception e) {
       log.error("Error from getAllTopics", e);
       throw new KlawException(CLUSTER_API_ERR_104);
@@ -416,6 +578,32 @@ public class ClusterApiService {
     return loadTopicsResponse;
   }
 
+  private static String getAllTopicsUri(
+      String clusterUrl,
+      String bootstrapHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      String kafkaFlavors,
+      boolean resetTopicsCache) {
+    String aclsNativeType = AclsNativeType.NATIVE.value;
+
+    if (KafkaFlavors.CONFLUENT_CLOUD.value.equals(kafkaFlavors)) {
+      aclsNativeType = AclsNativeType.CONFLUENT_CLOUD.value;
+    }
+    return clusterUrl
+        + URI_GET_TOPICS
+        + bootstrapHost
+        + URL_DELIMITER
+        + String.join(
+            URL_DELIMITER,
+            protocol.getName(),
+            clusterIdentification,
+            TOPICS_NATIVE_TYPE,
+            aclsNativeType,
+            RESET_CACHE,
+            String.valueOf(resetTopicsCache));
+  }
+
   public String approveConnectorRequests(
       String connectorName,
       KafkaSupportedProtocol protocol,
@@ -972,6 +1160,58 @@ public class ClusterApiService {
     }
   }
 
+  /**
+   * Schemas of several topics of a schema registry in one call to the cluster api, keyed by topic
+   * name. The versions of each topic are sorted newest first, as in {@link #getAvroSchema}.
+   */
+  public Map<String, TreeMap<Integer, Map<String, Object>>> getAvroSchemas(
+      String schemaRegistryHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      List<String> topicNames,
+      int tenantId)
+      throws Exception {
+    log.info("getAvroSchemas {} {}", schemaRegistryHost, topicNames);
+    getClusterApiProperties(tenantId);
+    Map<String, TreeMap<Integer, Map<String, Object>>> allTopicSchemas = new HashMap<>();
+    try {
+      String uri = clusterConnUrl + URI_GET_SCHEMAS;
+      ClusterSchemasRequest clusterSchemasRequest =
+          ClusterSchemasRequest.builder()
+              .env(schemaRegistryHost)
+              .protocol(protocol)
+              .clusterIdentification(clusterIdentification)
+              .topicNames(topicNames)
+              .build();
+
+      HttpHeaders headers = createHeaders(clusterApiUser);
+      headers.setContentType(MediaType.APPLICATION_JSON);
+      ResponseEntity<Map<String, Map<String, Map<String, Object>>>> responseEntity =
+          getRestTemplate(null)
+              .exchange(
+                  uri,
+                  HttpMethod.POST,
+                  new HttpEntity<>(clusterSchemasRequest, headers),
+                  new ParameterizedTypeReference<>() {});
+
+      for (Map.Entry<String, Map<String, Map<String, Object>>> topicSchemas :
+          Objects.requireNonNull(responseEntity.getBody()).entrySet()) {
+        TreeMap<Integer, Map<String, Object>> allVersionSchemas =
+            new TreeMap<>(Collections.reverseOrder());
+        for (Map.Entry<String, Map<String, Object>> versionSchema :
+            topicSchemas.getValue().entrySet()) {
+          allVersionSchemas.put(Integer.parseInt(versionSchema.getKey()), versionSchema.getValue());
+        }
+        allTopicSchemas.put(topicSchemas.getKey(), allVersionSchemas);
+      }
+
+      return allTopicSchemas;
+    } catch (Exception e) {
+      log.error("Error from getAvroSchemas ", e);
+      throw new KlawException(CLUSTER_API_ERR_113);
+    }
+  }
+
   public SchemasInfoOfClusterResponse getSchemasFromCluster(
       String schemaRegistryHost,
       KafkaSupportedProtocol protocol,
@@ -983,23 +1223,14 @@ public class ClusterApiService {
 
     try {
       String uriGetTopicsFull =
-          clusterConnUrl
-              + String.join(
-                  URL_DELIMITER,
-                  URI_SCHEMA,
-                  "bootstrapServers",
-                  schemaRegistryHost,
-                  "protocol",
-                  protocol.getName(),
-                  "clusterIdentification",
-                  clusterIdentification);
+          getSchemasUri(clusterConnUrl, schemaRegistryHost, protocol, clusterIdentification);
 
       ResponseEntity<SchemasInfoOfClusterResponse> responseEntity =
           getRestTemplate(null)
               .exchange(
                   uriGetTopicsFull,
                   HttpMethod.GET,
-                  getHttpEntity(),
+                  getBulkReadHttpEntity(null),
                   new ParameterizedTypeReference<>() {});
 
       return responseEntity.getBody();
@@ -1009,6 +1240,23 @@ public class ClusterApiService {
     }
   }
 
+  private static String getSchemasUri(
+      String clusterUrl,
+      String schemaRegistryHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification) {
+    return clusterUrl
+        + String.join(
+            URL_DELIMITER,
+            URI_SCHEMA,
+            "bootstrapServers",
+            schemaRegistryHost,
+            "protocol",
+            protocol.getName(),
+            "clusterIdentification",
+            clusterIdentification);
+  }
+
   public Map<String, Object> getConnectorDetails(
       String connectorName,
       String kafkaConnectHost,
@@ -1054,23 +1302,20 @@ public class ClusterApiService {
     log.info("getAllKafkaConnectors {}", kafkaConnectHost);
     getClusterApiProperties(tenantId);
     try {
-      String uriGetTopics =
-          URI_GET_ALL_CONNECTORS
-              + kafkaConnectHost
-              + "/"
-              + protocol
-              + "/"
-              + clusterIdentification
-              + URI_CONNECTOR_STATUS
-              + getConnectorsStatuses;
-      String uriGetConnectorsFull = clusterConnUrl + uriGetTopics;
+      String uriGetConnectorsFull =
+          getAllKafkaConnectorsUri(
+              clusterConnUrl,
+              kafkaConnectHost,
+              protocol,
+              clusterIdentification,
+              getConnectorsStatuses);
 
       ResponseEntity<ConnectorsStatus> responseEntity =
           getRestTemplate(null)
               .exchange(
                   uriGetConnectorsFull,
                   HttpMethod.GET,
-                  getHttpEntity(),
+                  getBulkReadHttpEntity(null),
                   new ParameterizedTypeReference<>() {});
 
       return responseEntity.getBody();
@@ -1080,6 +1325,23 @@ public class ClusterApiService {
     }
   }
 
+  private static String getAllKafkaConnectorsUri(
+      String clusterUrl,
+      String kafkaConnectHost,
+      String protocol,
+      String clusterIdentification,
+      boolean getConnectorsStatuses) {
+    return clusterUrl
+        + URI_GET_ALL_CONNECTORS
+        + kafkaConnectHost
+        + "/"
+        + protocol
+        + "/"
+        + clusterIdentification
+        + URI_CONNECTOR_STATUS
+        + getConnectorsStatuses;
+  }
+
   public ApiResponse restartConnector(
       KafkaConnectorRestartModel kafkaConnectorRestartModel, int tenantId) throws KlawException {
     log.info("restartConnector {}", kafkaConnectorRestartModel.getConnectorName());
@@ -1203,6 +1465,154 @@ public class ClusterApiService {
     }
   }
 
+  /**
+   * Non blocking variant of {@link #getAllTopics}, so the topics of several environments can be
+   * fetched at the same time. Completes exceptionally with a {@link KlawException} on failure.
+   */
+  public CompletableFuture<LoadTopicsResponse> getAllTopicsAsync(
+      String bootstrapHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      String kafkaFlavors,
+      int tenantId,
+      boolean resetTopicsCache) {
+    log.info("getAllTopicsAsync {} {}", bootstrapHost, protocol);
+    Mono<LoadTopicsResponse> topics =
+        getFromClusterApi(
+                () ->
+                    getAllTopicsUri(
+                        getClusterConnUrl(tenantId),
+                        bootstrapHost,
+                        protocol,
+                        clusterIdentification,
+                        kafkaFlavors,
+                        resetTopicsCache),
+                topicsTimeoutMs,
+                new ParameterizedTypeReference<LoadTopicsResponse>() {},
+                true)
+            .single()
+            .map(ClusterApiService::copyOf);
+    return toFuture(topics, "getAllTopicsAsync", CLUSTER_API_ERR_104);
+  }
+
+  /** Non blocking variant of {@link #getAcls}. */
+  public CompletableFuture<List<Map<String, String>>> getAclsAsync(
+      String bootstrapHost, Env envSelected, KafkaSupportedProtocol protocol, int tenantId) {
+    log.info("getAclsAsync {} {} {}", bootstrapHost, protocol, tenantId);
+    Mono<List<Map<String, String>>> acls =
+        getFromClusterApi(
+                () ->
+                    getAclsUri(
+                        getClusterConnUrl(tenantId),
+                        bootstrapHost,
+                        envSelected,
+                        protocol,
+                        tenantId),
+                aclsTimeoutMs,
+                new ParameterizedTypeReference<Set<Map<String, String>>>() {},
+                true)
+            .single()
+            .map(ClusterApiService::copyOf);
+    return toFuture(acls, "getAclsAsync", CLUSTER_API_ERR_103);
+  }
+
+  /** Non blocking variant of {@link #getSchemasFromCluster}. */
+  public CompletableFuture<SchemasInfoOfClusterResponse> getSchemasFromClusterAsync(
+      String schemaRegistryHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      int tenantId) {
+    log.info("getSchemasFromClusterAsync {}", schemaRegistryHost);
+    Mono<SchemasInfoOfClusterResponse> schemas =
+        getFromClusterApi(
+            () ->
+                getSchemasUri(
+                    getClusterConnUrl(tenantId),
+                    schemaRegistryHost,
+                    protocol,
+                    clusterIdentification),
+            schemasTimeoutMs,
+            new ParameterizedTypeReference<>() {},
+            false);
+    return toFuture(schemas, "getSchemasFromClusterAsync", CLUSTER_API_ERR_113);
+  }
+
+  /** Non blocking variant of {@link #getAllKafkaConnectors}. */
+  public CompletableFuture<ConnectorsStatus> getAllKafkaConnectorsAsync(
+      String kafkaConnectHost,
+      String protocol,
+      String clusterIdentification,
+      int tenantId,
+      boolean getConnectorsStatuses) {
+    log.info("getAllKafkaConnectorsAsync {}", kafkaConnectHost);
+    Mono<ConnectorsStatus> connectors =
+        getFromClusterApi(
+            () ->
+                getAllKafkaConnectorsUri(
+                    getClusterConnUrl(tenantId),
+                    kafkaConnectHost,
+                    protocol,
+                    clusterIdentification,
+                    getConnectorsStatuses),
+            connectorsTimeoutMs,
+            new ParameterizedTypeReference<>() {},
+            false);
+    return toFuture(connectors, "getAllKafkaConnectorsAsync", CLUSTER_API_ERR_115);
+  }
+
+  // the url of the tenant is not kept in clusterConnUrl, which concurrent calls would overwrite
+  private String getClusterConnUrl(int tenantId) {
+    return manageDatabase.getKwPropertyValue(CLUSTER_CONN_URL_KEY, tenantId);
+  }
+
+  private <T> Mono<T> getFromClusterApi(
+      Callable<String> uri,
+      long timeoutMs,
+      ParameterizedTypeReference<T> responseType,
+      boolean conditional) {
+    return Mono.fromCallable(uri)
+        .flatMap(
+            requestUri -> {
+              Snapshot snapshot = conditional ? snapshots.getIfPresent(requestUri) : null;
+              return Mono.fromCallable(() -> getBulkReadHttpEntity(snapshot))
+                  .flatMap(
+                      request ->
+                          getWebClient()
+                              .get()
+                              .uri(requestUri)
+                              .headers(headers -> headers.addAll(request.getHeaders()))
+                              .retrieve()
+                              .toEntity(responseType)
+                              // per attempt, a timed out request is not retried
+                              .timeout(Duration.ofMillis(timeoutMs)))
+                  .mapNotNull(response -> fromSnapshot(requestUri, snapshot, response));
+            })
+        .retryWhen(
+            Retry.backoff(clientRetries, RETRY_BACKOFF).filter(ClusterApiService::isRetryable));
+  }
+
+  // connection failures and unavailable cluster api instances, all the requests are reads
+  private static boolean isRetryable(Throwable e) {
+    if (e instanceof WebClientResponseException responseException) {
+      int status = responseException.getStatusCode().value();
+      return status == HttpStatus.BAD_GATEWAY.value()
+          || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+          || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+    return e instanceof WebClientRequestException;
+  }
+
+  private static <T> CompletableFuture<T> toFuture(
+      Mono<T> response, String operation, String errorMessage) {
+    return response
+        .onErrorMap(
+            e -> {
+              log.error("Error from {} ", operation, e);
+              return new KlawException(errorMessage);
+            })
+        .toFuture();
+  }
+
   // to connect to cluster api if https
   @PostConstruct
   private void setKwSSLContext() {
@@ -1220,8 +1630,11 @@ public class ClusterApiService {
                 .register("http", new PlainConnectionSocketFactory())
                 .register("https", sslsf)
                 .build();
-        HttpClientConnectionManager poolingConnManager =
+        PoolingHttpClientConnectionManager poolingConnManager =
             new PoolingHttpClientConnectionManager(registry);
+        // all requests go to the one cluster api route, limited to 5 connections by default
+        poolingConnManager.setMaxTotal(clientMaxConnections);
+        poolingConnManager.setDefaultMaxPerRoute(clientMaxConnections);
         CloseableHttpClient httpClient =
             HttpClients.custom().setConnectionManager(poolingConnManager).build();
         requestFactory = new HttpComponentsClientHttpRequestFactory();
@@ -1264,20 +1677,10 @@ public class ClusterApiService {
       throw new KlawException(CLUSTER_API_ERR_117);
     }
 
-    Key hmacKey =
-        new SecretKeySpec(
-            Base64.decodeBase64(clusterApiAccessBase64Secret),
-            SignatureAlgorithm.HS256.getJcaName());
-    Instant now = Instant.now();
-
-    return Jwts.builder()
-        .claim("name", username)
-        .subject(username)
-        .id(UUID.randomUUID().toString())
-        .issuedAt(Date.from(now))
-        .expiration(Date.from(now.plus(3L, ChronoUnit.MINUTES))) // expiry in 3 minutes
-        .signWith(hmacKey)
-        .compact();
+    if (tokenIssuer == null) {
+      tokenIssuer = new ReusableTokenIssuer(clusterApiAccessBase64Secret, Map.of());
+    }
+    return tokenIssuer.getToken(username);
   }
 
   private HttpEntity<String> getHttpEntity() throws KlawException {
@@ -1287,4 +1690,60 @@ public class ClusterApiService {
     headers.add("User-Agent", "klaw-core");
     return new HttpEntity<>(headers);
   }
+
+  /**
+   * Headers of the reads of the topics, acls, schemas and connectors of a cluster. These are asked
+   * for as smile, if enabled, and only if they changed since the snapshot held.
+   */
+  private HttpEntity<String> getBulkReadHttpEntity(Snapshot snapshot) throws KlawException {
+    HttpHeaders headers = createHeaders(clusterApiUser);
+
+    // cluster api versions without smile answer with json
+    headers.setAccept(
+        smileEnabled
+            ? List.of(APPLICATION_SMILE, MediaType.APPLICATION_JSON)
+            : List.of(MediaType.APPLICATION_JSON));
+    headers.add("User-Agent", "klaw-core");
+    if (snapshot != null) {
+      headers.setIfNoneMatch(snapshot.eTag());
+    }
+    return new HttpEntity<>(headers);
+  }
+
+  /**
+   * The body of the response, or the snapshot held if cluster api answered it is unchanged. Bodies
+   * with an ETag are kept as the snapshot of the url.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T fromSnapshot(String uri, Snapshot snapshot, ResponseEntity<T> response) {
+    if (snapshot != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+      return (T) snapshot.body();
+    }
+    String eTag = response.getHeaders().getETag();
+    if (eTag != null && response.getBody() != null) {
+      snapshots.put(uri, new Snapshot(eTag, response.getBody()));
+    } else {
+      snapshots.invalidate(uri);
+    }
+    return response.getBody();
+  }
+
+  // snapshots are shared between calls, callers get their own copy
+  private static LoadTopicsResponse copyOf(LoadTopicsResponse loadTopicsResponse) {
+    return LoadTopicsResponse.builder()
+        .loadingInProgress(loadTopicsResponse.isLoadingInProgress())
+        .topicConfigSet(
+            loadTopicsResponse.getTopicConfigSet() == null
+                ? null
+                : new HashSet<>(loadTopicsResponse.getTopicConfigSet()))
+        .build();
+  }
+
+  private static List<Map<String, String>> copyOf(Set<Map<String, String>> acls) {
+    List<Map<String, String>> aclList = new ArrayList<>(acls.size());
+    acls.forEach(acl -> aclList.add(new HashMap<>(acl)));
+    return aclList;
+  }
+
+  private record Snapshot(String eTag, Object body) {}
 }
@@ -24,12 +24,16 @@ import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.model.enums.RequestEntityType;
 import io.aiven.klaw.model.enums.RequestOperationType;
 import io.aiven.klaw.model.requests.ResetEntityCache;
+import io.aiven.klaw.service.interfaces.HAMessagingServiceI;
+import io.aiven.klaw.service.utils.TopicCatalog;
 import java.io.*;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -37,17 +41,14 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.jasypt.util.text.BasicTextEncryptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -58,7 +59,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @Service
@@ -70,6 +72,9 @@ public class CommonUtilsService {
 
   public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+  private static final String PERMISSIONS_ATTRIBUTE =
+      CommonUtilsService.class.getName() + ".PERMISSIONS";
+
   public static final TypeReference<List<ResourceHistory>> VALUE_TYPE_REF =
       new TypeReference<>() {};
 
@@ -90,10 +95,7 @@ public class CommonUtilsService {
 
   @Autowired ManageDatabase manageDatabase;
 
-  @Autowired HARestMessagingService HARestMessagingService;
-
-  @Value("${klaw.uiapi.servers:server1,server2}")
-  private String uiApiServers;
+  @Autowired HAMessagingServiceI haMessagingService;
 
   @Value("${server.servlet.context-path:}")
   private String kwContextPath;
@@ -101,10 +103,6 @@ public class CommonUtilsService {
   @Autowired(required = false)
   private InMemoryUserDetailsManager inMemoryUserDetailsManager;
 
-  private RestTemplate getRestTemplate() {
-    return HARestMessagingService.getRestTemplate();
-  }
-
   public Authentication getAuthentication() {
     return SecurityContextHolder.getContext().getAuthentication();
   }
@@ -130,12 +128,15 @@ public class CommonUtilsService {
         return "";
       }
     } else {
-      UserInfo userInfo = manageDatabase.getHandleDbRequests().getUsersInfo(getUserName(principal));
-      if (userInfo != null) {
-        return userInfo.getRole();
-      } else {
-        return null;
-      }
+      String userName = getUserName(principal);
+      // users not yet in the cache (updated on another instance) are read from the database
+      return manageDatabase
+          .getCachedUserInfo(userName)
+          .or(
+              () ->
+                  Optional.ofNullable(manageDatabase.getHandleDbRequests().getUsersInfo(userName)))
+          .map(UserInfo::getRole)
+          .orElse(null);
     }
   }
 
@@ -153,10 +154,13 @@ public class CommonUtilsService {
 
   public boolean isNotAuthorizedUser(Object principal, Set<PermissionType> permissionTypes) {
     try {
-      Set<String> existingPermissions = getPermissions(principal);
-      existingPermissions.retainAll(
-          permissionTypes.stream().map(Enum::name).collect(Collectors.toList()));
-      return existingPermissions.isEmpty();
+      Set<PermissionType> existingPermissions = getPermissionTypes(principal);
+      for (PermissionType permissionType : permissionTypes) {
+        if (existingPermissions.contains(permissionType)) {
+          return false;
+        }
+      }
+      return true;
     } catch (Exception e) {
       log.debug(
           "Error isNotAuthorizedUser / Check if role exists. {} {} {}",
@@ -168,6 +172,32 @@ public class CommonUtilsService {
     }
   }
 
+  /**
+   * The permissions of the role of the user. Within a request they are resolved once for the
+   * principal of the request, as several permission checks are made for most requests.
+   */
+  Set<PermissionType> getPermissionTypes(Object principal) {
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes != null
+        && requestAttributes.getAttribute(PERMISSIONS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+            instanceof PrincipalPermissions principalPermissions
+        && principalPermissions.principal() == principal) {
+      return principalPermissions.permissionTypes();
+    }
+    Set<PermissionType> permissionTypes =
+        manageDatabase.getPermissionTypes(
+            getTenantId(getUserName(principal)), getAuthority(principal));
+    if (requestAttributes != null) {
+      requestAttributes.setAttribute(
+          PERMISSIONS_ATTRIBUTE,
+          new PrincipalPermissions(principal, permissionTypes),
+          RequestAttributes.SCOPE_REQUEST);
+    }
+    return permissionTypes;
+  }
+
+  private record PrincipalPermissions(Object principal, Set<PermissionType> permissionTypes) {}
+
   public Set<String> getPermissions(Object principal) {
     return new HashSet<>(
         manageDatabase
@@ -271,16 +301,7 @@ public class CommonUtilsService {
             .createdTime(new Timestamp(System.currentTimeMillis()))
             .build();
     updateMetadataCache(kwMetadataUpdates, true);
-
-    try {
-      CompletableFuture.runAsync(
-              () -> {
-                resetCacheOnOtherServers(kwMetadataUpdates);
-              })
-          .get();
-    } catch (InterruptedException | ExecutionException e) {
-      log.error("Exception:", e);
-    }
+    resetCacheOnOtherServers(kwMetadataUpdates);
   }
 
   public synchronized void updateMetadataCache(
@@ -323,7 +344,12 @@ public class CommonUtilsService {
     } else if (entityType == EntityType.PROPERTIES) {
       manageDatabase.loadKwPropsPerOneTenant(null, kwMetadataUpdates.getTenantId());
     } else if (entityType == EntityType.TOPICS) {
-      manageDatabase.loadTopicsForOneTenant(kwMetadataUpdates.getTenantId());
+      String topicName = kwMetadataUpdates.getEntityValue();
+      if (topicName == null || "na".equals(topicName)) {
+        manageDatabase.loadTopicsForOneTenant(kwMetadataUpdates.getTenantId());
+      } else {
+        manageDatabase.loadTopicsForTopicName(kwMetadataUpdates.getTenantId(), topicName);
+      }
     }
   }
 
@@ -382,52 +408,16 @@ public class CommonUtilsService {
   }
 
   public void resetCacheOnOtherServers(KwMetadataUpdates kwMetadataUpdates) {
-    log.info("invokeResetEndpoints");
-    try {
-      if (uiApiServers != null && uiApiServers.length() > 0) {
-        String[] servers = uiApiServers.split(",");
-        String basePath;
-        for (String server : servers) {
-
-          if ("".equals(kwContextPath)) {
-            basePath = server;
-          } else {
-            basePath = server + "/" + kwContextPath;
-          }
-
-          // ignore metadata cache reset on local.
-          if (HARestMessagingService.isLocalServerUrl(basePath)) {
-            continue;
-          }
-
-          if (kwMetadataUpdates.getEntityValue() == null) {
-            kwMetadataUpdates.setEntityValue("na");
-          }
-
-          String uri = basePath + "/resetMemoryCache/";
-
-          ResetEntityCache resetEntityCache =
-              ResetEntityCache.builder()
-                  .tenantId(kwMetadataUpdates.getTenantId())
-                  .entityType(kwMetadataUpdates.getEntityType())
-                  .entityValue(kwMetadataUpdates.getEntityValue())
-                  .operationType(kwMetadataUpdates.getOperationType())
-                  .build();
-
-          HttpHeaders headers = new HttpHeaders();
-          headers.setContentType(MediaType.APPLICATION_JSON);
-          headers.add("Accept", MediaType.APPLICATION_JSON_VALUE);
-
-          HttpEntity<ResetEntityCache> request = new HttpEntity<>(resetEntityCache, headers);
-          ResponseEntity<Object> response =
-              getRestTemplate()
-                  .exchange(uri, HttpMethod.POST, request, new ParameterizedTypeReference<>() {});
-          log.info("Response from invokeResetEndpoints" + response);
-        }
-      }
-    } catch (Exception e) {
-      log.error("Error from invokeResetEndpoints ", e);
+    if (kwMetadataUpdates.getEntityValue() == null) {
+      kwMetadataUpdates.setEntityValue("na");
     }
+    haMessagingService.sendMetadataReset(
+        ResetEntityCache.builder()
+            .tenantId(kwMetadataUpdates.getTenantId())
+            .entityType(kwMetadataUpdates.getEntityType())
+            .entityValue(kwMetadataUpdates.getEntityValue())
+            .operationType(kwMetadataUpdates.getOperationType())
+            .build());
   }
 
   public Set<String> getEnvsFromUserId(String userName) {
@@ -436,19 +426,11 @@ public class CommonUtilsService {
   }
 
   public int getTenantId(String userId) {
-    return manageDatabase.selectAllCachedUserInfo().stream()
-        .filter(userInfo -> userInfo.getUsername().equals(userId))
-        .findFirst()
-        .map(UserInfo::getTenantId)
-        .orElse(0);
+    return manageDatabase.getCachedUserInfo(userId).map(UserInfo::getTenantId).orElse(0);
   }
 
   public Integer getTeamId(String userName) {
-    return manageDatabase.selectAllCachedUserInfo().stream()
-        .filter(userInfo -> userInfo.getUsername().equals(userName))
-        .findFirst()
-        .map(UserInfo::getTeamId)
-        .orElse(0);
+    return manageDatabase.getCachedUserInfo(userName).map(UserInfo::getTeamId).orElse(0);
   }
 
   public Object getPrincipal() {
@@ -542,63 +524,96 @@ public class CommonUtilsService {
 
   public List<Topic> getTopicsForTopicName(String topicName, int tenantId) {
     if (topicName != null) {
-      return manageDatabase.getTopicsForTenant(tenantId).stream()
-          .filter(topic -> topic.getTopicname().equals(topicName))
-          .toList();
+      return manageDatabase.getTopicCatalog(tenantId).getTopicsByName(topicName);
     } else {
-      return manageDatabase.getTopicsForTenant(tenantId);
+      return manageDatabase.getTopicCatalog(tenantId).getAll();
     }
   }
 
   public List<Topic> getTopics(String env, Integer teamId, int tenantId) {
     log.debug("getSyncTopics {} {}", env, teamId);
-    List<Topic> allTopicsList = manageDatabase.getTopicsForTenant(tenantId);
+    TopicCatalog topicCatalog = manageDatabase.getTopicCatalog(tenantId);
     if (teamId == null || teamId.equals(1)) {
       if (env == null || env.equals("ALL")) {
-        return allTopicsList;
+        return topicCatalog.getAll();
       } else {
-        Set<String> uniqueTopicNamesList =
-            new HashSet<>(
-                allTopicsList.stream()
-                    .filter(
-                        topic -> {
-                          return topic.getEnvironment().equals(env);
-                        })
-                    .map(Topic::getTopicname)
-                    .toList());
-        return getSubTopics(allTopicsList, uniqueTopicNamesList);
+        return getSubTopics(topicCatalog, topicCatalog.getTopicsByEnv(env));
       }
     } else {
       if (env == null || "ALL".equals(env)) {
-        return allTopicsList.stream().filter(topic -> topic.getTeamId().equals(teamId)).toList();
+        return topicCatalog.getTopicsByTeam(teamId);
       } else {
-        Set<String> uniqueTopicNamesList =
-            new HashSet<>(
-                allTopicsList.stream()
-                    .filter(
-                        topic -> {
-                          return topic.getEnvironment().equals(env)
-                              && topic.getTeamId().equals(teamId);
-                        })
-                    .map(Topic::getTopicname)
-                    .toList());
-        return getSubTopics(allTopicsList, uniqueTopicNamesList);
+        return getSubTopics(topicCatalog, topicCatalog.getTopicsByEnvAndTeam(env, teamId));
       }
     }
   }
 
-  private List<Topic> getSubTopics(List<Topic> allTopicsList, Set<String> uniqueTopicNamesList) {
-    List<Topic> subTopicsList = new ArrayList<>();
-    uniqueTopicNamesList.forEach(
-        topicName -> {
-          allTopicsList.forEach(
-              topic -> {
-                if (topic.getTopicname().equals(topicName)) {
-                  subTopicsList.add(topic);
-                }
-              });
-        });
-    return subTopicsList;
+  // all topics (of every env) which share a name with one of the matched topics
+  private List<Topic> getSubTopics(TopicCatalog topicCatalog, List<Topic> matchedTopics) {
+    Set<String> uniqueTopicNamesList =
+        matchedTopics.stream().map(Topic::getTopicname).collect(Collectors.toSet());
+    return topicCatalog.getTopicsByNames(uniqueTopicNamesList);
+  }
+
+  /**
+   * Sorted names of the topics {@link #getTopics(String, Integer, int)} selects, optionally
+   * filtered on a search string matching the topic name or documentation. Lets callers count and
+   * page topics without grouping and sorting every topic of the tenant.
+   */
+  public List<String> getTopicNames(
+      String env, Integer teamId, int tenantId, String topicNameSearch) {
+    boolean searching = topicNameSearch != null && !topicNameSearch.isEmpty();
+    return manageDatabase
+        .getTopicCatalog(tenantId)
+        .findTopicNames(
+            new TopicNamesFilter(env, teamId, searching ? topicNameSearch : null),
+            topicsOfName -> {
+              Topic topic = getFirstSelectedTopic(topicsOfName, env, teamId);
+              if (topic == null) {
+                return false;
+              }
+              return !searching
+                  || StringUtils.containsIgnoreCase(topic.getTopicname(), topicNameSearch)
+                  || StringUtils.containsIgnoreCase(topic.getDocumentation(), topicNameSearch);
+            });
+  }
+
+  private record TopicNamesFilter(String env, Integer teamId, String topicNameSearch) {}
+
+  /** The topics of one name, as {@link #getTopics(String, Integer, int)} selects them. */
+  public List<Topic> getTopicsForTopicName(
+      String topicName, String env, Integer teamId, int tenantId) {
+    List<Topic> topicsOfName = manageDatabase.getTopicCatalog(tenantId).getTopicsByName(topicName);
+    if (getFirstSelectedTopic(topicsOfName, env, teamId) == null) {
+      return Collections.emptyList();
+    }
+    if ((env == null || "ALL".equals(env)) && teamId != null && !teamId.equals(1)) {
+      return topicsOfName.stream().filter(topic -> teamId.equals(topic.getTeamId())).toList();
+    }
+    return topicsOfName;
+  }
+
+  private static Topic getFirstSelectedTopic(
+      Collection<Topic> topicsOfName, String env, Integer teamId) {
+    boolean allEnvs = env == null || "ALL".equals(env);
+    boolean allTeams = teamId == null || teamId.equals(1);
+    Topic firstTopic = null;
+    boolean matched = false;
+    for (Topic topic : topicsOfName) {
+      boolean teamMatches = allTeams || teamId.equals(topic.getTeamId());
+      if (allEnvs) {
+        if (teamMatches) {
+          return topic;
+        }
+      } else {
+        if (firstTopic == null) {
+          firstTopic = topic;
+        }
+        // on a single env, every env of a matching topic is selected
+        matched = matched || (teamMatches && env.equals(topic.getEnvironment()));
+      }
+    }
+    return matched ? firstTopic : null;
   }
 
   public List<ResourceHistory> saveTopicHistory(
@@ -3,11 +3,25 @@ package io.aiven.klaw.service;
 import static io.aiven.klaw.helpers.KwConstants.INFRATEAM;
 import static io.aiven.klaw.helpers.KwConstants.STAGINGTEAM;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.dao.Acl;
+import io.aiven.klaw.dao.AclRequests;
+import io.aiven.klaw.dao.KafkaConnectorRequest;
+import io.aiven.klaw.dao.KwKafkaConnector;
+import io.aiven.klaw.dao.MessageSchema;
 import io.aiven.klaw.dao.ProductDetails;
+import io.aiven.klaw.dao.SchemaRequest;
+import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.dao.TopicRequest;
 import io.aiven.klaw.dao.UserInfo;
 import io.aiven.klaw.dao.metadata.KwAdminConfig;
 import io.aiven.klaw.dao.metadata.KwData;
@@ -18,7 +32,11 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.jasypt.util.text.BasicTextEncryptor;
@@ -32,6 +50,7 @@ import org.springframework.stereotype.Service;
 /*
 - Export Klaw metadata (Admin config, Core data, Requests data) to json files
 - Import json files into Klaw metadata
+- Core data and requests data are streamed page by page, and imported in batches
  */
 @Slf4j
 @Service
@@ -70,13 +89,24 @@ public class ExportImportDataService {
   @Value("${klaw.import.kwrequestsdata.file.path:path}")
   private String klawImportKwRequestsDataFilePath;
 
+  @Value("${klaw.export.batch.size:1000}")
+  private int exportBatchSize;
+
+  @Value("${klaw.import.batch.size:1000}")
+  private int importBatchSize;
+
   @Autowired BuildProperties buildProperties;
 
   private static final ObjectMapper OBJECT_MAPPER =
       new ObjectMapper()
           .configure(DeserializationFeature.UNWRAP_ROOT_VALUE, true)
           .configure(SerializationFeature.WRAP_ROOT_VALUE, true);
-  ;
+
+  // rows inside the kwdata and requests files are written and read one at a time, without a root
+  private static final ObjectWriter ROW_WRITER =
+      OBJECT_MAPPER.writer().without(SerializationFeature.WRAP_ROOT_VALUE);
+  private static final ObjectReader ROW_READER =
+      OBJECT_MAPPER.reader().without(DeserializationFeature.UNWRAP_ROOT_VALUE);
   private static final String FILE_EXT = ".json";
   private static final String FILE_PREFIX = "kwmetadata";
   private static final String ADMIN_CONFIG_PREFIX = "admin_config";
@@ -107,27 +137,81 @@ public class ExportImportDataService {
 
   private void importKwRequestsData(HandleDbRequests handleDbRequests) throws IOException {
     if (importKwRequestsDataMetadata) {
-      KwRequests kwRequests =
-          OBJECT_MAPPER.readValue(new File(klawImportKwRequestsDataFilePath), KwRequests.class);
-      kwRequests.getTopicRequests().forEach(handleDbRequests::requestForTopic);
-      kwRequests.getSubscriptionRequests().forEach(handleDbRequests::requestForAcl);
-      kwRequests.getSchemaRequests().forEach(handleDbRequests::requestForSchema);
-      kwRequests.getConnectorRequests().forEach(handleDbRequests::requestForConnector);
+      importRows(
+          new File(klawImportKwRequestsDataFilePath),
+          Map.of(
+              "topicRequests",
+              new RowImport<>(TopicRequest.class, handleDbRequests::importTopicRequests),
+              "subscriptionRequests",
+              new RowImport<>(AclRequests.class, handleDbRequests::importAclRequests),
+              "schemaRequests",
+              new RowImport<>(SchemaRequest.class, handleDbRequests::importSchemaRequests),
+              "connectorRequests",
+              new RowImport<>(
+                  KafkaConnectorRequest.class, handleDbRequests::importConnectorRequests)));
       log.info("Klaw KwRequestsData metadata imported !!");
     }
   }
 
   private void importKwData(HandleDbRequests handleDbRequests) throws IOException {
     if (importKwDataMetadata) {
-      KwData kwData = OBJECT_MAPPER.readValue(new File(klawImportKwDataFilePath), KwData.class);
-      handleDbRequests.addToSynctopics(kwData.getTopics());
-      handleDbRequests.addToSyncacls(kwData.getSubscriptions());
-      handleDbRequests.insertIntoMessageSchemaSOT(kwData.getSchemas());
-      handleDbRequests.addToSyncConnectors(kwData.getKafkaConnectors());
+      importRows(
+          new File(klawImportKwDataFilePath),
+          Map.of(
+              "topics",
+              new RowImport<>(Topic.class, handleDbRequests::importTopics),
+              "subscriptions",
+              new RowImport<>(Acl.class, handleDbRequests::importAcls),
+              "schemas",
+              new RowImport<>(MessageSchema.class, handleDbRequests::importSchemas),
+              "kafkaConnectors",
+              new RowImport<>(KwKafkaConnector.class, handleDbRequests::importConnectors)));
       log.info("Klaw KwData metadata imported !!");
     }
   }
 
+  // Reads the arrays of an exported file row by row, and stores them in batches of importBatchSize
+  void importRows(File file, Map<String, RowImport<?>> rowImports) throws IOException {
+    try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(file)) {
+      // { "KwData" : { "klawVersion" : ..., "topics" : [ ... ], ... } }
+      if (parser.nextToken() != JsonToken.START_OBJECT
+          || parser.nextToken() != JsonToken.FIELD_NAME
+          || parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Unexpected format of metadata file " + file);
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.currentName();
+        JsonToken value = parser.nextToken();
+        RowImport<?> rowImport = rowImports.get(fieldName);
+        if (rowImport != null && value == JsonToken.START_ARRAY) {
+          int rows = importArray(parser, rowImport);
+          log.info("Imported {} {}", rows, fieldName);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+  }
+
+  private <T> int importArray(JsonParser parser, RowImport<T> rowImport) throws IOException {
+    ObjectReader rowReader = ROW_READER.forType(rowImport.type());
+    List<T> batch = new ArrayList<>(importBatchSize);
+    int rows = 0;
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      batch.add(rowReader.readValue(parser));
+      if (batch.size() == importBatchSize) {
+        rowImport.batchInsert().accept(batch);
+        rows += batch.size();
+        batch = new ArrayList<>(importBatchSize);
+      }
+    }
+    if (!batch.isEmpty()) {
+      rowImport.batchInsert().accept(batch);
+      rows += batch.size();
+    }
+    return rows;
+  }
+
   void importKlawAdminConfig(HandleDbRequests handleDbRequests) throws IOException {
     if (importAdminConfigMetadata) {
       KwAdminConfig kwAdminConfig =
@@ -170,20 +254,14 @@ public class ExportImportDataService {
     String timeStamp = getTimeStamp();
     HandleDbRequests handleDbRequests = manageDatabase.getHandleDbRequests();
     KwAdminConfig adminConfig = getAdminConfig(handleDbRequests, timeStamp);
-    KwData kwData = getKwData(handleDbRequests, timeStamp);
-    KwRequests kwRequestData = getRequestsData(handleDbRequests, timeStamp);
 
     // write to files
     try {
       OBJECT_MAPPER
           .writerWithDefaultPrettyPrinter()
           .writeValue(getFile(ADMIN_CONFIG_PREFIX, timeStamp), adminConfig);
-      OBJECT_MAPPER
-          .writerWithDefaultPrettyPrinter()
-          .writeValue(getFile(KW_DATA_PREFIX, timeStamp), kwData);
-      OBJECT_MAPPER
-          .writerWithDefaultPrettyPrinter()
-          .writeValue(getFile(KW_REQUEST_DATA_PREFIX, timeStamp), kwRequestData);
+      writeKwData(handleDbRequests, getFile(KW_DATA_PREFIX, timeStamp), timeStamp);
+      writeRequestsData(handleDbRequests, getFile(KW_REQUEST_DATA_PREFIX, timeStamp), timeStamp);
       log.info("Klaw metadata exported !!");
     } catch (IOException e) {
       log.error("Error during parsing/writing to files : ", e);
@@ -222,37 +300,79 @@ public class ExportImportDataService {
     return userList;
   }
 
-  // Get core configuration of topics, acls, schemas, connectors
-  public KwData getKwData(HandleDbRequests handleDbRequests, String timeStamp) {
-    log.info("Selecting Kw Data (topics, acls, schemas, connectors) --- STARTED");
-    KwData kwMetadata =
-        KwData.builder()
-            .topics(handleDbRequests.getAllTopics())
-            .subscriptions(handleDbRequests.getAllSubscriptions())
-            .schemas(handleDbRequests.getAllSchemas())
-            .kafkaConnectors(handleDbRequests.getAllConnectors())
-            .klawVersion(buildProperties.getVersion())
-            .createdTime(timeStamp)
-            .build();
-    log.info("Selecting Kw Data --- STARTED");
-    return kwMetadata;
+  // Write core configuration of topics, acls, schemas, connectors
+  void writeKwData(HandleDbRequests handleDbRequests, File file, String timeStamp)
+      throws IOException {
+    log.info("Exporting Kw Data (topics, acls, schemas, connectors) --- STARTED");
+    try (JsonGenerator generator = createGenerator(file, KwData.class, timeStamp)) {
+      this.<Topic>writeRows(generator, "topics", handleDbRequests::getAllTopics);
+      this.<Acl>writeRows(generator, "subscriptions", handleDbRequests::getAllSubscriptions);
+      this.<MessageSchema>writeRows(generator, "schemas", handleDbRequests::getAllSchemas);
+      this.<KwKafkaConnector>writeRows(
+          generator, "kafkaConnectors", handleDbRequests::getAllConnectors);
+      writeEnd(generator);
+    }
+    log.info("Exporting Kw Data --- ENDED");
   }
 
-  // Get requests data and activity log
-  public KwRequests getRequestsData(HandleDbRequests handleDbRequests, String timeStamp) {
+  // Write requests data
+  void writeRequestsData(HandleDbRequests handleDbRequests, File file, String timeStamp)
+      throws IOException {
     log.info(
-        "Selecting Kw Requests Data (topic, subscription, schema and connector requests, activity log)--- STARTED");
-    KwRequests kwMetadata =
-        KwRequests.builder()
-            .topicRequests(handleDbRequests.getAllTopicRequests())
-            .subscriptionRequests(handleDbRequests.getAllAclRequests())
-            .schemaRequests(handleDbRequests.getAllSchemaRequests())
-            .connectorRequests(handleDbRequests.getAllConnectorRequests())
-            .klawVersion(buildProperties.getVersion())
-            .createdTime(timeStamp)
-            .build();
-    log.info("Selecting Kw Requests Data --- ENDED");
-    return kwMetadata;
+        "Exporting Kw Requests Data (topic, subscription, schema and connector requests) --- STARTED");
+    try (JsonGenerator generator = createGenerator(file, KwRequests.class, timeStamp)) {
+      this.<TopicRequest>writeRows(
+          generator, "topicRequests", handleDbRequests::getAllTopicRequests);
+      this.<AclRequests>writeRows(
+          generator, "subscriptionRequests", handleDbRequests::getAllAclRequests);
+      this.<SchemaRequest>writeRows(
+          generator, "schemaRequests", handleDbRequests::getAllSchemaRequests);
+      this.<KafkaConnectorRequest>writeRows(
+          generator, "connectorRequests", handleDbRequests::getAllConnectorRequests);
+      writeEnd(generator);
+    }
+    log.info("Exporting Kw Requests Data --- ENDED");
+  }
+
+  // Starts the same root wrapped document which ObjectMapper writes for KwData and KwRequests
+  private JsonGenerator createGenerator(File file, Class<?> rootType, String timeStamp)
+      throws IOException {
+    JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(file, JsonEncoding.UTF8);
+    generator.useDefaultPrettyPrinter();
+    generator.writeStartObject();
+    generator.writeObjectFieldStart(rootType.getSimpleName());
+    generator.writeStringField("klawVersion", buildProperties.getVersion());
+    generator.writeStringField("createdTime", timeStamp);
+    return generator;
+  }
+
+  private void writeEnd(JsonGenerator generator) throws IOException {
+    generator.writeEndObject();
+    generator.writeEndObject();
+  }
+
+  // Loads and writes the rows exportBatchSize at a time, only one page is held in memory. Each page
+  // is read after the last row of the previous one, so the database does not skip an offset
+  private <T> void writeRows(
+      JsonGenerator generator, String fieldName, BiFunction<T, Integer, List<T>> pageLoader)
+      throws IOException {
+    generator.writeArrayFieldStart(fieldName);
+    int rows = 0;
+    T last = null;
+    List<T> page;
+    do {
+      page = pageLoader.apply(last, exportBatchSize);
+      for (T row : page) {
+        ROW_WRITER.writeValue(generator, row);
+      }
+      if (!page.isEmpty()) {
+        last = page.get(page.size() - 1);
+      }
+      rows += page.size();
+      generator.flush();
+    } while (page.size() == exportBatchSize);
+    generator.writeEndArray();
+    log.info("Exported {} {}", rows, fieldName);
   }
 
   private File getFile(String fileName, String timeStamp) {
@@ -273,4 +393,6 @@ public class ExportImportDataService {
   private String getTimeStamp() {
     return DATE_TIME_FORMATTER.format(Instant.now());
   }
+
+  record RowImport<T>(Class<T> type, Consumer<List<T>> batchInsert) {}
 }
@@ -0,0 +1,276 @@
+package io.aiven.klaw.service;
+
+import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.model.enums.HAMessageType;
+import io.aiven.klaw.model.requests.HACacheMessage;
+import io.aiven.klaw.model.requests.HACacheMessageBatch;
+import io.aiven.klaw.model.requests.ResetEntityCache;
+import io.aiven.klaw.service.interfaces.HAMessagingServiceI;
+import io.aiven.klaw.service.interfaces.HATransportI;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * Replicates cache changes to the other instances without blocking the caller.
+ *
+ * <p>Changes are queued and put in batches by a single thread, after a short delay which lets
+ * several changes of an admin operation share one request per instance. Each instance is sent its
+ * batches in order by a thread of its own, so an instance which is down only delays its own
+ * changes. A pending change of an entry is replaced by a later change of the same entry, and
+ * repeated metadata resets are sent once. Every change carries a sequence number, so that the
+ * receivers ignore changes which are delivered twice because of a retry. A batch which still fails
+ * after the retries, or which finds too many batches waiting for its instance, is dropped.
+ */
+@Service
+@Primary
+@Slf4j
+@ConditionalOnProperty(prefix = "klaw.core.ha", name = "enable", matchIfMissing = false)
+public class HABatchingMessagingService implements HAMessagingServiceI {
+
+  // batches waiting for an instance which does not answer, the newer ones are dropped
+  private static final int MAX_QUEUED_BATCHES_PER_PEER = 100;
+
+  private final String senderId = UUID.randomUUID().toString();
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  // guarded by this, in the order of the sequence numbers
+  private final Map<String, HACacheMessage> pendingMessages = new LinkedHashMap<>();
+
+  private boolean flushScheduled;
+
+  private final HATransportI transport;
+
+  private final ScheduledExecutorService sendExecutor;
+
+  private final Map<String, ExecutorService> peerExecutors = new ConcurrentHashMap<>();
+
+  private final long batchDelayMs;
+
+  private final int maxBatchSize;
+
+  private final int retries;
+
+  private final long retryBackOffMs;
+
+  @Autowired
+  public HABatchingMessagingService(
+      HATransportI transport,
+      @Value("${klaw.core.ha.batch.delay.ms:100}") long batchDelayMs,
+      @Value("${klaw.core.ha.batch.max.size:500}") int maxBatchSize,
+      @Value("${klaw.core.ha.send.retries:3}") int retries,
+      @Value("${klaw.core.ha.send.retry.backoff.ms:500}") long retryBackOffMs) {
+    this.transport = transport;
+    this.batchDelayMs = batchDelayMs;
+    this.maxBatchSize = maxBatchSize;
+    this.retries = retries;
+    this.retryBackOffMs = retryBackOffMs;
+    this.sendExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreads("ha-messaging"));
+  }
+
+  @Override
+  public void sendUpdate(String entityType, int tenantId, Object entry) {
+    sendUpdate(entityType, tenantId, null, entry);
+  }
+
+  @Override
+  public void sendUpdate(String entityType, int tenantId, Integer id, Object entry) {
+    HACacheMessage message =
+        HACacheMessage.builder()
+            .messageType(HAMessageType.CACHE_UPDATE)
+            .entityType(entityType)
+            .tenantId(tenantId)
+            .id(id)
+            .entry(entry)
+            .build();
+    // updates without an id can not be told apart, none of them is replaced
+    enqueue(id == null ? null : entryKey(entityType, tenantId, id), message);
+  }
+
+  @Override
+  public void sendRemove(String entityType, int tenantId, int id) {
+    enqueue(
+        entryKey(entityType, tenantId, id),
+        HACacheMessage.builder()
+            .messageType(HAMessageType.CACHE_REMOVE)
+            .entityType(entityType)
+            .tenantId(tenantId)
+            .id(id)
+            .build());
+  }
+
+  @Override
+  public void sendMetadataReset(ResetEntityCache resetEntityCache) {
+    enqueue(
+        String.join(
+            "/",
+            HAMessageType.METADATA_RESET.name(),
+            Integer.toString(resetEntityCache.getTenantId()),
+            resetEntityCache.getEntityType(),
+            resetEntityCache.getEntityValue(),
+            resetEntityCache.getOperationType()),
+        HACacheMessage.builder()
+            .messageType(HAMessageType.METADATA_RESET)
+            .tenantId(resetEntityCache.getTenantId())
+            .entityType(resetEntityCache.getEntityType())
+            .resetEntityCache(resetEntityCache)
+            .build());
+  }
+
+  public String getSenderId() {
+    return senderId;
+  }
+
+  /**
+   * Puts the pending changes in batches for every instance, on the calling thread.
+   *
+   * @return completes once every instance was sent, or dropped, the batches of this flush
+   */
+  public CompletableFuture<Void> flush() {
+    List<CompletableFuture<Void>> sends = new ArrayList<>();
+    while (true) {
+      List<HACacheMessage> messages = new ArrayList<>();
+      synchronized (this) {
+        flushScheduled = false;
+        Iterator<HACacheMessage> pending = pendingMessages.values().iterator();
+        while (pending.hasNext() && messages.size() < maxBatchSize) {
+          messages.add(pending.next());
+          pending.remove();
+        }
+      }
+      if (messages.isEmpty()) {
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new));
+      }
+
+      HACacheMessageBatch batch =
+          HACacheMessageBatch.builder().senderId(senderId).messages(messages).build();
+      for (String peer : transport.getPeers()) {
+        sends.add(sendToPeer(peer, batch));
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    sendExecutor.shutdown();
+    if (sendExecutor.awaitTermination(retryBackOffMs << retries, TimeUnit.MILLISECONDS)) {
+      // changes queued while the executor was shutting down
+      flush();
+    }
+    for (ExecutorService peerExecutor : peerExecutors.values()) {
+      peerExecutor.shutdown();
+    }
+    for (ExecutorService peerExecutor : peerExecutors.values()) {
+      peerExecutor.awaitTermination(retryBackOffMs << retries, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void enqueue(String key, HACacheMessage message) {
+    synchronized (this) {
+      message.setSequence(sequence.incrementAndGet());
+      if (key == null) {
+        key = Long.toString(message.getSequence());
+      } else {
+        // the replacing change takes the place of the last change
+        pendingMessages.remove(key);
+      }
+      pendingMessages.put(key, message);
+      if (!flushScheduled && !sendExecutor.isShutdown()) {
+        flushScheduled = true;
+        sendExecutor.schedule(this::flush, batchDelayMs, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  private CompletableFuture<Void> sendToPeer(String peer, HACacheMessageBatch batch) {
+    CompletableFuture<Void> sent = new CompletableFuture<>();
+    try {
+      peerExecutors
+          .computeIfAbsent(
+              peer,
+              key ->
+                  new ThreadPoolExecutor(
+                      1,
+                      1,
+                      0,
+                      TimeUnit.MILLISECONDS,
+                      new LinkedBlockingQueue<>(MAX_QUEUED_BATCHES_PER_PEER),
+                      daemonThreads("ha-messaging-" + key)))
+          .execute(
+              () -> {
+                try {
+                  sendWithRetry(peer, batch);
+                } finally {
+                  sent.complete(null);
+                }
+              });
+    } catch (RejectedExecutionException e) {
+      log.error(
+          "Dropping {} cache changes for instance {}, too many changes are waiting for it",
+          batch.getMessages().size(),
+          peer);
+      sent.complete(null);
+    }
+    return sent;
+  }
+
+  private void sendWithRetry(String peer, HACacheMessageBatch batch) {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        transport.send(peer, batch);
+        return;
+      } catch (KlawException | RuntimeException e) {
+        if (attempt >= retries) {
+          log.error(
+              "Dropping {} cache changes for instance {} after {} attempts",
+              batch.getMessages().size(),
+              peer,
+              attempt + 1,
+              e);
+          return;
+        }
+        log.warn("Error sending cache changes to instance {}, retrying", peer);
+        try {
+          Thread.sleep(retryBackOffMs << attempt);
+        } catch (InterruptedException interruptedException) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private static ThreadFactory daemonThreads(String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static String entryKey(String entityType, int tenantId, int id) {
+    return String.join("/", entityType, Integer.toString(tenantId), Integer.toString(id));
+  }
+}
@@ -0,0 +1,89 @@
+package io.aiven.klaw.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.constants.CacheConstants;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.model.KwMetadataUpdates;
+import io.aiven.klaw.model.requests.HACacheMessage;
+import io.aiven.klaw.model.requests.HACacheMessageBatch;
+import io.aiven.klaw.model.requests.ResetEntityCache;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/** Applies the cache changes of the other instances, in the order they were made. */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "klaw.core.ha", name = "enable", matchIfMissing = false)
+public class HACacheMessageReceiver {
+
+  // entries sent over http arrive as maps
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper()
+          .findAndRegisterModules()
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  @Autowired private ManageDatabase manageDatabase;
+
+  @Autowired private CommonUtilsService commonUtilsService;
+
+  // last sequence number applied per sender
+  private final Map<String, Long> appliedSequences = new ConcurrentHashMap<>();
+
+  public synchronized void receive(HACacheMessageBatch batch) {
+    long appliedSequence = appliedSequences.getOrDefault(batch.getSenderId(), 0L);
+    for (HACacheMessage message : batch.getMessages()) {
+      if (message.getSequence() <= appliedSequence) {
+        log.debug("Ignoring change {} of {}, already applied", message, batch.getSenderId());
+        continue;
+      }
+      apply(message);
+      appliedSequence = message.getSequence();
+    }
+    appliedSequences.put(batch.getSenderId(), appliedSequence);
+  }
+
+  private void apply(HACacheMessage message) {
+    switch (message.getMessageType()) {
+      case CACHE_UPDATE -> {
+        if (isEnvironment(message)) {
+          manageDatabase.addEnvToCache(
+              message.getTenantId(),
+              OBJECT_MAPPER.convertValue(message.getEntry(), Env.class),
+              true);
+        }
+      }
+      case CACHE_REMOVE -> {
+        if (isEnvironment(message)) {
+          manageDatabase.removeEnvFromCache(message.getTenantId(), message.getId(), true);
+        }
+      }
+      case METADATA_RESET -> {
+        ResetEntityCache resetEntityCache = message.getResetEntityCache();
+        commonUtilsService.updateMetadataCache(
+            KwMetadataUpdates.builder()
+                .tenantId(resetEntityCache.getTenantId())
+                .entityType(resetEntityCache.getEntityType())
+                .entityValue(resetEntityCache.getEntityValue())
+                .operationType(resetEntityCache.getOperationType())
+                .createdTime(new Timestamp(System.currentTimeMillis()))
+                .build(),
+            false);
+      }
+    }
+  }
+
+  private static boolean isEnvironment(HACacheMessage message) {
+    if (CacheConstants.ENVIRONMENT_PATH.equals(message.getEntityType())) {
+      return true;
+    }
+    log.warn("Ignoring change of unknown entity type {}", message.getEntityType());
+    return false;
+  }
+}
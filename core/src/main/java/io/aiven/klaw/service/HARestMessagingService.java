@@ -4,24 +4,21 @@ import static io.aiven.klaw.error.KlawErrorMessages.CLUSTER_API_ERR_117;
 
 import io.aiven.klaw.error.KlawException;
 import io.aiven.klaw.model.ApiResponse;
+import io.aiven.klaw.model.requests.ResetEntityCache;
 import io.aiven.klaw.service.interfaces.HAMessagingServiceI;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.aiven.klaw.service.utils.ReusableTokenIssuer;
 import java.net.InetAddress;
-import java.security.Key;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import javax.crypto.spec.SecretKeySpec;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.binary.Base64;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
@@ -54,12 +51,18 @@ public class HARestMessagingService implements HAMessagingServiceI {
   @Value("${klaw.core.app2app.base64.secret:#{''}}")
   private String app2AppApiKey;
 
+  // created on the first call, once the secret is known
+  private volatile ReusableTokenIssuer tokenIssuer;
+
   @Value("${klaw.core.app2app.username:KlawApp2App}")
   private String apiUser;
 
   @Value("${klaw.uiapi.servers:server1,server2}")
   private String clusterUrlsAsString;
 
+  @Value("${server.servlet.context-path:}")
+  private String kwContextPath;
+
   public static final String BASE_URL_ADDRESS = "BASE_URL_ADDRESS";
   public static final String BASE_URL_NAME = "BASE_URL_NAME";
 
@@ -95,6 +98,10 @@ public class HARestMessagingService implements HAMessagingServiceI {
   }
 
   public RestTemplate getRestTemplate() {
+    // one template, and so one pool of connections, for all the calls to the other instances
+    if (rest != null) {
+      return rest;
+    }
     if (clusterUrlsAsString.toLowerCase().startsWith("https")) {
       if (requestFactory == null) {
         synchronized (HARestMessagingService.class) {
@@ -107,10 +114,11 @@ public class HARestMessagingService implements HAMessagingServiceI {
           }
         }
       }
-      return new RestTemplate(requestFactory);
+      rest = new RestTemplate(requestFactory);
     } else {
-      return new RestTemplate();
+      rest = new RestTemplate();
     }
+    return rest;
   }
 
   public List<String> getHAClusterUrls() {
@@ -138,20 +146,11 @@ public class HARestMessagingService implements HAMessagingServiceI {
       throw new KlawException(CLUSTER_API_ERR_117);
     }
 
-    Key hmacKey =
-        new SecretKeySpec(
-            Base64.decodeBase64(app2AppApiKey), SignatureAlgorithm.HS256.getJcaName());
-    Instant now = Instant.now();
-
-    return Jwts.builder()
-        .claim(NAME, username)
-        .claim(ROLES, List.of(CACHE_ADMIN, APP_2_APP))
-        .subject(username)
-        .id(UUID.randomUUID().toString())
-        .issuedAt(Date.from(now))
-        .expiration(Date.from(now.plus(3L, ChronoUnit.MINUTES))) // expiry in 3 minutes
-        .signWith(hmacKey)
-        .compact();
+    if (tokenIssuer == null) {
+      tokenIssuer =
+          new ReusableTokenIssuer(app2AppApiKey, Map.of(ROLES, List.of(CACHE_ADMIN, APP_2_APP)));
+    }
+    return tokenIssuer.getToken(username);
   }
 
   @Override
@@ -196,6 +195,44 @@ public class HARestMessagingService implements HAMessagingServiceI {
     }
   }
 
+  @Override
+  public void sendMetadataReset(ResetEntityCache resetEntityCache) {
+    log.info("invokeResetEndpoints");
+    try {
+      if (clusterUrlsAsString != null && clusterUrlsAsString.length() > 0) {
+        String[] servers = clusterUrlsAsString.split(",");
+        String basePath;
+        for (String server : servers) {
+
+          if ("".equals(kwContextPath)) {
+            basePath = server;
+          } else {
+            basePath = server + "/" + kwContextPath;
+          }
+
+          // ignore metadata cache reset on local.
+          if (isLocalServerUrl(basePath)) {
+            continue;
+          }
+
+          String uri = basePath + "/resetMemoryCache/";
+
+          HttpHeaders headers = new HttpHeaders();
+          headers.setContentType(MediaType.APPLICATION_JSON);
+          headers.add("Accept", MediaType.APPLICATION_JSON_VALUE);
+
+          HttpEntity<ResetEntityCache> request = new HttpEntity<>(resetEntityCache, headers);
+          ResponseEntity<Object> response =
+              getRestTemplate()
+                  .exchange(uri, HttpMethod.POST, request, new ParameterizedTypeReference<>() {});
+          log.info("Response from invokeResetEndpoints" + response);
+        }
+      }
+    } catch (Exception e) {
+      log.error("Error from invokeResetEndpoints ", e);
+    }
+  }
+
   private boolean isLazyLoaded() {
 
     if (rest == null || clusterUrls == null) {
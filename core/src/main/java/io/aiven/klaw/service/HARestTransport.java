@@ -0,0 +1,71 @@
+package io.aiven.klaw.service;
+
+import static io.aiven.klaw.error.KlawErrorMessages.CLUSTER_API_ERR_125;
+import static io.aiven.klaw.service.HARestMessagingService.CACHE;
+import static io.aiven.klaw.service.HARestMessagingService.URL_SEPERATOR;
+
+import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.model.ApiResponse;
+import io.aiven.klaw.model.requests.HACacheMessageBatch;
+import io.aiven.klaw.service.interfaces.HATransportI;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/** Posts batches of cache changes to the cache endpoint of the other instances. */
+@Component
+@Slf4j
+public class HARestTransport implements HATransportI {
+
+  public static final String BATCH = "batch";
+
+  @Autowired HARestMessagingService haRestMessagingService;
+
+  // the other instances are deployed under the same context path
+  @Value("${server.servlet.context-path:}")
+  private String kwContextPath;
+
+  private volatile RestTemplate rest;
+
+  private volatile List<String> peers;
+
+  @Override
+  public List<String> getPeers() {
+    if (peers == null) {
+      peers = haRestMessagingService.getHAClusterUrls();
+    }
+    return peers;
+  }
+
+  @Override
+  public void send(String peer, HACacheMessageBatch batch) throws KlawException {
+    if (rest == null) {
+      // the request factory is shared, the rest template only has to be created once
+      rest = haRestMessagingService.getRestTemplate();
+    }
+    try {
+      HttpEntity<HACacheMessageBatch> request =
+          new HttpEntity<>(batch, haRestMessagingService.createHeaders());
+      rest.postForObject(getUrl(peer), request, ApiResponse.class);
+    } catch (RestClientException e) {
+      log.error("Exception while sending HA updates to another instance {}", peer, e);
+      throw new KlawException(String.format(CLUSTER_API_ERR_125, peer));
+    }
+  }
+
+  String getUrl(String peer) {
+    String url = StringUtils.removeEnd(peer, URL_SEPERATOR);
+    String contextPath =
+        StringUtils.removeEnd(StringUtils.removeStart(kwContextPath, URL_SEPERATOR), URL_SEPERATOR);
+    if (StringUtils.isNotEmpty(contextPath)) {
+      url = String.join(URL_SEPERATOR, url, contextPath);
+    }
+    return String.join(URL_SEPERATOR, url, CACHE, BATCH);
+  }
+}
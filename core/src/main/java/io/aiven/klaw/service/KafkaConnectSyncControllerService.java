@@ -100,8 +100,6 @@ public class KafkaConnectSyncControllerService {
 
     StringBuilder erroredTopicsExist = new StringBuilder();
     boolean topicsDontExistInMainCluster = false;
-    int topicId =
-        manageDatabase.getHandleDbRequests().getNextConnectorRequestId("CONNECTOR_ID", tenantId);
 
     List<Integer> updatedSyncTopicsDelete = new ArrayList<>();
     updatedSyncTopics = handleConnectorDeletes(updatedSyncTopics, updatedSyncTopicsDelete);
@@ -150,8 +148,10 @@ public class KafkaConnectSyncControllerService {
         if (existingTopics == null) {
           t = new KwKafkaConnector();
 
-          topicId = topicId + 1;
-          t.setConnectorId(topicId);
+          t.setConnectorId(
+              manageDatabase
+                  .getHandleDbRequests()
+                  .getNextConnectorRequestId("CONNECTOR_ID", tenantId));
           t.setConnectorName(topicUpdate.getConnectorName());
           t.setConnectorConfig(connectorConfig);
           t.setEnvironment(topicUpdate.getEnvSelected());
@@ -202,8 +202,10 @@ public class KafkaConnectSyncControllerService {
           }
           if (!envFound && !topicAdded) {
             t = new KwKafkaConnector();
-            topicId = topicId + 1;
-            t.setConnectorId(topicId);
+            t.setConnectorId(
+                manageDatabase
+                    .getHandleDbRequests()
+                    .getNextConnectorRequestId("CONNECTOR_ID", tenantId));
             t.setConnectorName(topicUpdate.getConnectorName());
             t.setConnectorConfig(connectorConfig);
             t.setEnvironment(topicUpdate.getEnvSelected());
@@ -156,10 +156,7 @@ public class SchemaRegistrySyncControllerService {
   private List<SchemaSubjectInfoResponse> getSchemasFromDb(
       String kafkaEnvId, int tenantId, String schemaEnvId) {
     List<SchemaSubjectInfoResponse> schemaInfoList = new ArrayList<>();
-    List<Topic> topicList =
-        manageDatabase.getTopicsForTenant(tenantId).stream()
-            .filter(topic -> topic.getEnvironment().equals(kafkaEnvId))
-            .toList();
+    List<Topic> topicList = manageDatabase.getTopicCatalog(tenantId).getTopicsByEnv(kafkaEnvId);
 
     Map<String, Set<String>> topicSchemaVersionsInDb =
         manageDatabase
@@ -572,14 +569,17 @@ public class SchemaRegistrySyncControllerService {
             .getClusters(KafkaClustersType.SCHEMA_REGISTRY, tenantId)
             .get(schemaEnvSelected.getClusterId());
 
+    Map<String, TreeMap<Integer, Map<String, Object>>> schemaObjects =
+        clusterApiService.getAvroSchemas(
+            kwClusters.getBootstrapServers(),
+            kwClusters.getProtocol(),
+            kwClusters.getClusterName() + kwClusters.getClusterId(),
+            syncSchemaUpdates.getTopicList(),
+            tenantId);
+
     for (String topicName : syncSchemaUpdates.getTopicList()) {
       TreeMap<Integer, Map<String, Object>> schemaObject =
-          clusterApiService.getAvroSchema(
-              kwClusters.getBootstrapServers(),
-              kwClusters.getProtocol(),
-              kwClusters.getClusterName() + kwClusters.getClusterId(),
-              topicName,
-              tenantId);
+          schemaObjects.getOrDefault(topicName, new TreeMap<>());
 
       int teamId = commonUtilsService.getTopicsForTopicName(topicName, tenantId).get(0).getTeamId();
 
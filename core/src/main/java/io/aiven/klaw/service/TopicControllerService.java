@@ -62,6 +62,7 @@ import io.aiven.klaw.model.response.TopicConfig;
 import io.aiven.klaw.model.response.TopicDetailsPerEnv;
 import io.aiven.klaw.model.response.TopicRequestsResponseModel;
 import io.aiven.klaw.model.response.TopicTeamResponse;
+import io.aiven.klaw.service.utils.AclResourceIndex;
 import io.aiven.klaw.validation.PermissionAllowed;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -777,7 +778,7 @@ public class TopicControllerService {
 
     if (updateTopicReqStatus.equals(ApiResultStatus.SUCCESS.value)) {
       commonUtilsService.updateMetadata(
-          tenantId, EntityType.TOPICS, MetadataOperationType.CREATE, null);
+          tenantId, EntityType.TOPICS, MetadataOperationType.CREATE, topicRequest.getTopicname());
     }
 
     String message = "Topic Status: " + updateTopicReqStatus + updateSchemaMsg;
@@ -964,7 +965,7 @@ public class TopicControllerService {
         String status = manageDatabase.getHandleDbRequests().updateTopicDocumentation(topic);
         if (status.equals(ApiResultStatus.SUCCESS.value)) {
           commonUtilsService.updateMetadata(
-              tenantId, EntityType.TOPICS, MetadataOperationType.UPDATE, null);
+              tenantId, EntityType.TOPICS, MetadataOperationType.UPDATE, topicInfo.getTopicName());
         }
         return ApiResultStatus.SUCCESS.value.equals(status)
             ? ApiResponse.ok(status)
@@ -1127,34 +1128,73 @@ public class TopicControllerService {
       topicNameSearch = topicNameSearch.trim();
     }
 
-    HandleDbRequests handleDbRequests = manageDatabase.getHandleDbRequests();
+    // tenant filtering
+    List<Env> listAllEnvs = manageDatabase.getKafkaEnvList(tenantId);
+    String orderOfEnvs = commonUtilsService.getEnvProperty(tenantId, ORDER_OF_TOPIC_ENVS);
 
     // To get Producer or Consumer topics, first get all topics based on acls and then filter
-    List<Topic> producerConsumerTopics = null;
     if ((AclType.PRODUCER.value.equals(topicType) || AclType.CONSUMER.value.equals(topicType))) {
-      UserInfo user = UtilMethods.getUserInfoFromAuthentication(manageDatabase, getUserName());
-
-      producerConsumerTopics =
-          handleDbRequests.getAllTopicsByTopictypeAndTeamnameAndEnv(
-              topicType, user.getTeamId(), tenantId, env);
+      return getProducerConsumerTopicsPaginated(
+          env,
+          pageNo,
+          currentPage,
+          topicNameSearch,
+          teamId,
+          topicType,
+          tenantId,
+          listAllEnvs,
+          orderOfEnvs);
     }
 
+    // filter and sort on the topic names only, topics are grouped for the requested page only
+    List<String> topicNames =
+        commonUtilsService.getTopicNames(env, teamId, tenantId, topicNameSearch);
+    return topicNames.isEmpty()
+        ? null
+        : Pager.getItemsList(
+            pageNo,
+            currentPage,
+            21,
+            topicNames,
+            (pageContext, topicName) ->
+                getTopicInfo(
+                    pageContext,
+                    commonUtilsService
+                        .groupTopicsByEnv(
+                            commonUtilsService.getTopicsForTopicName(
+                                topicName, env, teamId, tenantId))
+                        .get(0),
+                    listAllEnvs,
+                    orderOfEnvs,
+                    tenantId));
+  }
+
+  private List<TopicInfo> getProducerConsumerTopicsPaginated(
+      String env,
+      String pageNo,
+      String currentPage,
+      String topicNameSearch,
+      Integer teamId,
+      String topicType,
+      int tenantId,
+      List<Env> listAllEnvs,
+      String orderOfEnvs) {
+    HandleDbRequests handleDbRequests = manageDatabase.getHandleDbRequests();
+    UserInfo user = UtilMethods.getUserInfoFromAuthentication(manageDatabase, getUserName());
+
+    List<Topic> producerConsumerTopics =
+        handleDbRequests.getAllTopicsByTopictypeAndTeamnameAndEnv(
+            topicType, user.getTeamId(), tenantId, env);
+
     // Get Sync topics
     List<Topic> topicsFromSOT = commonUtilsService.getTopics(env, teamId, tenantId);
 
-    // tenant filtering
-    List<Env> listAllEnvs = manageDatabase.getKafkaEnvList(tenantId);
-    String orderOfEnvs = commonUtilsService.getEnvProperty(tenantId, ORDER_OF_TOPIC_ENVS);
-
     topicsFromSOT = commonUtilsService.groupTopicsByEnv(topicsFromSOT);
     List<Topic> filterProducerConsumerList = new ArrayList<>();
 
-    // only filter if there is any if it is empty that means no matches.
-    if (producerConsumerTopics != null) {
-      topicsFromSOT =
-          getProducerConsumerFilterTopics(
-              producerConsumerTopics, topicsFromSOT, filterProducerConsumerList);
-    }
+    topicsFromSOT =
+        getProducerConsumerFilterTopics(
+            producerConsumerTopics, topicsFromSOT, filterProducerConsumerList);
     List<Topic> topicFilteredList = topicsFromSOT;
     topicFilteredList =
         getTopicsFromTopicSearchFilters(topicNameSearch, topicsFromSOT, topicFilteredList);
@@ -1169,31 +1209,39 @@ public class TopicControllerService {
             currentPage,
             21,
             topicsFromSOT,
-            (pageContext, topicSOT) -> {
-              int counterInc = counterIncrement();
-              TopicInfo mp = new TopicInfo();
-              mp.setSequence(counterInc + "");
-
-              TreeSet<String> envSet = new TreeSet<>(Comparator.comparingInt(orderOfEnvs::indexOf));
-              envSet.addAll(topicSOT.getEnvironmentsSet());
-
-              mp.setTopicid(topicSOT.getTopicid());
-              mp.setEnvId(topicSOT.getEnvironment());
-              mp.setEnvironmentsList(KlawResourceUtils.getConvertedEnvs(listAllEnvs, envSet));
-              mp.setTopicName(topicSOT.getTopicname());
-              mp.setTeamId(topicSOT.getTeamId());
-              mp.setTeamname(manageDatabase.getTeamNameFromTeamId(tenantId, topicSOT.getTeamId()));
-
-              mp.setNoOfReplicas(topicSOT.getNoOfReplicas());
-              mp.setNoOfPartitions(topicSOT.getNoOfPartitions());
-              mp.setDescription(topicSOT.getDescription());
-
-              mp.setTotalNoPages(pageContext.getTotalPages());
-              mp.setCurrentPage(pageContext.getPageNo());
-
-              mp.setAllPageNos(pageContext.getAllPageNos());
-              return mp;
-            });
+            (pageContext, topicSOT) ->
+                getTopicInfo(pageContext, topicSOT, listAllEnvs, orderOfEnvs, tenantId));
+  }
+
+  private TopicInfo getTopicInfo(
+      Pager.PageContext pageContext,
+      Topic topicSOT,
+      List<Env> listAllEnvs,
+      String orderOfEnvs,
+      int tenantId) {
+    int counterInc = counterIncrement();
+    TopicInfo mp = new TopicInfo();
+    mp.setSequence(counterInc + "");
+
+    TreeSet<String> envSet = new TreeSet<>(Comparator.comparingInt(orderOfEnvs::indexOf));
+    envSet.addAll(topicSOT.getEnvironmentsSet());
+
+    mp.setTopicid(topicSOT.getTopicid());
+    mp.setEnvId(topicSOT.getEnvironment());
+    mp.setEnvironmentsList(KlawResourceUtils.getConvertedEnvs(listAllEnvs, envSet));
+    mp.setTopicName(topicSOT.getTopicname());
+    mp.setTeamId(topicSOT.getTeamId());
+    mp.setTeamname(manageDatabase.getTeamNameFromTeamId(tenantId, topicSOT.getTeamId()));
+
+    mp.setNoOfReplicas(topicSOT.getNoOfReplicas());
+    mp.setNoOfPartitions(topicSOT.getNoOfPartitions());
+    mp.setDescription(topicSOT.getDescription());
+
+    mp.setTotalNoPages(pageContext.getTotalPages());
+    mp.setCurrentPage(pageContext.getPageNo());
+
+    mp.setAllPageNos(pageContext.getAllPageNos());
+    return mp;
   }
 
   private static List<Topic> getTopicsFromTopicSearchFilters(
@@ -1236,39 +1284,38 @@ public class TopicControllerService {
       List<Topic> producerConsumerTopics,
       List<Topic> topicsFromSOT,
       List<Topic> filterProducerConsumerList) {
-    String tmpTopicFull;
-    String tmpTopicSub;
-    if (!producerConsumerTopics.isEmpty()) {
-      for (Topic topicInfo : topicsFromSOT) {
-        for (Topic producerConsumerTopic : producerConsumerTopics) {
-          tmpTopicFull = producerConsumerTopic.getTopicname();
-
-          String prefixVar = "--";
-          if (tmpTopicFull.endsWith(
-              prefixVar + AclPatternType.PREFIXED + prefixVar)) { // has prefixed acl
-            tmpTopicSub = tmpTopicFull.replace(prefixVar + AclPatternType.PREFIXED + prefixVar, "");
-            if (topicInfo.getTopicname().startsWith(tmpTopicSub)
-                && topicInfo
-                    .getEnvironmentsSet()
-                    .contains(producerConsumerTopic.getEnvironment())) {
-              topicInfo.setEnvironmentsSet(producerConsumerTopic.getEnvironmentsSet());
-              filterProducerConsumerList.add(topicInfo);
-            }
-          } else if (Objects.equals(producerConsumerTopic.getTopicname(), topicInfo.getTopicname())
-              && topicInfo.getEnvironmentsSet().contains(producerConsumerTopic.getEnvironment())) {
-            topicInfo.setEnvironmentsSet(producerConsumerTopic.getEnvironmentsSet());
-            filterProducerConsumerList.add(topicInfo);
-            // we have matched the topic and env no need to continue the inner loop.
-            break;
-          }
-        }
-      }
-      topicsFromSOT = filterProducerConsumerList;
-    } else {
+    if (producerConsumerTopics.isEmpty()) {
       // no matching consumers or producers so return an empty list
       return Collections.emptyList();
     }
-    return topicsFromSOT;
+
+    String prefixedSuffix = "--" + AclPatternType.PREFIXED + "--";
+    AclResourceIndex<Topic> aclIndex = new AclResourceIndex<>();
+    for (Topic producerConsumerTopic : producerConsumerTopics) {
+      String topicName = producerConsumerTopic.getTopicname();
+      if (topicName.endsWith(prefixedSuffix)) { // has prefixed acl
+        aclIndex.addPrefixed(
+            topicName.substring(0, topicName.length() - prefixedSuffix.length()),
+            producerConsumerTopic);
+      } else {
+        aclIndex.addLiteral(topicName, producerConsumerTopic);
+      }
+    }
+
+    for (Topic topicInfo : topicsFromSOT) {
+      Topic matchedAcl = null;
+      // the literal acl comes last, it wins over the prefixed ones
+      for (Topic producerConsumerTopic : aclIndex.getMatching(topicInfo.getTopicname())) {
+        if (topicInfo.getEnvironmentsSet().contains(producerConsumerTopic.getEnvironment())) {
+          matchedAcl = producerConsumerTopic;
+        }
+      }
+      if (matchedAcl != null) {
+        topicInfo.setEnvironmentsSet(matchedAcl.getEnvironmentsSet());
+        filterProducerConsumerList.add(topicInfo);
+      }
+    }
+    return filterProducerConsumerList;
   }
 
   private List<List<TopicInfo>> getPagedList(List<TopicInfo> topicsList) {
@@ -43,11 +43,14 @@ import io.aiven.klaw.model.enums.RequestOperationType;
 import io.aiven.klaw.model.response.SyncTopicsList;
 import io.aiven.klaw.model.response.TopicConfig;
 import io.aiven.klaw.model.response.TopicSyncResponseModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -55,6 +58,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -62,7 +70,9 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
@@ -94,7 +104,19 @@ public class TopicSyncControllerService {
 
   @Autowired private ObjectMapper mapper;
 
-  private int topicCounter = 0;
+  @Autowired
+  @Qualifier("topicReconTaskExecutor")
+  private Executor topicReconTaskExecutor;
+
+  @Value("${klaw.notify.admins.clusterchanges.scheduler.parallelism:4}")
+  private int reconParallelism;
+
+  @Value("${klaw.notify.admins.clusterchanges.scheduler.env.timeout.ms:600000}")
+  private long reconEnvTimeoutMs;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  private final AtomicInteger reconEnvsPending = new AtomicInteger();
 
   // default at 12 am everyday
   @ConditionalOnProperty(
@@ -109,78 +131,169 @@ public class TopicSyncControllerService {
     CompletableFuture.runAsync(this::getReconTopicsScheduled);
   }
 
+  @PostConstruct
+  void registerReconMetrics() {
+    meterRegistry.gauge("klaw.topics.recon.envs.pending", reconEnvsPending);
+  }
+
   public void getReconTopicsScheduled() {
+    long startTime = System.currentTimeMillis();
     Map<Integer, List<String>> envTenantMap = manageDatabase.getEnvsOfTenantsMap();
     Map<Integer, String> tenantMap = manageDatabase.getTenantMap();
     List<Integer> tenants = new ArrayList<>(envTenantMap.keySet());
 
+    // Reconcile all environments of all tenants, parallelism of them at once, results are then
+    // collected per tenant in the order of its environments
+    Semaphore reconPermits = new Semaphore(reconParallelism);
+    Map<Integer, List<Pair<Env, CompletableFuture<List<TopicSyncResponseModel>>>>> reconOfTenants =
+        new LinkedHashMap<>();
+    int envCount = 0;
     for (Integer tenantId : tenants) {
-      StringBuilder reconStr = new StringBuilder();
-
-      boolean notifyAdmin = false;
-
-      int i = 0;
-      // One email per environment if there are changes
+      List<Pair<Env, CompletableFuture<List<TopicSyncResponseModel>>>> reconOfEnvs =
+          new ArrayList<>();
       for (Env env : manageDatabase.getKafkaEnvList(tenantId)) {
         if (env.getEnvStatus() != ClusterStatus.ONLINE) {
           continue;
         }
-        try {
-          List<TopicSyncResponseModel> results =
-              getReconTopics(env.getId(), "-1", "", null, "false", false, false, 101, true)
-                  .getResultSet();
+        reconOfEnvs.add(Pair.of(env, getReconTopicsAsync(env, tenantId, reconPermits)));
+        envCount++;
+      }
+      reconOfTenants.put(tenantId, reconOfEnvs);
+    }
 
-          if (i == 0) {
-            reconStr.append("Tenant : ").append(tenantMap.get(tenantId)).append("\n");
-          }
+    reconOfTenants.forEach(
+        (tenantId, reconOfEnvs) -> {
+          StringBuilder reconStr = new StringBuilder();
+
+          boolean notifyAdmin = false;
 
-          reconStr
-              .append("Topic differences in ")
-              .append(env.getName())
-              .append(" Klaw environment !!\n\n");
+          // One email per environment if there are changes
+          for (Pair<Env, CompletableFuture<List<TopicSyncResponseModel>>> reconOfEnv :
+              reconOfEnvs) {
+            Env env = reconOfEnv.getLeft();
+            try {
+              List<TopicSyncResponseModel> results = reconOfEnv.getRight().join();
+
+              if (reconStr.isEmpty()) {
+                reconStr.append("Tenant : ").append(tenantMap.get(tenantId)).append("\n");
+              }
 
-          for (TopicSyncResponseModel topicRequestModel : results) {
-            notifyAdmin = true;
-            if (topicRequestModel.getRemarks().equalsIgnoreCase("added")) {
               reconStr
-                  .append("Topic ")
-                  .append(topicRequestModel.getTopicname())
-                  .append(" ")
-                  .append(topicRequestModel.getRemarks().toLowerCase())
-                  .append(" on Kafka cluster ")
-                  .append(topicRequestModel.getEnvironmentName())
-                  .append("\n");
-            } else {
+                  .append("Topic differences in ")
+                  .append(env.getName())
+                  .append(" Klaw environment !!\n\n");
+
+              for (TopicSyncResponseModel topicRequestModel : results) {
+                notifyAdmin = true;
+                if (topicRequestModel.getRemarks().equalsIgnoreCase("added")) {
+                  reconStr
+                      .append("Topic ")
+                      .append(topicRequestModel.getTopicname())
+                      .append(" ")
+                      .append(topicRequestModel.getRemarks().toLowerCase())
+                      .append(" on Kafka cluster ")
+                      .append(topicRequestModel.getEnvironmentName())
+                      .append("\n");
+                } else {
+                  reconStr
+                      .append("Topic : ")
+                      .append(topicRequestModel.getTopicname())
+                      .append(" ")
+                      .append(topicRequestModel.getRemarks().toLowerCase())
+                      .append(" in Klaw environment ")
+                      .append(topicRequestModel.getEnvironmentName())
+                      .append("\n");
+                }
+              }
+
               reconStr
-                  .append("Topic : ")
-                  .append(topicRequestModel.getTopicname())
-                  .append(" ")
-                  .append(topicRequestModel.getRemarks().toLowerCase())
-                  .append(" in Klaw environment ")
-                  .append(topicRequestModel.getEnvironmentName())
-                  .append("\n");
+                  .append("\n------------------------------------------------------------------")
+                  .append("\n\n");
+
+            } catch (Exception e) {
+              log.error(
+                  "Exception: reconciliation of env {} tenant {}", env.getName(), tenantId, e);
             }
           }
 
-          reconStr
-              .append("\n------------------------------------------------------------------")
-              .append("\n\n");
+          if (notifyAdmin) {
+            mailService.sendReconMailToAdmin(
+                "Reconciliation of Topics for tenant :" + tenantMap.get(tenantId),
+                reconStr.toString(),
+                tenantMap.get(tenantId),
+                tenantId,
+                getServerUrl());
+          }
+        });
 
-        } catch (Exception e) {
-          log.error("Exception:", e);
-        }
-        i++;
-      }
+    long duration = System.currentTimeMillis() - startTime;
+    meterRegistry.timer("klaw.topics.recon.duration").record(duration, TimeUnit.MILLISECONDS);
+    log.info(
+        "Reconciliation of topics of {} environments of {} tenants finished in {} ms",
+        envCount,
+        tenants.size(),
+        duration);
+  }
 
-      if (notifyAdmin) {
-        mailService.sendReconMailToAdmin(
-            "Reconciliation of Topics for tenant :" + manageDatabase.getTenantMap().get(tenantId),
-            reconStr.toString(),
-            tenantMap.get(tenantId),
-            tenantId,
-            getServerUrl());
-      }
+  // waits for one of the permits, so the fetch of the topics starts, and its timeout runs, only
+  // once an earlier environment is done
+  private CompletableFuture<List<TopicSyncResponseModel>> getReconTopicsAsync(
+      Env env, Integer tenantId, Semaphore reconPermits) {
+    reconEnvsPending.incrementAndGet();
+    reconPermits.acquireUninterruptibly();
+    CompletableFuture<LoadTopicsResponse> clusterTopics;
+    try {
+      KwClusters kwClusters = getKafkaCluster(env.getId(), tenantId);
+      clusterTopics =
+          clusterApiService.getAllTopicsAsync(
+              kwClusters.getBootstrapServers(),
+              kwClusters.getProtocol(),
+              kwClusters.getClusterName() + kwClusters.getClusterId(),
+              kwClusters.getKafkaFlavor(),
+              tenantId,
+              false);
+    } catch (Exception e) {
+      clusterTopics = CompletableFuture.failedFuture(e);
     }
+
+    // the topics are fetched without holding a thread while waiting for the cluster, only their
+    // comparison with the topics of Klaw runs on the executor. An unresponsive cluster is given up
+    // on after the timeout, the other environments go on
+    CompletableFuture<LoadTopicsResponse> topicsOfCluster = clusterTopics;
+    return clusterTopics
+        .thenApplyAsync(
+            loadTopicsResponse ->
+                getReconTopics(
+                        getSyncTopics(
+                            filterTopics(loadTopicsResponse, null),
+                            env.getId(),
+                            "-1",
+                            "",
+                            "false",
+                            false,
+                            tenantId,
+                            true),
+                        env.getId(),
+                        "-1",
+                        "",
+                        tenantId)
+                    .getResultSet(),
+            topicReconTaskExecutor)
+        .orTimeout(reconEnvTimeoutMs, TimeUnit.MILLISECONDS)
+        .whenComplete(
+            (results, error) -> {
+              reconEnvsPending.decrementAndGet();
+              String outcome = "success";
+              if (error instanceof TimeoutException) {
+                // closes the request to the cluster api
+                topicsOfCluster.cancel(true);
+                outcome = "timeout";
+              } else if (error != null) {
+                outcome = "failure";
+              }
+              meterRegistry.counter("klaw.topics.recon.envs", "outcome", outcome).increment();
+              reconPermits.release();
+            });
   }
 
   private String getServerUrl() {
@@ -208,9 +321,7 @@ public class TopicSyncControllerService {
       Integer tenantId,
       boolean scheduledThread)
       throws Exception {
-    SyncTopicsList syncTopicsList = new SyncTopicsList();
-
-    SyncTopicsList loadTopicsResponse =
+    return getReconTopics(
         getSyncTopics(
             envId,
             pageNo,
@@ -220,7 +331,20 @@ public class TopicSyncControllerService {
             isBulkOption,
             resetTopicsCache,
             tenantId,
-            scheduledThread);
+            scheduledThread),
+        envId,
+        pageNo,
+        currentPage,
+        tenantId);
+  }
+
+  private SyncTopicsList getReconTopics(
+      SyncTopicsList loadTopicsResponse,
+      String envId,
+      String pageNo,
+      String currentPage,
+      Integer tenantId) {
+    SyncTopicsList syncTopicsList = new SyncTopicsList();
     List<TopicSyncResponseModel> topicRequestModelList = loadTopicsResponse.getResultSet();
 
     topicRequestModelList =
@@ -278,8 +402,6 @@ public class TopicSyncControllerService {
       Integer tenantId,
       boolean scheduledThread)
       throws Exception {
-    boolean isReconciliation = !Boolean.parseBoolean(showAllTopics);
-    SyncTopicsList syncTopicsList = new SyncTopicsList();
     if (tenantId == null) {
       tenantId = commonUtilsService.getTenantId(getUserName());
     }
@@ -292,8 +414,28 @@ public class TopicSyncControllerService {
       }
     }
 
-    LoadTopicsResponse loadTopicsResponse =
-        getTopicsFromKafkaCluster(env, topicNameSearch, resetTopicsCache, tenantId);
+    return getSyncTopics(
+        getTopicsFromKafkaCluster(env, topicNameSearch, resetTopicsCache, tenantId),
+        env,
+        pageNo,
+        currentPage,
+        showAllTopics,
+        isBulkOption,
+        tenantId,
+        scheduledThread);
+  }
+
+  private SyncTopicsList getSyncTopics(
+      LoadTopicsResponse loadTopicsResponse,
+      String env,
+      String pageNo,
+      String currentPage,
+      String showAllTopics,
+      boolean isBulkOption,
+      int tenantId,
+      boolean scheduledThread) {
+    boolean isReconciliation = !Boolean.parseBoolean(showAllTopics);
+    SyncTopicsList syncTopicsList = new SyncTopicsList();
     syncTopicsList.setTopicsLoadingStatus(loadTopicsResponse.isLoadingInProgress());
     List<TopicConfig> topicsList;
 
@@ -361,7 +503,6 @@ public class TopicSyncControllerService {
 
     // tenant filtering
     //    topicsFromSOT = commonUtilsService.getFilteredTopicsForTenant(topicsFromSOT);
-    int counterInc;
     List<String> teamList;
     teamList = tenantFilterTeams(tenantId, scheduledThread);
 
@@ -373,9 +514,8 @@ public class TopicSyncControllerService {
     List<TopicRequest> topicsListMap = new ArrayList<>();
 
     for (int i = 0; i < topicsList.size(); i++) {
-      counterInc = counterIncrement();
       TopicRequest mp = new TopicRequest();
-      if (createTopicRequest(topicsList, topicsFromSOT, teamList, i, counterInc, mp, tenantId)) {
+      if (createTopicRequest(topicsList, topicsFromSOT, teamList, i, i + 1, mp, tenantId)) {
         topicsListMap.add(mp);
       }
     }
@@ -414,7 +554,6 @@ public class TopicSyncControllerService {
 
     List<String> teamList;
     teamList = tenantFilterTeams(tenantId, scheduledThread);
-    int counterInc;
 
     if (!isBulkOption) {
       updateClusterDeletedTopicsList(
@@ -422,10 +561,8 @@ public class TopicSyncControllerService {
     }
 
     for (int i = 0; i < clusterTopicsList.size(); i++) {
-      counterInc = counterIncrement();
       TopicRequest mp = new TopicRequest();
-      if (createTopicRequest(
-          clusterTopicsList, topicsFromSOT, teamList, i, counterInc, mp, tenantId)) {
+      if (createTopicRequest(clusterTopicsList, topicsFromSOT, teamList, i, i + 1, mp, tenantId)) {
         if (mp.getTeamId().equals(0) || mp.getTeamId() == null) {
           topicsListMap.add(mp);
         }
@@ -867,6 +1004,7 @@ public class TopicSyncControllerService {
             .sorted(new TopicControllerService.TopicNameComparator())
             .collect(Collectors.toList());
 
+    AtomicInteger topicCounter = new AtomicInteger();
     return topicsFromSOT.isEmpty()
         ? null
         : Pager.getItemsList(
@@ -875,7 +1013,7 @@ public class TopicSyncControllerService {
             21,
             topicsFromSOT,
             (pageContext, topicSOT) -> {
-              int counterInc = counterIncrement();
+              int counterInc = topicCounter.incrementAndGet();
               TopicInfo mp = new TopicInfo();
               mp.setSequence(counterInc + "");
 
@@ -899,11 +1037,6 @@ public class TopicSyncControllerService {
             });
   }
 
-  private int counterIncrement() {
-    topicCounter++;
-    return topicCounter;
-  }
-
   public ApiResponse updateSyncTopicsBulk(SyncTopicsBulk syncTopicsBulk) throws KlawException {
     log.info("updateSyncTopicsBulk {}", syncTopicsBulk);
     //    Map<String, List<String>> resultMap = new HashMap<>();
@@ -984,26 +1117,31 @@ public class TopicSyncControllerService {
   private LoadTopicsResponse getTopicsFromKafkaCluster(
       String env, String topicNameSearch, boolean resetTopicsCache, Integer tenantId)
       throws Exception {
-    if (topicNameSearch != null) {
-      topicNameSearch = topicNameSearch.trim();
-    }
-    Env envSelected = getEnvDetails(env, tenantId);
-    KwClusters kwClusters =
-        manageDatabase
-            .getClusters(KafkaClustersType.KAFKA, tenantId)
-            .get(envSelected.getClusterId());
+    KwClusters kwClusters = getKafkaCluster(env, tenantId);
 
-    LoadTopicsResponse loadTopicsResponse =
+    return filterTopics(
         clusterApiService.getAllTopics(
             kwClusters.getBootstrapServers(),
             kwClusters.getProtocol(),
             kwClusters.getClusterName() + kwClusters.getClusterId(),
             kwClusters.getKafkaFlavor(),
             tenantId,
-            resetTopicsCache);
+            resetTopicsCache),
+        topicNameSearch);
+  }
 
-    topicCounter = 0;
+  private KwClusters getKafkaCluster(String env, Integer tenantId) {
+    Env envSelected = getEnvDetails(env, tenantId);
+    return manageDatabase
+        .getClusters(KafkaClustersType.KAFKA, tenantId)
+        .get(envSelected.getClusterId());
+  }
 
+  private LoadTopicsResponse filterTopics(
+      LoadTopicsResponse loadTopicsResponse, String topicNameSearch) {
+    if (topicNameSearch != null) {
+      topicNameSearch = topicNameSearch.trim();
+    }
     Set<TopicConfig> topicFilteredList = loadTopicsResponse.getTopicConfigSet();
     // Filter topics on topic name for search
 
@@ -1076,8 +1214,6 @@ public class TopicSyncControllerService {
 
     StringBuilder erroredTopicsExist = new StringBuilder();
     boolean topicsDontExistInMainCluster = false;
-    int topicId = manageDatabase.getHandleDbRequests().getNextTopicRequestId("TOPIC_ID", tenantId);
-
     // remove duplicates
     updatedSyncTopics =
         updatedSyncTopics.stream()
@@ -1125,8 +1261,8 @@ public class TopicSyncControllerService {
         if (existingTopics == null) {
           t = new Topic();
 
-          topicId = topicId + 1;
-          t.setTopicid(topicId);
+          t.setTopicid(
+              manageDatabase.getHandleDbRequests().getNextTopicRequestId("TOPIC_ID", tenantId));
           t.setTopicname(topicUpdate.getTopicName());
           t.setNoOfPartitions(topicUpdate.getPartitions());
           t.setNoOfReplicas(topicUpdate.getReplicationFactor());
@@ -1176,8 +1312,8 @@ public class TopicSyncControllerService {
           }
           if (!envFound && !topicAdded) {
             t = new Topic();
-            topicId = topicId + 1;
-            t.setTopicid(topicId);
+            t.setTopicid(
+                manageDatabase.getHandleDbRequests().getNextTopicRequestId("TOPIC_ID", tenantId));
             t.setTopicname(topicUpdate.getTopicName());
             t.setNoOfPartitions(topicUpdate.getPartitions());
             t.setNoOfReplicas(topicUpdate.getReplicationFactor());
@@ -1195,7 +1331,6 @@ public class TopicSyncControllerService {
     }
 
     if (updatedSyncTopics.size() == 0 && updatedSyncTopicsDelete.size() > 0) {
-      manageDatabase.loadTopicsForOneTenant(tenantId);
       return ApiResponse.SUCCESS;
     }
 
@@ -1213,7 +1348,7 @@ public class TopicSyncControllerService {
       try {
         CRUDResponse<Topic> statusSync =
             manageDatabase.getHandleDbRequests().addToSynctopics(listTopics);
-        manageDatabase.loadTopicsForOneTenant(tenantId);
+        manageDatabase.addTopicsToCache(tenantId, statusSync.getEntities());
 
         return ApiResponse.ok(statusSync.getResultStatus());
       } catch (Exception e) {
@@ -1242,6 +1377,7 @@ public class TopicSyncControllerService {
     for (Integer topicId : updatedSyncTopicsDelete) {
       manageDatabase.getHandleDbRequests().deleteTopic(topicId, tenantId);
     }
+    manageDatabase.removeTopicsFromCache(tenantId, updatedSyncTopicsDelete);
 
     return updatedSyncTopicsUpdated;
   }
@@ -4,8 +4,8 @@ import static io.aiven.klaw.model.enums.AuthenticationType.DATABASE;
 import static org.springframework.beans.BeanUtils.copyProperties;
 
 import io.aiven.klaw.config.ManageDatabase;
-import io.aiven.klaw.dao.ActivityLog;
 import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.helpers.HandleDbRequests;
 import io.aiven.klaw.helpers.Pager;
 import io.aiven.klaw.model.ActivityLogModel;
 import io.aiven.klaw.model.ApiResponse;
@@ -13,6 +13,9 @@ import io.aiven.klaw.model.enums.OrderBy;
 import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.model.enums.RequestEntityType;
 import io.aiven.klaw.model.response.DbAuthInfo;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -48,29 +51,40 @@ public class UiConfigControllerService {
   }
 
   public List<ActivityLogModel> showActivityLog(
-      String env, String pageNo, OrderBy orderBy, String currentPage) {
+      String env,
+      String pageNo,
+      OrderBy orderBy,
+      String currentPage,
+      LocalDate activityDateFrom,
+      LocalDate activityDateTo) {
     log.debug("showActivityLog {} {}", env, pageNo);
     String userName = getUserName();
-    List<ActivityLog> origActivityList;
-    int tenantId = commonUtilsService.getTenantId(getUserName());
-
-    if (commonUtilsService.isNotAuthorizedUser(
-        commonUtilsService.getPrincipal(), PermissionType.ALL_TEAMS_REPORTS)) {
-      origActivityList =
-          manageDatabase
-              .getHandleDbRequests()
-              .getActivityLog(userName, env, orderBy, false, tenantId); // only your team reqs
-    } else {
-      origActivityList =
-          manageDatabase
-              .getHandleDbRequests()
-              .getActivityLog(userName, env, orderBy, true, tenantId); // all teams reqs
-    }
+    int tenantId = commonUtilsService.getTenantId(userName);
+
+    // only your team reqs, unless the user may see the reqs of all teams
+    Integer teamId =
+        commonUtilsService.isNotAuthorizedUser(
+                commonUtilsService.getPrincipal(), PermissionType.ALL_TEAMS_REPORTS)
+            ? commonUtilsService.getTeamId(userName)
+            : null;
+    Timestamp activityTimeFrom =
+        activityDateFrom == null ? null : Timestamp.valueOf(activityDateFrom.atStartOfDay());
+    Timestamp activityTimeTo =
+        activityDateTo == null ? null : Timestamp.valueOf(activityDateTo.atTime(LocalTime.MAX));
+
+    HandleDbRequests handleDbRequests = manageDatabase.getHandleDbRequests();
+    int totalRecs =
+        handleDbRequests.getActivityLogCount(
+            env, teamId, activityTimeFrom, activityTimeTo, tenantId);
 
     return Pager.getItemsList(
         pageNo,
         currentPage,
-        origActivityList,
+        Pager.DEFAULT_REC_PER_PAGE,
+        totalRecs,
+        (offset, pageSize) ->
+            handleDbRequests.getActivityLog(
+                env, teamId, orderBy, activityTimeFrom, activityTimeTo, offset, pageSize, tenantId),
         (pageContext, activityLog) -> {
           ActivityLogModel activityLogModel = new ActivityLogModel();
           copyProperties(activityLog, activityLogModel);
@@ -10,10 +10,6 @@ import static io.aiven.klaw.model.enums.RolesType.SUPERADMIN;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aiven.klaw.config.ManageDatabase;
-import io.aiven.klaw.dao.AclRequests;
-import io.aiven.klaw.dao.KafkaConnectorRequest;
-import io.aiven.klaw.dao.SchemaRequest;
-import io.aiven.klaw.dao.TopicRequest;
 import io.aiven.klaw.dao.UserInfo;
 import io.aiven.klaw.helpers.HandleDbRequests;
 import io.aiven.klaw.helpers.KwConstants;
@@ -22,22 +18,19 @@ import io.aiven.klaw.model.KwMetadataUpdates;
 import io.aiven.klaw.model.enums.ApiResultStatus;
 import io.aiven.klaw.model.enums.EntityType;
 import io.aiven.klaw.model.enums.PermissionType;
-import io.aiven.klaw.model.enums.RequestStatus;
+import io.aiven.klaw.model.enums.RequestEntityType;
 import io.aiven.klaw.model.requests.ResetEntityCache;
 import io.aiven.klaw.model.response.AuthenticationInfo;
 import io.aiven.klaw.model.response.DashboardStats;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.sql.Timestamp;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -141,106 +134,32 @@ public class UtilControllerService implements InitializingBean {
         commonUtilsService.getPrincipal(), PermissionType.REQUEST_CREATE_SUBSCRIPTIONS)) {
       roleToSet = REQUESTOR_SUBSCRIPTIONS;
     }
-    List<SchemaRequest> allSchemaReqs =
-        reqsHandle.getAllSchemaRequests(
-            true,
+    Map<RequestEntityType, Map<String, Long>> countsPerEnv =
+        reqsHandle.getRequestsToApproveCountsPerEnv(
             requestor,
-            tenantId,
-            null,
-            null,
-            null,
-            null,
-            null,
+            roleToSet,
             !commonUtilsService.isNotAuthorizedUser(
                 commonUtilsService.getPrincipal(), PermissionType.APPROVE_ALL_REQUESTS_TEAMS),
-            false);
-
-    List<AclRequests> allAclReqs;
-    List<TopicRequest> allTopicReqs;
-    List<KafkaConnectorRequest> allConnectorReqs;
-
-    if (commonUtilsService.isNotAuthorizedUser(
-        commonUtilsService.getPrincipal(), PermissionType.APPROVE_ALL_REQUESTS_TEAMS)) {
-      allAclReqs =
-          reqsHandle.getAllAclRequests(
-              true,
-              requestor,
-              roleToSet,
-              RequestStatus.CREATED.value,
-              false,
-              null,
-              null,
-              null,
-              null,
-              null,
-              false,
-              tenantId);
-      allTopicReqs =
-          reqsHandle.getCreatedTopicRequests(
-              requestor, RequestStatus.CREATED.value, false, tenantId);
-      allConnectorReqs =
-          reqsHandle.getCreatedConnectorRequests(
-              requestor, RequestStatus.CREATED.value, false, tenantId, null, null, null);
-    } else {
-      allAclReqs =
-          reqsHandle.getAllAclRequests(
-              true,
-              requestor,
-              roleToSet,
-              RequestStatus.CREATED.value,
-              true,
-              null,
-              null,
-              null,
-              null,
-              null,
-              false,
-              tenantId);
-      allTopicReqs =
-          reqsHandle.getCreatedTopicRequests(
-              requestor, RequestStatus.CREATED.value, true, tenantId);
-      allConnectorReqs =
-          reqsHandle.getCreatedConnectorRequests(
-              requestor, RequestStatus.CREATED.value, true, tenantId, null, null, null);
-    }
+            tenantId);
 
+    Set<String> allowedEnvIdSet;
     try {
       // tenant filtering
-      final Set<String> allowedEnvIdSet = commonUtilsService.getEnvsFromUserId(getUserName());
-      allAclReqs =
-          allAclReqs.stream()
-              .filter(request -> allowedEnvIdSet.contains(request.getEnvironment()))
-              .collect(Collectors.toList());
-
-      // tenant filtering
-      allSchemaReqs =
-          allSchemaReqs.stream()
-              .filter(request -> allowedEnvIdSet.contains(request.getEnvironment()))
-              .collect(Collectors.toList());
-
-      // tenant filtering
-      allTopicReqs =
-          allTopicReqs.stream()
-              .filter(request -> allowedEnvIdSet.contains(request.getEnvironment()))
-              .collect(Collectors.toList());
-
-      // tenant filtering
-      allConnectorReqs =
-          allConnectorReqs.stream()
-              .filter(request -> allowedEnvIdSet.contains(request.getEnvironment()))
-              .collect(Collectors.toList());
+      allowedEnvIdSet = commonUtilsService.getEnvsFromUserId(getUserName());
     } catch (Exception e) {
       log.error("No environments/clusters found.", e);
-      allAclReqs = new ArrayList<>();
-      allSchemaReqs = new ArrayList<>();
-      allTopicReqs = new ArrayList<>();
-      allConnectorReqs = new ArrayList<>();
+      allowedEnvIdSet = Set.of();
     }
 
-    countList.put("topics", allTopicReqs.size() + "");
-    countList.put("acls", allAclReqs.size() + "");
-    countList.put("schemas", allSchemaReqs.size() + "");
-    countList.put("connectors", allConnectorReqs.size() + "");
+    countList.put(
+        "topics", countAllowedEnvs(countsPerEnv.get(RequestEntityType.TOPIC), allowedEnvIdSet));
+    countList.put(
+        "acls", countAllowedEnvs(countsPerEnv.get(RequestEntityType.ACL), allowedEnvIdSet));
+    countList.put(
+        "schemas", countAllowedEnvs(countsPerEnv.get(RequestEntityType.SCHEMA), allowedEnvIdSet));
+    countList.put(
+        "connectors",
+        countAllowedEnvs(countsPerEnv.get(RequestEntityType.CONNECTOR), allowedEnvIdSet));
 
     if (commonUtilsService.isNotAuthorizedUser(
         commonUtilsService.getPrincipal(), PermissionType.ADD_EDIT_DELETE_USERS)) {
@@ -252,6 +171,14 @@ public class UtilControllerService implements InitializingBean {
     return countList;
   }
 
+  private static String countAllowedEnvs(Map<String, Long> countsPerEnv, Set<String> envIds) {
+    return countsPerEnv.entrySet().stream()
+            .filter(envCount -> envIds.contains(envCount.getKey()))
+            .mapToLong(Map.Entry::getValue)
+            .sum()
+        + "";
+  }
+
   public AuthenticationInfo getAuth() {
     int tenantId = commonUtilsService.getTenantId(getUserName());
     String userName = getUserName();
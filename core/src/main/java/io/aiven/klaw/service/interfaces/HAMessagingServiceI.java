@@ -1,8 +1,18 @@
 package io.aiven.klaw.service.interfaces;
 
+import io.aiven.klaw.model.requests.ResetEntityCache;
+
 public interface HAMessagingServiceI {
 
   void sendUpdate(String entityType, int tenantId, Object entry);
 
+  /** The id lets implementations replace a pending update or removal of the same entry. */
+  default void sendUpdate(String entityType, int tenantId, Integer id, Object entry) {
+    sendUpdate(entityType, tenantId, entry);
+  }
+
   void sendRemove(String entityType, int tenantId, int id);
+
+  /** Makes the other instances reload the metadata of an entity type from the database. */
+  void sendMetadataReset(ResetEntityCache resetEntityCache);
 }
@@ -0,0 +1,14 @@
+package io.aiven.klaw.service.interfaces;
+
+import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.model.requests.HACacheMessageBatch;
+import java.util.List;
+
+/** Delivers batches of cache changes to the other instances of Klaw. */
+public interface HATransportI {
+
+  /** The other instances, this instance excluded. */
+  List<String> getPeers();
+
+  void send(String peer, HACacheMessageBatch batch) throws KlawException;
+}
@@ -0,0 +1,162 @@
+package io.aiven.klaw.service.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Radix trie over the resource names of ACLs, so the ACLs applying to a topic are found in time
+ * proportional to the length of the topic name instead of by comparing the topic with every ACL.
+ * Values are indexed under their resource name either as literal, matching that name only, or as
+ * prefixed, matching every name starting with it.
+ *
+ * <p>An index is built by the caller from the ACLs it has read, of one tenant and usually one
+ * environment, and is not thread safe.
+ *
+ * @param <T> the ACL, or whatever the caller wants back for a resource name
+ */
+public class AclResourceIndex<T> {
+
+  private final Node<T> root = new Node<>("");
+
+  private int size;
+
+  public void addLiteral(String resourceName, T value) {
+    Node<T> node = insert(resourceName);
+    if (node.literal == null) {
+      node.literal = new ArrayList<>(1);
+    }
+    node.literal.add(value);
+    size++;
+  }
+
+  public void addPrefixed(String resourceName, T value) {
+    Node<T> node = insert(resourceName);
+    if (node.prefixed == null) {
+      node.prefixed = new ArrayList<>(1);
+    }
+    node.prefixed.add(value);
+    size++;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return the values indexed under exactly this resource name, the literal ones first, then the
+   *     prefixed ones
+   */
+  public List<T> getExact(String resourceName) {
+    Node<T> node = find(resourceName);
+    if (node == null) {
+      return Collections.emptyList();
+    }
+    List<T> values = new ArrayList<>();
+    addAll(values, node.literal);
+    addAll(values, node.prefixed);
+    return values;
+  }
+
+  /**
+   * @return the values of the ACLs applying to this topic: the prefixed ones of every prefix of the
+   *     topic name, shortest prefix first, then the literal ones of the topic name
+   */
+  public List<T> getMatching(String topicName) {
+    List<T> values = new ArrayList<>();
+    Node<T> node = root;
+    int position = 0;
+    while (true) {
+      addAll(values, node.prefixed);
+      if (position == topicName.length()) {
+        addAll(values, node.literal);
+        return values;
+      }
+      Node<T> child = node.children.get(topicName.charAt(position));
+      if (child == null || !topicName.startsWith(child.label, position)) {
+        return values;
+      }
+      position += child.label.length();
+      node = child;
+    }
+  }
+
+  private Node<T> find(String resourceName) {
+    Node<T> node = root;
+    int position = 0;
+    while (position < resourceName.length()) {
+      Node<T> child = node.children.get(resourceName.charAt(position));
+      if (child == null || !resourceName.startsWith(child.label, position)) {
+        return null;
+      }
+      position += child.label.length();
+      node = child;
+    }
+    return node;
+  }
+
+  private Node<T> insert(String resourceName) {
+    Node<T> node = root;
+    int position = 0;
+    while (position < resourceName.length()) {
+      char first = resourceName.charAt(position);
+      Node<T> child = node.children.get(first);
+      if (child == null) {
+        child = new Node<>(resourceName.substring(position));
+        node.children.put(first, child);
+        return child;
+      }
+
+      int common = commonPrefixLength(child.label, resourceName, position);
+      if (common < child.label.length()) {
+        // split the edge, the shared part of the label becomes a node of its own
+        Node<T> split = new Node<>(child.label.substring(0, common));
+        child.label = child.label.substring(common);
+        split.children.put(child.label.charAt(0), child);
+        node.children.put(first, split);
+        child = split;
+      }
+      position += common;
+      node = child;
+    }
+    return node;
+  }
+
+  private static int commonPrefixLength(String label, String resourceName, int position) {
+    int max = Math.min(label.length(), resourceName.length() - position);
+    int length = 0;
+    while (length < max && label.charAt(length) == resourceName.charAt(position + length)) {
+      length++;
+    }
+    return length;
+  }
+
+  private static <T> void addAll(List<T> values, List<T> nodeValues) {
+    if (nodeValues != null) {
+      values.addAll(nodeValues);
+    }
+  }
+
+  private static final class Node<T> {
+
+    // key first character of the label of the child
+    private final Map<Character, Node<T>> children = new HashMap<>(4);
+
+    // part of the resource name between the parent and this node
+    private String label;
+
+    private List<T> literal;
+
+    private List<T> prefixed;
+
+    private Node(String label) {
+      this.label = label;
+    }
+  }
+}
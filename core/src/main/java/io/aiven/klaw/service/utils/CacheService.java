@@ -1,9 +1,15 @@
 package io.aiven.klaw.service.utils;
 
 import io.aiven.klaw.service.interfaces.HAMessagingServiceI;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
 
 /**
  * This cache provides a standardised way with built in inter instance update to other caches when
@@ -11,26 +17,52 @@ import org.springframework.http.*;
  * the most efficient use of the cache is used along with the ability to use Java Streams with the
  * output for complex queries.
  *
+ * <p>The entries of a tenant are published as an immutable snapshot, replaced on every change.
+ * Reads never lock and never copy, changes of a tenant are serialized by a lock of that tenant so
+ * tenants do not wait for each other. The maps and lists returned are read only.
+ *
  * @param <T> The Entity Type that is to be stored in this Cache.
  */
 @Slf4j
 public class CacheService<T> {
 
-  private final Map<Integer, Map<Integer, T>> cache;
+  private final Map<Integer, TenantEntries<T>> cache = new ConcurrentHashMap<>();
 
-  private final String urlEndpoint;
   private final String entityType;
 
   private final HAMessagingServiceI utilsService;
 
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final Counter hitCounter;
+
+  private final Counter missCounter;
+
   public CacheService(String entityType, HAMessagingServiceI utilsService) {
-    // TODO an interface needs to be added to allow the passing in of different communication
-    // methods (kafka/https/rabbitmq etc) to allow any org to use what they want for maintaining
-    // cache.
-    this.cache = new HashMap<>();
-    this.urlEndpoint = "cache";
+    this(entityType, utilsService, new SimpleMeterRegistry(), entityType);
+  }
+
+  public CacheService(
+      String entityType,
+      HAMessagingServiceI utilsService,
+      MeterRegistry meterRegistry,
+      String cacheName) {
     this.entityType = entityType;
     this.utilsService = utilsService;
+    Gauge.builder("klaw.cache.size", size, AtomicInteger::get)
+        .description("Entries of all the tenants")
+        .tag("cache", cacheName)
+        .register(meterRegistry);
+    this.hitCounter =
+        Counter.builder("klaw.cache.gets")
+            .tag("cache", cacheName)
+            .tag("result", "hit")
+            .register(meterRegistry);
+    this.missCounter =
+        Counter.builder("klaw.cache.gets")
+            .tag("cache", cacheName)
+            .tag("result", "miss")
+            .register(meterRegistry);
   }
 
   public T add(int tenantId, Integer id, T entry) {
@@ -38,10 +70,17 @@ public class CacheService<T> {
   }
 
   public void addAll(int tenantId, Map<Integer, T> entries) {
-    if (entries == null) {
-      entries = new HashMap<>();
+    if (entries == null || entries.isEmpty()) {
+      getTenantEntries(tenantId);
+      return;
     }
-    getCache(tenantId).putAll(entries);
+    Map<Integer, T> newEntries = entries;
+    change(
+        tenantId,
+        entriesCopy -> {
+          entriesCopy.putAll(newEntries);
+          return null;
+        });
   }
 
   public T remove(int tenantId, Integer id, boolean isLocalUpdate) {
@@ -49,11 +88,18 @@ public class CacheService<T> {
     if (!isLocalUpdate) {
       sendHighAvailabilityRemove(tenantId, id);
     }
-    return getCache(tenantId).remove(id);
+    if (!cache.containsKey(tenantId)) {
+      return null;
+    }
+    return change(tenantId, entriesCopy -> entriesCopy.remove(id));
   }
 
   public Map<Integer, T> removeCache(int tenantId) {
-    return cache.remove(tenantId);
+    TenantEntries<T> tenantEntries = cache.remove(tenantId);
+    if (tenantEntries == null) {
+      return null;
+    }
+    return tenantEntries.close();
   }
 
   public T update(int tenantId, Integer id, T entry) {
@@ -62,30 +108,102 @@ public class CacheService<T> {
 
   public T addOrUpdate(int tenantId, Integer id, T entry, boolean isLocalUpdate) {
     log.debug("addOrUpdate {}", entry);
-    getCache(tenantId).put(id, entry);
+    change(tenantId, entriesCopy -> entriesCopy.put(id, entry));
     if (!isLocalUpdate) {
-      sendHighAvailabilityUpdate(tenantId, entry);
+      sendHighAvailabilityUpdate(tenantId, id, entry);
     }
     return entry;
   }
 
   public Optional<T> get(int tenantId, Integer id) {
-    return Optional.ofNullable(getCache(tenantId).get(id));
+    TenantEntries<T> tenantEntries = cache.get(tenantId);
+    T entry = tenantEntries == null ? null : tenantEntries.snapshot.entries.get(id);
+    (entry == null ? missCounter : hitCounter).increment();
+    return Optional.ofNullable(entry);
   }
 
   public Map<Integer, T> getCache(Integer tenantId) {
-    return cache.computeIfAbsent(tenantId, k -> new HashMap<>());
+    return getSnapshot(tenantId).entries;
   }
 
   public List<T> getCacheAsList(Integer tenantId) {
-    return new ArrayList<>(getCache(tenantId).values());
+    return getSnapshot(tenantId).values;
+  }
+
+  private Snapshot<T> getSnapshot(Integer tenantId) {
+    TenantEntries<T> tenantEntries = cache.get(tenantId);
+    return tenantEntries == null ? Snapshot.empty() : tenantEntries.snapshot;
   }
 
-  private void sendHighAvailabilityUpdate(int tenantId, T entry) {
-    utilsService.sendUpdate(entityType, tenantId, entry);
+  private TenantEntries<T> getTenantEntries(int tenantId) {
+    return cache.computeIfAbsent(tenantId, k -> new TenantEntries<>(size));
+  }
+
+  private T change(int tenantId, Function<Map<Integer, T>, T> change) {
+    while (true) {
+      TenantEntries<T> tenantEntries = getTenantEntries(tenantId);
+      synchronized (tenantEntries) {
+        // the entries of the tenant were removed meanwhile, the change goes to new entries
+        if (!tenantEntries.closed) {
+          return tenantEntries.change(change);
+        }
+      }
+    }
+  }
+
+  private void sendHighAvailabilityUpdate(int tenantId, Integer id, T entry) {
+    utilsService.sendUpdate(entityType, tenantId, id, entry);
   }
 
   private void sendHighAvailabilityRemove(int tenantId, Integer id) {
     utilsService.sendRemove(entityType, tenantId, id);
   }
+
+  private static final class TenantEntries<T> {
+
+    private final AtomicInteger size;
+
+    private volatile Snapshot<T> snapshot = Snapshot.empty();
+
+    // guarded by this
+    private boolean closed;
+
+    private TenantEntries(AtomicInteger size) {
+      this.size = size;
+    }
+
+    private synchronized T change(Function<Map<Integer, T>, T> change) {
+      Map<Integer, T> entriesCopy = new HashMap<>(snapshot.entries);
+      T result = change.apply(entriesCopy);
+      size.addAndGet(entriesCopy.size() - snapshot.entries.size());
+      snapshot = new Snapshot<>(entriesCopy);
+      return result;
+    }
+
+    private synchronized Map<Integer, T> close() {
+      closed = true;
+      size.addAndGet(-snapshot.entries.size());
+      return snapshot.entries;
+    }
+  }
+
+  private static final class Snapshot<T> {
+
+    private static final Snapshot<?> EMPTY = new Snapshot<>(Map.of());
+
+    private final Map<Integer, T> entries;
+
+    private final List<T> values;
+
+    private Snapshot(Map<Integer, T> entries) {
+      // null keys and values are allowed, so the unmodifiable views are used instead of copyOf
+      this.entries = Collections.unmodifiableMap(entries);
+      this.values = Collections.unmodifiableList(new ArrayList<>(entries.values()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Snapshot<T> empty() {
+      return (Snapshot<T>) EMPTY;
+    }
+  }
 }
@@ -0,0 +1,74 @@
+package io.aiven.klaw.service.utils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.commons.codec.binary.Base64;
+
+/**
+ * Issues the signed tokens sent to cluster api and to the other instances. A token is valid for 3
+ * minutes and is reused for every call of the same user until a minute before it expires, so the
+ * key is derived once and a token is signed every two minutes instead of on every call.
+ */
+public class ReusableTokenIssuer {
+
+  static final Duration TOKEN_VALIDITY = Duration.ofMinutes(3);
+
+  // left to the receiver to use the token, including clock differences between the servers
+  static final Duration RENEW_BEFORE_EXPIRY = Duration.ofMinutes(1);
+
+  private final Key hmacKey;
+
+  private final Map<String, Object> claims;
+
+  private final Clock clock;
+
+  private final Map<String, IssuedToken> tokens = new ConcurrentHashMap<>();
+
+  public ReusableTokenIssuer(String base64Secret, Map<String, Object> claims) {
+    this(base64Secret, claims, Clock.systemUTC());
+  }
+
+  ReusableTokenIssuer(String base64Secret, Map<String, Object> claims, Clock clock) {
+    this.hmacKey =
+        new SecretKeySpec(Base64.decodeBase64(base64Secret), SignatureAlgorithm.HS256.getJcaName());
+    this.claims = Map.copyOf(claims);
+    this.clock = clock;
+  }
+
+  public String getToken(String username) {
+    Instant now = clock.instant();
+    IssuedToken issuedToken = tokens.get(username);
+    if (issuedToken == null || !now.isBefore(issuedToken.renewAt())) {
+      // concurrent callers may both sign a token, either one is valid
+      issuedToken = issue(username, now);
+      tokens.put(username, issuedToken);
+    }
+    return issuedToken.token();
+  }
+
+  private IssuedToken issue(String username, Instant now) {
+    Instant expiration = now.plus(TOKEN_VALIDITY);
+    String token =
+        Jwts.builder()
+            .claims(claims)
+            .claim("name", username)
+            .subject(username)
+            .id(UUID.randomUUID().toString())
+            .issuedAt(Date.from(now))
+            .expiration(Date.from(expiration))
+            .signWith(hmacKey)
+            .compact();
+    return new IssuedToken(token, expiration.minus(RENEW_BEFORE_EXPIRY));
+  }
+
+  private record IssuedToken(String token, Instant renewAt) {}
+}
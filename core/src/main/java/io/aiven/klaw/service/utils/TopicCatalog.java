@@ -0,0 +1,337 @@
+package io.aiven.klaw.service.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.aiven.klaw.dao.Topic;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In memory catalog of the topics of one tenant. Besides the primary index on topic id, secondary
+ * indexes are maintained on topic name, environment, team and environment + team so lookups do not
+ * need to scan every topic of the tenant. The catalog supports incremental add/remove so changes to
+ * a handful of topics do not require a reload of the whole tenant from the database.
+ *
+ * <p>The key values are captured when a topic is indexed, as the Topic entities handed out are
+ * mutable and callers update them in place (team changes on claim or sync) before saving them.
+ * Re-indexing a topic always removes it using the captured keys.
+ */
+public class TopicCatalog {
+
+  private static final int TOPIC_NAMES_CACHED = 1_000_000;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // key topic id
+  private final Map<Integer, IndexedTopic> topicsById = new LinkedHashMap<>();
+
+  // key topic name, sorted so pages of topic names can be read without sorting the catalog
+  private final NavigableMap<String, Set<Topic>> topicsByName = new TreeMap<>();
+
+  // key env id
+  private final Map<String, Set<Topic>> topicsByEnv = new HashMap<>();
+
+  // key team id
+  private final Map<Integer, Set<Topic>> topicsByTeam = new HashMap<>();
+
+  // key env id, sub key team id
+  private final Map<String, Map<Integer, Set<Topic>>> topicsByEnvAndTeam = new HashMap<>();
+
+  // read only view of all topics, rebuilt lazily after a change
+  private volatile List<Topic> allTopicsSnapshot = Collections.emptyList();
+  private volatile boolean snapshotStale = false;
+
+  // names found per filter key, dropped on every change. Bounded on the number of names held, as
+  // every search has its own key.
+  private final Cache<Object, List<String>> topicNamesByFilter =
+      Caffeine.newBuilder()
+          .maximumWeight(TOPIC_NAMES_CACHED)
+          .weigher((Object filterKey, List<String> topicNames) -> topicNames.size() + 1)
+          .build();
+
+  public TopicCatalog() {}
+
+  public TopicCatalog(Collection<Topic> topics) {
+    addOrUpdateAll(topics);
+  }
+
+  public void replaceAll(Collection<Topic> topics) {
+    lock.writeLock().lock();
+    try {
+      topicsById.clear();
+      topicsByName.clear();
+      topicsByEnv.clear();
+      topicsByTeam.clear();
+      topicsByEnvAndTeam.clear();
+      if (topics != null) {
+        topics.forEach(this::index);
+      }
+      snapshotStale = true;
+      topicNamesByFilter.invalidateAll();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void addOrUpdate(Topic topic) {
+    addOrUpdateAll(List.of(topic));
+  }
+
+  public void addOrUpdateAll(Collection<Topic> topics) {
+    if (topics == null || topics.isEmpty()) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      for (Topic topic : topics) {
+        unindex(topic.getTopicid());
+        index(topic);
+      }
+      snapshotStale = true;
+      topicNamesByFilter.invalidateAll();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Integer topicId) {
+    removeAll(List.of(topicId));
+  }
+
+  public void removeAll(Collection<Integer> topicIds) {
+    if (topicIds == null || topicIds.isEmpty()) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      topicIds.forEach(this::unindex);
+      snapshotStale = true;
+      topicNamesByFilter.invalidateAll();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Replaces every topic with the given name (all environments) with the given topics. Used when a
+   * single topic has been created, updated, claimed or deleted and has been re-read from the
+   * database.
+   */
+  public void replaceTopicsForName(String topicName, Collection<Topic> topics) {
+    lock.writeLock().lock();
+    try {
+      Set<Topic> existing = topicsByName.get(topicName);
+      if (existing != null) {
+        new ArrayList<>(existing).forEach(topic -> unindexByName(topicName, topic));
+      }
+      if (topics != null) {
+        for (Topic topic : topics) {
+          unindex(topic.getTopicid());
+          index(topic);
+        }
+      }
+      snapshotStale = true;
+      topicNamesByFilter.invalidateAll();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public Topic get(Integer topicId) {
+    lock.readLock().lock();
+    try {
+      IndexedTopic indexedTopic = topicsById.get(topicId);
+      return indexedTopic == null ? null : indexedTopic.topic();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public List<Topic> getAll() {
+    if (snapshotStale) {
+      lock.writeLock().lock();
+      try {
+        if (snapshotStale) {
+          List<Topic> topics = new ArrayList<>(topicsById.size());
+          topicsById.values().forEach(indexedTopic -> topics.add(indexedTopic.topic()));
+          allTopicsSnapshot = Collections.unmodifiableList(topics);
+          snapshotStale = false;
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+    return allTopicsSnapshot;
+  }
+
+  public List<Topic> getTopicsByName(String topicName) {
+    return copyOf(topicsByName, topicName);
+  }
+
+  public List<Topic> getTopicsByEnv(String envId) {
+    return copyOf(topicsByEnv, envId);
+  }
+
+  public List<Topic> getTopicsByTeam(Integer teamId) {
+    return copyOf(topicsByTeam, teamId);
+  }
+
+  public List<Topic> getTopicsByEnvAndTeam(String envId, Integer teamId) {
+    lock.readLock().lock();
+    try {
+      Map<Integer, Set<Topic>> byTeam = topicsByEnvAndTeam.get(envId);
+      if (byTeam == null || !byTeam.containsKey(teamId)) {
+        return Collections.emptyList();
+      }
+      return List.copyOf(byTeam.get(teamId));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public boolean existsTopicInEnv(String topicName, String envId) {
+    lock.readLock().lock();
+    try {
+      Set<Topic> topics = topicsByName.get(topicName);
+      return topics != null
+          && topics.stream().anyMatch(topic -> Objects.equals(topic.getEnvironment(), envId));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return every topic (all environments) sharing a name with at least one of the given names.
+   */
+  public List<Topic> getTopicsByNames(Set<String> topicNames) {
+    lock.readLock().lock();
+    try {
+      List<Topic> topics = new ArrayList<>();
+      for (String topicName : topicNames) {
+        Set<Topic> topicsForName = topicsByName.get(topicName);
+        if (topicsForName != null) {
+          topics.addAll(topicsForName);
+        }
+      }
+      return topics;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Walks the topic names in sorted order and returns the names for which the filter accepts the
+   * topics (all environments) of that name. Only the names are collected, so callers can count and
+   * page the result before materialising any topic.
+   *
+   * <p>The names are cached until the catalog changes, the pages of a filter are then sublists of
+   * the same list. Filters with equal keys must accept the same topics.
+   */
+  public List<String> findTopicNames(
+      Object filterKey, Predicate<Collection<Topic>> topicsOfNameFilter) {
+    lock.readLock().lock();
+    try {
+      // found under the read lock, a change can not happen before the names are cached
+      return topicNamesByFilter.get(
+          filterKey,
+          k -> {
+            List<String> topicNames = new ArrayList<>();
+            for (Map.Entry<String, Set<Topic>> topicsOfName : topicsByName.entrySet()) {
+              if (topicsOfNameFilter.test(Collections.unmodifiableSet(topicsOfName.getValue()))) {
+                topicNames.add(topicsOfName.getKey());
+              }
+            }
+            return Collections.unmodifiableList(topicNames);
+          });
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return topicsById.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private <K> List<Topic> copyOf(Map<K, Set<Topic>> index, K key) {
+    lock.readLock().lock();
+    try {
+      Set<Topic> topics = index.get(key);
+      return topics == null ? Collections.emptyList() : List.copyOf(topics);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void index(Topic topic) {
+    IndexedTopic indexedTopic =
+        new IndexedTopic(topic, topic.getTopicname(), topic.getEnvironment(), topic.getTeamId());
+    topicsById.put(topic.getTopicid(), indexedTopic);
+    topicsByName.computeIfAbsent(indexedTopic.topicName(), k -> new LinkedHashSet<>()).add(topic);
+    topicsByEnv.computeIfAbsent(indexedTopic.envId(), k -> new LinkedHashSet<>()).add(topic);
+    topicsByTeam.computeIfAbsent(indexedTopic.teamId(), k -> new LinkedHashSet<>()).add(topic);
+    topicsByEnvAndTeam
+        .computeIfAbsent(indexedTopic.envId(), k -> new HashMap<>())
+        .computeIfAbsent(indexedTopic.teamId(), k -> new LinkedHashSet<>())
+        .add(topic);
+  }
+
+  private void unindex(Integer topicId) {
+    IndexedTopic indexedTopic = topicsById.remove(topicId);
+    if (indexedTopic == null) {
+      return;
+    }
+    Topic topic = indexedTopic.topic();
+    removeFrom(topicsByName, indexedTopic.topicName(), topic);
+    removeFrom(topicsByEnv, indexedTopic.envId(), topic);
+    removeFrom(topicsByTeam, indexedTopic.teamId(), topic);
+    Map<Integer, Set<Topic>> byTeam = topicsByEnvAndTeam.get(indexedTopic.envId());
+    if (byTeam != null) {
+      removeFrom(byTeam, indexedTopic.teamId(), topic);
+      if (byTeam.isEmpty()) {
+        topicsByEnvAndTeam.remove(indexedTopic.envId());
+      }
+    }
+  }
+
+  private void unindexByName(String topicName, Topic topic) {
+    IndexedTopic indexedTopic = topicsById.get(topic.getTopicid());
+    if (indexedTopic != null && indexedTopic.topic() == topic) {
+      unindex(topic.getTopicid());
+    } else {
+      // stale entry which is no longer referenced by the primary index
+      removeFrom(topicsByName, topicName, topic);
+    }
+  }
+
+  // Topic does not override equals/hashCode, so the buckets are identity based sets
+  private static <K> void removeFrom(Map<K, Set<Topic>> index, K key, Topic topic) {
+    Set<Topic> topics = index.get(key);
+    if (topics == null) {
+      return;
+    }
+    topics.remove(topic);
+    if (topics.isEmpty()) {
+      index.remove(key);
+    }
+  }
+
+  private record IndexedTopic(Topic topic, String topicName, String envId, Integer teamId) {}
+}
@@ -5,8 +5,8 @@ import static io.aiven.klaw.helpers.UtilMethods.getPrincipal;
 import io.aiven.klaw.error.PermissionConstraintException;
 import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.service.CommonUtilsService;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Set;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
@@ -23,8 +23,8 @@ public class PermissionAllowedAspectInterceptor {
   public void checkPermissions(PermissionAllowed permissionAllowed) {
     // Check if you have PermissionAllowed validation annotations
     if (null != permissionAllowed) {
-      Set<PermissionType> allowedPermissions =
-          new HashSet<>(Arrays.asList(permissionAllowed.permissionAllowed()));
+      Set<PermissionType> allowedPermissions = EnumSet.noneOf(PermissionType.class);
+      Collections.addAll(allowedPermissions, permissionAllowed.permissionAllowed());
       if (commonUtilsService.isNotAuthorizedUser(getPrincipal(), allowedPermissions)) {
         throw new PermissionConstraintException("Not Authorized");
       }
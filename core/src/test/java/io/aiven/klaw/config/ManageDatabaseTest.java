@@ -7,12 +7,17 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.aiven.klaw.dao.KwRolesPermissions;
+import io.aiven.klaw.dao.Team;
 import io.aiven.klaw.dao.Topic;
 import io.aiven.klaw.dao.UserInfo;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.enums.EntityType;
+import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.model.enums.RolesType;
+import io.aiven.klaw.service.utils.TopicCatalog;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -67,6 +72,65 @@ public class ManageDatabaseTest {
     assertThat(getTopicFromCache(TENANT_ID, topicId)).hasSize(1);
   }
 
+  @Test
+  public void addTopicToCacheUpdatesIndexes() {
+    Topic t = new Topic();
+    t.setTopicid(1);
+    t.setTopicname("FirstTopic");
+    t.setEnvironment("1");
+    t.setTeamId(101);
+    t.setTenantId(TENANT_ID);
+    manageDatabase.addTopicToCache(TENANT_ID, t);
+
+    Topic claimed = new Topic();
+    claimed.setTopicid(1);
+    claimed.setTopicname("FirstTopic");
+    claimed.setEnvironment("1");
+    claimed.setTeamId(102);
+    claimed.setTenantId(TENANT_ID);
+    manageDatabase.addTopicToCache(TENANT_ID, claimed);
+
+    TopicCatalog topicCatalog = manageDatabase.getTopicCatalog(TENANT_ID);
+    assertThat(topicCatalog.getTopicsByTeam(101)).isEmpty();
+    assertThat(topicCatalog.getTopicsByTeam(102)).containsExactly(claimed);
+    assertThat(topicCatalog.getTopicsByEnvAndTeam("1", 102)).containsExactly(claimed);
+    assertThat(topicCatalog.getTopicsByName("FirstTopic")).containsExactly(claimed);
+  }
+
+  @Test
+  public void removeTopicsFromCache() {
+    Topic t = new Topic();
+    t.setTopicid(1);
+    t.setTopicname("FirstTopic");
+    t.setEnvironment("1");
+    t.setTenantId(TENANT_ID);
+    manageDatabase.addTopicToCache(TENANT_ID, t);
+    assertThat(getTopicFromCache(TENANT_ID, 1)).hasSize(1);
+
+    manageDatabase.removeTopicsFromCache(TENANT_ID, List.of(1));
+    assertThat(getTopicFromCache(TENANT_ID, 1)).isEmpty();
+    assertThat(manageDatabase.getTopicCatalog(TENANT_ID).getTopicsByEnv("1")).isEmpty();
+  }
+
+  @Test
+  public void loadTopicsForTopicNameReplacesOnlyThatTopic() {
+    Topic t1 = new Topic();
+    t1.setTopicid(1);
+    t1.setTopicname("FirstTopic");
+    t1.setEnvironment("1");
+    Topic t2 = new Topic();
+    t2.setTopicid(2);
+    t2.setTopicname("SecondTopic");
+    t2.setEnvironment("1");
+    manageDatabase.addTopicsToCache(TENANT_ID, List.of(t1, t2));
+
+    // FirstTopic deleted from the database
+    when(handleDbRequests.getTopics("FirstTopic", TENANT_ID)).thenReturn(new ArrayList<>());
+    manageDatabase.loadTopicsForTopicName(TENANT_ID, "FirstTopic");
+
+    assertThat(manageDatabase.getTopicsForTenant(TENANT_ID)).containsExactly(t2);
+  }
+
   @Test
   public void setDefaultEntitySequencesForTenantForExistingIdsNoSeqs() {
     when(handleDbRequests.getNextClusterId(anyInt())).thenReturn(1);
@@ -140,6 +204,55 @@ public class ManageDatabaseTest {
     assertThat(result.get(103).getTenantId()).isEqualTo(103);
   }
 
+  @Test
+  public void loadUsersForAllTenantsIndexesUsernames() {
+    ReflectionTestUtils.setField(ManageDatabase.class, "tenantMap", Map.of(TENANT_ID, "tenant"));
+    ReflectionTestUtils.setField(ManageDatabase.class, "usersPerTenant", new HashMap<>());
+    UserInfo info = buildUserInfo();
+    info.setUsername("octopus");
+    info.setTeamId(1001);
+    Team team = new Team();
+    team.setTeamId(1001);
+    when(handleDbRequests.getAllUsersInfo(TENANT_ID)).thenReturn(List.of(info));
+    when(handleDbRequests.getAllTeams(TENANT_ID)).thenReturn(List.of(team));
+
+    manageDatabase.loadUsersForAllTenants();
+
+    assertThat(manageDatabase.getCachedUserInfo("octopus")).contains(info);
+    assertThat(manageDatabase.getCachedUserInfo("unknown")).isEmpty();
+    assertThat(manageDatabase.getCachedUserInfo(null)).isEmpty();
+    assertThat(manageDatabase.getUsersPerTeamAndTenant(1001, TENANT_ID)).containsExactly(info);
+  }
+
+  @Test
+  public void loadRolesForAllTenantsCompilesPermissionTypes() {
+    ReflectionTestUtils.setField(ManageDatabase.class, "tenantMap", Map.of(TENANT_ID, "tenant"));
+    when(handleDbRequests.getRolesPermissions())
+        .thenReturn(
+            List.of(
+                rolePermission("USER", PermissionType.REQUEST_CREATE_TOPICS.name()),
+                rolePermission("USER", PermissionType.APPROVE_TOPICS.name()),
+                rolePermission("USER", "NO_LONGER_A_PERMISSION")));
+
+    manageDatabase.loadRolesForAllTenants();
+
+    assertThat(manageDatabase.getPermissionTypes(TENANT_ID, "USER"))
+        .containsExactlyInAnyOrder(
+            PermissionType.REQUEST_CREATE_TOPICS, PermissionType.APPROVE_TOPICS);
+    assertThat(manageDatabase.getRolesPermissionsPerTenant(TENANT_ID).get("USER")).hasSize(3);
+    assertThat(manageDatabase.getPermissionTypes(TENANT_ID, "UNKNOWN")).isEmpty();
+    assertThat(manageDatabase.getPermissionTypes(TENANT_ID, null)).isEmpty();
+    assertThat(manageDatabase.getPermissionTypes(102, "USER")).isEmpty();
+  }
+
+  private KwRolesPermissions rolePermission(String roleId, String permission) {
+    KwRolesPermissions rolesPermissions = new KwRolesPermissions();
+    rolesPermissions.setTenantId(TENANT_ID);
+    rolesPermissions.setRoleId(roleId);
+    rolesPermissions.setPermission(permission);
+    return rolesPermissions;
+  }
+
   private List<Topic> getTopicFromCache(int tenantId, int topicId) {
     return manageDatabase.getTopicsForTenant(tenantId).stream()
         .filter(entry -> entry.getTopicid().equals(topicId))
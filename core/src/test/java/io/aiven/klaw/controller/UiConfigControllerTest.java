@@ -392,7 +392,8 @@ public class UiConfigControllerTest {
   @Order(20)
   public void showActivityLog() throws Exception {
     List<ActivityLogModel> activityLogs = utilMethods.getLogModels();
-    when(uiConfigControllerService.showActivityLog(anyString(), anyString(), any(), anyString()))
+    when(uiConfigControllerService.showActivityLog(
+            anyString(), anyString(), any(), anyString(), any(), any()))
         .thenReturn(activityLogs);
 
     mvc.perform(
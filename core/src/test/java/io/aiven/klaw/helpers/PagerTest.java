@@ -2,9 +2,11 @@ package io.aiven.klaw.helpers;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -30,6 +32,43 @@ public class PagerTest {
                 pageInfoTestSpec.biFunction));
   }
 
+  @Test
+  void getItemsListLoadsOnlyRequestedPage() {
+    List<String> items = List.of("1", "2", "3", "4", "5", "6", "7");
+    List<List<Integer>> loadedPages = new ArrayList<>();
+
+    List<String> page =
+        Pager.getItemsList(
+            "2",
+            "",
+            5,
+            items.size(),
+            (offset, pageSize) -> {
+              loadedPages.add(List.of(offset, pageSize));
+              return items.subList(offset, Math.min(items.size(), offset + pageSize));
+            },
+            (pageContext, s) -> s + "/" + pageContext.getTotalPages());
+
+    assertThat(page).containsExactly("6/2", "7/2");
+    assertThat(loadedPages).containsExactly(List.of(5, 5));
+  }
+
+  @Test
+  void getItemsListDoesNotLoadWhenThereAreNoItems() {
+    List<String> page =
+        Pager.<String, String>getItemsList(
+            "1",
+            "",
+            5,
+            0,
+            (offset, pageSize) -> {
+              throw new IllegalStateException("no page should be loaded");
+            },
+            (pageContext, s) -> s);
+
+    assertThat(page).isEmpty();
+  }
+
   static Stream<PageInfoTestSpec> pagerInfoProvider() {
     return Stream.of(
         PageInfoTestSpec.of(
@@ -11,6 +11,7 @@ import io.aiven.klaw.model.enums.*;
 import io.aiven.klaw.repository.*;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -804,6 +805,43 @@ public class AclRequestsIntegrationTest {
     assertThat(requests).hasSize(Integer.valueOf(20));
   }
 
+  @Order(29)
+  @ParameterizedTest
+  @CsvSource({
+    "James,REQUESTOR_SUBSCRIPTIONS,false,101",
+    "James,APPROVER_SUBSCRIPTIONS,false,101",
+    "James,'',true,101",
+    "Jackie,APPROVER_SUBSCRIPTIONS,false,101",
+    "John,APPROVER_SUBSCRIPTIONS,false,103",
+    "Turf,REQUESTOR_SUBSCRIPTIONS,false,104"
+  })
+  public void getAclRequestsToApproveCountsMatchTheRequestsToApprove(
+      String requestor, String role, boolean showRequestsOfAllTeams, int tenantId) {
+
+    List<AclRequests> requests =
+        selectDataJdbc.selectFilteredAclRequests(
+            true,
+            requestor,
+            role,
+            RequestStatus.CREATED.value,
+            null,
+            showRequestsOfAllTeams,
+            null,
+            null,
+            null,
+            null,
+            false,
+            tenantId);
+
+    assertThat(
+            selectDataJdbc.getAclRequestsToApproveCountsPerEnv(
+                requestor, role, showRequestsOfAllTeams, tenantId))
+        .isEqualTo(
+            requests.stream()
+                .collect(
+                    Collectors.groupingBy(AclRequests::getEnvironment, Collectors.counting())));
+  }
+
   private void generateData(
       int number,
       int tenantId,
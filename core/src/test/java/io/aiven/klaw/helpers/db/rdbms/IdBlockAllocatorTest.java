@@ -0,0 +1,144 @@
+package io.aiven.klaw.helpers.db.rdbms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.aiven.klaw.helpers.db.rdbms.IdBlockAllocator.IdSequence;
+import io.aiven.klaw.repository.KwEntitySequenceRepo;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(SpringExtension.class)
+public class IdBlockAllocatorTest {
+
+  private static final int TENANT_ID = 101;
+
+  @Mock private KwEntitySequenceRepo kwEntitySequenceRepo;
+
+  private IdBlockAllocator idBlockAllocator;
+
+  @BeforeEach
+  public void setUp() {
+    idBlockAllocator = new IdBlockAllocator();
+    ReflectionTestUtils.setField(idBlockAllocator, "kwEntitySequenceRepo", kwEntitySequenceRepo);
+    ReflectionTestUtils.setField(idBlockAllocator, "blockSize", 3);
+  }
+
+  @Test
+  public void nextIdHandsOutTheIdsOfABlockInMemory() {
+    when(kwEntitySequenceRepo.findSeqId("TOPIC_ID", TENANT_ID)).thenReturn(null, 1004);
+    when(kwEntitySequenceRepo.compareAndSetSeqId("TOPIC_ID", TENANT_ID, 1004, 1007)).thenReturn(1);
+
+    List<Integer> ids =
+        IntStream.range(0, 4)
+            .mapToObj(i -> idBlockAllocator.nextId(IdSequence.TOPIC_ID, TENANT_ID, () -> null))
+            .toList();
+
+    assertThat(ids).containsExactly(1001, 1002, 1003, 1004);
+    verify(kwEntitySequenceRepo).insertSeqId("TOPIC_ID", TENANT_ID, 1004);
+    verify(kwEntitySequenceRepo, times(2)).findSeqId("TOPIC_ID", TENANT_ID);
+  }
+
+  @Test
+  public void nextIdStartsAfterTheHighestIdInUse() {
+    when(kwEntitySequenceRepo.findSeqId("ACL_ID", TENANT_ID)).thenReturn(1001);
+    when(kwEntitySequenceRepo.compareAndSetSeqId("ACL_ID", TENANT_ID, 1001, 2004)).thenReturn(1);
+
+    assertThat(idBlockAllocator.nextId(IdSequence.ACL_ID, TENANT_ID, () -> 2000)).isEqualTo(2001);
+  }
+
+  @Test
+  public void nextIdRetriesWhenAnotherInstanceReservedTheBlock() {
+    when(kwEntitySequenceRepo.findSeqId("ACL_ID", TENANT_ID)).thenReturn(null, 1004);
+    when(kwEntitySequenceRepo.insertSeqId("ACL_ID", TENANT_ID, 1004))
+        .thenThrow(new DataIntegrityViolationException("duplicate key"));
+    when(kwEntitySequenceRepo.compareAndSetSeqId("ACL_ID", TENANT_ID, 1004, 1007)).thenReturn(0, 1);
+
+    assertThat(idBlockAllocator.nextId(IdSequence.ACL_ID, TENANT_ID, () -> null)).isEqualTo(1004);
+    verify(kwEntitySequenceRepo, times(2)).compareAndSetSeqId("ACL_ID", TENANT_ID, 1004, 1007);
+  }
+
+  @Test
+  public void nextIdKeepsTheSequencesOfTenantsAndEntitiesApart() {
+    when(kwEntitySequenceRepo.findSeqId(anyString(), anyInt())).thenReturn(null);
+
+    idBlockAllocator.nextId(IdSequence.TOPIC_ID, TENANT_ID, () -> null);
+    idBlockAllocator.nextId(IdSequence.TOPIC_ID, 102, () -> null);
+    idBlockAllocator.nextId(IdSequence.TOPIC_REQ_ID, TENANT_ID, () -> null);
+    idBlockAllocator.nextId(IdSequence.TOPIC_ID, TENANT_ID, () -> null);
+
+    verify(kwEntitySequenceRepo).insertSeqId("TOPIC_ID", TENANT_ID, 1004);
+    verify(kwEntitySequenceRepo).insertSeqId("TOPIC_ID", 102, 1004);
+    verify(kwEntitySequenceRepo).insertSeqId("TOPIC_REQ_ID", TENANT_ID, 1004);
+    verify(kwEntitySequenceRepo, never())
+        .compareAndSetSeqId(anyString(), anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void skipPastMovesTheSequenceAndDropsTheBlockOfThisInstance() {
+    when(kwEntitySequenceRepo.findSeqId("TOPIC_ID", TENANT_ID)).thenReturn(null, 1004, 3001);
+    when(kwEntitySequenceRepo.compareAndSetSeqId("TOPIC_ID", TENANT_ID, 1004, 3001)).thenReturn(1);
+    when(kwEntitySequenceRepo.compareAndSetSeqId("TOPIC_ID", TENANT_ID, 3001, 3004)).thenReturn(1);
+    assertThat(idBlockAllocator.nextId(IdSequence.TOPIC_ID, TENANT_ID, () -> null)).isEqualTo(1001);
+
+    // an import inserted the ids up to 3000, among them 1002 and 1003 of the block
+    idBlockAllocator.skipPast(IdSequence.TOPIC_ID, TENANT_ID, 3000);
+
+    assertThat(idBlockAllocator.nextId(IdSequence.TOPIC_ID, TENANT_ID, () -> null)).isEqualTo(3001);
+  }
+
+  @Test
+  public void skipPastLeavesASequenceWhichIsAheadAlone() {
+    when(kwEntitySequenceRepo.findSeqId("ACL_ID", TENANT_ID)).thenReturn(5001);
+
+    idBlockAllocator.skipPast(IdSequence.ACL_ID, TENANT_ID, 3000);
+
+    verify(kwEntitySequenceRepo, never())
+        .compareAndSetSeqId(anyString(), anyInt(), anyInt(), anyInt());
+    verify(kwEntitySequenceRepo, never()).insertSeqId(anyString(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void nextIdHandsOutUniqueIdsToConcurrentWriters() throws Exception {
+    AtomicInteger seqId = new AtomicInteger(1001);
+    when(kwEntitySequenceRepo.findSeqId("ACL_ID", TENANT_ID)).thenAnswer(inv -> seqId.get());
+    when(kwEntitySequenceRepo.compareAndSetSeqId(anyString(), anyInt(), anyInt(), anyInt()))
+        .thenAnswer(inv -> seqId.compareAndSet(inv.getArgument(2), inv.getArgument(3)) ? 1 : 0);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Callable<List<Integer>> writer =
+          () ->
+              IntStream.range(0, 250)
+                  .mapToObj(i -> idBlockAllocator.nextId(IdSequence.ACL_ID, TENANT_ID, () -> null))
+                  .toList();
+      Set<Integer> ids = new HashSet<>();
+      for (Future<List<Integer>> result :
+          executor.invokeAll(List.of(writer, writer, writer, writer))) {
+        ids.addAll(result.get());
+      }
+      assertThat(ids).hasSize(1000).allMatch(id -> id >= 1001 && id < 2001);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
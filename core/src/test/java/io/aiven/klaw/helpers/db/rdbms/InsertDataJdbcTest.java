@@ -85,6 +85,11 @@ public class InsertDataJdbcTest {
     ReflectionTestUtils.setField(insertData, "envRepo", envRepo);
     ReflectionTestUtils.setField(insertData, "kwEntitySequenceRepo", kwEntitySequenceRepo);
     ReflectionTestUtils.setField(insertData, "registerInfoRepo", registerInfoRepo);
+    IdBlockAllocator idBlockAllocator = new IdBlockAllocator();
+    ReflectionTestUtils.setField(idBlockAllocator, "kwEntitySequenceRepo", kwEntitySequenceRepo);
+    ReflectionTestUtils.setField(idBlockAllocator, "blockSize", 50);
+    ReflectionTestUtils.setField(insertData, "idBlockAllocator", idBlockAllocator);
+    when(kwEntitySequenceRepo.findSeqId(anyString(), anyInt())).thenReturn(null);
   }
 
   @Test
@@ -33,6 +33,7 @@ import io.aiven.klaw.repository.TeamRepo;
 import io.aiven.klaw.repository.TopicRepo;
 import io.aiven.klaw.repository.TopicRequestsRepo;
 import io.aiven.klaw.repository.UserInfoRepo;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -47,6 +48,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -462,37 +465,45 @@ public class SelectDataJdbcTest {
 
   @Test
   public void selectActivityLog1() {
-    String username = "uuser1", env = "DEV";
-    UserInfo userInfo = new UserInfo();
-    userInfo.setTeamId(1);
-    userInfo.setUsername(username);
-    userInfo.setRole("ADMIN");
-    when(userInfoRepo.findByUsernameIgnoreCase(username))
-        .thenReturn(java.util.Optional.of(userInfo));
-    when(activityLogRepo.findAllByEnvAndTenantId(anyString(), anyInt()))
+    String env = "DEV";
+    when(activityLogRepo.findAllByEnvAndTenantIdAndActivityTimeBetween(
+            anyString(), anyInt(), any(), any(), any()))
         .thenReturn(utilMethods.getLogs());
 
     List<ActivityLog> activityLogs =
-        selectData.selectActivityLog(username, env, OrderBy.DESC, true, 1);
+        selectData.selectActivityLog(env, null, OrderBy.DESC, null, null, 0, 20, 1);
 
     assertThat(activityLogs).hasSize(1);
+    assertThat(activityLogs.get(0).getActivityTimeString()).isNotBlank();
   }
 
   @Test
   public void selectActivityLog2() {
-    String username = "uuser1", env = "DEV";
-    UserInfo userInfo = new UserInfo();
-    userInfo.setTeamId(1);
-    userInfo.setUsername(username);
-    userInfo.setRole("SUPERUSER");
-    when(userInfoRepo.findByUsernameIgnoreCase(username))
-        .thenReturn(java.util.Optional.of(userInfo));
-    when(activityLogRepo.findAllByEnvAndTenantId(env, 1)).thenReturn(utilMethods.getLogs());
+    Timestamp from = Timestamp.valueOf("2023-01-01 00:00:00");
+    Timestamp to = Timestamp.valueOf("2023-01-31 23:59:59");
+    ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+    when(activityLogRepo.findAllByTeamIdAndTenantIdAndActivityTimeBetween(
+            eq(1), eq(1), eq(from), eq(to), pageableCaptor.capture()))
+        .thenReturn(utilMethods.getLogs());
 
     List<ActivityLog> activityLogs =
-        selectData.selectActivityLog(username, env, OrderBy.DESC, true, 1);
+        selectData.selectActivityLog("", 1, OrderBy.ASC, from, to, 40, 20, 1);
 
     assertThat(activityLogs).hasSize(1);
+    Pageable pageable = pageableCaptor.getValue();
+    assertThat(pageable.getPageNumber()).isEqualTo(2);
+    assertThat(pageable.getPageSize()).isEqualTo(20);
+    assertThat(pageable.getSort().getOrderFor("activityTime").getDirection())
+        .isEqualTo(Sort.Direction.ASC);
+  }
+
+  @Test
+  public void countActivityLog() {
+    when(activityLogRepo.countByEnvAndTeamIdAndTenantIdAndActivityTimeBetween(
+            eq("DEV"), eq(1), eq(1), any(), any()))
+        .thenReturn(42L);
+
+    assertThat(selectData.countActivityLog("DEV", 1, null, null, 1)).isEqualTo(42);
   }
 
   @Test
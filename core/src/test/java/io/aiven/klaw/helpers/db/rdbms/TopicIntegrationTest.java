@@ -1,17 +1,37 @@
 package io.aiven.klaw.helpers.db.rdbms;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import io.aiven.klaw.UtilMethods;
+import io.aiven.klaw.dao.ActivityLog;
 import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.dao.TopicID;
 import io.aiven.klaw.dao.UserInfo;
+import io.aiven.klaw.helpers.db.rdbms.IdBlockAllocator.IdSequence;
+import io.aiven.klaw.repository.AclRepo;
+import io.aiven.klaw.repository.ActivityLogRepo;
 import io.aiven.klaw.repository.EnvRepo;
+import io.aiven.klaw.repository.TeamRepo;
 import io.aiven.klaw.repository.TopicRepo;
 import io.aiven.klaw.service.CommonUtilsService;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -29,9 +49,16 @@ public class TopicIntegrationTest {
   @Autowired TestEntityManager entityManager;
   @Autowired TopicRepo topicRepo;
   @Autowired EnvRepo envRepo;
+  @Autowired TeamRepo teamRepo;
+  @Autowired AclRepo aclRepo;
+  @Autowired ActivityLogRepo activityLogRepo;
 
   private SelectDataJdbc selectDataJdbc;
 
+  private AnalyticsAggregates analyticsAggregates;
+
+  private final IdBlockAllocator idBlockAllocator = mock(IdBlockAllocator.class);
+
   private UtilMethods utilMethods;
 
   public void loadData() {
@@ -80,26 +107,31 @@ public class TopicIntegrationTest {
     utilMethods = new UtilMethods();
     ReflectionTestUtils.setField(selectDataJdbc, "topicRepo", topicRepo);
     ReflectionTestUtils.setField(selectDataJdbc, "envRepo", envRepo);
+    ReflectionTestUtils.setField(selectDataJdbc, "teamRepo", teamRepo);
+    ReflectionTestUtils.setField(selectDataJdbc, "aclRepo", aclRepo);
+    ReflectionTestUtils.setField(selectDataJdbc, "activityLogRepo", activityLogRepo);
+    analyticsAggregates = new AnalyticsAggregates();
+    ReflectionTestUtils.setField(analyticsAggregates, "jdbcSelectHelper", selectDataJdbc);
     loadData();
   }
 
   @Test
   @Order(1)
-  public void selectTopicsCountByEnv() {
+  public void getTopicsCountByEnv() {
 
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> results =
-        selectDataJdbc.selectTopicsCountByEnv(101);
+        analyticsAggregates.getTopicsCountByEnv(101);
     assertThat(results.size()).isEqualTo(2);
   }
 
   @Test
   @Order(2)
-  public void selectTopicsCountByEnv_MultiTenant() {
+  public void getTopicsCountByEnv_MultiTenant() {
 
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res1 =
-        selectDataJdbc.selectTopicsCountByEnv(101);
+        analyticsAggregates.getTopicsCountByEnv(101);
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res2 =
-        selectDataJdbc.selectTopicsCountByEnv(103);
+        analyticsAggregates.getTopicsCountByEnv(103);
 
     assertThat(res1.size()).isEqualTo(2);
     assertThat(res2.size()).isEqualTo(1);
@@ -107,12 +139,12 @@ public class TopicIntegrationTest {
 
   @Test
   @Order(3)
-  public void selectPartitionsCountByEnv() {
+  public void getPartitionsCountByEnv() {
 
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res1 =
-        selectDataJdbc.selectPartitionsCountByEnv(101, 101);
+        analyticsAggregates.getPartitionsCountByEnv(101, 101);
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res2 =
-        selectDataJdbc.selectPartitionsCountByEnv(103, 103);
+        analyticsAggregates.getPartitionsCountByEnv(103, 103);
 
     assertThat(res1.size()).isEqualTo(2);
     assertThat(res2.size()).isEqualTo(1);
@@ -120,12 +152,12 @@ public class TopicIntegrationTest {
 
   @Test
   @Order(4)
-  public void selectPartitionsCountByEnv_TeamIdNull() {
+  public void getPartitionsCountByEnv_TeamIdNull() {
 
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res1 =
-        selectDataJdbc.selectPartitionsCountByEnv(null, 101);
+        analyticsAggregates.getPartitionsCountByEnv(null, 101);
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res2 =
-        selectDataJdbc.selectPartitionsCountByEnv(null, 103);
+        analyticsAggregates.getPartitionsCountByEnv(null, 103);
 
     assertThat(res1.size()).isEqualTo(2);
     assertThat(res2.size()).isEqualTo(1);
@@ -133,25 +165,25 @@ public class TopicIntegrationTest {
 
   @Test
   @Order(5)
-  public void selectTopicsCountByTeams_TeamIdNull() {
+  public void getTopicsCountByTeams_TeamIdNull() {
 
     List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> res1 =
-        selectDataJdbc.selectTopicsCountByTeams(null, 101);
+        analyticsAggregates.getTopicsCountByTeams(null, 101);
     List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> res2 =
-        selectDataJdbc.selectTopicsCountByTeams(null, 103);
+        analyticsAggregates.getTopicsCountByTeams(null, 103);
 
     assertThat(res1.size()).isEqualTo(1);
-    assertThat(res1.size()).isEqualTo(1);
+    assertThat(res2.size()).isEqualTo(1);
   }
 
   @Test
   @Order(6)
-  public void selectTopicsCountByTeams() {
+  public void getTopicsCountByTeams() {
 
     List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> res1 =
-        selectDataJdbc.selectTopicsCountByTeams(101, 101);
+        analyticsAggregates.getTopicsCountByTeams(101, 101);
     List<CommonUtilsService.ChartsOverviewItem<Integer, Integer>> res2 =
-        selectDataJdbc.selectTopicsCountByTeams(103, 103);
+        analyticsAggregates.getTopicsCountByTeams(103, 103);
 
     assertThat(res1.size()).isEqualTo(1);
     assertThat(res2.size()).isEqualTo(1);
@@ -159,12 +191,12 @@ public class TopicIntegrationTest {
 
   @Test
   @Order(7)
-  public void selectAllTopicsForTeamGroupByEnv() {
+  public void getAllTopicsForTeamGroupByEnv() {
 
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res1 =
-        selectDataJdbc.selectAllTopicsForTeamGroupByEnv(101, 101);
+        analyticsAggregates.getAllTopicsForTeamGroupByEnv(101, 101);
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res2 =
-        selectDataJdbc.selectAllTopicsForTeamGroupByEnv(103, 103);
+        analyticsAggregates.getAllTopicsForTeamGroupByEnv(103, 103);
 
     assertThat(res1.size()).isEqualTo(2);
     assertThat(res2.size()).isEqualTo(1);
@@ -172,11 +204,11 @@ public class TopicIntegrationTest {
 
   @Test
   @Order(8)
-  public void selectAllTopicsForTeamGroupByEnv_TeamIdNull() {
+  public void getAllTopicsForTeamGroupByEnv_TeamIdNull() {
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res1 =
-        selectDataJdbc.selectAllTopicsForTeamGroupByEnv(null, 101);
+        analyticsAggregates.getAllTopicsForTeamGroupByEnv(null, 101);
     List<CommonUtilsService.ChartsOverviewItem<String, Integer>> res2 =
-        selectDataJdbc.selectAllTopicsForTeamGroupByEnv(null, 103);
+        analyticsAggregates.getAllTopicsForTeamGroupByEnv(null, 103);
 
     assertThat(res1.size()).isEqualTo(0);
     assertThat(res2.size()).isEqualTo(0);
@@ -234,6 +266,185 @@ public class TopicIntegrationTest {
     assertThat(res2.size()).isEqualTo(1);
   }
 
+  @Test
+  @Order(12)
+  public void analyticsAggregatesMatchTopicCharts() {
+
+    assertTopicChartsMatchTopics();
+
+    // the aggregates are loaded again once the topics changed
+    generateData(5, 101, "thirdtopic", "tst", 3, 1, 51);
+    analyticsAggregates.catalogChanged(101);
+    assertTopicChartsMatchTopics();
+  }
+
+  @Test
+  @Order(13)
+  public void analyticsAggregatesCountActivity() {
+    logActivity(1, "dev", 101, 2);
+    logActivity(2, "tst", 101, 2);
+    logActivity(3, "dev", 101, 0);
+    logActivity(4, "dev", 103, 0);
+    logActivity(5, "dev", 101, 40);
+
+    assertThat(activityCount(analyticsAggregates.getActivityLogByTeam(101, 30, 101))).isEqualTo(3);
+    assertThat(
+            activityCount(
+                analyticsAggregates.getActivityLogForLastDays(30, new String[] {"dev"}, 101)))
+        .isEqualTo(3);
+    assertThat(activityCount(analyticsAggregates.getActivityLogByTeam(103, 30, 103))).isEqualTo(1);
+
+    // activities logged after the aggregates are loaded are counted incrementally
+    logActivity(6, "tst", 101, 0);
+    analyticsAggregates.activityLogged(101, "tst", 101);
+    assertThat(activityCount(analyticsAggregates.getActivityLogByTeam(101, 30, 101))).isEqualTo(4);
+    analyticsAggregates.reconcile();
+    assertThat(activityCount(analyticsAggregates.getActivityLogByTeam(101, 30, 101))).isEqualTo(4);
+  }
+
+  @Test
+  @Order(14)
+  public void exportPagesStartAfterTheLastTopicOfThePreviousPage() {
+    List<Topic> exported = new ArrayList<>();
+    List<Topic> page = selectDataJdbc.getAllTopics(null, 7);
+    while (!page.isEmpty()) {
+      exported.addAll(page);
+      page = selectDataJdbc.getAllTopics(page.get(page.size() - 1), 7);
+    }
+
+    assertThat(exported).hasSize(41);
+    assertThat(exported)
+        .isSortedAccordingTo(
+            Comparator.comparing(Topic::getTenantId).thenComparing(Topic::getTopicid));
+    assertThat(exported).extracting(Topic::getTenantId).startsWith(101).endsWith(103);
+  }
+
+  @Test
+  @Order(15)
+  public void importTopicsInsertsThemAndSkipsTheirIds() {
+    InsertDataJdbc insertDataJdbc = importer();
+    List<Topic> topics = new ArrayList<>();
+    topics.add(topic(50, 101, "imported0"));
+    topics.add(topic(51, 101, "imported1"));
+    topics.add(topic(50, 103, "imported2"));
+
+    insertDataJdbc.importTopics(topics);
+
+    assertThat(selectDataJdbc.getTopics(null, true, 101)).hasSize(33);
+    assertThat(selectDataJdbc.getTopics("imported2", false, 103)).hasSize(1);
+    verify(idBlockAllocator).skipPast(IdSequence.TOPIC_ID, 101, 51);
+    verify(idBlockAllocator).skipPast(IdSequence.TOPIC_ID, 103, 50);
+  }
+
+  @Test
+  @Order(16)
+  public void importTopicsGivesTakenIdsNewIds() {
+    InsertDataJdbc insertDataJdbc = importer();
+    when(idBlockAllocator.nextId(eq(IdSequence.TOPIC_ID), eq(101), any())).thenReturn(70);
+    List<Topic> topics = List.of(topic(60, 101, "imported3"), topic(5, 101, "imported4"));
+
+    insertDataJdbc.importTopics(topics);
+
+    assertThat(topicRepo.findById(new TopicID(5, 101)))
+        .hasValueSatisfying(topic -> assertThat(topic.getTopicname()).isEqualTo("firsttopic4"));
+    assertThat(topicRepo.findById(new TopicID(60, 101)))
+        .hasValueSatisfying(topic -> assertThat(topic.getTopicname()).isEqualTo("imported3"));
+    assertThat(topicRepo.findById(new TopicID(70, 101)))
+        .hasValueSatisfying(topic -> assertThat(topic.getTopicname()).isEqualTo("imported4"));
+    verify(idBlockAllocator).skipPast(IdSequence.TOPIC_ID, 101, 60);
+  }
+
+  private InsertDataJdbc importer() {
+    InsertDataJdbc insertDataJdbc = new InsertDataJdbc();
+    ReflectionTestUtils.setField(insertDataJdbc, "topicRepo", topicRepo);
+    ReflectionTestUtils.setField(insertDataJdbc, "entityManager", entityManager.getEntityManager());
+    ReflectionTestUtils.setField(insertDataJdbc, "idBlockAllocator", idBlockAllocator);
+    return insertDataJdbc;
+  }
+
+  private static Topic topic(int id, int tenantId, String topicName) {
+    Topic topic = new Topic();
+    topic.setTopicid(id);
+    topic.setTenantId(tenantId);
+    topic.setTeamId(tenantId);
+    topic.setNoOfPartitions(1);
+    topic.setNoOfReplicas("1");
+    topic.setTopicname(topicName);
+    topic.setEnvironment("dev");
+    return topic;
+  }
+
+  // the charts computed again from every topic of the tenant, as the group by queries did
+  private void assertTopicChartsMatchTopics() {
+    for (int tenantId : List.of(101, 103)) {
+      List<Topic> topics =
+          StreamSupport.stream(topicRepo.findAll().spliterator(), false)
+              .filter(topic -> topic.getTenantId() == tenantId)
+              .toList();
+      Map<String, String> kafkaEnvNames =
+          StreamSupport.stream(envRepo.findAll().spliterator(), false)
+              .filter(env -> env.getTenantId() == tenantId && "kafka".equals(env.getType()))
+              .collect(Collectors.toMap(Env::getId, Env::getName));
+      List<Topic> kafkaTopics =
+          topics.stream()
+              .filter(topic -> kafkaEnvNames.containsKey(topic.getEnvironment()))
+              .toList();
+
+      assertThat(analyticsAggregates.getTopicsCountByEnv(tenantId))
+          .usingRecursiveFieldByFieldElementComparator()
+          .containsExactlyInAnyOrderElementsOf(
+              chart(kafkaTopics, Topic::getEnvironment, topic -> 1));
+      assertThat(analyticsAggregates.getTopicsCountByTeams(null, tenantId))
+          .usingRecursiveFieldByFieldElementComparator()
+          .containsExactlyInAnyOrderElementsOf(chart(topics, Topic::getTeamId, topic -> 1));
+      assertThat(analyticsAggregates.getPartitionsCountByEnv(null, tenantId))
+          .usingRecursiveFieldByFieldElementComparator()
+          .containsExactlyInAnyOrderElementsOf(
+              chart(kafkaTopics, Topic::getEnvironment, Topic::getNoOfPartitions));
+      assertThat(analyticsAggregates.getAllTopicsForTeamGroupByEnv(null, tenantId)).isEmpty();
+
+      List<Topic> teamTopics =
+          topics.stream().filter(topic -> topic.getTeamId() == tenantId).toList();
+      assertThat(analyticsAggregates.getTopicsCountByTeams(tenantId, tenantId))
+          .usingRecursiveFieldByFieldElementComparator()
+          .containsExactly(CommonUtilsService.ChartsOverviewItem.of(tenantId, teamTopics.size()));
+      assertThat(analyticsAggregates.getPartitionsCountByEnv(tenantId, tenantId))
+          .usingRecursiveFieldByFieldElementComparator()
+          .containsExactlyInAnyOrderElementsOf(
+              chart(teamTopics, Topic::getEnvironment, Topic::getNoOfPartitions));
+      assertThat(analyticsAggregates.getAllTopicsForTeamGroupByEnv(tenantId, tenantId))
+          .usingRecursiveFieldByFieldElementComparator()
+          .containsExactlyInAnyOrderElementsOf(
+              chart(teamTopics, topic -> kafkaEnvNames.get(topic.getEnvironment()), topic -> 1));
+    }
+  }
+
+  private static <X> List<CommonUtilsService.ChartsOverviewItem<X, Integer>> chart(
+      List<Topic> topics, Function<Topic, X> xValue, ToIntFunction<Topic> yValue) {
+    return topics.stream()
+        .collect(Collectors.groupingBy(xValue, Collectors.summingInt(yValue)))
+        .entrySet()
+        .stream()
+        .map(entry -> CommonUtilsService.ChartsOverviewItem.of(entry.getKey(), entry.getValue()))
+        .toList();
+  }
+
+  private static int activityCount(
+      List<CommonUtilsService.ChartsOverviewItem<String, Integer>> activityChart) {
+    return activityChart.stream().mapToInt(CommonUtilsService.ChartsOverviewItem::getyValue).sum();
+  }
+
+  private void logActivity(int reqNo, String env, int tenantId, int daysAgo) {
+    ActivityLog activityLog = new ActivityLog();
+    activityLog.setReq_no(reqNo);
+    activityLog.setTenantId(tenantId);
+    activityLog.setTeamId(tenantId);
+    activityLog.setEnv(env);
+    activityLog.setActivityName("Topic Request");
+    activityLog.setActivityTime(Timestamp.from(Instant.now().minus(daysAgo, ChronoUnit.DAYS)));
+    entityManager.persistAndFlush(activityLog);
+  }
+
   private void generateData(
       int number,
       int tenantId,
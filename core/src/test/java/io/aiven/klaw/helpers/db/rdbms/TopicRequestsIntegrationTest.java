@@ -15,6 +15,7 @@ import io.aiven.klaw.repository.TopicRequestsRepo;
 import io.aiven.klaw.repository.UserInfoRepo;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -913,6 +914,40 @@ public class TopicRequestsIntegrationTest {
     assertThat(james).hasSize(Integer.valueOf(7));
   }
 
+  @Order(35)
+  @ParameterizedTest
+  @CsvSource({
+    "James,false,101",
+    "John,false,101",
+    "John,true,101",
+    "Jackie,true,101",
+    "Joan,false,104"
+  })
+  public void getTopicRequestsToApproveCountsMatchTheRequestsToApprove(
+      String requestor, boolean showRequestsOfAllTeams, int tenantId) {
+
+    List<TopicRequest> requests =
+        selectDataJdbc.selectFilteredTopicRequests(
+            true,
+            requestor,
+            RequestStatus.CREATED.value,
+            showRequestsOfAllTeams,
+            tenantId,
+            null,
+            null,
+            null,
+            null,
+            false);
+
+    assertThat(
+            selectDataJdbc.getTopicRequestsToApproveCountsPerEnv(
+                requestor, showRequestsOfAllTeams, tenantId))
+        .isEqualTo(
+            requests.stream()
+                .collect(
+                    Collectors.groupingBy(TopicRequest::getEnvironment, Collectors.counting())));
+  }
+
   private void generateData(
       int number,
       int teamId,
@@ -47,6 +47,7 @@ import io.aiven.klaw.model.enums.RequestStatus;
 import io.aiven.klaw.model.requests.AclRequestsModel;
 import io.aiven.klaw.model.response.AclRequestsResponseModel;
 import io.aiven.klaw.model.response.ServiceAccountDetails;
+import io.aiven.klaw.service.utils.TopicCatalog;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -530,7 +531,7 @@ public class AclControllerServiceTest {
     Topic t1 = new Topic();
     t1.setTopicname("testtopic");
     t1.setEnvironment("1");
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(List.of(t1));
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(List.of(t1)));
 
     ApiResponse apiResp = aclControllerService.approveAclRequests("112");
     assertThat(apiResp.isSuccess()).isTrue();
@@ -565,7 +566,7 @@ public class AclControllerServiceTest {
     Topic t1 = new Topic();
     t1.setTopicname("testtopic");
     t1.setEnvironment("1");
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(List.of(t1));
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(List.of(t1)));
 
     ApiResponse apiResp = aclControllerService.approveAclRequests("112");
     assertThat(apiResp.isSuccess()).isTrue();
@@ -605,7 +606,7 @@ public class AclControllerServiceTest {
     Topic t1 = new Topic();
     t1.setTopicname("testtopic");
     t1.setEnvironment("1");
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(List.of(t1));
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(List.of(t1)));
     when(commonUtilsService.isNotAuthorizedUser(userDetails, PermissionType.APPROVE_SUBSCRIPTIONS))
         .thenReturn(false);
 
@@ -631,7 +632,7 @@ public class AclControllerServiceTest {
     Topic t1 = new Topic();
     t1.setTopicname("testtopic");
     t1.setEnvironment("1");
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(List.of(t1));
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(List.of(t1)));
 
     ApiResponse apiResponse = ApiResponse.SUCCESS;
     when(clusterApiService.approveAclRequests(any(), anyInt()))
@@ -1116,7 +1117,7 @@ public class AclControllerServiceTest {
     Topic t1 = new Topic();
     t1.setTopicname("testtopic1"); // non-existing topic
     t1.setEnvironment("1");
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(List.of(t1));
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(List.of(t1)));
     when(commonUtilsService.isNotAuthorizedUser(userDetails, PermissionType.APPROVE_SUBSCRIPTIONS))
         .thenReturn(false);
 
@@ -1280,7 +1281,7 @@ public class AclControllerServiceTest {
         .thenReturn((Optional.of(createClaimAcl())));
     ArrayList<Topic> topics = new ArrayList<>();
     topics.add(createTopic());
-    when(manageDatabase.getTopicsForTenant(TENANT_ID)).thenReturn(topics);
+    when(manageDatabase.getTopicCatalog(TENANT_ID)).thenReturn(new TopicCatalog(topics));
     when(approvalService.isRequestFullyApproved(any())).thenReturn(true);
     // No acl_ssl service name left owned by the team.
     when(manageDatabase
@@ -1337,7 +1338,7 @@ public class AclControllerServiceTest {
         .thenReturn((Optional.of(createClaimAcl())));
     ArrayList<Topic> topics = new ArrayList<>();
     topics.add(createTopic());
-    when(manageDatabase.getTopicsForTenant(TENANT_ID)).thenReturn(topics);
+    when(manageDatabase.getTopicCatalog(TENANT_ID)).thenReturn(new TopicCatalog(topics));
     when(approvalService.isRequestFullyApproved(any())).thenReturn(true);
     // Another acl_ssl (service acc) is owned by the team.
     when(manageDatabase
@@ -1380,7 +1381,7 @@ public class AclControllerServiceTest {
         .thenReturn((Optional.of(createClaimAcl())));
     ArrayList<Topic> topics = new ArrayList<>();
     topics.add(createTopic());
-    when(manageDatabase.getTopicsForTenant(TENANT_ID)).thenReturn(topics);
+    when(manageDatabase.getTopicCatalog(TENANT_ID)).thenReturn(new TopicCatalog(topics));
     when(approvalService.isRequestFullyApproved(any())).thenReturn(false);
     when(commonUtilsService.isNotAuthorizedUser(userDetails, PermissionType.APPROVE_SUBSCRIPTIONS))
         .thenReturn(false);
@@ -1418,7 +1419,7 @@ public class AclControllerServiceTest {
         .thenReturn((Optional.of(createClaimAcl())));
     ArrayList<Topic> topics = new ArrayList<>();
     topics.add(createTopic());
-    when(manageDatabase.getTopicsForTenant(TENANT_ID)).thenReturn(topics);
+    when(manageDatabase.getTopicCatalog(TENANT_ID)).thenReturn(new TopicCatalog(topics));
     when(approvalService.isRequestFullyApproved(any())).thenReturn(true);
     List<Team> existingTeams = getTeamsListWithServiceAccounts(aclReq);
     for (Team team : existingTeams) {
@@ -1481,7 +1482,7 @@ public class AclControllerServiceTest {
         .thenReturn((Optional.of(createClaimAcl())));
     ArrayList<Topic> topics = new ArrayList<>();
     topics.add(createTopic());
-    when(manageDatabase.getTopicsForTenant(TENANT_ID)).thenReturn(topics);
+    when(manageDatabase.getTopicCatalog(TENANT_ID)).thenReturn(new TopicCatalog(topics));
     when(approvalService.isRequestFullyApproved(any())).thenReturn(true);
     List<Team> existingTeams = getTeamsListWithServiceAccounts(aclReq);
     for (Team team : existingTeams) {
@@ -29,6 +29,7 @@ import io.aiven.klaw.model.enums.KafkaClustersType;
 import io.aiven.klaw.model.enums.KafkaFlavors;
 import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.model.enums.PermissionType;
+import io.aiven.klaw.service.utils.TopicCatalog;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -170,7 +171,7 @@ public class AclSyncControllerServiceTest {
     Topic t1 = new Topic();
     t1.setTopicname("testtopic1");
     t1.setEnvironment(envSelected);
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(List.of(t1));
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(List.of(t1)));
     when(handleDbRequests.getSyncAcls(anyString(), anyInt())).thenReturn(getAclsSOT0());
     when(manageDatabase.getClusters(any(KafkaClustersType.class), anyInt()))
         .thenReturn(clustersHashMap);
@@ -201,7 +202,7 @@ public class AclSyncControllerServiceTest {
     Topic t1 = new Topic();
     t1.setTopicname("testtopic1");
     t1.setEnvironment(envSelected);
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(List.of(t1));
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(List.of(t1)));
     when(handleDbRequests.getSyncAcls(anyString(), anyInt()))
         .thenReturn(getAclsSOT0NonApacheKafka());
     when(manageDatabase.getClusters(any(KafkaClustersType.class), anyInt()))
@@ -235,7 +236,7 @@ public class AclSyncControllerServiceTest {
     Topic t1 = new Topic();
     t1.setTopicname("testtopic1");
     t1.setEnvironment(envSelected);
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(List.of(t1));
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(List.of(t1)));
 
     List<Acl> metadataAcls = getAclsSOT0NonApacheKafka();
 
@@ -282,6 +283,7 @@ public class AclSyncControllerServiceTest {
     when(handleDbRequests.getAllTeamsOfUsers(anyString(), anyInt()))
         .thenReturn(getAvailableTeams());
     when(handleDbRequests.getSyncAcls(anyString(), anyInt())).thenReturn(getAclsSOT0());
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog());
     when(manageDatabase.getClusters(any(KafkaClustersType.class), anyInt()))
         .thenReturn(clustersHashMap);
     when(clustersHashMap.get(any())).thenReturn(kwClusters);
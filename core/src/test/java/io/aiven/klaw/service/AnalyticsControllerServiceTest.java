@@ -1,5 +1,7 @@
 package io.aiven.klaw.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -8,12 +10,15 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import io.aiven.klaw.UtilMethods;
 import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.constants.TestConstants;
 import io.aiven.klaw.dao.Acl;
 import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.error.KlawBadRequestException;
+import io.aiven.klaw.error.KlawErrorMessages;
 import io.aiven.klaw.helpers.KwConstants;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.charts.ChartsJsOverview;
@@ -21,13 +26,24 @@ import io.aiven.klaw.model.charts.TeamOverview;
 import io.aiven.klaw.model.enums.AclType;
 import io.aiven.klaw.model.enums.ApiResultStatus;
 import io.aiven.klaw.model.enums.PermissionType;
+import io.aiven.klaw.model.enums.ReportJobStatus;
 import io.aiven.klaw.model.response.AclsCountPerEnv;
+import io.aiven.klaw.model.response.KwReportJob;
 import io.aiven.klaw.model.response.TopicsCountPerEnv;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,6 +54,7 @@ import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(SpringExtension.class)
 class AnalyticsControllerServiceTest {
@@ -635,4 +652,158 @@ class AnalyticsControllerServiceTest {
     Assertions.assertNotNull(actual);
     actual.deleteOnExit();
   }
+
+  @Test
+  public void generateReport_StreamsWorkbooksIntoZip() throws Exception {
+    stubReportOfTeam();
+
+    File actual = analyticsControllerService.generateReport(NUMBER_OF_DAYS);
+    actual.deleteOnExit();
+
+    try (ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(actual))) {
+      ZipEntry zipEntry = zipInputStream.getNextEntry();
+      assertThat(zipEntry.getName()).isEqualTo("KlawReport.xlsx");
+      try (XSSFWorkbook workbook =
+          new XSSFWorkbook(new ByteArrayInputStream(zipInputStream.readAllBytes()))) {
+        XSSFSheet topics = workbook.getSheet("Topics");
+        assertThat(topics.getRow(0).getCell(1).getStringCellValue())
+            .isEqualTo(TestConstants.ENV_NAME);
+        assertThat(topics.getRow(1).getCell(1).getStringCellValue())
+            .isEqualTo(TestConstants.TOPIC_NAME);
+        assertThat(workbook.getSheet("ConsumerGroups").getRow(1).getCell(1).getStringCellValue())
+            .isEqualTo(TestConstants.CONSUMER_GROUP);
+      }
+      assertThat(zipInputStream.getNextEntry()).isNull();
+    }
+  }
+
+  @Test
+  public void startReportJob() throws Exception {
+    stubReportOfTeam();
+    List<Runnable> reportTasks = new ArrayList<>();
+    ReflectionTestUtils.setField(
+        analyticsControllerService, "reportTaskExecutor", (Executor) reportTasks::add);
+
+    KwReportJob started = analyticsControllerService.startReportJob(NUMBER_OF_DAYS);
+    // a report already being generated for the user is not started again
+    KwReportJob startedAgain = analyticsControllerService.startReportJob(NUMBER_OF_DAYS);
+
+    assertThat(started.getStatus()).isEqualTo(ReportJobStatus.RUNNING);
+    assertThat(startedAgain.getJobId()).isEqualTo(started.getJobId());
+    assertThat(reportTasks).hasSize(1);
+    assertThatThrownBy(() -> analyticsControllerService.getReportOfJob(started.getJobId()))
+        .isInstanceOf(KlawBadRequestException.class)
+        .hasMessage(KlawErrorMessages.ANALYTICS_109);
+    // a running job does not expire, however long its report takes
+    assertThat(reportJobExpiresAfter(started.getJobId())).isGreaterThan(Duration.ofDays(365));
+
+    reportTasks.get(0).run();
+
+    KwReportJob completed = analyticsControllerService.getReportJob(started.getJobId());
+    assertThat(completed.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+    // the report can be downloaded for an hour from the completion of the job
+    assertThat(reportJobExpiresAfter(started.getJobId()))
+        .isBetween(Duration.ofMinutes(59), Duration.ofHours(1));
+    File report = analyticsControllerService.getReportOfJob(started.getJobId());
+    report.deleteOnExit();
+    assertThat(report).exists().hasName(completed.getFilename());
+    assertThat(analyticsControllerService.startReportJob(NUMBER_OF_DAYS).getJobId())
+        .isNotEqualTo(started.getJobId());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Duration reportJobExpiresAfter(String jobId) {
+    Cache<String, ?> reportJobs =
+        (Cache<String, ?>) ReflectionTestUtils.getField(analyticsControllerService, "reportJobs");
+    return reportJobs.policy().expireVariably().orElseThrow().getExpiresAfter(jobId).orElseThrow();
+  }
+
+  @Test
+  public void getReportJob_OtherTenant() throws Exception {
+    stubReportOfTeam();
+    ReflectionTestUtils.setField(
+        analyticsControllerService, "reportTaskExecutor", (Executor) Runnable::run);
+    KwReportJob started = analyticsControllerService.startReportJob(NUMBER_OF_DAYS);
+    analyticsControllerService.getReportOfJob(started.getJobId()).deleteOnExit();
+
+    Mockito.when(commonUtilsService.getTenantId(TestConstants.USERNAME))
+        .thenReturn(TestConstants.TENANT_ID + 1);
+
+    assertThatThrownBy(() -> analyticsControllerService.getReportJob(started.getJobId()))
+        .isInstanceOf(KlawBadRequestException.class)
+        .hasMessage(KlawErrorMessages.ANALYTICS_108);
+  }
+
+  @Test
+  public void startReportJob_OtherUserOrNumberOfDays() throws Exception {
+    stubReportOfTeam();
+    List<Runnable> reportTasks = new ArrayList<>();
+    ReflectionTestUtils.setField(
+        analyticsControllerService, "reportTaskExecutor", (Executor) reportTasks::add);
+    Mockito.doReturn(List.of(UtilMethods.getDummyTeamOverview()))
+        .when(analyticsControllerService)
+        .getTeamsOverview(null, NUMBER_OF_DAYS + 1);
+
+    KwReportJob started = analyticsControllerService.startReportJob(NUMBER_OF_DAYS);
+    KwReportJob startedForOtherDays = analyticsControllerService.startReportJob(NUMBER_OF_DAYS + 1);
+    stubOtherUserOfTenant();
+    KwReportJob startedByOtherUser = analyticsControllerService.startReportJob(NUMBER_OF_DAYS);
+
+    assertThat(reportTasks).hasSize(3);
+    assertThat(List.of(startedForOtherDays.getJobId(), startedByOtherUser.getJobId()))
+        .doesNotHaveDuplicates()
+        .doesNotContain(started.getJobId());
+  }
+
+  @Test
+  public void getReportJob_OtherUser() throws Exception {
+    stubReportOfTeam();
+    ReflectionTestUtils.setField(
+        analyticsControllerService, "reportTaskExecutor", (Executor) Runnable::run);
+    KwReportJob started = analyticsControllerService.startReportJob(NUMBER_OF_DAYS);
+    analyticsControllerService.getReportOfJob(started.getJobId()).deleteOnExit();
+
+    stubOtherUserOfTenant();
+
+    assertThatThrownBy(() -> analyticsControllerService.getReportJob(started.getJobId()))
+        .isInstanceOf(KlawBadRequestException.class)
+        .hasMessage(KlawErrorMessages.ANALYTICS_108);
+    assertThatThrownBy(() -> analyticsControllerService.getReportOfJob(started.getJobId()))
+        .isInstanceOf(KlawBadRequestException.class)
+        .hasMessage(KlawErrorMessages.ANALYTICS_108);
+  }
+
+  private void stubOtherUserOfTenant() {
+    Mockito.when(commonUtilsService.getCurrentUserName()).thenReturn("otheruser");
+    Mockito.when(commonUtilsService.getTenantId("otheruser")).thenReturn(TestConstants.TENANT_ID);
+    Mockito.when(commonUtilsService.getTeamId("otheruser")).thenReturn(TestConstants.TEAM_ID + 1);
+  }
+
+  private void stubReportOfTeam() {
+    Mockito.when(commonUtilsService.getCurrentUserName()).thenReturn(TestConstants.USERNAME);
+    Mockito.when(commonUtilsService.getTenantId(TestConstants.USERNAME))
+        .thenReturn(TestConstants.TENANT_ID);
+    Mockito.when(
+            manageDatabase.getKwPropertyValue(
+                KwConstants.KW_REPORTS_TMP_LOCATION_KEY, TestConstants.TENANT_ID))
+        .thenReturn(TestConstants.KW_REPORTS_LOCATION);
+    Mockito.doReturn(List.of(UtilMethods.getDummyTeamOverview()))
+        .when(analyticsControllerService)
+        .getTeamsOverview(null, NUMBER_OF_DAYS);
+    Mockito.when(commonUtilsService.getEnvsFromUserId(any()))
+        .thenReturn(Set.of(TestConstants.ENV_ID));
+    Mockito.doReturn(TestConstants.ENV_NAME)
+        .when(analyticsControllerService)
+        .getEnvName(TestConstants.ENV_ID);
+    Mockito.when(commonUtilsService.getTeamId(TestConstants.USERNAME))
+        .thenReturn(TestConstants.TEAM_ID);
+    Mockito.when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequestsJdbc);
+    Mockito.when(
+            handleDbRequestsJdbc.getTopicsforTeam(TestConstants.TEAM_ID, TestConstants.TENANT_ID))
+        .thenReturn(List.of(UtilMethods.getDummyTopic()));
+    Mockito.when(
+            handleDbRequestsJdbc.getConsumerGroupsforTeam(
+                TestConstants.TEAM_ID, TestConstants.TENANT_ID))
+        .thenReturn(List.of(UtilMethods.getDummyAcl()));
+  }
 }
@@ -15,6 +15,7 @@ import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.enums.ApprovalType;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -49,8 +50,10 @@ public class ApprovalServiceTest {
     ReflectionTestUtils.setField(approvalService, "commonUtilsService", commonUtilsService);
     ReflectionTestUtils.setField(approvalService, "allowMultiApproval", true);
 
-    when(manageDatabase.selectAllCachedUserInfo())
-        .thenReturn(List.of(createUser(JOHN, 10), createUser(JAMES, 11), createUser(JACKIE, 13)));
+    for (UserInfo user :
+        List.of(createUser(JOHN, 10), createUser(JAMES, 11), createUser(JACKIE, 13))) {
+      when(manageDatabase.getCachedUserInfo(user.getUsername())).thenReturn(Optional.of(user));
+    }
     when(manageDatabase.getTeamNameFromTeamId(eq(101), eq(11))).thenReturn(OCTOPUS);
     when(manageDatabase.getTeamNameFromTeamId(eq(101), eq(10))).thenReturn(ALICE);
     when(manageDatabase.getTeamNameFromTeamId(eq(101), eq(13))).thenReturn(SUPPORT_TEAM);
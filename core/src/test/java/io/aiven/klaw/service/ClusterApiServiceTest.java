@@ -7,7 +7,9 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.aiven.klaw.UtilMethods;
 import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.dao.AclRequests;
@@ -17,6 +19,7 @@ import io.aiven.klaw.dao.SchemaRequest;
 import io.aiven.klaw.dao.TopicRequest;
 import io.aiven.klaw.error.KlawException;
 import io.aiven.klaw.error.KlawRestException;
+import io.aiven.klaw.helpers.KwConstants;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.cluster.ClusterSchemaRequest;
@@ -34,6 +37,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
@@ -48,13 +53,21 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @ExtendWith(SpringExtension.class)
@@ -520,6 +533,165 @@ public class ClusterApiServiceTest {
     assertThat(Objects.requireNonNull(response1)).isEqualTo(FAILED_TO_EXECUTE_SUCCESSFULLY);
   }
 
+  @Test
+  @Order(16)
+  public void getAvroSchemasSortsVersionsOfEachTopic() throws Exception {
+    Map<String, Map<String, Map<String, Object>>> schemas =
+        Map.of(
+            "topic1",
+            Map.of("1", Map.of("schema", SCHEMAFULL), "2", Map.of("schema", SCHEMAFULL)),
+            "topic2",
+            Map.of("1", Map.of("schema", SCHEMAFULL)));
+    ResponseEntity response = new ResponseEntity<>(schemas, HttpStatus.OK);
+    when(restTemplate.exchange(
+            endsWith(KwConstants.URI_GET_SCHEMAS),
+            eq(HttpMethod.POST),
+            any(),
+            any(ParameterizedTypeReference.class)))
+        .thenReturn(response);
+
+    Map<String, TreeMap<Integer, Map<String, Object>>> result =
+        clusterApiService.getAvroSchemas(
+            BOOTSRAP_SERVERS,
+            KafkaSupportedProtocol.PLAINTEXT,
+            "DEV1",
+            List.of("topic1", "topic2"),
+            101);
+
+    assertThat(result.keySet()).containsExactlyInAnyOrder("topic1", "topic2");
+    assertThat(result.get("topic1").keySet()).containsExactly(2, 1);
+    assertThat(result.get("topic2").keySet()).containsExactly(1);
+  }
+
+  @Test
+  @Order(7)
+  public void getAllTopicsUsesTheSnapshotHeldWhenNotModified() throws Exception {
+    Set<TopicConfig> topicsList = getTopics();
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag("\"v1\"");
+    ResponseEntity response =
+        new ResponseEntity<>(
+            LoadTopicsResponse.builder().topicConfigSet(topicsList).build(),
+            headers,
+            HttpStatus.OK);
+    ResponseEntity notModified = new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+    ArgumentCaptor<HttpEntity<String>> requestCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+    when(restTemplate.exchange(
+            Mockito.anyString(),
+            eq(HttpMethod.GET),
+            requestCaptor.capture(),
+            (ParameterizedTypeReference<Object>) any()))
+        .thenReturn(response, notModified);
+
+    clusterApiService.getAllTopics("", KafkaSupportedProtocol.PLAINTEXT, "", "", 1, false);
+    Set<TopicConfig> result =
+        clusterApiService
+            .getAllTopics("", KafkaSupportedProtocol.PLAINTEXT, "", "", 1, false)
+            .getTopicConfigSet();
+
+    assertThat(result).isEqualTo(topicsList);
+    assertThat(requestCaptor.getAllValues().get(0).getHeaders().getIfNoneMatch()).isEmpty();
+    assertThat(requestCaptor.getAllValues().get(1).getHeaders().getIfNoneMatch())
+        .containsExactly("\"v1\"");
+  }
+
+  @Test
+  @Order(17)
+  public void getAllTopicsAsyncSuccess() throws Exception {
+    Set<TopicConfig> topicsList = getTopics();
+    ReflectionTestUtils.setField(clusterApiService, "smileEnabled", true);
+    List<ClientRequest> requests =
+        useWebClient(
+            smileResponse(LoadTopicsResponse.builder().topicConfigSet(topicsList).build()));
+
+    LoadTopicsResponse result =
+        clusterApiService
+            .getAllTopicsAsync(
+                BOOTSRAP_SERVERS, KafkaSupportedProtocol.PLAINTEXT, "DEV1", "", 1, false)
+            .join();
+
+    assertThat(result.getTopicConfigSet()).isEqualTo(topicsList);
+    assertThat(requests).hasSize(1);
+    assertThat(requests.get(0).url().toString()).startsWith("http://cluster");
+    assertThat(requests.get(0).headers().getFirst(HttpHeaders.AUTHORIZATION)).startsWith("Bearer ");
+    assertThat(requests.get(0).headers().getAccept())
+        .containsExactly(
+            MediaType.parseMediaType("application/x-jackson-smile"), MediaType.APPLICATION_JSON);
+  }
+
+  @Test
+  @Order(18)
+  public void getAclsAsyncRetriesUnavailableClusterApi() throws Exception {
+    Set<Map<String, String>> aclListOriginal = utilMethods.getAclsMock();
+    when(manageDatabase.getClusters(any(KafkaClustersType.class), anyInt()))
+        .thenReturn(clustersHashMap);
+    when(clustersHashMap.get(any())).thenReturn(kwClusters);
+    when(kwClusters.getKafkaFlavor()).thenReturn("Apache Kafka");
+    List<ClientRequest> requests =
+        useWebClient(
+            ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build(),
+            okResponse(aclListOriginal));
+
+    List<Map<String, String>> result =
+        clusterApiService.getAclsAsync("", env, KafkaSupportedProtocol.PLAINTEXT, 1).join();
+
+    assertThat(result).containsExactlyInAnyOrderElementsOf(aclListOriginal);
+    assertThat(requests).hasSize(2);
+  }
+
+  @Test
+  @Order(19)
+  public void getSchemasFromClusterAsyncFailure() {
+    List<ClientRequest> requests =
+        useWebClient(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+
+    assertThatThrownBy(
+            () ->
+                clusterApiService
+                    .getSchemasFromClusterAsync(
+                        BOOTSRAP_SERVERS, KafkaSupportedProtocol.PLAINTEXT, "DEV1", 1)
+                    .join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(KlawException.class);
+    assertThat(requests).hasSize(1);
+  }
+
+  // answers the requests of the web client with the responses in turn
+  private List<ClientRequest> useWebClient(ClientResponse... responses) {
+    List<ClientRequest> requests = new ArrayList<>();
+    WebClient webClient =
+        WebClient.builder()
+            .exchangeFunction(
+                request -> {
+                  requests.add(request);
+                  return Mono.just(responses[requests.size() - 1]);
+                })
+            .build();
+    ReflectionTestUtils.setField(clusterApiService, "webClient", webClient);
+    ReflectionTestUtils.setField(clusterApiService, "clientRetries", 2);
+    ReflectionTestUtils.setField(clusterApiService, "topicsTimeoutMs", 5000L);
+    ReflectionTestUtils.setField(clusterApiService, "aclsTimeoutMs", 5000L);
+    ReflectionTestUtils.setField(clusterApiService, "schemasTimeoutMs", 5000L);
+    return requests;
+  }
+
+  private ClientResponse okResponse(Object body) throws JsonProcessingException {
+    return ClientResponse.create(HttpStatus.OK)
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .body(objectMapper.writeValueAsString(body))
+        .build();
+  }
+
+  private ClientResponse smileResponse(Object body) throws JsonProcessingException {
+    return ClientResponse.create(HttpStatus.OK)
+        .header(HttpHeaders.CONTENT_TYPE, "application/x-jackson-smile")
+        .body(
+            Flux.just(
+                DefaultDataBufferFactory.sharedInstance.wrap(
+                    new ObjectMapper(new SmileFactory()).writeValueAsBytes(body))))
+        .build();
+  }
+
   private Set<TopicConfig> getTopics() {
     Set<TopicConfig> topicsList = new HashSet<>();
     TopicConfig tc1 = new TopicConfig();
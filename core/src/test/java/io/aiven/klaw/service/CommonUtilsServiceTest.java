@@ -11,20 +11,29 @@ import static org.mockito.Mockito.when;
 import io.aiven.klaw.UtilMethods;
 import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.dao.UserInfo;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.KwMetadataUpdates;
 import io.aiven.klaw.model.enums.EntityType;
 import io.aiven.klaw.model.enums.MetadataOperationType;
+import io.aiven.klaw.model.enums.PermissionType;
+import io.aiven.klaw.service.utils.TopicCatalog;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @ExtendWith(SpringExtension.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -56,7 +65,7 @@ public class CommonUtilsServiceTest {
     List<Topic> topicList1 = utilMethods.getMultipleTopics("test1", 20, "1", 101);
     List<Topic> topicList2 = utilMethods.getMultipleTopics("test2", 20, "2", 101);
     topicList1.addAll(topicList2);
-    when(manageDatabase.getTopicsForTenant(1)).thenReturn(topicList1);
+    when(manageDatabase.getTopicCatalog(1)).thenReturn(catalogOf(topicList1));
     List<Topic> topicList = commonUtilsService.getTopicsForTopicName("test10", 1);
     assertThat(topicList).hasSize(1);
   }
@@ -66,7 +75,7 @@ public class CommonUtilsServiceTest {
     List<Topic> topicList1 = utilMethods.getMultipleTopics("test1", 20, "1", 101);
     List<Topic> topicList2 = utilMethods.getMultipleTopics("test2", 20, "2", 101);
     topicList1.addAll(topicList2);
-    when(manageDatabase.getTopicsForTenant(1)).thenReturn(topicList1);
+    when(manageDatabase.getTopicCatalog(1)).thenReturn(catalogOf(topicList1));
     List<Topic> topicList = commonUtilsService.getTopics(null, null, 1);
     assertThat(topicList).hasSize(40);
   }
@@ -74,8 +83,8 @@ public class CommonUtilsServiceTest {
   @Test
   public void getSyncTopicsFilterEnvAll() {
     String env = "1";
-    when(manageDatabase.getTopicsForTenant(1))
-        .thenReturn(utilMethods.getMultipleTopics("test", 20, "1", 101));
+    when(manageDatabase.getTopicCatalog(1))
+        .thenReturn(catalogOf(utilMethods.getMultipleTopics("test", 20, "1", 101)));
     List<Topic> topicList = commonUtilsService.getTopics(env, null, 1);
     assertThat(topicList).hasSize(20);
   }
@@ -83,16 +92,16 @@ public class CommonUtilsServiceTest {
   @Test
   public void getSyncTopicsFilterEnvNone() {
     String env = "1";
-    when(manageDatabase.getTopicsForTenant(1))
-        .thenReturn(utilMethods.getMultipleTopics("test", 20, "2", 101));
+    when(manageDatabase.getTopicCatalog(1))
+        .thenReturn(catalogOf(utilMethods.getMultipleTopics("test", 20, "2", 101)));
     List<Topic> topicList = commonUtilsService.getTopics(env, null, 1);
     assertThat(topicList).hasSize(0);
   }
 
   @Test
   public void getSyncTopicsFilterTeam() {
-    when(manageDatabase.getTopicsForTenant(1))
-        .thenReturn(utilMethods.getMultipleTopics("test", 20, "2", 102));
+    when(manageDatabase.getTopicCatalog(1))
+        .thenReturn(catalogOf(utilMethods.getMultipleTopics("test", 20, "2", 102)));
     List<Topic> topicList = commonUtilsService.getTopics(null, 101, 1);
     assertThat(topicList).hasSize(0);
   }
@@ -102,7 +111,7 @@ public class CommonUtilsServiceTest {
     List<Topic> topicList1 = utilMethods.getMultipleTopics("test", 20, "1", 101);
     List<Topic> topicList2 = utilMethods.getMultipleTopics("test", 5, "2", 102);
     topicList1.addAll(topicList2);
-    when(manageDatabase.getTopicsForTenant(1)).thenReturn(topicList1);
+    when(manageDatabase.getTopicCatalog(1)).thenReturn(catalogOf(topicList1));
     List<Topic> topicList = commonUtilsService.getTopics(null, 102, 1);
     assertThat(topicList).hasSize(5);
   }
@@ -114,7 +123,7 @@ public class CommonUtilsServiceTest {
     List<Topic> topicList3 = utilMethods.getMultipleTopics("test3", 10, "3", 102);
     topicList1.addAll(topicList2);
     topicList1.addAll(topicList3);
-    when(manageDatabase.getTopicsForTenant(1)).thenReturn(topicList1);
+    when(manageDatabase.getTopicCatalog(1)).thenReturn(catalogOf(topicList1));
     List<Topic> topicList = commonUtilsService.getTopics("3", 102, 1);
     assertThat(topicList).hasSize(10);
   }
@@ -126,11 +135,63 @@ public class CommonUtilsServiceTest {
     List<Topic> topicList3 = utilMethods.getMultipleTopics("test2", 10, "3", 102);
     topicList1.addAll(topicList2);
     topicList1.addAll(topicList3);
-    when(manageDatabase.getTopicsForTenant(1)).thenReturn(topicList1);
+    when(manageDatabase.getTopicCatalog(1)).thenReturn(catalogOf(topicList1));
     List<Topic> topicList = commonUtilsService.getTopics("3", 102, 1);
     assertThat(topicList).hasSize(15);
   }
 
+  @Test
+  public void getTopicNamesSortedAndFilteredOnEnvAndTeam() {
+    List<Topic> topicList1 = utilMethods.getMultipleTopics("test1", 20, "1", 101);
+    List<Topic> topicList2 = utilMethods.getMultipleTopics("test2", 5, "2", 102);
+    List<Topic> topicList3 = utilMethods.getMultipleTopics("test2", 10, "3", 102);
+    topicList1.addAll(topicList2);
+    topicList1.addAll(topicList3);
+    when(manageDatabase.getTopicCatalog(1)).thenReturn(catalogOf(topicList1));
+
+    List<String> topicNames = commonUtilsService.getTopicNames("3", 102, 1, null);
+
+    assertThat(topicNames).hasSize(10).isSorted();
+    assertThat(commonUtilsService.getTopicNames("ALL", null, 1, null)).hasSize(30).isSorted();
+    // topics of the other envs are selected with the topic of the requested env
+    assertThat(commonUtilsService.getTopicsForTopicName("test20", "3", 102, 1)).hasSize(2);
+    assertThat(commonUtilsService.getTopicsForTopicName("test10", "3", 102, 1)).isEmpty();
+  }
+
+  @Test
+  public void getTopicNamesFilteredOnSearch() {
+    List<Topic> topicList1 = utilMethods.getMultipleTopics("test", 20, "1", 101);
+    topicList1.get(3).setDocumentation("Orders of the WEBSHOP");
+    when(manageDatabase.getTopicCatalog(1)).thenReturn(catalogOf(topicList1));
+
+    assertThat(commonUtilsService.getTopicNames("1", null, 1, "webshop")).containsExactly("test3");
+    assertThat(commonUtilsService.getTopicNames("1", null, 1, "TEST1"))
+        .containsExactly(
+            "test1", "test10", "test11", "test12", "test13", "test14", "test15", "test16", "test17",
+            "test18", "test19");
+    assertThat(commonUtilsService.getTopicNames("2", null, 1, "test")).isEmpty();
+  }
+
+  @Test
+  public void getTopicNamesCachedUntilTheCatalogChanges() {
+    List<Topic> topics = utilMethods.getMultipleTopics("test", 5, "1", 101);
+    TopicCatalog topicCatalog = catalogOf(topics);
+    when(manageDatabase.getTopicCatalog(1)).thenReturn(topicCatalog);
+
+    List<String> topicNames = commonUtilsService.getTopicNames("1", null, 1, null);
+
+    assertThat(commonUtilsService.getTopicNames("1", null, 1, null)).isSameAs(topicNames);
+    assertThat(commonUtilsService.getTopicNames("1", 101, 1, null)).isNotSameAs(topicNames);
+
+    Topic newTopic = utilMethods.getMultipleTopics("newtopic", 1, "1", 101).get(0);
+    newTopic.setTopicid(1000);
+    topicCatalog.addOrUpdate(newTopic);
+
+    assertThat(commonUtilsService.getTopicNames("1", null, 1, null))
+        .hasSize(6)
+        .contains("newtopic0");
+  }
+
   @Test
   public void updateMetadataCacheTeamEntity() {
     KwMetadataUpdates kwMetadataUpdates =
@@ -196,6 +257,89 @@ public class CommonUtilsServiceTest {
     verify(inMemoryUserDetailsManager, times(1)).deleteUser(any());
   }
 
+  @Test
+  public void updateMetadataCacheTopicsEntityReloadsOnlyTopicName() {
+    KwMetadataUpdates kwMetadataUpdates =
+        KwMetadataUpdates.builder()
+            .tenantId(101)
+            .entityType(EntityType.TOPICS.name())
+            .entityValue("testtopic")
+            .operationType(MetadataOperationType.CREATE.name())
+            .build();
+    commonUtilsService.updateMetadataCache(kwMetadataUpdates, false);
+    verify(manageDatabase, times(1)).loadTopicsForTopicName(101, "testtopic");
+    verify(manageDatabase, times(0)).loadTopicsForOneTenant(101);
+  }
+
+  @Test
+  public void updateMetadataCacheTopicsEntityWithoutTopicNameReloadsTenant() {
+    KwMetadataUpdates kwMetadataUpdates =
+        KwMetadataUpdates.builder()
+            .tenantId(101)
+            .entityType(EntityType.TOPICS.name())
+            .entityValue("na")
+            .operationType(MetadataOperationType.CREATE.name())
+            .build();
+    commonUtilsService.updateMetadataCache(kwMetadataUpdates, false);
+    verify(manageDatabase, times(1)).loadTopicsForOneTenant(101);
+  }
+
+  @Test
+  public void getTenantIdAndTeamIdFromCachedUser() {
+    UserInfo userInfo = new UserInfo();
+    userInfo.setUsername("octopus");
+    userInfo.setTenantId(101);
+    userInfo.setTeamId(1003);
+    when(manageDatabase.getCachedUserInfo("octopus")).thenReturn(Optional.of(userInfo));
+
+    assertThat(commonUtilsService.getTenantId("octopus")).isEqualTo(101);
+    assertThat(commonUtilsService.getTeamId("octopus")).isEqualTo(1003);
+    assertThat(commonUtilsService.getTenantId("unknown")).isZero();
+    assertThat(commonUtilsService.getTeamId("unknown")).isZero();
+  }
+
+  @Test
+  public void isNotAuthorizedUserResolvesPermissionsOncePerRequest() {
+    UserInfo userInfo = new UserInfo();
+    userInfo.setTenantId(101);
+    userInfo.setRole("USER");
+    when(manageDatabase.getCachedUserInfo("octopus")).thenReturn(Optional.of(userInfo));
+    when(manageDatabase.getPermissionTypes(101, "USER"))
+        .thenReturn(EnumSet.of(PermissionType.REQUEST_CREATE_TOPICS));
+
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    try {
+      assertThat(
+              commonUtilsService.isNotAuthorizedUser(
+                  "octopus", PermissionType.REQUEST_CREATE_TOPICS))
+          .isFalse();
+      assertThat(
+              commonUtilsService.isNotAuthorizedUser(
+                  "octopus",
+                  Set.of(PermissionType.APPROVE_TOPICS, PermissionType.REQUEST_CREATE_TOPICS)))
+          .isFalse();
+      assertThat(commonUtilsService.isNotAuthorizedUser("octopus", PermissionType.APPROVE_TOPICS))
+          .isTrue();
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+    verify(manageDatabase, times(1)).getPermissionTypes(101, "USER");
+
+    // outside of requests the permissions are resolved on every check
+    commonUtilsService.isNotAuthorizedUser("octopus", PermissionType.APPROVE_TOPICS);
+    commonUtilsService.isNotAuthorizedUser("octopus", PermissionType.APPROVE_TOPICS);
+    verify(manageDatabase, times(3)).getPermissionTypes(101, "USER");
+  }
+
+  // the fixtures reuse topic ids across lists, the catalog indexes topics on their id
+  private TopicCatalog catalogOf(List<Topic> topics) {
+    for (int i = 0; i < topics.size(); i++) {
+      topics.get(i).setTopicid(i);
+    }
+    return new TopicCatalog(topics);
+  }
+
   /*@Test
   public void test() {
     List<Map<String, String>> list = new ArrayList<>();
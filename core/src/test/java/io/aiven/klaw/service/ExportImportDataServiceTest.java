@@ -1,21 +1,36 @@
 package io.aiven.klaw.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aiven.klaw.UtilMethods;
 import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.dao.KwKafkaConnector;
+import io.aiven.klaw.dao.Topic;
 import io.aiven.klaw.dao.metadata.KwAdminConfig;
 import io.aiven.klaw.dao.metadata.KwData;
 import io.aiven.klaw.dao.metadata.KwRequests;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
+import io.aiven.klaw.model.enums.ApiResultStatus;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -35,6 +50,12 @@ public class ExportImportDataServiceTest {
   @Mock BuildProperties buildProperties;
 
   private static final String KLAW_VERSION = "2.8.0";
+  private static final int EXPORT_BATCH_SIZE = 4;
+  private static final int IMPORT_BATCH_SIZE = 3;
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().configure(DeserializationFeature.UNWRAP_ROOT_VALUE, true);
+
+  @TempDir Path tempDir;
 
   @BeforeEach
   public void setUp() throws Exception {
@@ -45,6 +66,8 @@ public class ExportImportDataServiceTest {
     when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
     ReflectionTestUtils.setField(exportImportDataService, "buildProperties", buildProperties);
     when(buildProperties.getVersion()).thenReturn(KLAW_VERSION);
+    ReflectionTestUtils.setField(exportImportDataService, "exportBatchSize", EXPORT_BATCH_SIZE);
+    ReflectionTestUtils.setField(exportImportDataService, "importBatchSize", IMPORT_BATCH_SIZE);
   }
 
   @Test
@@ -58,22 +81,76 @@ public class ExportImportDataServiceTest {
   }
 
   @Test
-  public void getKwData() {
-    when(handleDbRequests.getAllTopics())
-        .thenReturn(utilMethods.getMultipleTopics("test", 10, null, 101));
-    when(handleDbRequests.getAllConnectors())
-        .thenReturn(Collections.singletonList(new KwKafkaConnector()));
-    KwData kwData = exportImportDataService.getKwData(handleDbRequests, "");
+  public void writeKwData() throws Exception {
+    List<Topic> topics = utilMethods.getMultipleTopics("test", 10, null, 101);
+    when(handleDbRequests.getAllTopics(any(), anyInt()))
+        .thenAnswer(
+            invocation -> page(topics, invocation.getArgument(0), invocation.getArgument(1)));
+    when(handleDbRequests.getAllConnectors(any(), anyInt()))
+        .thenReturn(Collections.singletonList(new KwKafkaConnector()))
+        .thenReturn(Collections.emptyList());
+    File file = tempDir.resolve("kwdata.json").toFile();
+
+    exportImportDataService.writeKwData(handleDbRequests, file, "");
+
+    KwData kwData = OBJECT_MAPPER.readValue(file, KwData.class);
+    assertThat(kwData.getKlawVersion()).isEqualTo(KLAW_VERSION);
     assertThat(kwData.getTopics().size()).isEqualTo(10);
     assertThat(kwData.getKafkaConnectors().size()).isEqualTo(1);
+    assertThat(kwData.getSubscriptions()).isEmpty();
+    // 4 + 4 + 2 topics
+    verify(handleDbRequests, times(3)).getAllTopics(any(), eq(EXPORT_BATCH_SIZE));
+    verify(handleDbRequests).getAllTopics(null, EXPORT_BATCH_SIZE);
+    verify(handleDbRequests).getAllTopics(topics.get(3), EXPORT_BATCH_SIZE);
+    verify(handleDbRequests).getAllTopics(topics.get(7), EXPORT_BATCH_SIZE);
   }
 
   @Test
-  public void getRequestsData() {
-    when(handleDbRequests.getAllTopicRequests()).thenReturn(utilMethods.getTopicRequests());
-    when(handleDbRequests.getAllAclRequests()).thenReturn(utilMethods.getAclRequests());
-    KwRequests kwRequests = exportImportDataService.getRequestsData(handleDbRequests, "");
+  public void writeRequestsData() throws Exception {
+    when(handleDbRequests.getAllTopicRequests(any(), anyInt()))
+        .thenReturn(utilMethods.getTopicRequests());
+    when(handleDbRequests.getAllAclRequests(any(), anyInt()))
+        .thenReturn(utilMethods.getAclRequests());
+    File file = tempDir.resolve("kwrequests.json").toFile();
+
+    exportImportDataService.writeRequestsData(handleDbRequests, file, "");
+
+    KwRequests kwRequests = OBJECT_MAPPER.readValue(file, KwRequests.class);
     assertThat(kwRequests.getTopicRequests().size()).isEqualTo(1);
     assertThat(kwRequests.getSubscriptionRequests().size()).isEqualTo(1);
   }
+
+  @Test
+  public void importKwDataInBatches() throws Exception {
+    List<Topic> topics = utilMethods.getMultipleTopics("test", 10, null, 101);
+    when(handleDbRequests.getAllTopics(any(), anyInt()))
+        .thenAnswer(
+            invocation -> page(topics, invocation.getArgument(0), invocation.getArgument(1)));
+    File file = tempDir.resolve("kwdata.json").toFile();
+    exportImportDataService.writeKwData(handleDbRequests, file, "");
+    ReflectionTestUtils.setField(exportImportDataService, "importKwDataMetadata", true);
+    ReflectionTestUtils.setField(exportImportDataService, "importMetadata", true);
+    ReflectionTestUtils.setField(
+        exportImportDataService, "klawImportKwDataFilePath", file.getAbsolutePath());
+    List<List<Topic>> importedBatches = new ArrayList<>();
+    when(handleDbRequests.importTopics(any()))
+        .thenAnswer(
+            invocation -> {
+              importedBatches.add(new ArrayList<>(invocation.<List<Topic>>getArgument(0)));
+              return ApiResultStatus.SUCCESS.value;
+            });
+
+    exportImportDataService.importData();
+
+    assertThat(importedBatches).extracting(List::size).containsExactly(3, 3, 3, 1);
+    assertThat(importedBatches.get(0).get(0).getTopicname())
+        .isEqualTo(topics.get(0).getTopicname());
+    verify(handleDbRequests, never()).importAcls(any());
+  }
+
+  // the rows after the given one, as the keyset pages of the database
+  private static <T> List<T> page(List<T> rows, T after, int pageSize) {
+    int from = after == null ? 0 : rows.indexOf(after) + 1;
+    return rows.subList(from, Math.min(from + pageSize, rows.size()));
+  }
 }
@@ -0,0 +1,228 @@
+package io.aiven.klaw.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.constants.CacheConstants;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.model.KwMetadataUpdates;
+import io.aiven.klaw.model.enums.HAMessageType;
+import io.aiven.klaw.model.requests.HACacheMessage;
+import io.aiven.klaw.model.requests.HACacheMessageBatch;
+import io.aiven.klaw.model.requests.ResetEntityCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(SpringExtension.class)
+public class HABatchingMessagingServiceTest {
+
+  private static final int TENANT_ID = 101;
+
+  @Mock private ManageDatabase manageDatabase;
+
+  @Mock private CommonUtilsService commonUtilsService;
+
+  private final List<HACacheMessageBatch> sentBatches = new ArrayList<>();
+
+  private HALoopbackTransport transport;
+
+  private HACacheMessageReceiver receiver;
+
+  private HABatchingMessagingService messagingService;
+
+  @BeforeEach
+  public void setUp() {
+    receiver = new HACacheMessageReceiver();
+    ReflectionTestUtils.setField(receiver, "manageDatabase", manageDatabase);
+    ReflectionTestUtils.setField(receiver, "commonUtilsService", commonUtilsService);
+    transport = new HALoopbackTransport();
+    transport.register(
+        "instance2",
+        batch -> {
+          sentBatches.add(batch);
+          receiver.receive(batch);
+        });
+    // the changes are only sent when the tests flush them
+    messagingService = new HABatchingMessagingService(transport, 60000, 2, 2, 1);
+  }
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    messagingService.shutdown();
+  }
+
+  @Test
+  public void changesAreSentInBatchesInOrder() {
+    messagingService.sendUpdate(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 1, env("1"));
+    messagingService.sendUpdate(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 2, env("2"));
+    messagingService.sendRemove(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 3);
+
+    assertThat(sentBatches).isEmpty();
+    messagingService.flush().join();
+
+    assertThat(sentBatches).hasSize(2);
+    assertThat(sentBatches.get(0).getMessages())
+        .extracting(HACacheMessage::getSequence)
+        .containsExactly(1L, 2L);
+    assertThat(sentBatches.get(1).getMessages())
+        .extracting(HACacheMessage::getMessageType)
+        .containsExactly(HAMessageType.CACHE_REMOVE);
+    assertThat(sentBatches.get(0).getSenderId()).isEqualTo(messagingService.getSenderId());
+    verify(manageDatabase, times(2)).addEnvToCache(eq(TENANT_ID), any(Env.class), eq(true));
+    verify(manageDatabase).removeEnvFromCache(TENANT_ID, 3, true);
+  }
+
+  @Test
+  public void pendingChangesOfAnEntryAreCoalesced() {
+    messagingService.sendUpdate(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 1, env("1"));
+    messagingService.sendUpdate(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 1, env("1"));
+    messagingService.sendRemove(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 1);
+    ResetEntityCache reset =
+        ResetEntityCache.builder()
+            .tenantId(TENANT_ID)
+            .entityType("TEAM")
+            .entityValue("na")
+            .operationType("CREATE")
+            .build();
+    messagingService.sendMetadataReset(reset);
+    messagingService.sendMetadataReset(reset);
+
+    messagingService.flush().join();
+
+    assertThat(sentBatches).hasSize(1);
+    assertThat(sentBatches.get(0).getMessages())
+        .extracting(HACacheMessage::getMessageType)
+        .containsExactly(HAMessageType.CACHE_REMOVE, HAMessageType.METADATA_RESET);
+    verify(manageDatabase, never()).addEnvToCache(any(int.class), any(), any(boolean.class));
+    verify(manageDatabase).removeEnvFromCache(TENANT_ID, 1, true);
+    ArgumentCaptor<KwMetadataUpdates> metadataUpdates =
+        ArgumentCaptor.forClass(KwMetadataUpdates.class);
+    verify(commonUtilsService).updateMetadataCache(metadataUpdates.capture(), eq(false));
+    assertThat(metadataUpdates.getValue().getEntityType()).isEqualTo("TEAM");
+  }
+
+  @Test
+  public void failedBatchesAreSentAgainAndAppliedOnce() {
+    AtomicInteger attempts = new AtomicInteger();
+    transport.register(
+        "instance2",
+        batch -> {
+          sentBatches.add(batch);
+          receiver.receive(batch);
+          if (attempts.incrementAndGet() == 1) {
+            // the batch was applied, but the response got lost
+            throw new IllegalStateException("Connection reset");
+          }
+        });
+    messagingService.sendUpdate(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 1, env("1"));
+
+    messagingService.flush().join();
+
+    assertThat(attempts).hasValue(2);
+    verify(manageDatabase, times(1)).addEnvToCache(eq(TENANT_ID), any(Env.class), eq(true));
+  }
+
+  @Test
+  public void batchIsDroppedAfterTheRetries() {
+    AtomicInteger attempts = new AtomicInteger();
+    transport.register(
+        "instance2",
+        batch -> {
+          attempts.incrementAndGet();
+          throw new IllegalStateException("Connection refused");
+        });
+    messagingService.sendRemove(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 1);
+
+    messagingService.flush().join();
+    messagingService.flush().join();
+
+    assertThat(attempts).hasValue(3);
+  }
+
+  @Test
+  public void instanceWhichDoesNotAnswerDoesNotDelayTheOthers() throws InterruptedException {
+    CountDownLatch instance3Answers = new CountDownLatch(1);
+    transport.register(
+        "instance3",
+        batch -> {
+          try {
+            instance3Answers.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    CountDownLatch instance2Received = new CountDownLatch(2);
+    transport.register("instance2", batch -> instance2Received.countDown());
+
+    messagingService.sendRemove(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 1);
+    CompletableFuture<Void> firstFlush = messagingService.flush();
+    messagingService.sendRemove(CacheConstants.ENVIRONMENT_PATH, TENANT_ID, 2);
+    CompletableFuture<Void> secondFlush = messagingService.flush();
+
+    assertThat(instance2Received.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(firstFlush).isNotDone();
+    instance3Answers.countDown();
+    CompletableFuture.allOf(firstFlush, secondFlush).join();
+  }
+
+  @Test
+  public void batchesAreSentUnderTheContextPath() {
+    HARestTransport restTransport = new HARestTransport();
+    ReflectionTestUtils.setField(restTransport, "kwContextPath", "/klaw");
+
+    assertThat(restTransport.getUrl("https://klaw-project.io:9097/"))
+        .isEqualTo("https://klaw-project.io:9097/klaw/cache/batch");
+
+    ReflectionTestUtils.setField(restTransport, "kwContextPath", "");
+    assertThat(restTransport.getUrl("https://klaw-project.io:9097"))
+        .isEqualTo("https://klaw-project.io:9097/cache/batch");
+  }
+
+  @Test
+  public void receivedEntriesOverHttpAreConverted() {
+    receiver.receive(
+        HACacheMessageBatch.builder()
+            .senderId("instance1")
+            .messages(
+                List.of(
+                    HACacheMessage.builder()
+                        .sequence(1)
+                        .messageType(HAMessageType.CACHE_UPDATE)
+                        .entityType(CacheConstants.ENVIRONMENT_PATH)
+                        .tenantId(TENANT_ID)
+                        .id(7)
+                        .entry(Map.of("id", "7", "name", "DEV", "type", "kafka"))
+                        .build()))
+            .build());
+
+    ArgumentCaptor<Env> env = ArgumentCaptor.forClass(Env.class);
+    verify(manageDatabase).addEnvToCache(eq(TENANT_ID), env.capture(), eq(true));
+    assertThat(env.getValue().getName()).isEqualTo("DEV");
+  }
+
+  private static Env env(String id) {
+    Env env = new Env();
+    env.setId(id);
+    env.setName("DEV" + id);
+    env.setType("kafka");
+    return env;
+  }
+}
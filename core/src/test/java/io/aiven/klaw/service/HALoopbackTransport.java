@@ -0,0 +1,35 @@
+package io.aiven.klaw.service;
+
+import io.aiven.klaw.model.requests.HACacheMessageBatch;
+import io.aiven.klaw.service.interfaces.HATransportI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Delivers batches to receivers of the same JVM, to replicate caches between instances started by
+ * tests without any network.
+ */
+public class HALoopbackTransport implements HATransportI {
+
+  private final Map<String, Consumer<HACacheMessageBatch>> receivers = new ConcurrentHashMap<>();
+
+  public void register(String peer, Consumer<HACacheMessageBatch> receiver) {
+    receivers.put(peer, receiver);
+  }
+
+  @Override
+  public List<String> getPeers() {
+    return new ArrayList<>(receivers.keySet());
+  }
+
+  @Override
+  public void send(String peer, HACacheMessageBatch batch) {
+    Consumer<HACacheMessageBatch> receiver = receivers.get(peer);
+    if (receiver != null) {
+      receiver.accept(batch);
+    }
+  }
+}
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.*;
 import io.aiven.klaw.UtilMethods;
 import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.model.ApiResponse;
+import io.aiven.klaw.model.requests.ResetEntityCache;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -119,4 +121,30 @@ public class HARestMessagingServiceTest {
             any(),
             eq(ApiResponse.class));
   }
+
+  @Test
+  public void testMetadataResetIsSentToOtherInstances() {
+    when(environment.getProperty("server.port")).thenReturn("0");
+    ReflectionTestUtils.setField(restMessagingService, "kwContextPath", "");
+    ReflectionTestUtils.setField(
+        restMessagingService,
+        "clusterUrlsAsString",
+        "http://localhost:0,http://klaw-project.io:9097");
+    HARestMessagingService spyService = spy(restMessagingService);
+    doReturn(rest).when(spyService).getRestTemplate();
+
+    spyService.sendMetadataReset(
+        ResetEntityCache.builder()
+            .tenantId(101)
+            .entityType("TEAM")
+            .operationType("CREATE")
+            .build());
+
+    verify(rest, times(1))
+        .exchange(
+            eq("http://klaw-project.io:9097/resetMemoryCache/"),
+            eq(HttpMethod.POST),
+            any(),
+            any(ParameterizedTypeReference.class));
+  }
 }
@@ -8,6 +8,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
@@ -31,6 +32,7 @@ import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.model.response.SchemaDetailsResponse;
 import io.aiven.klaw.model.response.SchemaSubjectInfoResponse;
 import io.aiven.klaw.model.response.SyncSchemasList;
+import io.aiven.klaw.service.utils.TopicCatalog;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -214,7 +216,7 @@ public class SchemaRegistrySyncControllerServiceTest {
     when(commonUtilsService.getTenantId(anyString())).thenReturn(101);
     when(manageDatabase.getTeamNameFromTeamId(eq(101), eq(10))).thenReturn("Team1");
 
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(topics);
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(topics));
     Map<String, Set<String>> topicSchemaVersionsInDb = utilMethods.getTopicSchemaVersionsInDb();
     when(handleDbRequests.getTopicAndVersionsForEnvAndTenantId(anyString(), anyInt()))
         .thenReturn(topicSchemaVersionsInDb);
@@ -246,7 +248,7 @@ public class SchemaRegistrySyncControllerServiceTest {
     when(commonUtilsService.getTenantId(anyString())).thenReturn(101);
     when(manageDatabase.getTeamNameFromTeamId(eq(101), eq(10))).thenReturn("Team1");
 
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(topics);
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(topics));
     when(handleDbRequests.getTopicAndVersionsForEnvAndTenantId(anyString(), anyInt()))
         .thenReturn(new HashMap<>());
 
@@ -280,8 +282,8 @@ public class SchemaRegistrySyncControllerServiceTest {
         .thenReturn(false);
     when(manageDatabase.getClusters(any(), anyInt())).thenReturn(kwClustersMap);
 
-    when(clusterApiService.getAvroSchema(anyString(), any(), anyString(), anyString(), anyInt()))
-        .thenReturn(utilMethods.createSchemaList());
+    when(clusterApiService.getAvroSchemas(anyString(), any(), anyString(), anyList(), anyInt()))
+        .thenReturn(Map.of(topicName, utilMethods.createSchemaList()));
     List<Topic> topicList = utilMethods.getTopics();
     topicList.get(0).setTopicname(topicName);
     when(commonUtilsService.getTopicsForTopicName(anyString(), anyInt())).thenReturn(topicList);
@@ -446,8 +448,8 @@ public class SchemaRegistrySyncControllerServiceTest {
         .thenReturn(false);
     when(manageDatabase.getClusters(any(), anyInt())).thenReturn(kwClustersMap);
 
-    when(clusterApiService.getAvroSchema(anyString(), any(), anyString(), anyString(), anyInt()))
-        .thenReturn(utilMethods.createSchemaList());
+    when(clusterApiService.getAvroSchemas(anyString(), any(), anyString(), anyList(), anyInt()))
+        .thenReturn(Map.of(topicName, utilMethods.createSchemaList()));
     List<Topic> topicList = utilMethods.getTopics();
     topicList.get(0).setTopicname(topicName);
     when(commonUtilsService.getTopicsForTopicName(anyString(), anyInt())).thenReturn(topicList);
@@ -531,7 +533,7 @@ public class SchemaRegistrySyncControllerServiceTest {
     when(commonUtilsService.getTenantId(anyString())).thenReturn(101);
     when(manageDatabase.getTeamNameFromTeamId(eq(101), eq(3))).thenReturn("Team1");
     when(manageDatabase.getClusters(any(), anyInt())).thenReturn(kwClustersMap);
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(new ArrayList<>());
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(new ArrayList<>()));
     Map<String, Set<String>> topicSchemaVersionsInDb = utilMethods.getTopicSchemaVersionsInDb();
 
     when(manageDatabase
@@ -583,7 +585,7 @@ public class SchemaRegistrySyncControllerServiceTest {
     when(commonUtilsService.getTenantId(anyString())).thenReturn(101);
     when(manageDatabase.getTeamNameFromTeamId(eq(101), eq(10))).thenReturn("Team1");
     when(manageDatabase.getClusters(any(), anyInt())).thenReturn(kwClustersMap);
-    when(manageDatabase.getTopicsForTenant(anyInt())).thenReturn(topics);
+    when(manageDatabase.getTopicCatalog(anyInt())).thenReturn(new TopicCatalog(topics));
     Map<String, Set<String>> topicSchemaVersionsInDb = utilMethods.getTopicSchemaVersionsInDb();
     when(handleDbRequests.getTopicAndVersionsForEnvAndTenantId(anyString(), anyInt()))
         .thenReturn(topicSchemaVersionsInDb);
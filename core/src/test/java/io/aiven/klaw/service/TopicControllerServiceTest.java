@@ -8,6 +8,7 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -919,8 +920,15 @@ public class TopicControllerServiceTest {
     stubUserInfo();
     when(commonUtilsService.getEnvsFromUserId(anyString()))
         .thenReturn(new HashSet<>(Collections.singletonList("1")));
-    when(commonUtilsService.getTopics(any(), any(), anyInt()))
-        .thenReturn(getSyncTopics("topic", 4));
+    List<Topic> syncTopics = getSyncTopics("topic", 4);
+    when(commonUtilsService.getTopicNames(eq(envSel), eq(0), anyInt(), eq(topicNameSearch)))
+        .thenReturn(syncTopics.stream().map(Topic::getTopicname).toList());
+    when(commonUtilsService.getTopicsForTopicName(anyString(), eq(envSel), eq(0), anyInt()))
+        .thenAnswer(
+            invocation ->
+                syncTopics.stream()
+                    .filter(topic -> topic.getTopicname().equals(invocation.getArgument(0)))
+                    .toList());
     when(manageDatabase.getKafkaEnvList(anyInt())).thenReturn(utilMethods.getEnvLists());
     when(manageDatabase.getTeamNameFromTeamId(anyInt(), anyInt()))
         .thenReturn(
@@ -929,12 +937,17 @@ public class TopicControllerServiceTest {
             KwConstants.INFRATEAM,
             KwConstants.INFRATEAM);
     when(commonUtilsService.getEnvProperty(anyInt(), anyString())).thenReturn("1");
-    when(commonUtilsService.groupTopicsByEnv(any())).thenReturn(getSyncTopics("topic", 4));
+    when(commonUtilsService.groupTopicsByEnv(any()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
 
     List<List<TopicInfo>> topicsList =
         topicControllerService.getTopics(envSel, pageNo, "", topicNameSearch, 0, null);
 
     assertThat(topicsList).hasSize(2);
+    assertThat(topicsList.get(0))
+        .extracting(TopicInfo::getTopicName)
+        .containsExactly("topic0", "topic1", "topic2");
+    verify(commonUtilsService, never()).getTopics(any(), any(), anyInt());
   }
 
   @Test
@@ -1010,7 +1023,8 @@ public class TopicControllerServiceTest {
     stubUserInfo();
     when(manageDatabase.getTeamsAndAllowedEnvs(anyInt(), anyInt()))
         .thenReturn(Collections.singletonList("1"));
-    when(commonUtilsService.getTopics(envSel, null, 1)).thenReturn(getSyncTopics("topic", 4));
+    when(commonUtilsService.getTopicNames(eq(envSel), eq(0), anyInt(), eq(topicNameSearch)))
+        .thenReturn(Collections.emptyList());
 
     List<List<TopicInfo>> topicsList =
         topicControllerService.getTopics(envSel, pageNo, "", topicNameSearch, 0, null);
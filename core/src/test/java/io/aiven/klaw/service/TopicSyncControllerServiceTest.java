@@ -27,6 +27,7 @@ import io.aiven.klaw.model.SyncBackTopics;
 import io.aiven.klaw.model.SyncTopicUpdates;
 import io.aiven.klaw.model.cluster.LoadTopicsResponse;
 import io.aiven.klaw.model.enums.ApiResultStatus;
+import io.aiven.klaw.model.enums.ClusterStatus;
 import io.aiven.klaw.model.enums.KafkaClustersType;
 import io.aiven.klaw.model.enums.KafkaFlavors;
 import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
@@ -35,6 +36,7 @@ import io.aiven.klaw.model.response.EnvParams;
 import io.aiven.klaw.model.response.SyncTopicsList;
 import io.aiven.klaw.model.response.TopicConfig;
 import io.aiven.klaw.model.response.TopicSyncResponseModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -44,6 +46,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -1167,6 +1174,124 @@ public class TopicSyncControllerServiceTest {
     assertThat(actualStringValidation).isEqualTo(3);
   }
 
+  @Test
+  @Order(22)
+  public void getReconTopicsScheduled_envsReconciledInParallel() throws Exception {
+    stubUserInfo();
+    env.setEnvStatus(ClusterStatus.ONLINE);
+    test.setEnvStatus(ClusterStatus.ONLINE);
+    when(manageDatabase.getEnvsOfTenantsMap()).thenReturn(Map.of(101, List.of("1", "2")));
+    when(manageDatabase.getTenantMap()).thenReturn(Map.of(101, "default"));
+    // the cluster of TST is unknown, its reconciliation fails
+    when(manageDatabase.getClusters(eq(KafkaClustersType.KAFKA), eq(101)))
+        .thenReturn(getKwClusters(1));
+    when(clusterApiService.getAllTopicsAsync(
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            eq(101),
+            eq(false)))
+        .thenReturn(CompletableFuture.completedFuture(generateClusterTopics(15)));
+    when(handleDbRequests.getSyncTopics(eq("1"), eq(null), eq(101)))
+        .thenReturn(utilMethods.generateTopics(14));
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    ReflectionTestUtils.setField(
+        topicSyncControllerService, "topicReconTaskExecutor", executorService);
+    ReflectionTestUtils.setField(topicSyncControllerService, "reconParallelism", 2);
+    ReflectionTestUtils.setField(topicSyncControllerService, "reconEnvTimeoutMs", 5000L);
+    ReflectionTestUtils.setField(topicSyncControllerService, "meterRegistry", meterRegistry);
+    topicSyncControllerService.registerReconMetrics();
+    ReflectionTestUtils.setField(topicSyncControllerService, "serverPort", "9097");
+
+    try {
+      topicSyncControllerService.getReconTopicsScheduled();
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    ArgumentCaptor<String> reconStr = ArgumentCaptor.forClass(String.class);
+    verify(mailService, times(1))
+        .sendReconMailToAdmin(anyString(), reconStr.capture(), eq("default"), eq(101), anyString());
+    assertThat(reconStr.getValue())
+        .startsWith("Tenant : default")
+        .contains("Topic differences in DEV Klaw environment")
+        .contains("Topic Topic14 added on Kafka cluster DEV")
+        .doesNotContain("TST");
+    assertThat(
+            meterRegistry.get("klaw.topics.recon.envs").tag("outcome", "success").counter().count())
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry.get("klaw.topics.recon.envs").tag("outcome", "failure").counter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("klaw.topics.recon.envs.pending").gauge().value()).isZero();
+    assertThat(meterRegistry.get("klaw.topics.recon.duration").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  @Order(23)
+  public void getReconTopicsScheduled_envTimesOutAndItsRequestIsCancelled() throws Exception {
+    stubUserInfo();
+    env.setEnvStatus(ClusterStatus.ONLINE);
+    test.setEnvStatus(ClusterStatus.ONLINE);
+    when(manageDatabase.getEnvsOfTenantsMap()).thenReturn(Map.of(101, List.of("1", "2")));
+    when(manageDatabase.getTenantMap()).thenReturn(Map.of(101, "default"));
+    when(manageDatabase.getClusters(eq(KafkaClustersType.KAFKA), eq(101)))
+        .thenReturn(getKwClusters(2));
+    // the cluster of DEV does not answer, TST is fetched only once DEV timed out, and answers
+    // within its own timeout
+    CompletableFuture<LoadTopicsResponse> topicsOfDev = new CompletableFuture<>();
+    AtomicBoolean devDoneBeforeTst = new AtomicBoolean();
+    when(clusterApiService.getAllTopicsAsync(
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            eq(101),
+            eq(false)))
+        .thenReturn(topicsOfDev)
+        .thenAnswer(
+            invocation -> {
+              devDoneBeforeTst.set(topicsOfDev.isCancelled());
+              return CompletableFuture.supplyAsync(
+                  () -> generateClusterTopics(15),
+                  CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS));
+            });
+    when(handleDbRequests.getSyncTopics(anyString(), eq(null), eq(101)))
+        .thenReturn(utilMethods.generateTopics(14));
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    ReflectionTestUtils.setField(
+        topicSyncControllerService, "topicReconTaskExecutor", executorService);
+    ReflectionTestUtils.setField(topicSyncControllerService, "reconParallelism", 1);
+    ReflectionTestUtils.setField(topicSyncControllerService, "reconEnvTimeoutMs", 500L);
+    ReflectionTestUtils.setField(topicSyncControllerService, "meterRegistry", meterRegistry);
+    topicSyncControllerService.registerReconMetrics();
+    ReflectionTestUtils.setField(topicSyncControllerService, "serverPort", "9097");
+
+    try {
+      topicSyncControllerService.getReconTopicsScheduled();
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    assertThat(topicsOfDev).isCancelled();
+    assertThat(devDoneBeforeTst).isTrue();
+    ArgumentCaptor<String> reconStr = ArgumentCaptor.forClass(String.class);
+    verify(mailService, times(1))
+        .sendReconMailToAdmin(anyString(), reconStr.capture(), eq("default"), eq(101), anyString());
+    assertThat(reconStr.getValue())
+        .contains("Topic differences in TST Klaw environment")
+        .doesNotContain("DEV");
+    assertThat(
+            meterRegistry.get("klaw.topics.recon.envs").tag("outcome", "timeout").counter().count())
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry.get("klaw.topics.recon.envs").tag("outcome", "success").counter().count())
+        .isEqualTo(1);
+  }
+
   private LoadTopicsResponse generateClusterTopics(int numberOfTopics) {
     String[] topicNames = new String[numberOfTopics];
     for (int i = 0; i < numberOfTopics; i++) {
@@ -12,8 +12,11 @@ import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.enums.ApiResultStatus;
 import io.aiven.klaw.model.enums.PermissionType;
+import io.aiven.klaw.model.enums.RequestEntityType;
 import io.aiven.klaw.model.requests.ResetEntityCache;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -72,6 +75,34 @@ public class UtilControllerServiceTest {
     assertThat(apiResponse.getMessage()).isEqualTo(ApiResultStatus.SUCCESS.value);
   }
 
+  @Test
+  public void getAllRequestsToBeApprovedCountsTheAllowedEnvs() {
+    ReflectionTestUtils.setField(utilControllerService, "manageDatabase", manageDatabase);
+    when(mailService.getUserName(any())).thenReturn("testuser");
+    when(commonUtilsService.getEnvsFromUserId("testuser")).thenReturn(Set.of("1", "2"));
+    when(handleDbRequests.getRequestsToApproveCountsPerEnv("testuser", "", false, 101))
+        .thenReturn(
+            Map.of(
+                RequestEntityType.TOPIC,
+                Map.of("1", 2L, "2", 3L, "3", 4L),
+                RequestEntityType.ACL,
+                Map.of("3", 1L),
+                RequestEntityType.SCHEMA,
+                Map.of("2", 1L),
+                RequestEntityType.CONNECTOR,
+                Map.of()));
+
+    Map<String, String> counts = utilControllerService.getAllRequestsToBeApproved("testuser", 101);
+
+    assertThat(counts)
+        .containsOnly(
+            Map.entry("topics", "5"),
+            Map.entry("acls", "0"),
+            Map.entry("schemas", "1"),
+            Map.entry("connectors", "0"),
+            Map.entry("users", "0"));
+  }
+
   public UserDetails userDetails(String username, String password) {
 
     return new UserDetails() {
@@ -0,0 +1,53 @@
+package io.aiven.klaw.service.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AclResourceIndexTest {
+
+  private AclResourceIndex<String> aclIndex;
+
+  @BeforeEach
+  void setUp() {
+    aclIndex = new AclResourceIndex<>();
+    aclIndex.addPrefixed("orders", "prefixed orders");
+    aclIndex.addPrefixed("orders.eu", "prefixed orders.eu");
+    aclIndex.addLiteral("orders.eu.created", "literal orders.eu.created");
+    aclIndex.addLiteral("orders", "literal orders");
+    aclIndex.addPrefixed("ord", "prefixed ord");
+    aclIndex.addLiteral("payments", "literal payments");
+  }
+
+  @Test
+  void getMatchingReturnsThePrefixedAclsOfEveryPrefixThenTheLiteralOnes() {
+    assertThat(aclIndex.getMatching("orders.eu.created"))
+        .containsExactly(
+            "prefixed ord", "prefixed orders", "prefixed orders.eu", "literal orders.eu.created");
+    assertThat(aclIndex.getMatching("orders"))
+        .containsExactly("prefixed ord", "prefixed orders", "literal orders");
+    assertThat(aclIndex.getMatching("orders.us"))
+        .containsExactly("prefixed ord", "prefixed orders");
+  }
+
+  @Test
+  void getMatchingIgnoresLiteralAclsOfPrefixesAndLongerNames() {
+    assertThat(aclIndex.getMatching("payments.eu")).isEmpty();
+    assertThat(aclIndex.getMatching("pay")).isEmpty();
+    assertThat(aclIndex.getMatching("or")).isEmpty();
+    assertThat(aclIndex.getMatching("orders.e")).containsExactly("prefixed ord", "prefixed orders");
+  }
+
+  @Test
+  void getExactReturnsTheAclsOfThisResourceNameOnly() {
+    aclIndex.addLiteral("orders", "second literal orders");
+
+    assertThat(aclIndex.getExact("orders"))
+        .containsExactly("literal orders", "second literal orders", "prefixed orders");
+    assertThat(aclIndex.getExact("orders.eu.created")).containsExactly("literal orders.eu.created");
+    assertThat(aclIndex.getExact("orders.eu.deleted")).isEmpty();
+    assertThat(aclIndex.getExact("order")).isEmpty();
+    assertThat(aclIndex.size()).isEqualTo(7);
+  }
+}
@@ -0,0 +1,132 @@
+package io.aiven.klaw.service.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.aiven.klaw.service.interfaces.HAMessagingServiceI;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+public class CacheServiceTest {
+
+  private static final int TENANT_ID = 101;
+
+  @Mock private HAMessagingServiceI haMessagingService;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private CacheService<String> cacheService;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cacheService = new CacheService<>("environment", haMessagingService, meterRegistry, "envs");
+  }
+
+  @Test
+  public void snapshotsAreNotChangedByLaterChanges() {
+    cacheService.addAll(TENANT_ID, Map.of(1, "DEV", 2, "TST"));
+    List<String> snapshot = cacheService.getCacheAsList(TENANT_ID);
+
+    cacheService.addOrUpdate(TENANT_ID, 3, "PRD", true);
+    cacheService.remove(TENANT_ID, 1, true);
+
+    assertThat(snapshot).containsExactly("DEV", "TST");
+    assertThat(cacheService.getCacheAsList(TENANT_ID)).containsExactly("TST", "PRD");
+    assertThat(cacheService.getCacheAsList(TENANT_ID))
+        .isSameAs(cacheService.getCacheAsList(TENANT_ID));
+    assertThatThrownBy(() -> snapshot.add("ACC")).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> cacheService.getCache(TENANT_ID).put(4, "ACC"))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void tenantsAreSeparated() {
+    cacheService.addOrUpdate(TENANT_ID, 1, "DEV", true);
+    cacheService.addOrUpdate(TENANT_ID + 1, 1, "TST", true);
+
+    assertThat(cacheService.get(TENANT_ID, 1)).contains("DEV");
+    assertThat(cacheService.removeCache(TENANT_ID + 1)).containsOnly(Map.entry(1, "TST"));
+    assertThat(cacheService.getCacheAsList(TENANT_ID + 1)).isEmpty();
+    assertThat(cacheService.getCacheAsList(TENANT_ID)).containsExactly("DEV");
+  }
+
+  @Test
+  public void changesAreReplicatedUnlessLocal() {
+    cacheService.addOrUpdate(TENANT_ID, 1, "DEV", false);
+    cacheService.remove(TENANT_ID, 1, false);
+    cacheService.addOrUpdate(TENANT_ID, 2, "TST", true);
+
+    verify(haMessagingService).sendUpdate("environment", TENANT_ID, 1, "DEV");
+    verify(haMessagingService).sendRemove("environment", TENANT_ID, 1);
+    verify(haMessagingService, never()).sendUpdate("environment", TENANT_ID, 2, "TST");
+  }
+
+  @Test
+  public void metricsCountHitsMissesAndEntries() {
+    cacheService.addAll(TENANT_ID, Map.of(1, "DEV", 2, "TST"));
+    cacheService.addOrUpdate(TENANT_ID + 1, 1, "DEV", true);
+    cacheService.get(TENANT_ID, 1);
+    cacheService.get(TENANT_ID, 3);
+    cacheService.get(TENANT_ID + 2, 1);
+
+    assertThat(meterRegistry.get("klaw.cache.size").tag("cache", "envs").gauge().value())
+        .isEqualTo(3);
+    assertThat(meterRegistry.get("klaw.cache.gets").tag("result", "hit").counter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("klaw.cache.gets").tag("result", "miss").counter().count())
+        .isEqualTo(2);
+
+    cacheService.removeCache(TENANT_ID);
+    assertThat(meterRegistry.get("klaw.cache.size").gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  public void concurrentChangesAreNotLost() throws Exception {
+    int threads = 8;
+    int entriesPerThread = 500;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        int firstId = thread * entriesPerThread;
+        results.add(
+            executorService.submit(
+                () -> {
+                  start.await();
+                  for (int id = firstId; id < firstId + entriesPerThread; id++) {
+                    cacheService.addOrUpdate(TENANT_ID, id, "ENV" + id, true);
+                    cacheService.getCacheAsList(TENANT_ID).forEach(String::length);
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> result : results) {
+        result.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    assertThat(cacheService.getCache(TENANT_ID)).hasSize(threads * entriesPerThread);
+    assertThat(meterRegistry.get("klaw.cache.size").gauge().value())
+        .isEqualTo(threads * entriesPerThread);
+  }
+}
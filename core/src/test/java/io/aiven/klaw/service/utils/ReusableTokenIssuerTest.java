@@ -0,0 +1,77 @@
+package io.aiven.klaw.service.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.commons.codec.binary.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReusableTokenIssuerTest {
+
+  private static final String SECRET = "dGhpcyBpcyBhIHNlY3JldCB0byBhY2Nlc3MgY2x1c3RlcmFwaQ==";
+
+  private final Clock clock = mock(Clock.class);
+
+  private final Instant now = Instant.now();
+
+  private ReusableTokenIssuer tokenIssuer;
+
+  @BeforeEach
+  void setUp() {
+    tokenIssuer = new ReusableTokenIssuer(SECRET, Map.of("Roles", List.of("CACHE_ADMIN")), clock);
+  }
+
+  @Test
+  void getTokenReusesTheTokenUntilShortlyBeforeItExpires() {
+    Instant renewAt =
+        now.plus(ReusableTokenIssuer.TOKEN_VALIDITY).minus(ReusableTokenIssuer.RENEW_BEFORE_EXPIRY);
+    when(clock.instant()).thenReturn(now, now.plusSeconds(30), renewAt.minusMillis(1), renewAt);
+
+    String token = tokenIssuer.getToken("kwuser");
+
+    assertThat(tokenIssuer.getToken("kwuser")).isEqualTo(token);
+    assertThat(tokenIssuer.getToken("kwuser")).isEqualTo(token);
+    assertThat(tokenIssuer.getToken("kwuser")).isNotEqualTo(token);
+  }
+
+  @Test
+  void getTokenSignsATokenPerUser() {
+    when(clock.instant()).thenReturn(now);
+
+    String token = tokenIssuer.getToken("kwuser");
+    String otherToken = tokenIssuer.getToken("otheruser");
+
+    assertThat(parse(token).getSubject()).isEqualTo("kwuser");
+    assertThat(parse(otherToken).getSubject()).isEqualTo("otheruser");
+  }
+
+  @Test
+  void getTokenSignsTheClaimsWithTheSecret() {
+    when(clock.instant()).thenReturn(Instant.now());
+
+    Claims claims = parse(tokenIssuer.getToken("kwuser"));
+
+    assertThat(claims.getSubject()).isEqualTo("kwuser");
+    assertThat(claims.get("name")).isEqualTo("kwuser");
+    assertThat(claims.get("Roles")).isEqualTo(List.of("CACHE_ADMIN"));
+    assertThat(claims.getExpiration().toInstant())
+        .isAfter(Instant.now().plus(ReusableTokenIssuer.RENEW_BEFORE_EXPIRY));
+  }
+
+  private Claims parse(String token) {
+    SecretKey hmacKey =
+        new SecretKeySpec(Base64.decodeBase64(SECRET), SignatureAlgorithm.HS256.getJcaName());
+    return Jwts.parser().verifyWith(hmacKey).build().parseSignedClaims(token).getPayload();
+  }
+}